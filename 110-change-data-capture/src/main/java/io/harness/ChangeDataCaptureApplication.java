@@ -14,6 +14,7 @@ import io.harness.annotations.dev.OwnedBy;
 import io.harness.cf.AbstractCfModule;
 import io.harness.cf.CfClientConfig;
 import io.harness.cf.CfMigrationConfig;
+import io.harness.changehandlers.TimescaleBatchingSink;
 import io.harness.delegate.beans.DelegateAsyncTaskResponse;
 import io.harness.delegate.beans.DelegateSyncTaskResponse;
 import io.harness.delegate.beans.DelegateTaskProgressResponse;
@@ -179,6 +180,8 @@ public class ChangeDataCaptureApplication extends Application<ChangeDataCaptureS
   }
 
   private void registerManagedBeans(Environment environment, Injector injector) {
+    // Managed objects are stopped in reverse order, the sink is flushed after the sync has stopped
+    environment.lifecycle().manage(injector.getInstance(TimescaleBatchingSink.class));
     environment.lifecycle().manage(injector.getInstance(ChangeDataCaptureSyncService.class));
   }
 }
@@ -47,6 +47,8 @@ public class ChangeDataCaptureServiceConfig extends Configuration {
   @JsonProperty("cfClientConfig") @ConfigSecret private CfClientConfig cfClientConfig;
   @JsonProperty("featureFlagConfig") private FeatureFlagConfig featureFlagConfig;
   @JsonProperty("changeStreamBatchSize") private int changeStreamBatchSize;
+  @JsonProperty("timescaleSinkConfig")
+  private TimescaleSinkConfig timescaleSinkConfig = TimescaleSinkConfig.builder().build();
 
   public static Collection<Class<?>> getResourceClasses() {
     Reflections reflections = new Reflections(RESOURCE_PACKAGE);
@@ -9,6 +9,7 @@ package io.harness;
 
 import io.harness.annotations.dev.HarnessTeam;
 import io.harness.annotations.dev.OwnedBy;
+import io.harness.changehandlers.TimescaleBatchingSink;
 import io.harness.changestreamsframework.ChangeEvent;
 import io.harness.entities.CDCEntity;
 
@@ -35,6 +36,7 @@ import lombok.extern.slf4j.Slf4j;
 class ChangeEventProcessor {
   @Inject private Set<CDCEntity<?>> subscribedClasses;
   @Inject private WingsPersistence wingsPersistence;
+  @Inject private TimescaleBatchingSink timescaleBatchingSink;
   private final BlockingQueue<ChangeEvent<?>> changeEventQueue = new LinkedBlockingQueue<>(100);
   private final ExecutorService changeEventExecutorService =
       Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("primary-change-processor").build());
@@ -46,7 +48,8 @@ class ChangeEventProcessor {
 
   void startProcessingChangeEvents() {
     if (changeEventProcessorTask == null) {
-      changeEventProcessorTask = new ChangeEventProcessorTask(subscribedClasses, changeEventQueue, wingsPersistence);
+      changeEventProcessorTask = new ChangeEventProcessorTask(
+          subscribedClasses, changeEventQueue, wingsPersistence, timescaleBatchingSink);
       changeEventProcessorTaskFuture = changeEventExecutorService.submit(changeEventProcessorTask);
       changeEventProcessorWatcher.submit(this::watchChangeEventQueue);
     }
@@ -13,6 +13,7 @@ import io.harness.CDCStateEntity.cdcStateEntityKeys;
 import io.harness.annotations.ChangeDataCapture;
 import io.harness.annotations.dev.HarnessTeam;
 import io.harness.annotations.dev.OwnedBy;
+import io.harness.changehandlers.TimescaleBatchingSink;
 import io.harness.changestreamsframework.ChangeEvent;
 import io.harness.entities.CDCEntity;
 import io.harness.persistence.PersistentEntity;
@@ -21,8 +22,11 @@ import software.wings.dl.WingsPersistence;
 
 import dev.morphia.query.Query;
 import dev.morphia.query.UpdateOperations;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -44,12 +48,17 @@ public class ChangeEventProcessorTask implements Runnable {
   private final WingsPersistence wingsPersistence;
   private final AtomicInteger processing = new AtomicInteger(0);
   private final AtomicLong completed = new AtomicLong(0);
+  private final TimescaleBatchingSink timescaleBatchingSink;
+  // Latest handled change per entity whose rows may still be pending in the sink
+  private final Map<Class<? extends PersistentEntity>, ChangeEvent<?>> pendingTokens = new ConcurrentHashMap<>();
+  private volatile long lastCheckpointAt;
 
   ChangeEventProcessorTask(Set<CDCEntity<?>> cdcEntities, BlockingQueue<ChangeEvent<?>> changeEventQueue,
-      WingsPersistence wingsPersistence) {
+      WingsPersistence wingsPersistence, TimescaleBatchingSink timescaleBatchingSink) {
     this.cdcEntities = cdcEntities;
     this.changeEventQueue = changeEventQueue;
     this.wingsPersistence = wingsPersistence;
+    this.timescaleBatchingSink = timescaleBatchingSink;
   }
 
   @Override
@@ -74,12 +83,16 @@ public class ChangeEventProcessorTask implements Runnable {
   public void listenToQueue() {
     try {
       while (!executorService.isShutdown()) {
-        ChangeEvent<?> changeEvent = changeEventQueue.poll(Integer.MAX_VALUE, TimeUnit.MINUTES);
+        ChangeEvent<?> changeEvent = isBatchingEnabled()
+            ? changeEventQueue.poll(timescaleBatchingSink.getFlushIntervalMillis(), TimeUnit.MILLISECONDS)
+            : changeEventQueue.poll(Integer.MAX_VALUE, TimeUnit.MINUTES);
         if (changeEvent != null) {
           processing.incrementAndGet();
           processChangeSafely(changeEvent);
           processing.decrementAndGet();
           completed.incrementAndGet();
+        } else if (!pendingTokens.isEmpty()) {
+          checkpointPendingTokensSafely();
         }
       }
     } catch (InterruptedException e) {
@@ -118,7 +131,45 @@ public class ChangeEventProcessorTask implements Runnable {
       }
     }
 
-    saveCDCStateEntityToken(clazz, changeEvent);
+    checkpoint(clazz, changeEvent);
+  }
+
+  private boolean isBatchingEnabled() {
+    return timescaleBatchingSink != null && timescaleBatchingSink.isEnabled();
+  }
+
+  private void checkpoint(Class<? extends PersistentEntity> sourceClass, ChangeEvent<?> changeEvent) {
+    if (!isBatchingEnabled()) {
+      saveCDCStateEntityToken(sourceClass, changeEvent);
+      return;
+    }
+    // The rows of the change may only be buffered in the sink, its token is saved once they have been flushed
+    if (changeEvent.getToken() != null) {
+      pendingTokens.put(sourceClass, changeEvent);
+    }
+    if (System.currentTimeMillis() - lastCheckpointAt >= timescaleBatchingSink.getFlushIntervalMillis()) {
+      checkpointPendingTokens();
+    }
+  }
+
+  private void checkpointPendingTokensSafely() {
+    try {
+      checkpointPendingTokens();
+    } catch (Exception e) {
+      log.error("An error occurred while saving the pending resume tokens", e);
+    }
+  }
+
+  private synchronized void checkpointPendingTokens() {
+    lastCheckpointAt = System.currentTimeMillis();
+    Map<Class<? extends PersistentEntity>, ChangeEvent<?>> tokens = new HashMap<>(pendingTokens);
+    if (tokens.isEmpty()) {
+      return;
+    }
+    tokens.forEach(pendingTokens::remove);
+    // Every row of these changes was added to the sink before its change was put in pendingTokens
+    timescaleBatchingSink.flushAll();
+    tokens.forEach(this::saveCDCStateEntityToken);
   }
 
   private void saveCDCStateEntityToken(Class<? extends PersistentEntity> sourceClass, ChangeEvent<?> changeEvent) {
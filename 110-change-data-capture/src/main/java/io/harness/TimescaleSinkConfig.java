@@ -0,0 +1,30 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness;
+
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@OwnedBy(HarnessTeam.CDC)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimescaleSinkConfig {
+  // When disabled every change is written with its own statement as it is handled
+  private boolean batchingEnabled;
+  // Pending rows of a table after which the table is flushed
+  @Builder.Default private int maxBatchSize = 500;
+  // Maximum time a row waits before being flushed
+  @Builder.Default private long flushIntervalMillis = 1000;
+}
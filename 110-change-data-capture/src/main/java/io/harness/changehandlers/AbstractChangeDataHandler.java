@@ -31,6 +31,7 @@ import lombok.extern.slf4j.Slf4j;
 public abstract class AbstractChangeDataHandler implements ChangeHandler {
   private static final int MAX_RETRY_COUNT = 5;
   @Inject private TimeScaleDBService timeScaleDBService;
+  @Inject private TimescaleBatchingSink timescaleBatchingSink;
 
   @Override
   public boolean handleChange(ChangeEvent<?> changeEvent, String tableName, String[] fields) {
@@ -69,6 +70,10 @@ public abstract class AbstractChangeDataHandler implements ChangeHandler {
   public boolean dbOperation(String query) {
     boolean successfulOperation = false;
     log.trace("In dbOperation, Query: {}", query);
+    if (isBatchingEnabled()) {
+      // The statement must not overtake the rows still pending in the sink
+      timescaleBatchingSink.flushAll();
+    }
     if (timeScaleDBService.isValid()) {
       int retryCount = 0;
       while (!successfulOperation && retryCount < MAX_RETRY_COUNT) {
@@ -87,6 +92,42 @@ public abstract class AbstractChangeDataHandler implements ChangeHandler {
     return successfulOperation;
   }
 
+  protected void insert(String tableName, Map<String, String> columnValueMapping) {
+    if (isBatchingEnabled()) {
+      timescaleBatchingSink.insert(tableName, columnValueMapping);
+    } else {
+      dbOperation(insertSQL(tableName, columnValueMapping));
+    }
+  }
+
+  protected void upsert(String tableName, Map<String, String> columnValueMapping, List<String> primaryKeys) {
+    if (isBatchingEnabled()) {
+      timescaleBatchingSink.upsert(tableName, columnValueMapping, primaryKeys);
+    } else {
+      dbOperation(updateSQL(tableName, columnValueMapping, Collections.emptyMap(), primaryKeys));
+    }
+  }
+
+  protected void delete(String tableName, Map<String, String> columnValueMappingForCondition) {
+    if (isBatchingEnabled()) {
+      timescaleBatchingSink.delete(tableName, columnValueMappingForCondition);
+    } else {
+      dbOperation(deleteSQL(tableName, columnValueMappingForCondition));
+    }
+  }
+
+  protected void updateDeletedFields(String tableName, Map<String, String> columnValueMapping, String id) {
+    if (isBatchingEnabled()) {
+      timescaleBatchingSink.updateById(tableName, columnValueMapping, id);
+    } else {
+      dbOperation(updateDeletedFieldsSQL(tableName, columnValueMapping, id));
+    }
+  }
+
+  private boolean isBatchingEnabled() {
+    return timescaleBatchingSink != null && timescaleBatchingSink.isEnabled();
+  }
+
   public abstract Map<String, String> getColumnValueMapping(ChangeEvent<?> changeEvent, String[] fields);
 
   public List<Map<String, String>> getColumnValueMappings(ChangeEvent<?> changeEvent, String[] fields) {
@@ -293,24 +334,23 @@ public abstract class AbstractChangeDataHandler implements ChangeHandler {
       case INSERT:
         if (columnValueMapping != null) {
           if (shouldUpdateOnConflict()) {
-            dbOperation(updateSQL(
-                tableName, columnValueMapping, Collections.singletonMap("id", changeEvent.getUuid()), primaryKeys));
+            upsert(tableName, columnValueMapping, primaryKeys);
           } else {
-            dbOperation(insertSQL(tableName, columnValueMapping));
+            insert(tableName, columnValueMapping);
           }
         }
         break;
       case UPDATE:
         if (columnValueMapping != null) {
-          dbOperation(updateSQL(tableName, columnValueMapping, Collections.emptyMap(), primaryKeys));
+          upsert(tableName, columnValueMapping, primaryKeys);
         }
         break;
       case DELETE:
         if (shouldDelete()) {
-          dbOperation(deleteSQL(tableName, getColumnValueMappingsForWhereClause(changeEvent)));
+          delete(tableName, getColumnValueMappingsForWhereClause(changeEvent));
         } else {
           if (columnValueMapping != null) {
-            dbOperation(updateDeletedFieldsSQL(tableName, getColumnValueMappingForDelete(), changeEvent.getUuid()));
+            updateDeletedFields(tableName, getColumnValueMappingForDelete(), changeEvent.getUuid());
           }
         }
         break;
@@ -64,12 +64,12 @@ public class RuntimeInputsInfoCDChangeDataHandler extends AbstractChangeDataHand
       case UPDATE:
         if (isNotEmpty(columnValueMapping)) {
           for (Map<String, String> column : columnValueMapping) {
-            dbOperation(updateSQL(tableName, column, keyMap, primaryKeys));
+            upsert(tableName, column, primaryKeys);
           }
         }
         break;
       case DELETE:
-        dbOperation(deleteSQL(tableName, keyMap));
+        delete(tableName, keyMap);
         break;
       default:
         log.info("Change Event Type not Handled: {}", changeEvent.getChangeType());
@@ -0,0 +1,357 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.changehandlers;
+
+import io.harness.ChangeDataCaptureServiceConfig;
+import io.harness.TimescaleSinkConfig;
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.timescaledb.TimeScaleDBService;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import io.dropwizard.lifecycle.Managed;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Buffers the rows written by the change data handlers per table and writes them with parameterized statements.
+ * Consecutive inserts and upserts with the same columns are written as one multi-row statement, consecutive deletes
+ * and updates with the same columns as one JDBC batch. A table is flushed when it has maxBatchSize pending rows and
+ * every flushIntervalMillis otherwise.
+ *
+ * Rows of a table are written in the order in which they were added. An upsert run is cut when a primary key repeats,
+ * as postgres does not allow a single statement to update the same row twice. Values are bound with an unspecified
+ * type so that postgres infers the column type, like it does for the quoted literals of the plain statements. When a
+ * statement keeps failing its rows are written one at a time, so that a bad row does not cost the rest of its run.
+ */
+@OwnedBy(HarnessTeam.CDC)
+@Slf4j
+@Singleton
+public class TimescaleBatchingSink implements Managed {
+  private static final int MAX_RETRY_COUNT = 5;
+  // Maximum number of bind parameters in a postgres statement
+  private static final int MAX_PARAMETERS = 32767;
+
+  private final TimeScaleDBService timeScaleDBService;
+  private final TimescaleSinkConfig sinkConfig;
+  private final Map<String, TableBuffer> buffers = new ConcurrentHashMap<>();
+  private ScheduledExecutorService flushExecutor;
+
+  @Inject
+  public TimescaleBatchingSink(TimeScaleDBService timeScaleDBService, ChangeDataCaptureServiceConfig config) {
+    this(timeScaleDBService,
+        config.getTimescaleSinkConfig() != null ? config.getTimescaleSinkConfig()
+                                                : TimescaleSinkConfig.builder().build());
+  }
+
+  @VisibleForTesting
+  TimescaleBatchingSink(TimeScaleDBService timeScaleDBService, TimescaleSinkConfig sinkConfig) {
+    this.timeScaleDBService = timeScaleDBService;
+    this.sinkConfig = sinkConfig;
+  }
+
+  public boolean isEnabled() {
+    return sinkConfig.isBatchingEnabled();
+  }
+
+  public long getFlushIntervalMillis() {
+    return sinkConfig.getFlushIntervalMillis();
+  }
+
+  @Override
+  public void start() {
+    if (!isEnabled()) {
+      return;
+    }
+    flushExecutor = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder().setNameFormat("timescale-sink-flush").setDaemon(true).build());
+    long flushIntervalMillis = sinkConfig.getFlushIntervalMillis();
+    flushExecutor.scheduleWithFixedDelay(
+        this::flushAllSafely, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void stop() {
+    if (flushExecutor != null) {
+      flushExecutor.shutdownNow();
+    }
+    flushAllSafely();
+  }
+
+  /**
+   * Same as {@link AbstractChangeDataHandler#insertSQL}.
+   */
+  public void insert(String tableName, Map<String, String> columnValueMapping) {
+    add(tableName, Row.of(Kind.INSERT, removeBlankValues(columnValueMapping), null, null));
+  }
+
+  /**
+   * Same as {@link AbstractChangeDataHandler#updateSQL}.
+   */
+  public void upsert(String tableName, Map<String, String> columnValueMapping, List<String> primaryKeys) {
+    add(tableName, Row.of(Kind.UPSERT, removeBlankValues(columnValueMapping), primaryKeys, null));
+  }
+
+  /**
+   * Same as {@link AbstractChangeDataHandler#deleteSQL}.
+   */
+  public void delete(String tableName, Map<String, String> columnValueMappingForCondition) {
+    add(tableName, Row.of(Kind.DELETE, removeBlankValues(columnValueMappingForCondition), null, null));
+  }
+
+  /**
+   * Same as {@link AbstractChangeDataHandler#updateDeletedFieldsSQL}.
+   */
+  public void updateById(String tableName, Map<String, String> columnValueMapping, String id) {
+    add(tableName, Row.of(Kind.UPDATE_BY_ID, columnValueMapping, null, id));
+  }
+
+  public void flush(String tableName) {
+    TableBuffer buffer = buffers.get(tableName);
+    if (buffer == null) {
+      return;
+    }
+    // Writes of a table are serialized so that a later batch never overtakes an earlier one
+    synchronized (buffer.writeLock) {
+      List<Row> rows;
+      synchronized (buffer) {
+        if (buffer.rows.isEmpty()) {
+          return;
+        }
+        rows = buffer.rows;
+        buffer.rows = new ArrayList<>();
+      }
+      write(tableName, rows);
+    }
+  }
+
+  public void flushAll() {
+    buffers.keySet().forEach(this::flush);
+  }
+
+  private void flushAllSafely() {
+    try {
+      flushAll();
+    } catch (Exception e) {
+      log.error("Failed to flush the pending timescale rows", e);
+    }
+  }
+
+  private void add(String tableName, Row row) {
+    if (row.columns.isEmpty()) {
+      return;
+    }
+    TableBuffer buffer = buffers.computeIfAbsent(tableName, name -> new TableBuffer());
+    boolean full;
+    synchronized (buffer) {
+      buffer.rows.add(row);
+      full = buffer.rows.size() >= sinkConfig.getMaxBatchSize();
+    }
+    if (full) {
+      flush(tableName);
+    }
+  }
+
+  private void write(String tableName, List<Row> rows) {
+    if (!timeScaleDBService.isValid()) {
+      log.warn("TimeScale Down, dropping {} rows for table {}", rows.size(), tableName);
+      return;
+    }
+    int start = 0;
+    while (start < rows.size()) {
+      int end = endOfRun(rows, start);
+      List<Row> run = rows.subList(start, end);
+      Row first = run.get(0);
+      switch (first.kind) {
+        case INSERT:
+        case UPSERT:
+          writeRun(insertStatement(tableName, first, run.size()), insertStatement(tableName, first, 1), run, true);
+          break;
+        case DELETE:
+          String deleteStatement = deleteStatement(tableName, first);
+          writeRun(deleteStatement, deleteStatement, run, false);
+          break;
+        case UPDATE_BY_ID:
+          String updateByIdStatement = updateByIdStatement(tableName, first);
+          writeRun(updateByIdStatement, updateByIdStatement, run, false);
+          break;
+        default:
+          throw new IllegalStateException("Unknown row kind " + first.kind);
+      }
+      start = end;
+    }
+  }
+
+  // Index after the last row which can be written in the same statement as rows[start]
+  private int endOfRun(List<Row> rows, int start) {
+    Row first = rows.get(start);
+    int maxRows = Math.max(1, Math.min(sinkConfig.getMaxBatchSize(), MAX_PARAMETERS / (first.columns.size() + 1)));
+    Set<List<String>> keys = new HashSet<>();
+    int end = start;
+    while (end < rows.size() && end - start < maxRows) {
+      Row row = rows.get(end);
+      if (row.kind != first.kind || !row.columns.equals(first.columns)
+          || !Objects.equals(row.primaryKeys, first.primaryKeys)) {
+        break;
+      }
+      if (row.kind == Kind.UPSERT) {
+        List<String> key = row.primaryKeyValues();
+        if (key != null && !keys.add(key)) {
+          break;
+        }
+      }
+      end++;
+    }
+    return end;
+  }
+
+  private static String insertStatement(String tableName, Row first, int rowCount) {
+    String placeholders = first.columns.stream().map(column -> "?").collect(Collectors.joining(",", "(", ")"));
+    StringBuilder sql = new StringBuilder(64 + rowCount * placeholders.length());
+    sql.append("INSERT INTO ")
+        .append(tableName)
+        .append(" (")
+        .append(String.join(",", first.columns))
+        .append(") VALUES ");
+    for (int i = 0; i < rowCount; i++) {
+      if (i > 0) {
+        sql.append(',');
+      }
+      sql.append(placeholders);
+    }
+    if (first.kind == Kind.UPSERT) {
+      sql.append(" ON CONFLICT (")
+          .append(String.join(",", first.primaryKeys))
+          .append(") DO UPDATE SET ")
+          .append(first.columns.stream()
+                      .map(column -> column + "=EXCLUDED." + column)
+                      .collect(Collectors.joining(",")));
+    }
+    return sql.toString();
+  }
+
+  private static String deleteStatement(String tableName, Row first) {
+    return "DELETE FROM " + tableName + " WHERE "
+        + first.columns.stream().map(column -> column + "=?").collect(Collectors.joining(" AND "));
+  }
+
+  private static String updateByIdStatement(String tableName, Row first) {
+    return "UPDATE " + tableName + " SET "
+        + first.columns.stream().map(column -> column + "=?").collect(Collectors.joining(",")) + " WHERE id = ?";
+  }
+
+  private void writeRun(String sql, String singleRowSql, List<Row> run, boolean multiRow) {
+    if (execute(sql, run, multiRow) || run.size() == 1) {
+      return;
+    }
+    log.warn("Writing the {} rows of the failed statement one by one, Query = {}", run.size(), sql);
+    for (Row row : run) {
+      execute(singleRowSql, List.of(row), multiRow);
+    }
+  }
+
+  private boolean execute(String sql, List<Row> run, boolean multiRow) {
+    for (int retryCount = 0; retryCount < MAX_RETRY_COUNT; retryCount++) {
+      try (Connection dbConnection = timeScaleDBService.getDBConnection();
+           PreparedStatement statement = dbConnection.prepareStatement(sql)) {
+        int index = 1;
+        for (Row row : run) {
+          if (!multiRow) {
+            index = 1;
+          }
+          for (String value : row.values) {
+            statement.setObject(index++, value, Types.OTHER);
+          }
+          if (row.id != null) {
+            statement.setObject(index++, row.id, Types.OTHER);
+          }
+          if (!multiRow) {
+            statement.addBatch();
+          }
+        }
+        if (multiRow) {
+          statement.execute();
+        } else {
+          statement.executeBatch();
+        }
+        return true;
+      } catch (SQLException e) {
+        log.error("Failed to write {} rows, Query = {}, retryCount=[{}], Exception: ", run.size(), sql, retryCount, e);
+      }
+    }
+    return false;
+  }
+
+  private static Map<String, String> removeBlankValues(Map<String, String> columnValueMapping) {
+    Map<String, String> nonBlankValues = new LinkedHashMap<>();
+    columnValueMapping.forEach((column, value) -> {
+      if (value != null && !value.equals("")) {
+        nonBlankValues.put(column, value);
+      }
+    });
+    return nonBlankValues;
+  }
+
+  private static class TableBuffer {
+    private final Object writeLock = new Object();
+    private List<Row> rows = new ArrayList<>();
+  }
+
+  private enum Kind { INSERT, UPSERT, DELETE, UPDATE_BY_ID }
+
+  @AllArgsConstructor
+  private static class Row {
+    private final Kind kind;
+    private final List<String> columns;
+    private final List<String> values;
+    private final List<String> primaryKeys;
+    private final String id;
+
+    static Row of(Kind kind, Map<String, String> columnValueMapping, List<String> primaryKeys, String id) {
+      List<String> columns = new ArrayList<>(columnValueMapping.size());
+      List<String> values = new ArrayList<>(columnValueMapping.size());
+      columnValueMapping.forEach((column, value) -> {
+        columns.add(column);
+        values.add(value);
+      });
+      return new Row(kind, columns, values, primaryKeys, id);
+    }
+
+    // Null when a primary key column has no value, such rows can never conflict with each other
+    private List<String> primaryKeyValues() {
+      List<String> key = new ArrayList<>(primaryKeys.size());
+      for (String primaryKey : primaryKeys) {
+        int index = columns.indexOf(primaryKey);
+        if (index < 0) {
+          return null;
+        }
+        key.add(values.get(index));
+      }
+      return key;
+    }
+  }
+}
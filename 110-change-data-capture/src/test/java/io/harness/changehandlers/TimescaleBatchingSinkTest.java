@@ -0,0 +1,134 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.changehandlers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import io.harness.CategoryTest;
+import io.harness.TimescaleSinkConfig;
+import io.harness.category.element.UnitTests;
+import io.harness.rule.Owner;
+import io.harness.rule.OwnerRule;
+import io.harness.timescaledb.TimeScaleDBService;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.mockito.ArgumentCaptor;
+
+public class TimescaleBatchingSinkTest extends CategoryTest {
+  private TimeScaleDBService timeScaleDBService;
+  private Connection connection;
+  private PreparedStatement statement;
+  private TimescaleBatchingSink sink;
+
+  @Before
+  public void setUp() throws SQLException {
+    timeScaleDBService = mock(TimeScaleDBService.class);
+    connection = mock(Connection.class);
+    statement = mock(PreparedStatement.class);
+    doReturn(true).when(timeScaleDBService).isValid();
+    doReturn(connection).when(timeScaleDBService).getDBConnection();
+    doReturn(statement).when(connection).prepareStatement(anyString());
+    sink = new TimescaleBatchingSink(
+        timeScaleDBService, TimescaleSinkConfig.builder().batchingEnabled(true).maxBatchSize(100).build());
+  }
+
+  @Test
+  @Owner(developers = OwnerRule.RISHABH)
+  @Category(UnitTests.class)
+  public void testUpsertsWrittenAsOneStatement() throws SQLException {
+    sink.upsert("stage_info", row("s1", "SUCCESS"), List.of("id"));
+    sink.upsert("stage_info", row("s3", "FAILED"), List.of("id"));
+    sink.upsert("stage_info", row("s2", ""), List.of("id"));
+    sink.flushAll();
+
+    ArgumentCaptor<String> queryCaptor = ArgumentCaptor.forClass(String.class);
+    verify(connection, times(2)).prepareStatement(queryCaptor.capture());
+    assertThat(queryCaptor.getAllValues())
+        .containsExactly(
+            "INSERT INTO stage_info (id,status) VALUES (?,?),(?,?) ON CONFLICT (id) DO UPDATE SET id=EXCLUDED.id,"
+                + "status=EXCLUDED.status",
+            "INSERT INTO stage_info (id) VALUES (?) ON CONFLICT (id) DO UPDATE SET id=EXCLUDED.id");
+    verify(statement).setObject(3, "s3", Types.OTHER);
+    verify(statement, times(2)).execute();
+  }
+
+  @Test
+  @Owner(developers = OwnerRule.RISHABH)
+  @Category(UnitTests.class)
+  public void testRepeatedPrimaryKeyStartsNewStatement() throws SQLException {
+    sink.upsert("stage_info", row("s1", "RUNNING"), List.of("id"));
+    sink.upsert("stage_info", row("s1", "SUCCESS"), List.of("id"));
+    sink.delete("stage_info", Map.of("id", "s2"));
+    sink.delete("stage_info", Map.of("id", "s3"));
+    sink.flush("stage_info");
+
+    ArgumentCaptor<String> queryCaptor = ArgumentCaptor.forClass(String.class);
+    verify(connection, times(3)).prepareStatement(queryCaptor.capture());
+    assertThat(queryCaptor.getAllValues()).containsExactly(upsert(), upsert(), "DELETE FROM stage_info WHERE id=?");
+    verify(statement, times(2)).addBatch();
+    verify(statement).executeBatch();
+    verify(statement).setObject(2, "SUCCESS", Types.OTHER);
+  }
+
+  @Test
+  @Owner(developers = OwnerRule.RISHABH)
+  @Category(UnitTests.class)
+  public void testFlushedWhenBatchIsFull() throws SQLException {
+    sink = new TimescaleBatchingSink(
+        timeScaleDBService, TimescaleSinkConfig.builder().batchingEnabled(true).maxBatchSize(2).build());
+    sink.insert("stage_info", row("s1", "RUNNING"));
+    verify(connection, times(0)).prepareStatement(anyString());
+    sink.insert("stage_info", row("s2", "RUNNING"));
+    verify(connection).prepareStatement("INSERT INTO stage_info (id,status) VALUES (?,?),(?,?)");
+  }
+
+  @Test
+  @Owner(developers = OwnerRule.RISHABH)
+  @Category(UnitTests.class)
+  public void testFailedStatementWrittenRowByRow() throws SQLException {
+    doThrow(new SQLException("invalid input syntax"))
+        .when(connection)
+        .prepareStatement("INSERT INTO stage_info (id,status) VALUES (?,?),(?,?),(?,?)");
+    doThrow(new SQLException("invalid input syntax")).when(statement).setObject(2, "BAD", Types.OTHER);
+    sink.insert("stage_info", row("s1", "RUNNING"));
+    sink.insert("stage_info", row("s2", "BAD"));
+    sink.insert("stage_info", row("s3", "SUCCESS"));
+    sink.flushAll();
+
+    verify(statement).setObject(2, "RUNNING", Types.OTHER);
+    verify(statement).setObject(2, "SUCCESS", Types.OTHER);
+    verify(statement, times(2)).execute();
+  }
+
+  private static String upsert() {
+    return "INSERT INTO stage_info (id,status) VALUES (?,?) ON CONFLICT (id) DO UPDATE SET id=EXCLUDED.id,"
+        + "status=EXCLUDED.status";
+  }
+
+  private static Map<String, String> row(String id, String status) {
+    Map<String, String> row = new LinkedHashMap<>();
+    row.put("id", id);
+    row.put("status", status);
+    return row;
+  }
+}
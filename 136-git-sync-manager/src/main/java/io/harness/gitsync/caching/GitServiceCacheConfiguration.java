@@ -26,4 +26,7 @@ public class GitServiceCacheConfiguration {
   @JsonProperty("maxCacheDurationInMillis") long maxCacheDurationInMillis;
   @JsonProperty("backgroundUpdateThreadPool") ThreadPoolConfig backgroundUpdateThreadPoolConfig;
   @JsonProperty("defaultBranchCacheDurationTimeInMinutes") long defaultBranchCacheDurationTimeInMinutes;
+  // In-process tier of the git file cache, disabled when zero
+  @JsonProperty("localFileCacheSizeInMb") long localFileCacheSizeInMb;
+  @JsonProperty("localRefCacheDurationInMillis") long localRefCacheDurationInMillis;
 }
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.gitsync.caching.helper;
+
+import io.harness.annotations.dev.CodePulse;
+import io.harness.annotations.dev.HarnessModuleComponent;
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.annotations.dev.ProductModule;
+import io.harness.gitsync.GitServiceConfiguration;
+import io.harness.gitsync.caching.GitServiceCacheConfiguration;
+import io.harness.gitsync.caching.beans.GitFileCacheKey;
+import io.harness.gitsync.caching.beans.GitFileCacheObject;
+import io.harness.gitsync.caching.entity.GitFileCache;
+import io.harness.gitsync.caching.entity.GitFileObject;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.Weigher;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process tier in front of the git file cache collection.
+ *
+ * The files are kept by their blob or commit id, their content never changes and they are only evicted by size. The
+ * cache entries resolving a branch to a blob are kept for a short time, as they change with every push. They are
+ * refreshed on this replica when its git file cache is upserted, the webhook events included, and expire on the others.
+ */
+@CodePulse(module = ProductModule.CDS, unitCoverageRequired = true, components = {HarnessModuleComponent.CDS_GITX})
+@OwnedBy(HarnessTeam.PIPELINE)
+@Singleton
+public class GitFileLocalCache {
+  private static final long MAX_CACHE_REFS = 10000;
+
+  private final Cache<String, GitFileCacheObject> files;
+  // Git file cache entries without their file content, by file and branch
+  private final Cache<String, GitFileCache> cacheRefs;
+
+  @Inject
+  public GitFileLocalCache(@Named("gitServiceConfiguration") GitServiceConfiguration gitServiceConfiguration) {
+    GitServiceCacheConfiguration cacheConfiguration = gitServiceConfiguration.getGitServiceCacheConfiguration();
+    files = CacheBuilder.newBuilder()
+                .maximumWeight(cacheConfiguration.getLocalFileCacheSizeInMb() * 1024 * 1024)
+                .weigher((Weigher<String, GitFileCacheObject>) (fileKey, file) -> getWeight(file))
+                .build();
+    cacheRefs = CacheBuilder.newBuilder()
+                    .maximumSize(MAX_CACHE_REFS)
+                    .expireAfterWrite(cacheConfiguration.getLocalRefCacheDurationInMillis(), TimeUnit.MILLISECONDS)
+                    .build();
+  }
+
+  public GitFileCache getCacheRef(GitFileCacheKey gitFileCacheKey) {
+    return cacheRefs.getIfPresent(getRefKey(gitFileCacheKey, gitFileCacheKey.isDefaultBranch()));
+  }
+
+  public void putCacheRef(GitFileCacheKey gitFileCacheKey, GitFileCache gitFileCache) {
+    cacheRefs.put(getRefKey(gitFileCacheKey, gitFileCacheKey.isDefaultBranch()), withoutFileContent(gitFileCache));
+  }
+
+  /**
+   * Updates the entry of the branch upserted in the git file cache. Its default branch entry, when the branch is the
+   * default one, is dropped unless upserted as such.
+   */
+  public void putUpsertedCacheRef(GitFileCacheKey gitFileCacheKey, GitFileCache gitFileCache) {
+    GitFileCache cacheRef = withoutFileContent(gitFileCache);
+    cacheRefs.put(getRefKey(gitFileCacheKey, false), cacheRef);
+    if (gitFileCacheKey.isDefaultBranch()) {
+      cacheRefs.put(getRefKey(gitFileCacheKey, true), cacheRef);
+    } else {
+      cacheRefs.invalidate(getRefKey(gitFileCacheKey, true));
+    }
+  }
+
+  public void invalidateCacheRef(GitFileCacheKey gitFileCacheKey) {
+    cacheRefs.invalidate(getRefKey(gitFileCacheKey, gitFileCacheKey.isDefaultBranch()));
+  }
+
+  public void invalidateAllCacheRefs() {
+    cacheRefs.invalidateAll();
+  }
+
+  public GitFileCacheObject getFile(GitFileCacheKey gitFileCacheKey, GitFileCache cacheRef) {
+    GitFileObject gitFileObject = cacheRef.getGitFileObject();
+    if (gitFileObject == null) {
+      return null;
+    }
+    String fileKey = getFileKey(gitFileCacheKey, gitFileObject.getObjectId(), gitFileObject.getCommitId());
+    return fileKey == null ? null : files.getIfPresent(fileKey);
+  }
+
+  public void putFile(GitFileCacheKey gitFileCacheKey, GitFileCacheObject gitFileCacheObject) {
+    String fileKey = getFileKey(gitFileCacheKey, gitFileCacheObject.getObjectId(), gitFileCacheObject.getCommitId());
+    if (fileKey != null && gitFileCacheObject.getFileContent() != null) {
+      files.put(fileKey, gitFileCacheObject);
+    }
+  }
+
+  private static String getRefKey(GitFileCacheKey gitFileCacheKey, boolean isDefaultBranch) {
+    return String.join("/", gitFileCacheKey.getAccountIdentifier(), String.valueOf(gitFileCacheKey.getGitProvider()),
+        gitFileCacheKey.getRepoName(), isDefaultBranch ? "" : gitFileCacheKey.getRef(),
+        gitFileCacheKey.getCompleteFilePath());
+  }
+
+  // A file is identified by its blob id in the repo, or by its path at a commit
+  private static String getFileKey(GitFileCacheKey gitFileCacheKey, String objectId, String commitId) {
+    String fileId;
+    if (objectId != null) {
+      fileId = "blob:" + objectId;
+    } else if (commitId != null) {
+      fileId = "commit:" + commitId;
+    } else {
+      return null;
+    }
+    return String.join("/", gitFileCacheKey.getAccountIdentifier(), String.valueOf(gitFileCacheKey.getGitProvider()),
+        gitFileCacheKey.getRepoName(), fileId, gitFileCacheKey.getCompleteFilePath());
+  }
+
+  private static GitFileCache withoutFileContent(GitFileCache gitFileCache) {
+    GitFileObject gitFileObject = gitFileCache.getGitFileObject();
+    if (gitFileObject == null || gitFileObject.getFileContent() == null) {
+      return gitFileCache;
+    }
+    return GitFileCache.builder()
+        .uuid(gitFileCache.getUuid())
+        .accountIdentifier(gitFileCache.getAccountIdentifier())
+        .gitProvider(gitFileCache.getGitProvider())
+        .repoName(gitFileCache.getRepoName())
+        .ref(gitFileCache.getRef())
+        .completeFilepath(gitFileCache.getCompleteFilepath())
+        .isDefaultBranch(gitFileCache.isDefaultBranch())
+        .gitFileObject(
+            GitFileObject.builder().objectId(gitFileObject.getObjectId()).commitId(gitFileObject.getCommitId()).build())
+        .createdAt(gitFileCache.getCreatedAt())
+        .validUntil(gitFileCache.getValidUntil())
+        .lastUpdatedAt(gitFileCache.getLastUpdatedAt())
+        .build();
+  }
+
+  private static int getWeight(GitFileCacheObject gitFileCacheObject) {
+    return gitFileCacheObject.getFileContent().length();
+  }
+}
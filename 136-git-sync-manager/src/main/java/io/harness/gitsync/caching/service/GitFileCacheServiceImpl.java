@@ -21,6 +21,7 @@ import io.harness.gitsync.caching.beans.GitFileCacheUpdateResult;
 import io.harness.gitsync.caching.entity.GitFileCache;
 import io.harness.gitsync.caching.entity.GitFileCache.GitFileCacheKeys;
 import io.harness.gitsync.caching.helper.GitFileCacheTTLHelper;
+import io.harness.gitsync.caching.helper.GitFileLocalCache;
 import io.harness.gitsync.caching.mapper.GitFileCacheObjectMapper;
 import io.harness.gitsync.caching.mapper.GitProviderMapper;
 import io.harness.repositories.gitfilecache.GitFileCacheRepository;
@@ -37,34 +38,48 @@ import org.springframework.data.mongodb.core.query.Update;
 public class GitFileCacheServiceImpl implements GitFileCacheService {
   @Inject GitFileCacheRepository gitFileCacheRepository;
   @Inject GitFileCacheTTLHelper gitFileCacheTTLHelper;
+  @Inject GitFileLocalCache gitFileLocalCache;
 
   @Override
   public GitFileCacheResponse fetchFromCache(GitFileCacheKey gitFileCacheKey) {
-    GitFileCache gitFileCache;
-    if (gitFileCacheKey.isDefaultBranch()) {
-      gitFileCache =
-          gitFileCacheRepository.findByAccountIdentifierAndGitProviderAndRepoNameAndCompleteFilepathAndIsDefaultBranch(
-              gitFileCacheKey.getAccountIdentifier(), GitProviderMapper.toEntity(gitFileCacheKey.getGitProvider()),
-              gitFileCacheKey.getRepoName(), gitFileCacheKey.getCompleteFilePath(), true);
-    } else {
-      gitFileCache = gitFileCacheRepository.findByAccountIdentifierAndGitProviderAndRepoNameAndRefAndCompleteFilepath(
-          gitFileCacheKey.getAccountIdentifier(), GitProviderMapper.toEntity(gitFileCacheKey.getGitProvider()),
-          gitFileCacheKey.getRepoName(), gitFileCacheKey.getRef(), gitFileCacheKey.getCompleteFilePath());
-    }
-    if (gitFileCache == null) {
-      return null;
+    GitFileCache cacheRef = gitFileLocalCache.getCacheRef(gitFileCacheKey);
+    if (cacheRef == null) {
+      cacheRef = gitFileCacheRepository.findWithoutFileContent(getFetchCriteria(gitFileCacheKey));
+      if (cacheRef == null) {
+        return null;
+      }
+      gitFileLocalCache.putCacheRef(gitFileCacheKey, cacheRef);
     }
 
     CacheDetails cacheDetails =
-        gitFileCacheTTLHelper.getCacheDetails(gitFileCache.getLastUpdatedAt(), gitFileCache.getValidUntil().getTime());
+        gitFileCacheTTLHelper.getCacheDetails(cacheRef.getLastUpdatedAt(), cacheRef.getValidUntil().getTime());
     if (cacheDetails == null) {
       return null;
     }
 
+    GitFileCacheObject gitFileCacheObject = gitFileLocalCache.getFile(gitFileCacheKey, cacheRef);
+    if (gitFileCacheObject == null) {
+      // Loads the file content, along with the latest version of the cache entry
+      GitFileCache gitFileCache = gitFileCacheRepository.findById(cacheRef.getUuid()).orElse(null);
+      if (gitFileCache == null) {
+        gitFileLocalCache.invalidateCacheRef(gitFileCacheKey);
+        return null;
+      }
+      cacheRef = gitFileCache;
+      cacheDetails = gitFileCacheTTLHelper.getCacheDetails(
+          gitFileCache.getLastUpdatedAt(), gitFileCache.getValidUntil().getTime());
+      if (cacheDetails == null) {
+        return null;
+      }
+      gitFileCacheObject = GitFileCacheObjectMapper.fromEntity(gitFileCache.getGitFileObject());
+      gitFileLocalCache.putCacheRef(gitFileCacheKey, gitFileCache);
+      gitFileLocalCache.putFile(gitFileCacheKey, gitFileCacheObject);
+    }
+
     return GitFileCacheResponse.builder()
         .cacheDetails(cacheDetails)
-        .gitFileCacheObject(GitFileCacheObjectMapper.fromEntity(gitFileCache.getGitFileObject()))
-        .gitFileCacheResponseMetadata(GitFileCacheResponseMetadata.builder().ref(gitFileCache.getRef()).build())
+        .gitFileCacheObject(gitFileCacheObject)
+        .gitFileCacheResponseMetadata(GitFileCacheResponseMetadata.builder().ref(cacheRef.getRef()).build())
         .build();
   }
 
@@ -73,12 +88,15 @@ public class GitFileCacheServiceImpl implements GitFileCacheService {
     Criteria criteria = getCriteria(gitFileCacheKey);
     Update update = getUpsertOperationUpdates(gitFileCacheKey, gitFileCacheObject);
     GitFileCache gitFileCache = gitFileCacheRepository.upsert(criteria, update);
+    GitFileCacheObject upsertedFile = GitFileCacheObjectMapper.fromEntity(gitFileCache.getGitFileObject());
+    gitFileLocalCache.putUpsertedCacheRef(gitFileCacheKey, gitFileCache);
+    gitFileLocalCache.putFile(gitFileCacheKey, upsertedFile);
 
     CacheDetails cacheDetails =
         gitFileCacheTTLHelper.getCacheDetails(gitFileCache.getLastUpdatedAt(), gitFileCache.getValidUntil().getTime());
     return GitFileCacheResponse.builder()
         .cacheDetails(cacheDetails)
-        .gitFileCacheObject(GitFileCacheObjectMapper.fromEntity(gitFileCache.getGitFileObject()))
+        .gitFileCacheObject(upsertedFile)
         .gitFileCacheResponseMetadata(GitFileCacheResponseMetadata.builder().ref(gitFileCache.getRef()).build())
         .build();
   }
@@ -87,6 +105,8 @@ public class GitFileCacheServiceImpl implements GitFileCacheService {
   public GitFileCacheDeleteResult invalidateCache(GitFileCacheKey gitFileCacheKey) {
     Criteria criteria = getOptionalCriteria(gitFileCacheKey);
     DeleteResult deleteResult = gitFileCacheRepository.delete(criteria);
+    // The key can match several files and branches
+    gitFileLocalCache.invalidateAllCacheRefs();
     log.info(
         "Invalidated cache for key: {} , deletedRecordsCount: {}", gitFileCacheKey, deleteResult.getDeletedCount());
     return GitFileCacheDeleteResult.builder().count(deleteResult.getDeletedCount()).build();
@@ -105,6 +125,7 @@ public class GitFileCacheServiceImpl implements GitFileCacheService {
     update.set(GitFileCacheKeys.lastUpdatedAt, values.getUpdatedAt());
     update.set(GitFileCacheKeys.validUntil, gitFileCacheTTLHelper.getFormattedValidUntilTime(values.getValidUntil()));
     UpdateResult updateResult = gitFileCacheRepository.update(criteria, update);
+    gitFileLocalCache.invalidateAllCacheRefs();
     return GitFileCacheUpdateResult.builder().count(updateResult.getModifiedCount()).build();
   }
 
@@ -127,6 +148,22 @@ public class GitFileCacheServiceImpl implements GitFileCacheService {
     return update;
   }
 
+  private Criteria getFetchCriteria(GitFileCacheKey gitFileCacheKey) {
+    if (!gitFileCacheKey.isDefaultBranch()) {
+      return getCriteria(gitFileCacheKey);
+    }
+    return Criteria.where(GitFileCacheKeys.accountIdentifier)
+        .is(gitFileCacheKey.getAccountIdentifier())
+        .and(GitFileCacheKeys.gitProvider)
+        .is(GitProviderMapper.toEntity(gitFileCacheKey.getGitProvider()))
+        .and(GitFileCacheKeys.repoName)
+        .is(gitFileCacheKey.getRepoName())
+        .and(GitFileCacheKeys.completeFilepath)
+        .is(gitFileCacheKey.getCompleteFilePath())
+        .and(GitFileCacheKeys.isDefaultBranch)
+        .is(true);
+  }
+
   private Criteria getCriteria(GitFileCacheKey gitFileCacheKey) {
     return Criteria.where(GitFileCacheKeys.accountIdentifier)
         .is(gitFileCacheKey.getAccountIdentifier())
@@ -6,6 +6,9 @@
  */
 
 package io.harness.gitsync.gitxwebhooks.runnable;
+
+import static io.harness.data.structure.CollectionUtils.emptyIfNull;
+
 import io.harness.annotations.dev.CodePulse;
 import io.harness.annotations.dev.HarnessModuleComponent;
 import io.harness.annotations.dev.HarnessTeam;
@@ -22,8 +25,10 @@ import io.harness.gitsync.gitxwebhooks.loggers.GitXWebhookCacheUpdateLogContext;
 import io.harness.gitsync.gitxwebhooks.service.GitXWebhookEventService;
 import io.harness.logging.ResponseTimeRecorder;
 
+import com.google.common.collect.Lists;
 import com.google.inject.Inject;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 
@@ -31,6 +36,9 @@ import lombok.extern.slf4j.Slf4j;
 @OwnedBy(HarnessTeam.PIPELINE)
 @Slf4j
 public class GitXWebhookCacheUpdateRunnable implements Runnable {
+  // Files fetched from the git provider in a single batch request
+  private static final int MAX_BATCH_SIZE = 20;
+
   @Inject private ScmFacilitatorService scmFacilitatorService;
   @Inject private GitXWebhookEventService gitXWebhookEventService;
   private GitXCacheUpdateRunnableRequestDTO gitXCacheUpdateRunnableRequestDTO;
@@ -50,7 +58,12 @@ public class GitXWebhookCacheUpdateRunnable implements Runnable {
       log.info(String.format("In the account %s, updating the git cache for the event %s.",
           gitXCacheUpdateRunnableRequestDTO.getScope().getAccountIdentifier(),
           gitXCacheUpdateRunnableRequestDTO.getEventIdentifier()));
-      scmFacilitatorService.updateGitCache(buildScmUpdateGitCacheRequestDTO(gitXCacheUpdateRunnableRequestDTO));
+      List<List<String>> filePathBatches =
+          Lists.partition(emptyIfNull(gitXCacheUpdateRunnableRequestDTO.getModifiedFilePaths()), MAX_BATCH_SIZE);
+      for (List<String> filePaths : filePathBatches) {
+        scmFacilitatorService.updateGitCache(
+            buildScmUpdateGitCacheRequestDTO(gitXCacheUpdateRunnableRequestDTO, filePaths));
+      }
       gitXWebhookEventService.updateEvent(gitXCacheUpdateRunnableRequestDTO.getScope().getAccountIdentifier(),
           eventIdentifier,
           GitXEventUpdateRequestDTO.builder().gitXWebhookEventStatus(GitXWebhookEventStatus.SUCCESSFUL).build());
@@ -67,18 +80,19 @@ public class GitXWebhookCacheUpdateRunnable implements Runnable {
   }
 
   private ScmUpdateGitCacheRequestDTO buildScmUpdateGitCacheRequestDTO(
-      GitXCacheUpdateRunnableRequestDTO gitXCacheUpdateRunnableRequestDTO) {
+      GitXCacheUpdateRunnableRequestDTO gitXCacheUpdateRunnableRequestDTO, List<String> modifiedFilePaths) {
     return ScmUpdateGitCacheRequestDTO.builder()
         .accountIdentifier(gitXCacheUpdateRunnableRequestDTO.getScope().getAccountIdentifier())
-        .scmGetFileByBranchRequestDTOMap(buildScmGetFileByBranchRequestDTOMap(gitXCacheUpdateRunnableRequestDTO))
+        .scmGetFileByBranchRequestDTOMap(
+            buildScmGetFileByBranchRequestDTOMap(gitXCacheUpdateRunnableRequestDTO, modifiedFilePaths))
         .build();
   }
 
   private Map<ScmGetBatchFileRequestIdentifier, ScmGetFileByBranchRequestDTO> buildScmGetFileByBranchRequestDTOMap(
-      GitXCacheUpdateRunnableRequestDTO gitXCacheUpdateRunnableRequestDTO) {
+      GitXCacheUpdateRunnableRequestDTO gitXCacheUpdateRunnableRequestDTO, List<String> modifiedFilePaths) {
     Map<ScmGetBatchFileRequestIdentifier, ScmGetFileByBranchRequestDTO> scmGetFileByBranchRequestDTOMap =
         new HashMap<>();
-    gitXCacheUpdateRunnableRequestDTO.getModifiedFilePaths().forEach(modifiedFilePath -> {
+    modifiedFilePaths.forEach(modifiedFilePath -> {
       String uniqueIdentifier = buildUniqueIdentifier(gitXCacheUpdateRunnableRequestDTO, modifiedFilePath);
       ScmGetBatchFileRequestIdentifier scmGetBatchFileRequestIdentifier =
           ScmGetBatchFileRequestIdentifier.builder().identifier(uniqueIdentifier).build();
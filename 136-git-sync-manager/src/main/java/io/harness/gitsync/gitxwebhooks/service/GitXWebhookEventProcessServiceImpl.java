@@ -95,9 +95,10 @@ public class GitXWebhookEventProcessServiceImpl implements GitXWebhookEventProce
           log.info(String.format(
               "Submitting the task for PROCESSING the webhook event %s as the webhook(s) is enabled and the folder paths match.",
               gitXWebhookEvent.getEventIdentifier()));
+          // Refreshes every pushed yaml file, the cache may hold files outside the webhook folder paths as well
           gitXWebhookCacheUpdateHelper.submitTask(gitXWebhookEvent.getEventIdentifier(),
               buildGitXWebhookRunnableRequest(processingFilePathResponseDTO.getGitXWebhook(), gitXWebhookEvent,
-                  processingFilePathResponseDTO.getModifiedFilePaths(),
+                  GitXWebhookUtils.getHarnessEntityFilePaths(processingFilePathResponseDTO.getModifiedFilePaths()),
                   processingFilePathResponseDTO.getScmConnector()));
           updateEventStatus(gitXWebhookEvent.getAccountIdentifier(), gitXWebhookEvent.getEventIdentifier(),
               GitXWebhookEventStatus.PROCESSING, processingFilePathResponseDTO.getProcessingFilePaths());
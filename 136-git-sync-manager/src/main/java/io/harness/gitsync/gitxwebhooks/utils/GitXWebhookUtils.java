@@ -21,8 +21,10 @@ import io.harness.gitsync.gitxwebhooks.entity.GitXWebhook;
 
 import com.google.common.annotations.VisibleForTesting;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 
@@ -31,6 +33,8 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 @OwnedBy(PIPELINE)
 public class GitXWebhookUtils {
+  private static final List<String> HARNESS_ENTITY_FILE_EXTENSIONS = Arrays.asList(".yaml", ".yml");
+
   public List<String> compareFolderPaths(List<String> webhookFolderPaths, List<String> modifiedFilePaths) {
     ArrayList<String> matchingFolderPaths = new ArrayList<>();
     if (isEmpty(modifiedFilePaths)) {
@@ -52,6 +56,21 @@ public class GitXWebhookUtils {
     return matchingFolderPaths;
   }
 
+  // The remote entities are stored as yaml files, the other files of the repo are not read by Harness
+  public List<String> getHarnessEntityFilePaths(List<String> filePaths) {
+    List<String> harnessEntityFilePaths = new ArrayList<>();
+    if (isEmpty(filePaths)) {
+      return harnessEntityFilePaths;
+    }
+    filePaths.forEach(filePath -> {
+      String lowerCaseFilePath = filePath.toLowerCase(Locale.ROOT);
+      if (HARNESS_ENTITY_FILE_EXTENSIONS.stream().anyMatch(lowerCaseFilePath::endsWith)) {
+        harnessEntityFilePaths.add(filePath);
+      }
+    });
+    return harnessEntityFilePaths;
+  }
+
   public boolean isBiDirectionalSyncEnabled(Scope fileScope, List<GitXWebhook> gitXWebhookList, String filepath) {
     List<GitXWebhook> enabledWebhooks = getEnabledWebhooks(gitXWebhookList);
     List<GitXWebhook> webhooksWithMatchingFolderPaths = getWebhooksWithMatchingFolderPaths(enabledWebhooks, filepath);
@@ -21,4 +21,5 @@ public interface GitFileCacheRepositoryCustom {
   GitFileCache upsert(Criteria criteria, Update update);
   DeleteResult delete(Criteria criteria);
   UpdateResult update(Criteria criteria, Update update);
+  GitFileCache findWithoutFileContent(Criteria criteria);
 }
@@ -10,6 +10,7 @@ package io.harness.repositories.gitfilecache;
 import io.harness.annotations.dev.HarnessTeam;
 import io.harness.annotations.dev.OwnedBy;
 import io.harness.gitsync.caching.entity.GitFileCache;
+import io.harness.gitsync.caching.entity.GitFileCache.GitFileCacheKeys;
 
 import com.google.inject.Inject;
 import com.mongodb.client.result.DeleteResult;
@@ -41,4 +42,10 @@ public class GitFileCacheRepositoryCustomImpl implements GitFileCacheRepositoryC
     Query query = new Query(criteria);
     return mongoTemplate.updateMulti(query, update, GitFileCache.class);
   }
+
+  public GitFileCache findWithoutFileContent(Criteria criteria) {
+    Query query = new Query(criteria);
+    query.fields().exclude(GitFileCacheKeys.gitFileObject + ".fileContent");
+    return mongoTemplate.findOne(query, GitFileCache.class);
+  }
 }
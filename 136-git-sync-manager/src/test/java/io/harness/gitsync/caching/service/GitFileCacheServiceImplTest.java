@@ -0,0 +1,144 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.gitsync.caching.service;
+
+import static io.harness.rule.OwnerRule.ADITHYA;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.category.element.UnitTests;
+import io.harness.gitsync.GitServiceConfiguration;
+import io.harness.gitsync.GitSyncTestBase;
+import io.harness.gitsync.caching.GitServiceCacheConfiguration;
+import io.harness.gitsync.caching.beans.CacheDetails;
+import io.harness.gitsync.caching.beans.GitFileCacheKey;
+import io.harness.gitsync.caching.beans.GitFileCacheObject;
+import io.harness.gitsync.caching.beans.GitFileCacheResponse;
+import io.harness.gitsync.caching.beans.GitProvider;
+import io.harness.gitsync.caching.entity.GitFileCache;
+import io.harness.gitsync.caching.entity.GitFileObject;
+import io.harness.gitsync.caching.helper.GitFileCacheTTLHelper;
+import io.harness.gitsync.caching.helper.GitFileLocalCache;
+import io.harness.repositories.gitfilecache.GitFileCacheRepository;
+import io.harness.rule.Owner;
+
+import com.mongodb.client.result.DeleteResult;
+import java.util.Date;
+import java.util.Optional;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+@OwnedBy(HarnessTeam.PIPELINE)
+public class GitFileCacheServiceImplTest extends GitSyncTestBase {
+  @InjectMocks GitFileCacheServiceImpl gitFileCacheService;
+  @Mock GitFileCacheRepository gitFileCacheRepository;
+  @Mock GitFileCacheTTLHelper gitFileCacheTTLHelper;
+
+  private final String ACCOUNT_IDENTIFIER = "accountID";
+  private final String REPO = "repo";
+  private final String BRANCH = "master";
+  private final String FILE_PATH = ".harness/pipeline.yaml";
+  private final String UUID = "uuid";
+
+  private GitFileCacheKey gitFileCacheKey;
+
+  @Before
+  public void setup() {
+    MockitoAnnotations.initMocks(this);
+    gitFileCacheService.gitFileLocalCache = new GitFileLocalCache(
+        GitServiceConfiguration.builder()
+            .gitServiceCacheConfiguration(GitServiceCacheConfiguration.builder()
+                                              .localFileCacheSizeInMb(1)
+                                              .localRefCacheDurationInMillis(60000)
+                                              .build())
+            .build());
+    gitFileCacheKey = GitFileCacheKey.builder()
+                          .accountIdentifier(ACCOUNT_IDENTIFIER)
+                          .gitProvider(GitProvider.GITHUB_SAAS)
+                          .repoName(REPO)
+                          .ref(BRANCH)
+                          .completeFilePath(FILE_PATH)
+                          .build();
+    doReturn(CacheDetails.builder().build()).when(gitFileCacheTTLHelper).getCacheDetails(anyLong(), anyLong());
+  }
+
+  @Test
+  @Owner(developers = ADITHYA)
+  @Category(UnitTests.class)
+  public void testFetchFromCacheServesFileFromMemory() {
+    GitFileCache gitFileCache = gitFileCache("objectId", "content");
+    doReturn(gitFileCache).when(gitFileCacheRepository).findWithoutFileContent(any());
+    doReturn(Optional.of(gitFileCache)).when(gitFileCacheRepository).findById(UUID);
+
+    GitFileCacheResponse gitFileCacheResponse = gitFileCacheService.fetchFromCache(gitFileCacheKey);
+    GitFileCacheResponse cachedGitFileCacheResponse = gitFileCacheService.fetchFromCache(gitFileCacheKey);
+
+    assertThat(gitFileCacheResponse.getGitFileCacheObject().getFileContent()).isEqualTo("content");
+    assertThat(cachedGitFileCacheResponse.getGitFileCacheObject().getFileContent()).isEqualTo("content");
+    assertThat(cachedGitFileCacheResponse.getGitFileCacheResponseMetadata().getRef()).isEqualTo(BRANCH);
+    verify(gitFileCacheRepository, times(1)).findWithoutFileContent(any());
+    verify(gitFileCacheRepository, times(1)).findById(UUID);
+  }
+
+  @Test
+  @Owner(developers = ADITHYA)
+  @Category(UnitTests.class)
+  public void testFetchFromCacheAfterUpsert() {
+    doReturn(gitFileCache("objectId", "content")).when(gitFileCacheRepository).upsert(any(), any());
+    gitFileCacheService.upsertCache(gitFileCacheKey,
+        GitFileCacheObject.builder().fileContent("content").objectId("objectId").commitId("commitId").build());
+
+    GitFileCacheResponse gitFileCacheResponse = gitFileCacheService.fetchFromCache(gitFileCacheKey);
+
+    assertThat(gitFileCacheResponse.getGitFileCacheObject().getFileContent()).isEqualTo("content");
+    verify(gitFileCacheRepository, never()).findWithoutFileContent(any());
+    verify(gitFileCacheRepository, never()).findById(any());
+  }
+
+  @Test
+  @Owner(developers = ADITHYA)
+  @Category(UnitTests.class)
+  public void testFetchFromCacheLoadsChangedFile() {
+    doReturn(gitFileCache("objectId", "content")).when(gitFileCacheRepository).upsert(any(), any());
+    gitFileCacheService.upsertCache(gitFileCacheKey,
+        GitFileCacheObject.builder().fileContent("content").objectId("objectId").commitId("commitId").build());
+    doReturn(DeleteResult.acknowledged(1)).when(gitFileCacheRepository).delete(any());
+    gitFileCacheService.invalidateCache(GitFileCacheKey.builder().accountIdentifier(ACCOUNT_IDENTIFIER).build());
+
+    GitFileCache changedGitFileCache = gitFileCache("changedObjectId", "changedContent");
+    doReturn(changedGitFileCache).when(gitFileCacheRepository).findWithoutFileContent(any());
+    doReturn(Optional.of(changedGitFileCache)).when(gitFileCacheRepository).findById(UUID);
+    GitFileCacheResponse gitFileCacheResponse = gitFileCacheService.fetchFromCache(gitFileCacheKey);
+
+    assertThat(gitFileCacheResponse.getGitFileCacheObject().getFileContent()).isEqualTo("changedContent");
+  }
+
+  private GitFileCache gitFileCache(String objectId, String fileContent) {
+    return GitFileCache.builder()
+        .uuid(UUID)
+        .accountIdentifier(ACCOUNT_IDENTIFIER)
+        .repoName(REPO)
+        .ref(BRANCH)
+        .completeFilepath(FILE_PATH)
+        .gitFileObject(GitFileObject.builder().fileContent(fileContent).objectId(objectId).commitId("commitId").build())
+        .validUntil(new Date())
+        .build();
+  }
+}
@@ -120,4 +120,16 @@ public class GitXWebhookUtilsTest extends GitSyncTestBase {
 
     assertTrue(GitXWebhookUtils.isBiDirectionalSyncEnabled(fileScopePro, gitXWebhookList, ".harness"));
   }
+
+  @Test
+  @Owner(developers = ADITHYA)
+  @Category(UnitTests.class)
+  public void testGetHarnessEntityFilePaths() {
+    List<String> filePaths =
+        Arrays.asList(".harness/pipeline.yaml", ".harness/template.YML", "src/Main.java", "README.md", "yaml");
+
+    List<String> harnessEntityFilePaths = GitXWebhookUtils.getHarnessEntityFilePaths(filePaths);
+    assertEquals(Arrays.asList(".harness/pipeline.yaml", ".harness/template.YML"), harnessEntityFilePaths);
+    assertTrue(GitXWebhookUtils.getHarnessEntityFilePaths(null).isEmpty());
+  }
 }
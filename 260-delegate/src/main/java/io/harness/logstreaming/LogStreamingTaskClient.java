@@ -14,7 +14,6 @@ import static software.wings.beans.LogHelper.color;
 import static software.wings.beans.LogHelper.doneColoring;
 import static software.wings.beans.LogWeight.Bold;
 
-import static java.lang.System.currentTimeMillis;
 import static org.apache.commons.lang3.StringUtils.isBlank;
 
 import io.harness.annotations.dev.CodePulse;
@@ -34,17 +33,22 @@ import software.wings.delegatetasks.DelegateLogService;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import lombok.Builder;
 import lombok.Builder.Default;
 import lombok.extern.slf4j.Slf4j;
@@ -58,6 +62,10 @@ import org.jetbrains.annotations.NotNull;
  *    -> write line
  *    -> close stream
  * concurrent usage of open and close stream will result in loss of logs
+ *
+ * The lines are buffered per log key in lock-free queues and pushed every 100ms, or as soon as enough lines are
+ * buffered. When the log service does not keep up, the writers push the logs themselves. Closing a stream pushes all
+ * of its remaining lines, the lines of a failed push are dropped and counted.
  */
 @CodePulse(
     module = ProductModule.CDS, unitCoverageRequired = true, components = {HarnessModuleComponent.CDS_COMMON_STEPS})
@@ -65,6 +73,12 @@ import org.jetbrains.annotations.NotNull;
 @Slf4j
 @TargetModule(HarnessModule._420_DELEGATE_AGENT)
 public class LogStreamingTaskClient implements ILogStreamingTaskClient {
+  // Lines buffered by a client after which a dispatch is triggered without waiting for the next interval
+  private static final int FLUSH_THRESHOLD = 500;
+  // Lines buffered by a client after which the writers push the logs themselves, slowing the task down
+  private static final int MAX_BUFFERED_LINES = 10000;
+  private static final long DISPATCH_INTERVAL_MILLIS = 100;
+
   private final DelegateLogService logService;
   private final LogStreamingClient logStreamingClient;
   private final LogStreamingSanitizer logStreamingSanitizer;
@@ -77,9 +91,15 @@ public class LogStreamingTaskClient implements ILogStreamingTaskClient {
   @Deprecated private final String appId;
   @Deprecated private final String activityId;
   private ScheduledFuture scheduledFuture;
+  private int openStreams;
   private final ITaskProgressClient taskProgressClient;
 
-  @Default private final Map<String, List<LogLine>> logCache = new HashMap<>();
+  @Default private final Map<String, Queue<LogLine>> logCache = new ConcurrentHashMap<>();
+  @Default private final AtomicInteger bufferedLines = new AtomicInteger();
+  @Default private final AtomicInteger droppedLines = new AtomicInteger();
+  @Default private final AtomicBoolean dispatchRequested = new AtomicBoolean();
+  // Only serializes the dispatches, so that the lines of a key are pushed in order. Writers never take it.
+  @Default private final Lock dispatchLock = new ReentrantLock();
 
   private Set<String> markers;
 
@@ -92,45 +112,45 @@ public class LogStreamingTaskClient implements ILogStreamingTaskClient {
     } catch (Exception ex) {
       log.warn("Unable to open log stream for account {} and key {}", accountId, logKey, ex);
     }
-    scheduledFuture = scheduledExecutorService.scheduleAtFixedRate(this::dispatchLogs, 0, 100, TimeUnit.MILLISECONDS);
+    synchronized (this) {
+      if (openStreams++ == 0) {
+        scheduledFuture = scheduledExecutorService.scheduleAtFixedRate(
+            this::dispatchLogsIfIdle, 0, DISPATCH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+      }
+    }
   }
 
   @Override
   public void closeStream(String baseLogKeySuffix) {
     String logKey = getLogKey(baseLogKeySuffix);
 
-    synchronized (logCache) {
-      // We can mark this task to be completed. Log upload can happen asynchronously.
-      scheduledExecutorService.submit(() -> closeStreamAsync(logKey));
-    }
+    // We can mark this task to be completed. Log upload can happen asynchronously.
+    scheduledExecutorService.submit(() -> closeStreamAsync(logKey));
   }
 
   private void closeStreamAsync(String logKey) {
-    // Waiting for finite time allow log upload to finish.
-    long startTime = currentTimeMillis();
-    synchronized (logCache) {
-      while (logCache.containsKey(logKey) && currentTimeMillis() < startTime + TimeUnit.SECONDS.toMillis(5)) {
-        log.debug("For {} the logs are not drained yet. sleeping...", logKey);
-        try {
-          logCache.wait(100);
-        } catch (InterruptedException e) {
-          log.warn("Log upload didn't completed successfully for {} ", logKey);
-        }
+    dispatchLock.lock();
+    try {
+      Queue<LogLine> logLines = logCache.remove(logKey);
+      if (logLines != null) {
+        // Nothing dispatches the queue once it is removed, so it is pushed in batches until it is empty
+        int pushed;
+        do {
+          pushed = push(logKey, logLines);
+        } while (pushed == MAX_BUFFERED_LINES);
       }
-    }
-    if (logCache.containsKey(logKey)) {
-      log.warn("log cache was not drained for {}. num of keys in map {}. This will result in missing logs", logKey,
-          logCache.size());
+    } finally {
+      dispatchLock.unlock();
     }
     try {
       SafeHttpCall.executeWithExceptions(logStreamingClient.closeLogStream(token, accountId, logKey, true));
     } catch (Exception ex) {
       log.warn("Unable to close log stream for account {} and key {}", accountId, logKey, ex);
     } finally {
-      if (scheduledFuture != null) {
-        scheduledFuture.cancel(false);
-      } else {
-        log.warn("Scheduled future is missing for logkey {}", logKey);
+      synchronized (this) {
+        if (openStreams > 0 && --openStreams == 0) {
+          scheduledFuture.cancel(false);
+        }
       }
     }
   }
@@ -146,31 +166,68 @@ public class LogStreamingTaskClient implements ILogStreamingTaskClient {
     logStreamingSanitizer.sanitizeLogMessage(logLine, getMarkers());
     colorLog(logLine);
 
-    synchronized (logCache) {
-      if (!logCache.containsKey(logKey)) {
-        logCache.put(logKey, new ArrayList<>());
-      }
-      logCache.get(logKey).add(logLine);
+    logCache.computeIfAbsent(logKey, key -> new ConcurrentLinkedQueue<>()).add(logLine);
+    int buffered = bufferedLines.incrementAndGet();
+    if (buffered >= MAX_BUFFERED_LINES) {
+      // The log service does not keep up with the task, push from the writing thread
+      dispatchLogs();
+    } else if (buffered >= FLUSH_THRESHOLD && dispatchRequested.compareAndSet(false, true)) {
+      scheduledExecutorService.execute(this::dispatchLogsIfIdle);
     }
   }
 
   @Override
   public void dispatchLogs() {
-    synchronized (logCache) {
-      for (Iterator<Map.Entry<String, List<LogLine>>> iterator = logCache.entrySet().iterator(); iterator.hasNext();) {
-        Map.Entry<String, List<LogLine>> next = iterator.next();
-        try {
-          SafeHttpCall.executeWithExceptions(
-              logStreamingClient.pushMessage(token, accountId, next.getKey(), next.getValue()));
-        } catch (Exception ex) {
-          log.warn("Unable to push message to log stream for account {} and key {}", accountId, next.getKey(), ex);
-        }
-        iterator.remove();
+    dispatchLock.lock();
+    try {
+      dispatch();
+    } finally {
+      dispatchLock.unlock();
+    }
+  }
+
+  private void dispatchLogsIfIdle() {
+    // A running dispatch already pushes everything buffered so far
+    if (dispatchLock.tryLock()) {
+      try {
+        dispatch();
+      } finally {
+        dispatchLock.unlock();
       }
-      logCache.notifyAll();
     }
   }
 
+  private void dispatch() {
+    dispatchRequested.set(false);
+    logCache.forEach(this::push);
+  }
+
+  /**
+   * Pushes up to MAX_BUFFERED_LINES lines of the queue and returns how many were taken from it.
+   */
+  private int push(String logKey, Queue<LogLine> logLines) {
+    List<LogLine> batch = new ArrayList<>();
+    while (batch.size() < MAX_BUFFERED_LINES) {
+      LogLine logLine = logLines.poll();
+      if (logLine == null) {
+        break;
+      }
+      batch.add(logLine);
+    }
+    if (batch.isEmpty()) {
+      return 0;
+    }
+    bufferedLines.addAndGet(-batch.size());
+    try {
+      SafeHttpCall.executeWithExceptions(logStreamingClient.pushMessage(token, accountId, logKey, batch));
+    } catch (Exception ex) {
+      int dropped = droppedLines.addAndGet(batch.size());
+      log.warn("Unable to push {} lines to log stream for account {} and key {}, {} lines dropped by the task so far",
+          batch.size(), accountId, logKey, dropped, ex);
+    }
+    return batch.size();
+  }
+
   @NotNull
   private String getLogKey(String baseLogKeySuffix) {
     return baseLogKey + (isBlank(baseLogKeySuffix) ? "" : String.format(COMMAND_UNIT_PLACEHOLDER, baseLogKeySuffix));
@@ -8,6 +8,7 @@
 package io.harness.logstreaming;
 
 import static io.harness.data.structure.UUIDGenerator.generateUuid;
+import static io.harness.rule.OwnerRule.GEORGE;
 import static io.harness.rule.OwnerRule.MARKO;
 import static io.harness.rule.OwnerRule.TMACARI;
 import static io.harness.rule.OwnerRule.VITALIE;
@@ -19,8 +20,12 @@ import static software.wings.beans.LogHelper.COMMAND_UNIT_PLACEHOLDER;
 import static java.time.Duration.ofMillis;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 
 import io.harness.CategoryTest;
@@ -33,8 +38,12 @@ import io.harness.rule.Owner;
 import software.wings.beans.command.ExecutionLogCallback;
 import software.wings.delegatetasks.DelegateLogService;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.mockito.ArgumentCaptor;
@@ -238,4 +247,63 @@ public class LogStreamingTaskClientTest extends CategoryTest {
     List<LogLine> logLines = captor.getValue();
     assertThat(logLines.get(0).getMessage()).contains("1;91");
   }
+
+  @Test
+  @Owner(developers = GEORGE)
+  @Category(UnitTests.class)
+  public void shouldDispatchWhenEnoughLinesAreBuffered() {
+    for (int i = 0; i < 500; i++) {
+      completeLogStreamingTaskClient.writeLogLine(LogLine.builder().level(LogLevel.INFO).message("msg").build(), null);
+    }
+
+    verify(logStreamingClientMock, timeout(5000)).pushMessage(eq(TOKEN), eq(ACCOUNT_ID), eq(BASE_LOG_KEY), anyList());
+  }
+
+  @Test
+  @Owner(developers = GEORGE)
+  @Category(UnitTests.class)
+  public void shouldPushEveryLineOnceWithConcurrentWriters() throws Exception {
+    ExecutorService executorService = Executors.newFixedThreadPool(4);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int writer = 0; writer < 4; writer++) {
+      String keySuffix = "unit" + writer;
+      futures.add(executorService.submit(() -> {
+        for (int i = 0; i < 1000; i++) {
+          completeLogStreamingTaskClient.writeLogLine(
+              LogLine.builder().level(LogLevel.INFO).message(keySuffix + i).build(), keySuffix);
+        }
+      }));
+    }
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    executorService.shutdown();
+    completeLogStreamingTaskClient.dispatchLogs();
+
+    ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+    verify(logStreamingClientMock, atLeastOnce()).pushMessage(eq(TOKEN), eq(ACCOUNT_ID), anyString(), captor.capture());
+    List<LogLine> logLines = new ArrayList<>();
+    captor.getAllValues().forEach(logLines::addAll);
+    assertThat(logLines).hasSize(4000).doesNotHaveDuplicates();
+  }
+
+  @Test
+  @Owner(developers = GEORGE)
+  @Category(UnitTests.class)
+  public void shouldPushRemainingLinesOnClose() {
+    completeLogStreamingTaskClient.openStream(null);
+    for (int i = 0; i < 1200; i++) {
+      completeLogStreamingTaskClient.writeLogLine(
+          LogLine.builder().level(LogLevel.INFO).message("msg" + i).build(), null);
+    }
+    completeLogStreamingTaskClient.closeStream(null);
+
+    verify(logStreamingClientMock, timeout(5000)).closeLogStream(TOKEN, ACCOUNT_ID, BASE_LOG_KEY, true);
+    ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+    verify(logStreamingClientMock, atLeastOnce())
+        .pushMessage(eq(TOKEN), eq(ACCOUNT_ID), eq(BASE_LOG_KEY), captor.capture());
+    List<LogLine> logLines = new ArrayList<>();
+    captor.getAllValues().forEach(logLines::addAll);
+    assertThat(logLines).hasSize(1200).doesNotHaveDuplicates();
+  }
 }
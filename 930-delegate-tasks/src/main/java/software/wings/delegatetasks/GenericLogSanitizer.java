@@ -9,6 +9,7 @@ package software.wings.delegatetasks;
 
 import io.harness.annotations.dev.HarnessModule;
 import io.harness.annotations.dev.TargetModule;
+import io.harness.logging.SecretMasker;
 
 import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
@@ -19,10 +20,10 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 @TargetModule(HarnessModule._420_DELEGATE_AGENT)
 public class GenericLogSanitizer extends LogSanitizer {
-  private final Set<String> secretLines;
+  private final SecretMasker secretMasker;
 
   public GenericLogSanitizer(Set<String> secrets) {
-    secretLines = calculateSecretLines(secrets);
+    secretMasker = SecretMasker.of(calculateSecretLines(secrets));
   }
 
   /**
@@ -33,6 +34,6 @@ public class GenericLogSanitizer extends LogSanitizer {
    */
   @Override
   public String sanitizeLog(String activityId, String message) {
-    return sanitizeLogInternal(message, secretLines);
+    return sanitizeLogInternal(message, secretMasker);
   }
 }
@@ -9,6 +9,7 @@ package software.wings.delegatetasks;
 
 import io.harness.annotations.dev.HarnessModule;
 import io.harness.annotations.dev.TargetModule;
+import io.harness.logging.SecretMasker;
 
 import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
@@ -21,11 +22,11 @@ import org.apache.commons.lang3.StringUtils;
 @TargetModule(HarnessModule._930_DELEGATE_TASKS)
 public class ActivityBasedLogSanitizer extends LogSanitizer {
   private final String activityId;
-  private final Set<String> secretLines;
+  private final SecretMasker secretMasker;
 
   public ActivityBasedLogSanitizer(String activityId, Set<String> secrets) {
     this.activityId = activityId;
-    secretLines = calculateSecretLines(secrets);
+    secretMasker = SecretMasker.of(calculateSecretLines(secrets));
   }
 
   /**
@@ -37,7 +38,7 @@ public class ActivityBasedLogSanitizer extends LogSanitizer {
   @Override
   public String sanitizeLog(String activityId, String message) {
     if (StringUtils.equals(activityId, this.activityId)) {
-      return sanitizeLogInternal(message, secretLines);
+      return sanitizeLogInternal(message, secretMasker);
     }
     return message;
   }
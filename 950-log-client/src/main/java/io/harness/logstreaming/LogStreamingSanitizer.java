@@ -8,19 +8,16 @@
 package io.harness.logstreaming;
 
 import static io.harness.data.structure.EmptyPredicate.isEmpty;
-import static io.harness.expression.SecretString.SECRET_MASK;
 import static io.harness.windows.CmdUtils.WIN_RM_MARKER;
 
-import static org.apache.commons.lang3.StringUtils.replaceEach;
-
 import io.harness.annotations.dev.CodePulse;
 import io.harness.annotations.dev.HarnessModuleComponent;
 import io.harness.annotations.dev.ProductModule;
 import io.harness.data.structure.EmptyPredicate;
 import io.harness.logging.LogSanitizerHelper;
+import io.harness.logging.SecretMasker;
 import io.harness.windows.CmdUtils;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
@@ -29,11 +26,16 @@ import lombok.Builder;
 
 @CodePulse(
     module = ProductModule.CDS, unitCoverageRequired = true, components = {HarnessModuleComponent.CDS_COMMON_STEPS})
-@Builder
 public class LogStreamingSanitizer {
   private final Set<String> secrets;
+  // Built once for the secrets of the task, and shared by all its log lines
+  private final SecretMasker secretMasker;
+  private volatile SecretMasker winRmSecretMasker;
+
+  @Builder
   public LogStreamingSanitizer(Set<String> secrets) {
     this.secrets = calculateSecretLines(secrets);
+    this.secretMasker = SecretMasker.of(withQuotesRemoved(this.secrets));
   }
 
   public void sanitizeLogMessage(LogLine logLine) {
@@ -47,28 +49,22 @@ public class LogStreamingSanitizer {
       return;
     }
 
-    if (!isEmpty(secrets)) {
-      boolean isWinRm = markers != null && markers.contains(WIN_RM_MARKER);
-      Set<String> allSecrets = isWinRm ? new HashSet<>(secrets) : secrets;
-      if (isWinRm) {
-        secrets.stream().map(CmdUtils::escapeEnvValueSpecialChars).collect(Collectors.toCollection(() -> allSecrets));
-      }
-
-      ArrayList<String> secretMasks = new ArrayList<>();
-      ArrayList<String> secretValues = new ArrayList<>();
-      for (String secret : allSecrets) {
-        secretMasks.add(SECRET_MASK);
-        secretValues.add(secret);
+    boolean isWinRm = markers != null && markers.contains(WIN_RM_MARKER);
+    // Masks the secrets and then the JWTs
+    sanitizedLogMessage =
+        LogSanitizerHelper.sanitize(sanitizedLogMessage, isWinRm ? winRmSecretMasker() : secretMasker);
+    logLine.setMessage(sanitizedLogMessage);
+  }
 
-        addSecretMasksWithQuotesRemoved(secret, secretMasks, secretValues);
-      }
-      sanitizedLogMessage = replaceEach(
-          logLine.getMessage(), secretValues.toArray(new String[] {}), secretMasks.toArray(new String[] {}));
+  private SecretMasker winRmSecretMasker() {
+    SecretMasker masker = winRmSecretMasker;
+    if (masker == null) {
+      Set<String> allSecrets = new HashSet<>(secrets);
+      secrets.stream().map(CmdUtils::escapeEnvValueSpecialChars).collect(Collectors.toCollection(() -> allSecrets));
+      masker = SecretMasker.of(withQuotesRemoved(allSecrets));
+      winRmSecretMasker = masker;
     }
-
-    // JWT mask
-    sanitizedLogMessage = LogSanitizerHelper.sanitizeTokens(sanitizedLogMessage);
-    logLine.setMessage(sanitizedLogMessage);
+    return masker;
   }
 
   private static Set<String> calculateSecretLines(Set<String> secrets) {
@@ -83,17 +79,13 @@ public class LogStreamingSanitizer {
         .collect(Collectors.toSet());
   }
 
-  private void addSecretMasksWithQuotesRemoved(
-      String secret, ArrayList<String> secretMasks, ArrayList<String> secretValues) {
-    String secretWithDoubleQuoteRemoved = secret.replaceAll("\"", "");
-    if (!secretWithDoubleQuoteRemoved.equals(secret)) {
-      secretMasks.add(SECRET_MASK);
-      secretValues.add(secretWithDoubleQuoteRemoved);
-    }
-    String secretWithSingleQuoteRemoved = secret.replaceAll("\'", "");
-    if (!secretWithSingleQuoteRemoved.equals(secret)) {
-      secretMasks.add(SECRET_MASK);
-      secretValues.add(secretWithSingleQuoteRemoved);
+  // The secrets along with their variants without double quotes and without single quotes
+  private static Set<String> withQuotesRemoved(Set<String> secrets) {
+    Set<String> secretValues = new HashSet<>(secrets);
+    for (String secret : secrets) {
+      secretValues.add(secret.replace("\"", ""));
+      secretValues.add(secret.replace("\'", ""));
     }
+    return secretValues;
   }
 }
@@ -55,6 +55,8 @@ public class NotifyResponse implements WaitEngineEntity, CreatedAtAccess {
   @Default @FdTtlIndex @NonFinal @Wither Date validUntil = Date.from(OffsetDateTime.now().plus(TTL).toInstant());
 
   Boolean usingKryoWithoutReference;
+  // Name of the ResponseDataCodec of the payload, null for kryo + deflate
+  String codec;
 
   public Boolean getUsingKryoWithoutReference() {
     return isUsingKryoWithoutReference();
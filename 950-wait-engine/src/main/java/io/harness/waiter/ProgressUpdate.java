@@ -70,6 +70,8 @@ public class ProgressUpdate implements WaitEngineEntity, CreatedAtAccess {
   @Default @FdTtlIndex @NonFinal @Wither Date validUntil = Date.from(OffsetDateTime.now().plus(TTL).toInstant());
 
   private Boolean usingKryoWithoutReference;
+  // Name of the ResponseDataCodec of the payload, null for kryo + deflate
+  String codec;
 
   public Boolean getUsingKryoWithoutReference() {
     return isUsingKryoWithoutReference();
@@ -10,8 +10,8 @@ package io.harness.waiter;
 import io.harness.annotations.dev.HarnessTeam;
 import io.harness.annotations.dev.OwnedBy;
 import io.harness.exception.GeneralException;
-import io.harness.serializer.KryoSerializer;
 import io.harness.tasks.ProgressData;
+import io.harness.waiter.codec.ResponseDataCodecRegistry;
 import io.harness.waiter.persistence.PersistenceWrapper;
 
 import com.google.common.cache.CacheBuilder;
@@ -20,7 +20,6 @@ import com.google.common.cache.LoadingCache;
 import com.google.inject.Inject;
 import com.google.inject.Injector;
 import com.google.inject.Singleton;
-import com.google.inject.name.Named;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -33,8 +32,7 @@ import lombok.extern.slf4j.Slf4j;
 public class ProgressUpdateService implements Runnable {
   @Inject private Injector injector;
   @Inject private PersistenceWrapper persistenceWrapper;
-  @Inject private KryoSerializer kryoSerializer;
-  @Inject @Named("referenceFalseKryoSerializer") private KryoSerializer referenceFalseKryoSerializer;
+  @Inject private ResponseDataCodecRegistry codecRegistry;
   @Inject private WaitInstanceService waitInstanceService;
 
   private final LoadingCache<String, String> busyCorrelationIds = CacheBuilder.newBuilder()
@@ -67,9 +65,8 @@ public class ProgressUpdateService implements Runnable {
           log.debug("Starting to process progress response");
         }
 
-        ProgressData progressData = progressUpdate.isUsingKryoWithoutReference()
-            ? (ProgressData) referenceFalseKryoSerializer.asInflatedObject(progressUpdate.getProgressData())
-            : (ProgressData) kryoSerializer.asInflatedObject(progressUpdate.getProgressData());
+        ProgressData progressData = (ProgressData) codecRegistry.decode(progressUpdate.getCodec(),
+            progressUpdate.getProgressData(), progressUpdate.isUsingKryoWithoutReference());
 
         List<WaitInstance> waitInstances = persistenceWrapper.fetchWaitInstances(progressUpdate.getCorrelationId());
         for (WaitInstance waitInstance : waitInstances) {
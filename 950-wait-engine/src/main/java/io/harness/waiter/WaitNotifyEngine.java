@@ -14,7 +14,9 @@ import static io.harness.logging.AutoLogContext.OverrideBehavior.OVERRIDE_NESTS;
 import static io.harness.waiter.NotifyEvent.Builder.aNotifyEvent;
 
 import static java.lang.System.currentTimeMillis;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 
 import io.harness.annotations.dev.HarnessTeam;
@@ -23,14 +25,17 @@ import io.harness.serializer.KryoSerializer;
 import io.harness.tasks.ErrorResponseData;
 import io.harness.tasks.ProgressData;
 import io.harness.tasks.ResponseData;
+import io.harness.waiter.ProgressUpdate.ProgressUpdateBuilder;
 import io.harness.waiter.WaitInstance.WaitInstanceBuilder;
+import io.harness.waiter.codec.ResponseDataCodecRegistry;
+import io.harness.waiter.codec.ResponseDataCodecRegistry.EncodedData;
 import io.harness.waiter.persistence.PersistenceWrapper;
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.Stopwatch;
+import com.google.common.collect.Lists;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
-import com.google.inject.name.Named;
 import com.mongodb.DuplicateKeyException;
 import java.time.Duration;
 import java.util.ArrayList;
@@ -38,6 +43,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import lombok.NonNull;
@@ -52,11 +58,12 @@ import lombok.extern.slf4j.Slf4j;
 @OwnedBy(HarnessTeam.DEL)
 public class WaitNotifyEngine {
   public static final int MIN_WAIT_INSTANCE_TIMEOUT = 3;
+  private static final int MAX_BATCH_SIZE = 500;
 
   @Inject private PersistenceWrapper persistenceWrapper;
   @Inject private KryoSerializer kryoSerializer;
-  @Inject @Named("referenceFalseKryoSerializer") private KryoSerializer referenceFalseKryoSerializer;
   @Inject private NotifyQueuePublisherRegister publisherRegister;
+  @Inject private ResponseDataCodecRegistry codecRegistry;
 
   public String waitForAllOn(String publisherName, NotifyCallback notifyCallback, String... correlationIds) {
     return waitForAllOn(publisherName, notifyCallback, null, correlationIds);
@@ -116,6 +123,46 @@ public class WaitNotifyEngine {
     return waitInstanceId;
   }
 
+  /**
+   * Registers many wait instances at once, for fan-outs like matrix or parallelism strategies. The wait instances are
+   * saved with one insert per batch and the responses which already arrived are applied with one update per batch.
+   *
+   * @return the wait instance ids, in the order of the requests
+   */
+  public List<String> waitForAllOnBatch(String publisherName, List<WaitRequest> waitRequests) {
+    if (isEmpty(waitRequests)) {
+      return emptyList();
+    }
+
+    List<String> waitInstanceIds = new ArrayList<>(waitRequests.size());
+    for (List<WaitRequest> batch : Lists.partition(waitRequests, MAX_BATCH_SIZE)) {
+      List<WaitInstance> waitInstances = new ArrayList<>(batch.size());
+      Set<String> correlationIds = new HashSet<>();
+      for (WaitRequest waitRequest : batch) {
+        Preconditions.checkArgument(isNotEmpty(waitRequest.getCorrelationIds()), "correlationIds are null or empty");
+        List<String> list = waitRequest.getCorrelationIds().stream().distinct().collect(toList());
+        waitInstances.add(WaitInstance.builder()
+                              .uuid(generateUuid())
+                              .callback(waitRequest.getCallback())
+                              .progressCallback(waitRequest.getProgressCallback())
+                              .publisher(publisherName)
+                              .timeout(waitRequest.getTimeout())
+                              .correlationIds(list)
+                              .waitingOnCorrelationIds(list)
+                              .build());
+        correlationIds.addAll(list);
+      }
+
+      List<String> batchWaitInstanceIds = persistenceWrapper.saveAllWithTimeout(waitInstances);
+      persistenceWrapper
+          .modifyAndFetchCompletedWaitInstancesForExistingResponses(
+              batchWaitInstanceIds, new ArrayList<>(correlationIds), System.currentTimeMillis())
+          .forEach(this::sendNotification);
+      waitInstanceIds.addAll(batchWaitInstanceIds);
+    }
+    return waitInstanceIds;
+  }
+
   public void progressOn(String correlationId, ProgressData progressData) {
     progressOn(correlationId, progressData, true);
   }
@@ -128,15 +175,18 @@ public class WaitNotifyEngine {
     }
 
     try {
-      persistenceWrapper.save(
-          ProgressUpdate.builder()
-              .uuid(generateUuid())
-              .correlationId(correlationId)
-              .createdAt(currentTimeMillis())
-              .usingKryoWithoutReference(usingKryoWithoutReference)
-              .progressData(usingKryoWithoutReference ? referenceFalseKryoSerializer.asDeflatedBytes(progressData)
-                                                      : kryoSerializer.asDeflatedBytes(progressData))
-              .build());
+      ProgressUpdateBuilder progressUpdateBuilder = ProgressUpdate.builder()
+                                                        .uuid(generateUuid())
+                                                        .correlationId(correlationId)
+                                                        .createdAt(currentTimeMillis())
+                                                        .usingKryoWithoutReference(usingKryoWithoutReference);
+      if (usingKryoWithoutReference) {
+        EncodedData encodedData = codecRegistry.encode(progressData);
+        progressUpdateBuilder.progressData(encodedData.getData()).codec(encodedData.getCodec());
+      } else {
+        progressUpdateBuilder.progressData(kryoSerializer.asDeflatedBytes(progressData));
+      }
+      persistenceWrapper.save(progressUpdateBuilder.build());
     } catch (Exception exception) {
       log.error("Failed to notify for progress of type " + progressData.getClass().getSimpleName(), exception);
     }
@@ -156,11 +206,13 @@ public class WaitNotifyEngine {
     try {
       final Stopwatch stopwatch = Stopwatch.createStarted();
       long doneWithStartTime = stopwatch.elapsed(TimeUnit.MILLISECONDS);
+      EncodedData encodedData = codecRegistry.encode(response);
       persistenceWrapper.save(NotifyResponse.builder()
                                   .uuid(correlationId)
                                   .createdAt(currentTimeMillis())
                                   .usingKryoWithoutReference(true)
-                                  .responseData(referenceFalseKryoSerializer.asDeflatedBytes(response))
+                                  .responseData(encodedData.getData())
+                                  .codec(encodedData.getCodec())
                                   .error(error || response instanceof ErrorResponseData)
                                   .build());
       long queryEndTime = stopwatch.elapsed(TimeUnit.MILLISECONDS);
@@ -178,6 +230,55 @@ public class WaitNotifyEngine {
     return null;
   }
 
+  /**
+   * Bulk version of {@link #doneWith(String, ResponseData)}. The responses are saved with one unordered bulk write per
+   * batch, responses which already exist are skipped, and the wait instances are updated with one update per batch.
+   *
+   * @return the correlation ids, or an empty list if the responses could not be processed
+   */
+  public List<String> doneWithAll(Map<String, ResponseData> responses) {
+    if (isEmpty(responses)) {
+      return emptyList();
+    }
+    responses.keySet().forEach(
+        correlationId -> Preconditions.checkArgument(isNotBlank(correlationId), "correlationId is null or empty"));
+
+    if (log.isDebugEnabled()) {
+      log.debug("done with notify request received for {} correlationIds", responses.size());
+    }
+
+    try {
+      final Stopwatch stopwatch = Stopwatch.createStarted();
+      long createdAt = currentTimeMillis();
+      List<NotifyResponse> notifyResponses = new ArrayList<>(responses.size());
+      for (Map.Entry<String, ResponseData> entry : responses.entrySet()) {
+        EncodedData encodedData = codecRegistry.encode(entry.getValue());
+        notifyResponses.add(NotifyResponse.builder()
+                                .uuid(entry.getKey())
+                                .createdAt(createdAt)
+                                .usingKryoWithoutReference(true)
+                                .responseData(encodedData.getData())
+                                .codec(encodedData.getCodec())
+                                .error(entry.getValue() instanceof ErrorResponseData)
+                                .build());
+      }
+      for (List<NotifyResponse> batch : Lists.partition(notifyResponses, MAX_BATCH_SIZE)) {
+        persistenceWrapper.saveNotifyResponses(batch);
+      }
+
+      if (log.isDebugEnabled()) {
+        log.debug("Process {} NotifyResponses mongo queryTime {}", notifyResponses.size(),
+            stopwatch.elapsed(TimeUnit.MILLISECONDS));
+      }
+      List<String> correlationIds = new ArrayList<>(responses.keySet());
+      handleNotifyResponses(correlationIds);
+      return correlationIds;
+    } catch (Exception exception) {
+      log.error("Failed to notify for {} responses", responses.size(), exception);
+    }
+    return emptyList();
+  }
+
   public void sendNotification(WaitInstance waitInstance) {
     try (WaitInstanceLogContext ignore = new WaitInstanceLogContext(waitInstance.getUuid(), OVERRIDE_NESTS)) {
       String publisher = waitInstance.getPublisher();
@@ -204,6 +305,13 @@ public class WaitNotifyEngine {
     }
   }
 
+  public void handleNotifyResponses(List<String> correlationIds) {
+    for (List<String> batch : Lists.partition(correlationIds, MAX_BATCH_SIZE)) {
+      persistenceWrapper.modifyAndFetchCompletedWaitInstances(batch, System.currentTimeMillis())
+          .forEach(this::sendNotification);
+    }
+  }
+
   public boolean doneWithWithoutCallback(@NonNull String correlationId) {
     try {
       WaitInstance waitInstance;
@@ -0,0 +1,29 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Shield 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/06/PolyForm-Shield-1.0.0.txt.
+ */
+
+package io.harness.waiter;
+
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+
+import java.time.Duration;
+import java.util.List;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * A single registration of {@link WaitNotifyEngine#waitForAllOnBatch(String, List)}.
+ */
+@Value
+@Builder
+@OwnedBy(HarnessTeam.PIPELINE)
+public class WaitRequest {
+  NotifyCallback callback;
+  ProgressCallback progressCallback;
+  List<String> correlationIds;
+  @Builder.Default Duration timeout = Duration.ofSeconds(0);
+}
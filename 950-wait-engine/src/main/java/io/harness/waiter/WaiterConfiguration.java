@@ -19,6 +19,12 @@ import lombok.Value;
 @OwnedBy(HarnessTeam.PIPELINE)
 public class WaiterConfiguration {
   public enum PersistenceLayer { SPRING, MORPHIA }
+  // KRYO_DEFLATE is readable by every version, switch only once all the readers of the wait engine collections know the
+  // codecs in io.harness.waiter.codec
+  public enum ResponseCodec { KRYO_DEFLATE, KRYO_FAST }
   public boolean versioningDisabled;
   @Default PersistenceLayer persistenceLayer = PersistenceLayer.MORPHIA;
+  @Default ResponseCodec responseCodec = ResponseCodec.KRYO_DEFLATE;
+  // Payloads smaller than this are not compressed by KRYO_FAST
+  @Default int responseCompressionThreshold = 1024;
 }
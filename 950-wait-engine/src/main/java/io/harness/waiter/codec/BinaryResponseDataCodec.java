@@ -0,0 +1,62 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Shield 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/06/PolyForm-Shield-1.0.0.txt.
+ */
+
+package io.harness.waiter.codec;
+
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.tasks.BinaryResponseData;
+
+import java.util.Arrays;
+
+/**
+ * {@link BinaryResponseData} already carries the serialized form produced by the delegate (proto or kryo), so its bytes
+ * are stored as they are instead of being wrapped in another kryo envelope and compressed again.
+ *
+ * The first byte of the payload holds the flags of the response.
+ */
+@OwnedBy(HarnessTeam.PIPELINE)
+public class BinaryResponseDataCodec implements ResponseDataCodec {
+  public static final String NAME = "BINARY";
+
+  private static final byte KRYO_WITHOUT_REFERENCE = 1;
+  private static final byte HAS_DATA = 2;
+
+  @Override
+  public String getName() {
+    return NAME;
+  }
+
+  @Override
+  public boolean canEncode(Object data) {
+    return data instanceof BinaryResponseData;
+  }
+
+  @Override
+  public byte[] encode(Object data) {
+    BinaryResponseData binaryResponseData = (BinaryResponseData) data;
+    byte[] bytes = binaryResponseData.getData();
+    byte flags = binaryResponseData.isUsingKryoWithoutReference() ? KRYO_WITHOUT_REFERENCE : 0;
+    if (bytes == null) {
+      return new byte[] {flags};
+    }
+
+    byte[] encoded = new byte[bytes.length + 1];
+    encoded[0] = (byte) (flags | HAS_DATA);
+    System.arraycopy(bytes, 0, encoded, 1, bytes.length);
+    return encoded;
+  }
+
+  @Override
+  public Object decode(byte[] bytes) {
+    byte flags = bytes[0];
+    return BinaryResponseData.builder()
+        .data((flags & HAS_DATA) != 0 ? Arrays.copyOfRange(bytes, 1, bytes.length) : null)
+        .usingKryoWithoutReference((flags & KRYO_WITHOUT_REFERENCE) != 0)
+        .build();
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Shield 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/06/PolyForm-Shield-1.0.0.txt.
+ */
+
+package io.harness.waiter.codec;
+
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.serializer.KryoSerializer;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Kryo without references, like the default path, but payloads below the threshold are stored uncompressed and the
+ * others are deflated with {@link Deflater#BEST_SPEED}. Most responses are a few hundred bytes, where the default
+ * compression costs more than it saves.
+ *
+ * The first byte of the payload tells whether the rest is compressed.
+ */
+@OwnedBy(HarnessTeam.PIPELINE)
+public class KryoResponseDataCodec implements ResponseDataCodec {
+  public static final String NAME = "KRYO";
+
+  private static final byte RAW = 0;
+  private static final byte DEFLATED = 1;
+
+  private final KryoSerializer kryoSerializer;
+  private final int compressionThreshold;
+
+  public KryoResponseDataCodec(KryoSerializer kryoSerializer, int compressionThreshold) {
+    this.kryoSerializer = kryoSerializer;
+    this.compressionThreshold = compressionThreshold;
+  }
+
+  @Override
+  public String getName() {
+    return NAME;
+  }
+
+  @Override
+  public boolean canEncode(Object data) {
+    return true;
+  }
+
+  @Override
+  public byte[] encode(Object data) {
+    byte[] bytes = kryoSerializer.asBytes(data);
+    if (bytes.length < compressionThreshold) {
+      byte[] encoded = new byte[bytes.length + 1];
+      encoded[0] = RAW;
+      System.arraycopy(bytes, 0, encoded, 1, bytes.length);
+      return encoded;
+    }
+
+    Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    try (ByteArrayOutputStream byteStream = new ByteArrayOutputStream(bytes.length / 2 + 1)) {
+      byteStream.write(DEFLATED);
+      try (DeflaterOutputStream outputStream = new DeflaterOutputStream(byteStream, deflater)) {
+        outputStream.write(bytes);
+      }
+      return byteStream.toByteArray();
+    } catch (Exception exception) {
+      throw new RuntimeException(exception);
+    } finally {
+      deflater.end();
+    }
+  }
+
+  @Override
+  public Object decode(byte[] bytes) {
+    byte[] payload = Arrays.copyOfRange(bytes, 1, bytes.length);
+    return bytes[0] == DEFLATED ? kryoSerializer.asInflatedObject(payload) : kryoSerializer.asObject(payload);
+  }
+}
@@ -0,0 +1,26 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Shield 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/06/PolyForm-Shield-1.0.0.txt.
+ */
+
+package io.harness.waiter.codec;
+
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+
+/**
+ * Serializes the payload of a {@link io.harness.waiter.NotifyResponse} or a {@link io.harness.waiter.ProgressUpdate}.
+ * The name of the codec is stored next to the payload, so it must never change once documents were written with it.
+ */
+@OwnedBy(HarnessTeam.PIPELINE)
+public interface ResponseDataCodec {
+  String getName();
+
+  boolean canEncode(Object data);
+
+  byte[] encode(Object data);
+
+  Object decode(byte[] bytes);
+}
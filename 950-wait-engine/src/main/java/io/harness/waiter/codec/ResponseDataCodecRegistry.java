@@ -0,0 +1,83 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Shield 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/06/PolyForm-Shield-1.0.0.txt.
+ */
+
+package io.harness.waiter.codec;
+
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.exception.GeneralException;
+import io.harness.serializer.KryoSerializer;
+import io.harness.waiter.WaiterConfiguration;
+import io.harness.waiter.WaiterConfiguration.ResponseCodec;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import java.util.List;
+import java.util.Map;
+import lombok.Value;
+
+/**
+ * Picks the codec for the responses and the progress updates written by this service and decodes the ones written by
+ * any service. Documents without a codec name were written with the original kryo + deflate format, which stays the
+ * default so that mixed version deployments can read each other's documents.
+ */
+@Singleton
+@OwnedBy(HarnessTeam.PIPELINE)
+public class ResponseDataCodecRegistry {
+  private final KryoSerializer kryoSerializer;
+  private final KryoSerializer referenceFalseKryoSerializer;
+  private final ResponseCodec responseCodec;
+  // Checked in order, the last one accepts everything
+  private final List<ResponseDataCodec> encoders;
+  private final Map<String, ResponseDataCodec> decoders;
+
+  @Inject
+  public ResponseDataCodecRegistry(KryoSerializer kryoSerializer,
+      @Named("referenceFalseKryoSerializer") KryoSerializer referenceFalseKryoSerializer,
+      WaiterConfiguration waiterConfiguration) {
+    this.kryoSerializer = kryoSerializer;
+    this.referenceFalseKryoSerializer = referenceFalseKryoSerializer;
+    this.responseCodec = waiterConfiguration.getResponseCodec();
+    ResponseDataCodec binaryCodec = new BinaryResponseDataCodec();
+    ResponseDataCodec kryoCodec = new KryoResponseDataCodec(
+        referenceFalseKryoSerializer, waiterConfiguration.getResponseCompressionThreshold());
+    this.encoders = List.of(binaryCodec, kryoCodec);
+    this.decoders = ImmutableMap.of(binaryCodec.getName(), binaryCodec, kryoCodec.getName(), kryoCodec);
+  }
+
+  public EncodedData encode(Object data) {
+    if (responseCodec == ResponseCodec.KRYO_DEFLATE) {
+      return new EncodedData(null, referenceFalseKryoSerializer.asDeflatedBytes(data));
+    }
+    for (ResponseDataCodec codec : encoders) {
+      if (codec.canEncode(data)) {
+        return new EncodedData(codec.getName(), codec.encode(data));
+      }
+    }
+    throw new GeneralException("No response codec for " + data.getClass().getSimpleName());
+  }
+
+  public Object decode(String codecName, byte[] bytes, boolean usingKryoWithoutReference) {
+    if (codecName == null) {
+      return usingKryoWithoutReference ? referenceFalseKryoSerializer.asInflatedObject(bytes)
+                                       : kryoSerializer.asInflatedObject(bytes);
+    }
+    ResponseDataCodec codec = decoders.get(codecName);
+    if (codec == null) {
+      throw new GeneralException("Unknown response codec " + codecName);
+    }
+    return codec.decode(bytes);
+  }
+
+  @Value
+  public static class EncodedData {
+    String codec;
+    byte[] data;
+  }
+}
@@ -11,6 +11,7 @@ import static io.harness.data.structure.EmptyPredicate.isEmpty;
 import static io.harness.persistence.HQuery.excludeAuthority;
 import static io.harness.waiter.WaitInstanceService.MAX_CALLBACK_PROCESSING_TIME;
 
+import static java.util.Collections.emptyList;
 import static java.util.stream.Collectors.toList;
 
 import io.harness.annotations.dev.HarnessTeam;
@@ -19,7 +20,6 @@ import io.harness.exception.GeneralException;
 import io.harness.persistence.HIterator;
 import io.harness.persistence.HKeyIterator;
 import io.harness.persistence.HPersistence;
-import io.harness.serializer.KryoSerializer;
 import io.harness.tasks.ResponseData;
 import io.harness.waiter.NotifyResponse;
 import io.harness.waiter.NotifyResponse.NotifyResponseKeys;
@@ -29,9 +29,9 @@ import io.harness.waiter.ProgressUpdate.ProgressUpdateKeys;
 import io.harness.waiter.WaitEngineEntity;
 import io.harness.waiter.WaitInstance;
 import io.harness.waiter.WaitInstance.WaitInstanceKeys;
+import io.harness.waiter.codec.ResponseDataCodecRegistry;
 
 import com.google.inject.Inject;
-import com.google.inject.name.Named;
 import com.mongodb.WriteConcern;
 import dev.morphia.FindAndModifyOptions;
 import dev.morphia.Key;
@@ -50,8 +50,7 @@ import lombok.extern.slf4j.Slf4j;
 @OwnedBy(HarnessTeam.DEL)
 public class MorphiaPersistenceWrapper implements PersistenceWrapper {
   @Inject private HPersistence hPersistence;
-  @Inject private KryoSerializer kryoSerializer;
-  @Inject @Named("referenceFalseKryoSerializer") private KryoSerializer referenceFalseKryoSerializer;
+  @Inject private ResponseDataCodecRegistry codecRegistry;
 
   private FindAndModifyOptions findAndModifyOptions =
       new FindAndModifyOptions().writeConcern(WriteConcern.MAJORITY).upsert(false).returnNew(false);
@@ -95,9 +94,8 @@ public class MorphiaPersistenceWrapper implements PersistenceWrapper {
         }
         if (notifyResponse.getResponseData() != null) {
           responseMap.put(notifyResponse.getUuid(),
-              notifyResponse.isUsingKryoWithoutReference()
-                  ? (ResponseData) referenceFalseKryoSerializer.asInflatedObject(notifyResponse.getResponseData())
-                  : (ResponseData) kryoSerializer.asInflatedObject(notifyResponse.getResponseData()));
+              (ResponseData) codecRegistry.decode(notifyResponse.getCodec(), notifyResponse.getResponseData(),
+                  notifyResponse.isUsingKryoWithoutReference()));
         }
       }
     }
@@ -223,4 +221,75 @@ public class MorphiaPersistenceWrapper implements PersistenceWrapper {
       log.warn("Not Able to delete Notify Responses");
     }
   }
+
+  @Override
+  public List<String> saveAllWithTimeout(List<WaitInstance> waitInstances) {
+    if (isEmpty(waitInstances)) {
+      return emptyList();
+    }
+    if (waitInstances.stream().anyMatch(
+            waitInstance -> waitInstance.getTimeout() != null && !waitInstance.getTimeout().isZero())) {
+      log.warn("Timeout Not supported for MORPHIA persistence layer. This argument will have no effect");
+    }
+    hPersistence.saveBatch(new ArrayList<>(waitInstances));
+    return waitInstances.stream().map(WaitInstance::getUuid).collect(toList());
+  }
+
+  @Override
+  public void saveNotifyResponses(List<NotifyResponse> notifyResponses) {
+    if (isEmpty(notifyResponses)) {
+      return;
+    }
+    hPersistence.saveIgnoringDuplicateKeys(new ArrayList<>(notifyResponses));
+  }
+
+  @Override
+  public List<WaitInstance> modifyAndFetchCompletedWaitInstances(List<String> waitingOnCorrelationIds, long now) {
+    if (isEmpty(waitingOnCorrelationIds)) {
+      return emptyList();
+    }
+    final List<String> waitInstanceIds = hPersistence.createQuery(WaitInstance.class, excludeAuthority)
+                                             .field(WaitInstanceKeys.waitingOnCorrelationIds)
+                                             .in(waitingOnCorrelationIds)
+                                             .asKeyList()
+                                             .stream()
+                                             .map(key -> (String) key.getId())
+                                             .collect(toList());
+    return pullAndFetchCompletedWaitInstances(waitInstanceIds, waitingOnCorrelationIds, now);
+  }
+
+  @Override
+  public List<WaitInstance> modifyAndFetchCompletedWaitInstancesForExistingResponses(
+      List<String> waitInstanceIds, List<String> correlationIds, long now) {
+    if (isEmpty(waitInstanceIds) || isEmpty(correlationIds)) {
+      return emptyList();
+    }
+    final List<String> keys = hPersistence.createQuery(NotifyResponse.class, excludeAuthority)
+                                  .field(NotifyResponseKeys.uuid)
+                                  .in(correlationIds)
+                                  .asKeyList()
+                                  .stream()
+                                  .map(key -> (String) key.getId())
+                                  .collect(toList());
+    return pullAndFetchCompletedWaitInstances(waitInstanceIds, keys, now);
+  }
+
+  private List<WaitInstance> pullAndFetchCompletedWaitInstances(
+      List<String> waitInstanceIds, List<String> correlationIds, long now) {
+    if (isEmpty(waitInstanceIds) || isEmpty(correlationIds)) {
+      return emptyList();
+    }
+    hPersistence.update(
+        hPersistence.createQuery(WaitInstance.class, excludeAuthority).field(WaitInstanceKeys.uuid).in(waitInstanceIds),
+        hPersistence.createUpdateOperations(WaitInstance.class)
+            .removeAll(WaitInstanceKeys.waitingOnCorrelationIds, correlationIds));
+    return hPersistence.createQuery(WaitInstance.class, excludeAuthority)
+        .field(WaitInstanceKeys.uuid)
+        .in(waitInstanceIds)
+        .field(WaitInstanceKeys.waitingOnCorrelationIds)
+        .sizeEq(0)
+        .field(WaitInstanceKeys.callbackProcessingAt)
+        .lessThan(now)
+        .asList();
+  }
 }
@@ -9,6 +9,7 @@ package io.harness.waiter.persistence;
 
 import io.harness.annotations.dev.HarnessTeam;
 import io.harness.annotations.dev.OwnedBy;
+import io.harness.waiter.NotifyResponse;
 import io.harness.waiter.ProcessedMessageResponse;
 import io.harness.waiter.ProgressUpdate;
 import io.harness.waiter.WaitEngineEntity;
@@ -43,4 +44,32 @@ public interface PersistenceWrapper {
   void deleteNotifyResponses(List<String> responseIds);
 
   String saveWithTimeout(WaitInstance build, Duration timeout);
+
+  /**
+   * Saves all the wait instances with a single insert, registering the timeout of each of them.
+   *
+   * @return the ids of the wait instances, in the given order
+   */
+  List<String> saveAllWithTimeout(List<WaitInstance> waitInstances);
+
+  /**
+   * Saves all the responses with a single unordered bulk write. Responses which already exist are skipped.
+   */
+  void saveNotifyResponses(List<NotifyResponse> notifyResponses);
+
+  /**
+   * Bulk version of {@link #modifyAndFetchWaitInstance(String)}: removes the correlation ids from every wait instance
+   * waiting on them.
+   *
+   * @return the modified wait instances which are not waiting on anything anymore and are not being processed
+   */
+  List<WaitInstance> modifyAndFetchCompletedWaitInstances(List<String> waitingOnCorrelationIds, long now);
+
+  /**
+   * Bulk version of {@link #modifyAndFetchWaitInstanceForExistingResponse(String, List)}.
+   *
+   * @return the given wait instances which are not waiting on anything anymore and are not being processed
+   */
+  List<WaitInstance> modifyAndFetchCompletedWaitInstancesForExistingResponses(
+      List<String> waitInstanceIds, List<String> correlationIds, long now);
 }
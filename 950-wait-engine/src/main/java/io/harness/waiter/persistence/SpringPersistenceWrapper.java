@@ -13,16 +13,17 @@ import static io.harness.springdata.PersistenceUtils.DEFAULT_RETRY_POLICY;
 import static io.harness.waiter.WaitInstanceService.MAX_CALLBACK_PROCESSING_TIME;
 import static io.harness.waiter.WaitNotifyEngine.MIN_WAIT_INSTANCE_TIMEOUT;
 
+import static java.util.Collections.emptyList;
 import static java.util.stream.Collectors.toList;
 import static org.springframework.data.mongodb.core.query.Criteria.where;
 import static org.springframework.data.mongodb.core.query.Query.query;
+import static org.springframework.data.mongodb.util.MongoDbErrorCodes.isDuplicateKeyCode;
 
 import io.harness.annotations.dev.HarnessTeam;
 import io.harness.annotations.dev.OwnedBy;
 import io.harness.exception.GeneralException;
 import io.harness.exception.InvalidArgumentsException;
 import io.harness.mongo.helper.SecondaryMongoTemplateHolder;
-import io.harness.serializer.KryoSerializer;
 import io.harness.springdata.SpringDataMongoUtils;
 import io.harness.tasks.ResponseData;
 import io.harness.timeout.TimeoutEngine;
@@ -36,14 +37,15 @@ import io.harness.waiter.WaitEngineEntity;
 import io.harness.waiter.WaitInstance;
 import io.harness.waiter.WaitInstance.WaitInstanceKeys;
 import io.harness.waiter.WaitInstanceTimeoutCallback;
+import io.harness.waiter.codec.ResponseDataCodecRegistry;
 
 import com.google.common.base.Stopwatch;
 import com.google.common.collect.Lists;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
-import com.google.inject.name.Named;
 import com.mongodb.client.result.DeleteResult;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -54,6 +56,8 @@ import lombok.extern.slf4j.Slf4j;
 import net.jodah.failsafe.Failsafe;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
 import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Query;
@@ -68,21 +72,18 @@ public class SpringPersistenceWrapper implements PersistenceWrapper {
   private static final int MAX_BATCH_SIZE = 500;
   private MongoTemplate mongoTemplate;
   private MongoTemplate secondaryMongoTemplate;
-  private KryoSerializer kryoSerializer;
-  private KryoSerializer referenceFalseKryoSerializer;
+  private ResponseDataCodecRegistry codecRegistry;
   private TimeoutEngine timeoutEngine;
   private TransactionTemplate transactionTemplate;
   private FindAndModifyOptions findAndModifyOptions;
 
   @Inject
   public SpringPersistenceWrapper(MongoTemplate mongoTemplate,
-      SecondaryMongoTemplateHolder secondaryMongoTemplateHolder, KryoSerializer kryoSerializer,
-      @Named("referenceFalseKryoSerializer") KryoSerializer referenceFalseKryoSerializer, TimeoutEngine timeoutEngine,
-      TransactionTemplate transactionTemplate) {
+      SecondaryMongoTemplateHolder secondaryMongoTemplateHolder, ResponseDataCodecRegistry codecRegistry,
+      TimeoutEngine timeoutEngine, TransactionTemplate transactionTemplate) {
     this.mongoTemplate = mongoTemplate;
     this.secondaryMongoTemplate = secondaryMongoTemplateHolder.getSecondaryMongoTemplate();
-    this.kryoSerializer = kryoSerializer;
-    this.referenceFalseKryoSerializer = referenceFalseKryoSerializer;
+    this.codecRegistry = codecRegistry;
     this.timeoutEngine = timeoutEngine;
     this.transactionTemplate = transactionTemplate;
     this.findAndModifyOptions = new FindAndModifyOptions().returnNew(false).upsert(false);
@@ -183,9 +184,8 @@ public class SpringPersistenceWrapper implements PersistenceWrapper {
       }
       if (notifyResponse.getResponseData() != null) {
         responseMap.put(notifyResponse.getUuid(),
-            notifyResponse.isUsingKryoWithoutReference()
-                ? (ResponseData) referenceFalseKryoSerializer.asInflatedObject(notifyResponse.getResponseData())
-                : (ResponseData) kryoSerializer.asInflatedObject(notifyResponse.getResponseData()));
+            (ResponseData) codecRegistry.decode(notifyResponse.getCodec(), notifyResponse.getResponseData(),
+                notifyResponse.isUsingKryoWithoutReference()));
       }
     }
     return ProcessedMessageResponse.builder().isError(isError).responseDataMap(responseMap).build();
@@ -268,9 +268,7 @@ public class SpringPersistenceWrapper implements PersistenceWrapper {
 
   @Override
   public String saveWithTimeout(WaitInstance waitInstance, Duration timeout) {
-    if (timeout != null && !timeout.isZero() && timeout.compareTo(Duration.ofSeconds(MIN_WAIT_INSTANCE_TIMEOUT)) < 0) {
-      throw new InvalidArgumentsException("Timeout should be greater than " + MIN_WAIT_INSTANCE_TIMEOUT + "sec");
-    }
+    validateTimeout(timeout);
     return Failsafe.with(DEFAULT_RETRY_POLICY).get(() -> transactionTemplate.execute(transactionStatus -> {
       if (timeout != null && !timeout.isZero()) {
         TimeoutInstance timeoutInstance = timeoutEngine.registerAbsoluteTimeout(
@@ -280,4 +278,90 @@ public class SpringPersistenceWrapper implements PersistenceWrapper {
       return save(waitInstance);
     }));
   }
+
+  @Override
+  public List<String> saveAllWithTimeout(List<WaitInstance> waitInstances) {
+    if (isEmpty(waitInstances)) {
+      return emptyList();
+    }
+    waitInstances.forEach(waitInstance -> validateTimeout(waitInstance.getTimeout()));
+    return Failsafe.with(DEFAULT_RETRY_POLICY).get(() -> transactionTemplate.execute(transactionStatus -> {
+      List<WaitInstance> toSave = new ArrayList<>(waitInstances.size());
+      for (WaitInstance waitInstance : waitInstances) {
+        Duration timeout = waitInstance.getTimeout();
+        if (timeout != null && !timeout.isZero()) {
+          TimeoutInstance timeoutInstance = timeoutEngine.registerAbsoluteTimeout(
+              timeout, WaitInstanceTimeoutCallback.builder().waitInstanceId(waitInstance.getUuid()).build());
+          toSave.add(waitInstance.withTimeoutInstanceId(timeoutInstance.getUuid()));
+        } else {
+          toSave.add(waitInstance);
+        }
+      }
+      // Single insertMany for the whole batch
+      mongoTemplate.insert(toSave, WaitInstance.class);
+      return toSave.stream().map(WaitInstance::getUuid).collect(toList());
+    }));
+  }
+
+  @Override
+  public void saveNotifyResponses(List<NotifyResponse> notifyResponses) {
+    if (isEmpty(notifyResponses)) {
+      return;
+    }
+    try {
+      mongoTemplate.bulkOps(BulkMode.UNORDERED, NotifyResponse.class).insert(notifyResponses).execute();
+    } catch (BulkOperationException ex) {
+      if (!ex.getErrors().stream().allMatch(bulkWriteError -> isDuplicateKeyCode(bulkWriteError.getCode()))) {
+        throw ex;
+      }
+      log.warn("Skipped {} already existing notify responses", ex.getErrors().size());
+    }
+  }
+
+  @Override
+  public List<WaitInstance> modifyAndFetchCompletedWaitInstances(List<String> waitingOnCorrelationIds, long now) {
+    if (isEmpty(waitingOnCorrelationIds)) {
+      return emptyList();
+    }
+    Query query = query(where(WaitInstanceKeys.waitingOnCorrelationIds).in(waitingOnCorrelationIds));
+    query.fields().include(WaitInstanceKeys.uuid);
+    List<String> waitInstanceIds =
+        mongoTemplate.find(query, WaitInstance.class).stream().map(WaitInstance::getUuid).collect(toList());
+    return pullAndFetchCompletedWaitInstances(waitInstanceIds, waitingOnCorrelationIds, now);
+  }
+
+  @Override
+  public List<WaitInstance> modifyAndFetchCompletedWaitInstancesForExistingResponses(
+      List<String> waitInstanceIds, List<String> correlationIds, long now) {
+    if (isEmpty(waitInstanceIds) || isEmpty(correlationIds)) {
+      return emptyList();
+    }
+    Query query = query(where(NotifyResponseKeys.uuid).in(correlationIds));
+    query.fields().include(NotifyResponseKeys.uuid);
+    List<String> keys =
+        mongoTemplate.find(query, NotifyResponse.class).stream().map(NotifyResponse::getUuid).collect(toList());
+    return pullAndFetchCompletedWaitInstances(waitInstanceIds, keys, now);
+  }
+
+  private List<WaitInstance> pullAndFetchCompletedWaitInstances(
+      List<String> waitInstanceIds, List<String> correlationIds, long now) {
+    if (isEmpty(waitInstanceIds) || isEmpty(correlationIds)) {
+      return emptyList();
+    }
+    // Pulling ids an instance is not waiting on is a noop, so one multi update covers every instance. A racing doneWith
+    // may notify the same instance again, the processing claim in fetchForProcessingWaitInstance deduplicates that.
+    mongoTemplate.updateMulti(query(where(WaitInstanceKeys.uuid).in(waitInstanceIds)),
+        new Update().pullAll(WaitInstanceKeys.waitingOnCorrelationIds, correlationIds.toArray(new String[0])),
+        WaitInstance.class);
+    Query completedQuery = query(where(WaitInstanceKeys.uuid).in(waitInstanceIds))
+                               .addCriteria(where(WaitInstanceKeys.waitingOnCorrelationIds).size(0))
+                               .addCriteria(where(WaitInstanceKeys.callbackProcessingAt).lt(now));
+    return mongoTemplate.find(completedQuery, WaitInstance.class);
+  }
+
+  private void validateTimeout(Duration timeout) {
+    if (timeout != null && !timeout.isZero() && timeout.compareTo(Duration.ofSeconds(MIN_WAIT_INSTANCE_TIMEOUT)) < 0) {
+      throw new InvalidArgumentsException("Timeout should be greater than " + MIN_WAIT_INSTANCE_TIMEOUT + "sec");
+    }
+  }
 }
@@ -9,6 +9,7 @@ package io.harness.waiter;
 
 import static io.harness.data.structure.UUIDGenerator.generateUuid;
 import static io.harness.persistence.HQuery.excludeAuthority;
+import static io.harness.rule.OwnerRule.ARCHIT;
 import static io.harness.rule.OwnerRule.ASHISHSANODIA;
 import static io.harness.rule.OwnerRule.GEORGE;
 import static io.harness.rule.OwnerRule.PRASHANT;
@@ -50,6 +51,7 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CountDownLatch;
@@ -383,6 +385,43 @@ public class WaitNotifyEngineTest extends WaitEngineTestBase {
     }
   }
 
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void shouldWaitForBatchAndDoneWithAll() {
+    String uuid1 = generateUuid();
+    String uuid2 = generateUuid();
+    String uuid3 = generateUuid();
+
+    try (MaintenanceGuard guard = new MaintenanceGuard(false)) {
+      ResponseData data1 = StringNotifyResponseData.builder().data("response-" + uuid1).build();
+      waitNotifyEngine.doneWith(uuid1, data1);
+
+      List<String> waitInstanceIds = waitNotifyEngine.waitForAllOnBatch(TEST_PUBLISHER,
+          Arrays.asList(
+              WaitRequest.builder().callback(new TestNotifyCallback()).correlationIds(Arrays.asList(uuid1)).build(),
+              WaitRequest.builder()
+                  .callback(new TestNotifyCallback())
+                  .correlationIds(Arrays.asList(uuid2, uuid3, uuid3))
+                  .build(),
+              WaitRequest.builder().callback(new TestNotifyCallback()).correlationIds(Arrays.asList(uuid3)).build()));
+      assertThat(waitInstanceIds).hasSize(3).doesNotHaveDuplicates();
+      assertThat(persistence.get(WaitInstance.class, waitInstanceIds.get(1)).getWaitingOnCorrelationIds())
+          .containsExactly(uuid2, uuid3);
+
+      ResponseData data2 = StringNotifyResponseData.builder().data("response-" + uuid2).build();
+      ResponseData data3 = StringNotifyResponseData.builder().data("response-" + uuid3).build();
+      Map<String, ResponseData> responses = new LinkedHashMap<>();
+      responses.put(uuid2, data2);
+      responses.put(uuid3, data3);
+      assertThat(waitNotifyEngine.doneWithAll(responses)).containsExactly(uuid2, uuid3);
+      assertThat(persistence.get(NotifyResponse.class, uuid3)).isNotNull();
+
+      Poller.pollFor(Duration.ofSeconds(10), ofMillis(100), () -> callCount.get() == 3);
+      assertThat(responseMap).isEqualTo(of(uuid1, data1, uuid2, data2, uuid3, data3));
+    }
+  }
+
   /**
    * Should wait for progress on correlation id.
    */
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.waiter.codec;
+
+import static io.harness.rule.OwnerRule.ARCHIT;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.harness.WaitEngineTestBase;
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.category.element.UnitTests;
+import io.harness.rule.Owner;
+import io.harness.serializer.KryoSerializer;
+import io.harness.tasks.BinaryResponseData;
+import io.harness.tasks.ResponseData;
+import io.harness.waiter.StringNotifyResponseData;
+import io.harness.waiter.WaiterConfiguration;
+import io.harness.waiter.WaiterConfiguration.ResponseCodec;
+import io.harness.waiter.codec.ResponseDataCodecRegistry.EncodedData;
+
+import com.google.common.base.Strings;
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@OwnedBy(HarnessTeam.PIPELINE)
+public class ResponseDataCodecRegistryTest extends WaitEngineTestBase {
+  @Inject private KryoSerializer kryoSerializer;
+  @Inject @Named("referenceFalseKryoSerializer") private KryoSerializer referenceFalseKryoSerializer;
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testDefaultCodecKeepsKryoDeflate() {
+    ResponseDataCodecRegistry registry = registry(ResponseCodec.KRYO_DEFLATE);
+    ResponseData data = StringNotifyResponseData.builder().data("response").build();
+
+    EncodedData encodedData = registry.encode(data);
+    assertThat(encodedData.getCodec()).isNull();
+    assertThat(referenceFalseKryoSerializer.asInflatedObject(encodedData.getData())).isEqualTo(data);
+    assertThat(registry.decode(null, encodedData.getData(), true)).isEqualTo(data);
+    assertThat(registry.decode(null, kryoSerializer.asDeflatedBytes(data), false)).isEqualTo(data);
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testFastCodecCompressesOnlyLargePayloads() {
+    ResponseDataCodecRegistry registry = registry(ResponseCodec.KRYO_FAST);
+
+    ResponseData small = StringNotifyResponseData.builder().data("response").build();
+    EncodedData encodedSmall = registry.encode(small);
+    assertThat(encodedSmall.getCodec()).isEqualTo(KryoResponseDataCodec.NAME);
+    assertThat(encodedSmall.getData()).hasSize(referenceFalseKryoSerializer.asBytes(small).length + 1);
+    assertThat(registry.decode(encodedSmall.getCodec(), encodedSmall.getData(), true)).isEqualTo(small);
+
+    ResponseData large = StringNotifyResponseData.builder().data(Strings.repeat("response", 1000)).build();
+    EncodedData encodedLarge = registry.encode(large);
+    assertThat(encodedLarge.getData().length).isLessThan(referenceFalseKryoSerializer.asBytes(large).length);
+    assertThat(registry.decode(encodedLarge.getCodec(), encodedLarge.getData(), true)).isEqualTo(large);
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testFastCodecStoresBinaryResponsesAsIs() {
+    ResponseDataCodecRegistry registry = registry(ResponseCodec.KRYO_FAST);
+
+    BinaryResponseData data =
+        BinaryResponseData.builder().data(new byte[] {1, 2, 3}).usingKryoWithoutReference(true).build();
+    EncodedData encodedData = registry.encode(data);
+    assertThat(encodedData.getCodec()).isEqualTo(BinaryResponseDataCodec.NAME);
+    assertThat(encodedData.getData()).hasSize(4);
+    assertThat(registry.decode(encodedData.getCodec(), encodedData.getData(), true)).isEqualTo(data);
+
+    BinaryResponseData empty = BinaryResponseData.builder().usingKryoWithoutReference(false).build();
+    encodedData = registry.encode(empty);
+    assertThat(registry.decode(encodedData.getCodec(), encodedData.getData(), true)).isEqualTo(empty);
+  }
+
+  private ResponseDataCodecRegistry registry(ResponseCodec responseCodec) {
+    return new ResponseDataCodecRegistry(kryoSerializer, referenceFalseKryoSerializer,
+        WaiterConfiguration.builder().responseCodec(responseCodec).build());
+  }
+}
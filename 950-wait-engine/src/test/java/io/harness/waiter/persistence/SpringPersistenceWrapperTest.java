@@ -259,4 +259,42 @@ public class SpringPersistenceWrapperTest extends WaitEngineTestBase {
     assertThat(keyList).hasSize(1);
     assertThat(keyList).containsExactly(response1.getUuid());
   }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testModifyAndFetchCompletedWaitInstances() {
+    String correlationId1 = generateUuid();
+    String correlationId2 = generateUuid();
+    WaitInstance waitInstance1 = buildWaitInstance(Collections.singletonList(correlationId1));
+    WaitInstance waitInstance2 = buildWaitInstance(Arrays.asList(correlationId1, correlationId2));
+    mongoTemplate.save(waitInstance1);
+    mongoTemplate.save(waitInstance2);
+
+    long now = System.currentTimeMillis();
+    List<WaitInstance> completed =
+        persistenceWrapper.modifyAndFetchCompletedWaitInstances(Collections.singletonList(correlationId1), now);
+    assertThat(completed).extracting(WaitInstance::getUuid).containsExactly(waitInstance1.getUuid());
+
+    List<NotifyResponse> responses = Collections.singletonList(
+        NotifyResponse.builder().uuid(correlationId2).createdAt(now).responseData(new byte[] {}).error(false).build());
+    persistenceWrapper.saveNotifyResponses(responses);
+    // Already existing responses are skipped
+    persistenceWrapper.saveNotifyResponses(responses);
+
+    completed = persistenceWrapper.modifyAndFetchCompletedWaitInstancesForExistingResponses(
+        Collections.singletonList(waitInstance2.getUuid()), Arrays.asList(correlationId1, correlationId2), now);
+    assertThat(completed).extracting(WaitInstance::getUuid).containsExactly(waitInstance2.getUuid());
+    assertThat(completed.get(0).getWaitingOnCorrelationIds()).isEmpty();
+  }
+
+  private WaitInstance buildWaitInstance(List<String> correlationIds) {
+    return WaitInstance.builder()
+        .uuid(generateUuid())
+        .callback(new TestNotifyCallback())
+        .publisher(TEST_PUBLISHER)
+        .correlationIds(correlationIds)
+        .waitingOnCorrelationIds(correlationIds)
+        .build();
+  }
 }
@@ -24,4 +24,6 @@ public class ChangeConsumerConfig {
   int redisStreamSize;
   // Mode of consumer can be either one of snapshot or streaming
   ConsumerMode consumerMode;
+  // Publish every batch with one pipelined call per stream and commit its offsets only after redis acknowledged it
+  boolean batchPublishingEnabled;
 }
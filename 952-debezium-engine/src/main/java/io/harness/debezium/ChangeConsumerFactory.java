@@ -10,10 +10,12 @@ package io.harness.debezium;
 import io.harness.cf.client.api.CfClient;
 import io.harness.exception.InvalidRequestException;
 
+import com.codahale.metrics.MetricRegistry;
 import com.google.inject.Inject;
 
 public class ChangeConsumerFactory {
   @Inject private DebeziumProducerFactory producerFactory;
+  @Inject(optional = true) private MetricRegistry metricRegistry;
 
   @SuppressWarnings("unchecked")
   public <T extends MongoCollectionChangeConsumer> T get(
@@ -27,7 +29,7 @@ public class ChangeConsumerFactory {
                 changeConsumerConfig, cfClient, collection, producerFactory);
           } else {
             return (T) new EventsFrameworkChangeConsumerStreaming(
-                changeConsumerConfig, cfClient, collection, producerFactory);
+                changeConsumerConfig, cfClient, collection, producerFactory, metricRegistry);
           }
         default:
           throw new InvalidRequestException("Change Consumer not Supported for " + consumerType.toString());
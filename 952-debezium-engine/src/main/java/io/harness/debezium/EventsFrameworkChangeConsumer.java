@@ -14,17 +14,24 @@ import io.harness.eventsframework.EventsFrameworkConfiguration;
 import io.harness.eventsframework.api.Producer;
 import io.harness.eventsframework.producer.Message;
 
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
 import com.google.common.annotations.VisibleForTesting;
 import io.debezium.embedded.EmbeddedEngineChangeEvent;
 import io.debezium.engine.ChangeEvent;
 import io.debezium.engine.DebeziumEngine;
 import io.debezium.engine.Header;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.connect.source.SourceRecord;
@@ -33,6 +40,8 @@ import org.apache.kafka.connect.source.SourceRecord;
 public abstract class EventsFrameworkChangeConsumer implements MongoCollectionChangeConsumer {
   private static final String OP_FIELD = "__op";
   private static final String DEFAULT_STRING = "default";
+  // Cluster time (in seconds) of the change in the offsets of the mongo connector
+  private static final String OFFSET_SECONDS_FIELD = "sec";
 
   final String collectionName;
   final DebeziumProducerFactory producerFactory;
@@ -41,20 +50,37 @@ public abstract class EventsFrameworkChangeConsumer implements MongoCollectionCh
   CfClient cfClient;
   EventsFrameworkConfiguration configuration;
   ConsumerMode mode;
+  boolean batchPublishingEnabled;
+  private Timer publishTimer;
+  private Counter publishedCounter;
+  private volatile long lagMillis;
 
   public EventsFrameworkChangeConsumer(ChangeConsumerConfig changeConsumerConfig, CfClient cfClient, String collection,
       DebeziumProducerFactory debeziumProducerFactory) {
+    this(changeConsumerConfig, cfClient, collection, debeziumProducerFactory, null);
+  }
+
+  public EventsFrameworkChangeConsumer(ChangeConsumerConfig changeConsumerConfig, CfClient cfClient, String collection,
+      DebeziumProducerFactory debeziumProducerFactory, MetricRegistry metricRegistry) {
     this.mode = changeConsumerConfig.getConsumerMode();
     this.configuration = changeConsumerConfig.getEventsFrameworkConfiguration();
     this.collectionName = collection;
     this.producerFactory = debeziumProducerFactory;
     this.redisStreamSize = changeConsumerConfig.getRedisStreamSize();
+    this.batchPublishingEnabled = changeConsumerConfig.isBatchPublishingEnabled();
     this.cfClient = cfClient;
+    if (metricRegistry != null) {
+      registerMetrics(metricRegistry);
+    }
   }
 
   @Override
   public void handleBatch(List<ChangeEvent<String, String>> records,
       DebeziumEngine.RecordCommitter<ChangeEvent<String, String>> recordCommitter) throws InterruptedException {
+    if (batchPublishingEnabled) {
+      publishBatch(records, recordCommitter);
+      return;
+    }
     log.info("Handling a batch of {} records for collection {}", records.size(), collectionName);
     Collections.reverse(records);
     Map<String, ChangeEvent<String, String>> recordsMap = new HashMap<>();
@@ -92,6 +118,89 @@ public abstract class EventsFrameworkChangeConsumer implements MongoCollectionCh
     recordCommitter.markBatchFinished();
   }
 
+  /**
+   * Publishes the latest change of every key in the batch with one pipelined call per destination stream. The records
+   * are marked processed only after redis has acknowledged all of them, a failed publish fails the whole batch so that
+   * its offsets are never committed and the batch is delivered again.
+   */
+  private void publishBatch(List<ChangeEvent<String, String>> records,
+      DebeziumEngine.RecordCommitter<ChangeEvent<String, String>> recordCommitter) throws InterruptedException {
+    log.info("Publishing a batch of {} records for collection {}", records.size(), collectionName);
+    long startTime = System.currentTimeMillis();
+    // The settings only depend on the collection, so they are resolved once for the batch
+    String collection = collectionName.split("\\.")[1];
+    boolean debeziumEnabled = cfClient.boolVariation(
+        FeatureName.DEBEZIUM_ENABLED.toString(), Target.builder().identifier(collection + "." + mode).build(), false);
+
+    Map<String, List<Message>> messagesByDestination = new LinkedHashMap<>();
+    List<ChangeEvent<String, String>> latestChanges = latestChangePerKey(records);
+    cnt += latestChanges.size();
+    if (debeziumEnabled) {
+      for (ChangeEvent<String, String> record : latestChanges) {
+        Optional<OpType> opType =
+            getOperationType(((EmbeddedEngineChangeEvent<String, String, List<Header>>) record).sourceRecord());
+        if (opType.isPresent()) {
+          DebeziumChangeEvent debeziumChangeEvent = DebeziumChangeEvent.newBuilder()
+                                                        .setKey(getKeyOrDefault(record))
+                                                        .setValue(getValueOrDefault(record))
+                                                        .setOptype(opType.get().toString())
+                                                        .setTimestamp(System.currentTimeMillis())
+                                                        .build();
+          messagesByDestination.computeIfAbsent(record.destination(), destination -> new ArrayList<>())
+              .add(Message.newBuilder().setData(debeziumChangeEvent.toByteString()).build());
+        }
+      }
+    }
+
+    int published = 0;
+    for (Map.Entry<String, List<Message>> entry : messagesByDestination.entrySet()) {
+      Producer producer = producerFactory.get(entry.getKey(), redisStreamSize, mode, configuration);
+      producer.sendBatch(entry.getValue());
+      published += entry.getValue().size();
+    }
+    for (ChangeEvent<String, String> record : records) {
+      recordCommitter.markProcessed(record);
+    }
+    recordCommitter.markBatchFinished();
+    recordMetrics(records, published, startTime);
+  }
+
+  // Keeps the last change of every key, ordered by the position of that change in the batch
+  private static List<ChangeEvent<String, String>> latestChangePerKey(List<ChangeEvent<String, String>> records) {
+    Map<String, ChangeEvent<String, String>> latestChanges = new LinkedHashMap<>();
+    for (ChangeEvent<String, String> record : records) {
+      latestChanges.remove(record.key());
+      latestChanges.put(record.key(), record);
+    }
+    return new ArrayList<>(latestChanges.values());
+  }
+
+  private void registerMetrics(MetricRegistry metricRegistry) {
+    String prefix = MetricRegistry.name("debezium", collectionName, String.valueOf(mode));
+    publishTimer = metricRegistry.timer(MetricRegistry.name(prefix, "publish"));
+    publishedCounter = metricRegistry.counter(MetricRegistry.name(prefix, "published"));
+    // A restarted consumer replaces the gauge of the previous one
+    String lagMetricName = MetricRegistry.name(prefix, "lag_ms");
+    metricRegistry.remove(lagMetricName);
+    metricRegistry.register(lagMetricName, (Gauge<Long>) () -> lagMillis);
+  }
+
+  private void recordMetrics(List<ChangeEvent<String, String>> records, int published, long startTime) {
+    if (publishTimer == null || records.isEmpty()) {
+      return;
+    }
+    long now = System.currentTimeMillis();
+    publishTimer.update(now - startTime, TimeUnit.MILLISECONDS);
+    publishedCounter.inc(published);
+    SourceRecord sourceRecord =
+        ((EmbeddedEngineChangeEvent<String, String, List<Header>>) records.get(records.size() - 1)).sourceRecord();
+    if (sourceRecord != null && sourceRecord.sourceOffset() != null
+        && sourceRecord.sourceOffset().get(OFFSET_SECONDS_FIELD) instanceof Number) {
+      long changeTime = ((Number) sourceRecord.sourceOffset().get(OFFSET_SECONDS_FIELD)).longValue() * 1000;
+      lagMillis = Math.max(0, now - changeTime);
+    }
+  }
+
   @VisibleForTesting
   Optional<OpType> getOperationType(SourceRecord sourceRecord) {
     return Optional.ofNullable(sourceRecord.headers().lastWithName(OP_FIELD))
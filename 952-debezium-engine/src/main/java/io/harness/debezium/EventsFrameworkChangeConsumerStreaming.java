@@ -9,9 +9,16 @@ package io.harness.debezium;
 
 import io.harness.cf.client.api.CfClient;
 
+import com.codahale.metrics.MetricRegistry;
+
 public class EventsFrameworkChangeConsumerStreaming extends EventsFrameworkChangeConsumer {
   public EventsFrameworkChangeConsumerStreaming(ChangeConsumerConfig changeConsumerConfig, CfClient cfClient,
       String collection, DebeziumProducerFactory debeziumProducerFactory) {
     super(changeConsumerConfig, cfClient, collection, debeziumProducerFactory);
   }
+
+  public EventsFrameworkChangeConsumerStreaming(ChangeConsumerConfig changeConsumerConfig, CfClient cfClient,
+      String collection, DebeziumProducerFactory debeziumProducerFactory, MetricRegistry metricRegistry) {
+    super(changeConsumerConfig, cfClient, collection, debeziumProducerFactory, metricRegistry);
+  }
 }
\ No newline at end of file
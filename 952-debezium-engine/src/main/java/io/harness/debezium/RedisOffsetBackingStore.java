@@ -76,13 +76,18 @@ public class RedisOffsetBackingStore extends MemoryOffsetBackingStore {
    */
   @Override
   protected void save() {
+    Map<byte[], byte[]> offsets = new HashMap<>();
     for (Map.Entry<ByteBuffer, ByteBuffer> mapEntry : data.entrySet()) {
       byte[] key = (mapEntry.getKey() != null) ? mapEntry.getKey().array() : null;
       byte[] value = (mapEntry.getValue() != null) ? mapEntry.getValue().array() : null;
-      // set the value in Redis
-      RMap<byte[], byte[]> offsets_map = redisson.getMap(this.redisKey);
-      offsets_map.put(key, value);
-      log.info("Saved offset in Database");
+      offsets.put(key, value);
     }
+    if (offsets.isEmpty()) {
+      return;
+    }
+    // set all the values in Redis in a single call
+    RMap<byte[], byte[]> offsets_map = redisson.getMap(this.redisKey);
+    offsets_map.putAll(offsets);
+    log.info("Saved {} offsets in Database", offsets.size());
   }
 }
\ No newline at end of file
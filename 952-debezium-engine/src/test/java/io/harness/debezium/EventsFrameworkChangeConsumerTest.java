@@ -15,6 +15,7 @@ import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -43,6 +44,7 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
@@ -135,4 +137,49 @@ public class EventsFrameworkChangeConsumerTest extends CategoryTest {
     verify(recordCommitter, times(1)).markProcessed(testRecord);
     verify(recordCommitter, times(1)).markBatchFinished();
   }
+
+  @Test
+  @Owner(developers = SHALINI)
+  @Category(UnitTests.class)
+  public void testHandleBatchWithBatchPublishing() throws InterruptedException, InvalidProtocolBufferException {
+    EventsFrameworkChangeConsumerStreaming eventsFrameworkChangeConsumerStreaming =
+        new EventsFrameworkChangeConsumerStreaming(ChangeConsumerConfig.builder()
+                                                       .redisStreamSize(10)
+                                                       .consumerType(ConsumerType.EVENTS_FRAMEWORK)
+                                                       .eventsFrameworkConfiguration(null)
+                                                       .consumerMode(mode)
+                                                       .batchPublishingEnabled(true)
+                                                       .build(),
+            cfClient, "coll.mode", producerFactory);
+    ConnectHeaders headers = new ConnectHeaders();
+    headers.add("__op", "c", Schema.STRING_SCHEMA);
+    ChangeEvent<String, String> firstRecord = changeEvent(key, "v1", headers);
+    ChangeEvent<String, String> otherRecord = changeEvent("otherKey", "v2", headers);
+    ChangeEvent<String, String> lastRecord = changeEvent(key, "v3", headers);
+    List<ChangeEvent<String, String>> records = new ArrayList<>(List.of(firstRecord, otherRecord, lastRecord));
+    doReturn(producer).when(producerFactory).get("topic", 10, ConsumerMode.SNAPSHOT, null);
+    doReturn(true).when(cfClient).boolVariation(anyString(), any(), anyBoolean());
+    eventsFrameworkChangeConsumerStreaming.handleBatch(records, recordCommitter);
+
+    ArgumentCaptor<List<Message>> captor = ArgumentCaptor.forClass(List.class);
+    verify(producer, times(1)).sendBatch(captor.capture());
+    verify(producer, times(0)).send(any());
+    verify(cfClient, times(1)).boolVariation(anyString(), any(), anyBoolean());
+    List<Message> messages = captor.getValue();
+    assertEquals(2, messages.size());
+    assertEquals("v2", DebeziumChangeEvent.parseFrom(messages.get(0).getData()).getValue());
+    assertEquals("v3", DebeziumChangeEvent.parseFrom(messages.get(1).getData()).getValue());
+    InOrder inOrder = inOrder(producer, recordCommitter);
+    inOrder.verify(producer).sendBatch(any());
+    inOrder.verify(recordCommitter).markProcessed(firstRecord);
+    inOrder.verify(recordCommitter).markProcessed(otherRecord);
+    inOrder.verify(recordCommitter).markProcessed(lastRecord);
+    inOrder.verify(recordCommitter).markBatchFinished();
+  }
+
+  private ChangeEvent<String, String> changeEvent(String key, String value, ConnectHeaders headers) {
+    return new EmbeddedEngineChangeEvent<>(key, value, null,
+        new SourceRecord(new HashMap<>(), new HashMap<>(), "topic", 0, Schema.BOOLEAN_SCHEMA, "", Schema.BOOLEAN_SCHEMA,
+            "", 0L, headers));
+  }
 }
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Shield 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/06/PolyForm-Shield-1.0.0.txt.
+ */
+
+package io.harness.eventsframework.impl.redis;
+
+import static io.harness.annotations.dev.HarnessTeam.PL;
+
+import static java.util.stream.Collectors.toList;
+
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.eventsframework.api.AbstractProducer;
+import io.harness.eventsframework.api.EventsFrameworkDownException;
+import io.harness.eventsframework.producer.Message;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Producer which coalesces the messages sent to a topic by concurrent callers into pipelined batches. A batch is
+ * flushed when it reaches maxBatchSize messages or when the oldest message in it has waited lingerMillis, whichever
+ * comes first. Message ordering per topic is preserved.
+ *
+ * The stream entry for each message is prepared on the calling thread so that the trace id and the git context are
+ * picked up exactly like {@link RedisProducer#send(Message)} does.
+ *
+ * Every returned future completes: with the message id once written, or exceptionally when the batch failed or the
+ * producer was shut down before the message could be written.
+ *
+ * The producer is opt-in, a module switches a topic to it by creating it through
+ * {@link RedisProducerFactory#createRedisBatchingProducer} instead of a plain {@link RedisProducer}.
+ */
+@OwnedBy(PL)
+@Slf4j
+public class RedisBatchingProducer extends AbstractProducer {
+  private static final long POLL_INTERVAL_MILLIS = 500;
+  // Maximum time a caller waits for room in the queue before giving up
+  private static final long OFFER_TIMEOUT_MILLIS = 30000;
+
+  private final RedisProducer redisProducer;
+  private final int maxBatchSize;
+  private final long lingerMillis;
+  private final BlockingQueue<PendingMessage> pendingMessages;
+  private final ExecutorService flushExecutor;
+  private volatile boolean running = true;
+
+  public RedisBatchingProducer(RedisProducer redisProducer, int maxBatchSize, long lingerMillis, int maxPending) {
+    super(redisProducer.getTopicName(), redisProducer.getProducerName());
+    this.redisProducer = redisProducer;
+    this.maxBatchSize = maxBatchSize;
+    this.lingerMillis = lingerMillis;
+    this.pendingMessages = new LinkedBlockingQueue<>(maxPending);
+    this.flushExecutor = Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "redis-batching-producer-" + getTopicName());
+      thread.setDaemon(true);
+      return thread;
+    });
+    flushExecutor.submit(this::flushLoop);
+  }
+
+  /**
+   * Blocks until the batch containing the message has been written, so callers keep the synchronous contract of
+   * {@link io.harness.eventsframework.api.Producer#send(Message)} while still sharing round trips with other threads.
+   */
+  @Override
+  public String send(Message message) {
+    try {
+      return sendAsync(message).join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof EventsFrameworkDownException) {
+        throw (EventsFrameworkDownException) ex.getCause();
+      }
+      throw new EventsFrameworkDownException(ex.getMessage());
+    }
+  }
+
+  @Override
+  public List<String> sendBatch(List<Message> messages) {
+    return redisProducer.sendBatch(messages);
+  }
+
+  public CompletableFuture<String> sendAsync(Message message) {
+    checkRunning();
+    PendingMessage pendingMessage =
+        new PendingMessage(message, redisProducer.prepareRedisData(message), new CompletableFuture<>());
+    try {
+      // Blocks when the flusher falls behind, applying back pressure on the producing threads
+      long deadline = System.currentTimeMillis() + OFFER_TIMEOUT_MILLIS;
+      while (!pendingMessages.offer(pendingMessage, POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+        checkRunning();
+        if (System.currentTimeMillis() >= deadline) {
+          throw new EventsFrameworkDownException("Timed out while queueing message for topic " + getTopicName());
+        }
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new EventsFrameworkDownException("Interrupted while queueing message for topic " + getTopicName());
+    }
+    // The producer may have been shut down while queueing, the message is then taken back unless already drained
+    if (!running && pendingMessages.remove(pendingMessage)) {
+      throw shutDownException();
+    }
+    return pendingMessage.future;
+  }
+
+  private void checkRunning() {
+    if (!running) {
+      throw shutDownException();
+    }
+  }
+
+  private EventsFrameworkDownException shutDownException() {
+    return new EventsFrameworkDownException("Producer for topic " + getTopicName() + " is shut down");
+  }
+
+  public int getPendingCount() {
+    return pendingMessages.size();
+  }
+
+  private void flushLoop() {
+    List<PendingMessage> batch = new ArrayList<>(maxBatchSize);
+    while (running || !pendingMessages.isEmpty()) {
+      try {
+        PendingMessage first = pendingMessages.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        long deadline = System.currentTimeMillis() + lingerMillis;
+        while (batch.size() < maxBatchSize) {
+          long remaining = deadline - System.currentTimeMillis();
+          PendingMessage next = remaining > 0 ? pendingMessages.poll(remaining, TimeUnit.MILLISECONDS)
+                                              : pendingMessages.poll();
+          if (next == null) {
+            break;
+          }
+          batch.add(next);
+        }
+        flush(batch);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        // Nothing flushes the queue from now on
+        running = false;
+        failAll(batch, ex);
+        failPending();
+        return;
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  private void flush(List<PendingMessage> batch) {
+    List<Map<String, String>> redisDataList =
+        batch.stream().map(pendingMessage -> pendingMessage.redisData).collect(toList());
+    try {
+      List<String> messageIds = redisProducer.sendPreparedBatch(redisDataList);
+      for (int i = 0; i < batch.size(); i++) {
+        redisProducer.addMonitoring(batch.get(i).message);
+        batch.get(i).future.complete(messageIds.get(i));
+      }
+    } catch (Exception ex) {
+      log.error("Failed to send batch of {} messages to topic {}", batch.size(), getTopicName(), ex);
+      failAll(batch, ex);
+    }
+  }
+
+  private void failAll(List<PendingMessage> batch, Exception ex) {
+    batch.forEach(pendingMessage -> pendingMessage.future.completeExceptionally(ex));
+  }
+
+  // Fails the messages left in the queue, each is taken either by the flusher or by this
+  private void failPending() {
+    List<PendingMessage> remaining = new ArrayList<>();
+    pendingMessages.drainTo(remaining);
+    if (!remaining.isEmpty()) {
+      log.warn("Dropping {} pending messages for topic {} on shutdown", remaining.size(), getTopicName());
+      failAll(remaining, shutDownException());
+    }
+  }
+
+  /**
+   * Flushes the messages already queued and stops the flusher. The messages which could not be flushed in time are
+   * failed. The underlying redis client is shut down as well.
+   */
+  @Override
+  public void shutdown() {
+    running = false;
+    flushExecutor.shutdown();
+    try {
+      if (!flushExecutor.awaitTermination(POLL_INTERVAL_MILLIS + lingerMillis, TimeUnit.MILLISECONDS)) {
+        log.warn("Pending messages for topic {} not flushed before shutdown", getTopicName());
+        flushExecutor.shutdownNow();
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      flushExecutor.shutdownNow();
+    }
+    failPending();
+    redisProducer.shutdown();
+  }
+
+  @AllArgsConstructor
+  private static class PendingMessage {
+    private final Message message;
+    private final Map<String, String> redisData;
+    private final CompletableFuture<String> future;
+  }
+}
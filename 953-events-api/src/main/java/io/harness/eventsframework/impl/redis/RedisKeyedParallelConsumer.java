@@ -0,0 +1,214 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Shield 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/06/PolyForm-Shield-1.0.0.txt.
+ */
+
+package io.harness.eventsframework.impl.redis;
+
+import static io.harness.annotations.dev.HarnessTeam.PL;
+
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.data.structure.EmptyPredicate;
+import io.harness.eventsframework.api.Consumer;
+import io.harness.eventsframework.consumer.Message;
+import io.harness.ng.core.event.MessageListener;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.protobuf.util.Timestamps;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reads batches from a consumer and processes them on a fixed number of ordered lanes. Every message is routed to a
+ * lane by the key returned by keyExtractor (for example accountId or planExecutionId), and each lane is served by a
+ * single daemon thread, so messages with the same key are handled in the order in which they were read while different
+ * keys are handled in parallel.
+ *
+ * Messages of a lane are acknowledged with a single XACK once the lane has finished its part of the batch. If the
+ * listener fails for a message, its key is blocked: the message and every later message with the same key, in this
+ * batch or the next ones, are left unacknowledged and recorded. They are redelivered after the consumer's max
+ * processing time and processed one by one in the recorded order, any other message of the key being skipped and
+ * recorded as well, until none is left and the key is released. A key which makes no progress within
+ * MAX_BLOCKED_DURATION, eg because its next message was trimmed from the stream, is released. Messages without a key
+ * are never blocked.
+ */
+@OwnedBy(PL)
+@Slf4j
+public class RedisKeyedParallelConsumer {
+  private static final Duration MAX_BLOCKED_DURATION = Duration.ofHours(1);
+
+  private final Consumer consumer;
+  private final Function<Message, String> keyExtractor;
+  private final MessageListener messageListener;
+  private final ExecutorService[] lanes;
+  // Keys waiting for the redelivery of their failed and skipped messages, a key is only accessed by the thread of its
+  // lane
+  private final Map<String, BlockedKey> blockedKeys = new ConcurrentHashMap<>();
+
+  private final AtomicInteger inFlightMessages = new AtomicInteger();
+  private final AtomicLong lastProcessedLagMillis = new AtomicLong();
+
+  public RedisKeyedParallelConsumer(Consumer consumer, Function<Message, String> keyExtractor,
+      MessageListener messageListener, int laneCount, String name) {
+    this.consumer = consumer;
+    this.keyExtractor = keyExtractor;
+    this.messageListener = messageListener;
+    this.lanes = new ExecutorService[laneCount];
+    for (int i = 0; i < laneCount; i++) {
+      lanes[i] = Executors.newSingleThreadExecutor(
+          new ThreadFactoryBuilder().setNameFormat(name + "-lane-" + i).setDaemon(true).build());
+    }
+  }
+
+  /**
+   * Reads one batch and blocks until every lane has processed and acknowledged its share of it.
+   *
+   * @return the number of messages read
+   */
+  public int readAndProcess(Duration maxWaitTime) {
+    List<Message> messages = consumer.read(maxWaitTime);
+    if (EmptyPredicate.isEmpty(messages)) {
+      return 0;
+    }
+
+    List<List<Message>> partitions = new ArrayList<>(lanes.length);
+    for (int i = 0; i < lanes.length; i++) {
+      partitions.add(new ArrayList<>());
+    }
+    for (Message message : messages) {
+      partitions.get(laneOf(message)).add(message);
+    }
+
+    inFlightMessages.addAndGet(messages.size());
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (int i = 0; i < lanes.length; i++) {
+      List<Message> partition = partitions.get(i);
+      if (!partition.isEmpty()) {
+        futures.add(CompletableFuture.runAsync(() -> processLane(partition), lanes[i]));
+      }
+    }
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+    return messages.size();
+  }
+
+  private int laneOf(Message message) {
+    String key = keyExtractor.apply(message);
+    return key == null ? 0 : Math.floorMod(key.hashCode(), lanes.length);
+  }
+
+  private void processLane(List<Message> partition) {
+    List<String> processed = new ArrayList<>(partition.size());
+    try {
+      for (Message message : partition) {
+        String key = keyExtractor.apply(message);
+        BlockedKey blockedKey = key == null ? null : getBlockedKey(key);
+        if (blockedKey != null && !blockedKey.isNext(message.getId())) {
+          // Keep the per key order, this message is redelivered after the earlier ones of its key
+          blockedKey.skip(message.getId());
+          continue;
+        }
+        if (handle(message)) {
+          processed.add(message.getId());
+          lastProcessedLagMillis.set(System.currentTimeMillis() - Timestamps.toMillis(message.getTimestamp()));
+          if (blockedKey != null && blockedKey.processed(message.getId())) {
+            blockedKeys.remove(key);
+          }
+        } else if (key != null && blockedKey == null) {
+          blockedKeys.put(key, new BlockedKey(message.getId()));
+        }
+      }
+    } finally {
+      inFlightMessages.addAndGet(-partition.size());
+      if (!processed.isEmpty()) {
+        consumer.acknowledge(processed.toArray(new String[0]));
+      }
+    }
+  }
+
+  // The messages of the key waiting for redelivery, null if the key is not blocked
+  private BlockedKey getBlockedKey(String key) {
+    BlockedKey blockedKey = blockedKeys.get(key);
+    if (blockedKey != null && System.currentTimeMillis() - blockedKey.progressAt > MAX_BLOCKED_DURATION.toMillis()) {
+      log.warn("Message {} with key {} was not redelivered, releasing the key", blockedKey.nextId(), key);
+      blockedKeys.remove(key);
+      return null;
+    }
+    return blockedKey;
+  }
+
+  private boolean handle(Message message) {
+    try {
+      return messageListener.handleMessage(message);
+    } catch (Exception ex) {
+      log.error("Error while processing message {} from the topic", message.getId(), ex);
+      return false;
+    }
+  }
+
+  /**
+   * Number of messages read but not yet processed by their lane.
+   */
+  public int getInFlightMessages() {
+    return inFlightMessages.get();
+  }
+
+  /**
+   * Time between the last processed message being produced and being processed.
+   */
+  public long getLastProcessedLagMillis() {
+    return lastProcessedLagMillis.get();
+  }
+
+  public void shutdown() throws InterruptedException {
+    for (ExecutorService lane : lanes) {
+      lane.shutdown();
+    }
+    for (ExecutorService lane : lanes) {
+      lane.awaitTermination(1, TimeUnit.MINUTES);
+    }
+  }
+
+  private static class BlockedKey {
+    // The failed message first, then the messages skipped after it, in the order in which they have to be processed
+    private final Set<String> pendingIds = new LinkedHashSet<>();
+    private long progressAt = System.currentTimeMillis();
+
+    BlockedKey(String failedId) {
+      pendingIds.add(failedId);
+    }
+
+    String nextId() {
+      return pendingIds.iterator().next();
+    }
+
+    boolean isNext(String messageId) {
+      return nextId().equals(messageId);
+    }
+
+    void skip(String messageId) {
+      pendingIds.add(messageId);
+    }
+
+    // Returns whether every recorded message has been processed
+    boolean processed(String messageId) {
+      pendingIds.remove(messageId);
+      progressAt = System.currentTimeMillis();
+      return pendingIds.isEmpty();
+    }
+  }
+}
@@ -8,9 +8,12 @@
 package io.harness.eventsframework.impl.redis;
 
 import static io.harness.annotations.dev.HarnessTeam.PL;
+import static io.harness.data.structure.EmptyPredicate.isEmpty;
 import static io.harness.eventsframework.impl.redis.RedisUtils.REDIS_STREAM_INTERNAL_KEY;
 import static io.harness.eventsframework.impl.redis.RedisUtils.REDIS_STREAM_TRACE_ID_KEY;
 
+import static java.util.stream.Collectors.toList;
+
 import io.harness.annotations.dev.OwnedBy;
 import io.harness.eventsframework.api.AbstractProducer;
 import io.harness.eventsframework.api.EventsFrameworkDownException;
@@ -24,13 +27,21 @@ import io.github.resilience4j.retry.Retry;
 import io.github.resilience4j.retry.RetryConfig;
 import io.opentelemetry.api.trace.Span;
 import io.vavr.control.Try;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
 import javax.validation.constraints.NotNull;
 import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.BatchOptions;
+import org.redisson.api.RBatch;
+import org.redisson.api.RFuture;
 import org.redisson.api.RStream;
+import org.redisson.api.RStreamAsync;
 import org.redisson.api.RedissonClient;
 import org.redisson.api.StreamMessageId;
 import org.slf4j.MDC;
@@ -77,15 +88,56 @@ public class RedisProducer extends AbstractProducer {
 
   @Override
   public String send(Message message) {
-    return handleMessage(message);
+    String messageId = handleMessage(message);
+    addMonitoring(message);
+    return messageId;
+  }
+
+  /**
+   * Sends all the messages to the topic in a single pipelined round trip. Message ids are returned in the order of the
+   * given messages.
+   */
+  @Override
+  public List<String> sendBatch(List<Message> messages) {
+    if (isEmpty(messages)) {
+      return Collections.emptyList();
+    }
+    List<Map<String, String>> redisDataList = messages.stream().map(this::prepareRedisData).collect(toList());
+    List<String> messageIds = sendPreparedBatch(redisDataList);
+    messages.forEach(this::addMonitoring);
+    return messageIds;
+  }
+
+  /**
+   * Builds the stream entry for the message. This picks up the trace id and the producer specific data from the
+   * calling thread's context, so it has to be called on the thread that produced the message.
+   */
+  Map<String, String> prepareRedisData(Message message) {
+    Map<String, String> redisData = new HashMap<>(message.getMetadataMap());
+    addTraceId(redisData);
+    redisData.put(REDIS_STREAM_INTERNAL_KEY, Base64.getEncoder().encodeToString(message.getData().toByteArray()));
+    populateOtherProducerSpecificData(redisData);
+    return redisData;
+  }
+
+  /**
+   * Sends the prepared entries in one pipelined batch. The batch is not atomic, when only some of the entries were
+   * written the retry sends only the remaining ones, so that no entry is added twice.
+   */
+  List<String> sendPreparedBatch(List<Map<String, String>> redisDataList) {
+    String[] messageIds = new String[redisDataList.size()];
+    Supplier<List<String>> sendBatchSupplier = () -> sendBatchInternal(redisDataList, messageIds);
+    return Try.ofSupplier(Retry.decorateSupplier(retry, sendBatchSupplier))
+        .recover(throwable -> {
+          // Exhausted exponential backoff to try operating on redis
+          throw new EventsFrameworkDownException(throwable.getMessage());
+        })
+        .get();
   }
 
   private String sendInternal(Message message) {
     try {
-      Map<String, String> redisData = new HashMap<>(message.getMetadataMap());
-      addTraceId(redisData);
-      redisData.put(REDIS_STREAM_INTERNAL_KEY, Base64.getEncoder().encodeToString(message.getData().toByteArray()));
-      populateOtherProducerSpecificData(redisData);
+      Map<String, String> redisData = prepareRedisData(message);
 
       StreamMessageId messageId = stream.addAll(redisData, maxTopicSize, false);
       redisData.remove(REDIS_STREAM_INTERNAL_KEY);
@@ -98,6 +150,45 @@ public class RedisProducer extends AbstractProducer {
     }
   }
 
+  // Fills in the ids of the entries written by this attempt, the entries which already have an id are skipped
+  private List<String> sendBatchInternal(List<Map<String, String>> redisDataList, String[] messageIds) {
+    try {
+      RBatch batch = redissonClient.createBatch(BatchOptions.defaults());
+      RStreamAsync<String, String> batchStream = batch.getStream(stream.getName(), stream.getCodec());
+      Map<Integer, RFuture<StreamMessageId>> futures = new LinkedHashMap<>();
+      for (int i = 0; i < messageIds.length; i++) {
+        if (messageIds[i] == null) {
+          futures.put(i, batchStream.addAllAsync(redisDataList.get(i), maxTopicSize, false));
+        }
+      }
+      RuntimeException failure = null;
+      try {
+        batch.execute();
+      } catch (RuntimeException ex) {
+        failure = ex;
+      }
+      int written = 0;
+      for (Map.Entry<Integer, RFuture<StreamMessageId>> entry : futures.entrySet()) {
+        if (entry.getValue().isSuccess()) {
+          messageIds[entry.getKey()] = entry.getValue().getNow().toString();
+          written++;
+        }
+      }
+      log.info("Events framework batch inserted {} of {} messages - messageIds: {} in the topic: {}", written,
+          futures.size(), Arrays.asList(messageIds), this.getTopicName());
+      if (written < futures.size()) {
+        if (failure != null) {
+          throw failure;
+        }
+        throw new EventsFrameworkDownException((futures.size() - written) + " messages of the batch were not inserted");
+      }
+      return Arrays.asList(messageIds);
+    } catch (Exception ex) {
+      log.warn("Exception occurred in sendBatchInternal", ex);
+      throw ex;
+    }
+  }
+
   protected void populateOtherProducerSpecificData(Map<String, String> redisData) {
     redisData.put(PRODUCER, this.getProducerName());
   }
@@ -125,7 +216,10 @@ public class RedisProducer extends AbstractProducer {
     return new RedisProducer(topicName, redissonClient, maxTopicSize, producerName, envNamespace);
   }
 
-  private void addMonitoring(Message message) {
+  void addMonitoring(Message message) {
+    if (redisEventMetricPublisher == null) {
+      return;
+    }
     try {
       redisEventMetricPublisher.sendMetricWithEventContext(
           RedisEventMetricDTOMapper.prepareRedisEventMetricDTO(message, getTopicName()), REDIS_PRODUCER_EVENT_METRIC);
@@ -23,4 +23,11 @@ public class RedisProducerFactory {
     return new RedisProducer(
         topicName, redissonClient, maxTopicSize, producerName, envNamespace, redisEventMetricPublisher);
   }
+
+  public RedisBatchingProducer createRedisBatchingProducer(String topicName, @NotNull RedissonClient redissonClient,
+      int maxTopicSize, String producerName, String envNamespace, int maxBatchSize, long lingerMillis, int maxPending) {
+    return new RedisBatchingProducer(
+        createRedisProducer(topicName, redissonClient, maxTopicSize, producerName, envNamespace), maxBatchSize,
+        lingerMillis, maxPending);
+  }
 }
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Shield 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/06/PolyForm-Shield-1.0.0.txt.
+ */
+
+package io.harness.eventsframework.impl.redis;
+
+import static io.harness.rule.OwnerRule.ANKIT;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import io.harness.CategoryTest;
+import io.harness.category.element.UnitTests;
+import io.harness.eventsframework.api.EventsFrameworkDownException;
+import io.harness.eventsframework.producer.Message;
+import io.harness.rule.Owner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.mockito.ArgumentCaptor;
+
+public class RedisBatchingProducerTest extends CategoryTest {
+  private RedisProducer redisProducer;
+
+  @Before
+  public void setUp() {
+    redisProducer = mock(RedisProducer.class);
+    doReturn(Map.of("o", "data")).when(redisProducer).prepareRedisData(any());
+  }
+
+  @Test
+  @Owner(developers = ANKIT)
+  @Category(UnitTests.class)
+  public void testConcurrentMessagesSentAsOneBatch() throws Exception {
+    doAnswer(invocation -> {
+      List<String> messageIds = new ArrayList<>();
+      for (int i = 0; i < invocation.<List<?>>getArgument(0).size(); i++) {
+        messageIds.add("id-" + i);
+      }
+      return messageIds;
+    })
+        .when(redisProducer)
+        .sendPreparedBatch(anyList());
+    RedisBatchingProducer producer = new RedisBatchingProducer(redisProducer, 3, 5000, 10);
+
+    CompletableFuture<String> first = producer.sendAsync(message());
+    CompletableFuture<String> second = producer.sendAsync(message());
+    CompletableFuture<String> third = producer.sendAsync(message());
+
+    assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("id-0");
+    assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("id-1");
+    assertThat(third.get(5, TimeUnit.SECONDS)).isEqualTo("id-2");
+    ArgumentCaptor<List<Map<String, String>>> batchCaptor = ArgumentCaptor.forClass(List.class);
+    verify(redisProducer, times(1)).sendPreparedBatch(batchCaptor.capture());
+    assertThat(batchCaptor.getValue()).hasSize(3);
+    verify(redisProducer, times(3)).addMonitoring(any());
+    producer.shutdown();
+  }
+
+  @Test
+  @Owner(developers = ANKIT)
+  @Category(UnitTests.class)
+  public void testBatchFailurePropagatedToEveryCaller() throws Exception {
+    doThrow(new EventsFrameworkDownException("redis down")).when(redisProducer).sendPreparedBatch(anyList());
+    RedisBatchingProducer producer = new RedisBatchingProducer(redisProducer, 2, 5000, 10);
+
+    CompletableFuture<String> first = producer.sendAsync(message());
+    assertThatThrownBy(() -> producer.send(message()))
+        .isInstanceOf(EventsFrameworkDownException.class)
+        .hasMessage("redis down");
+    assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS))
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(EventsFrameworkDownException.class);
+    producer.shutdown();
+  }
+
+  @Test
+  @Owner(developers = ANKIT)
+  @Category(UnitTests.class)
+  public void testShutdownFlushesQueuedMessagesAndRejectsNewOnes() throws Exception {
+    doReturn(List.of("id-0")).when(redisProducer).sendPreparedBatch(anyList());
+    RedisBatchingProducer producer = new RedisBatchingProducer(redisProducer, 10, 100, 10);
+
+    CompletableFuture<String> future = producer.sendAsync(message());
+    producer.shutdown();
+
+    assertThat(future.get(5, TimeUnit.SECONDS)).isEqualTo("id-0");
+    assertThatThrownBy(() -> producer.sendAsync(message())).isInstanceOf(EventsFrameworkDownException.class);
+    verify(redisProducer).shutdown();
+  }
+
+  @Test
+  @Owner(developers = ANKIT)
+  @Category(UnitTests.class)
+  public void testShutdownFailsMessagesNotFlushedInTime() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    doAnswer(invocation -> {
+      started.countDown();
+      try {
+        new CountDownLatch(1).await();
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+      throw new IllegalStateException("Interrupted while sending");
+    })
+        .when(redisProducer)
+        .sendPreparedBatch(anyList());
+    RedisBatchingProducer producer = new RedisBatchingProducer(redisProducer, 1, 0, 10);
+
+    CompletableFuture<String> inFlight = producer.sendAsync(message());
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+    CompletableFuture<String> queued = producer.sendAsync(message());
+    producer.shutdown();
+
+    assertThatThrownBy(() -> inFlight.get(5, TimeUnit.SECONDS))
+        .hasCauseInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(() -> queued.get(5, TimeUnit.SECONDS))
+        .hasCauseInstanceOf(EventsFrameworkDownException.class);
+  }
+
+  private static Message message() {
+    return Message.newBuilder().putMetadata("accountId", "accountId").build();
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Shield 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/06/PolyForm-Shield-1.0.0.txt.
+ */
+
+package io.harness.eventsframework.impl.redis;
+
+import static io.harness.rule.OwnerRule.ANKIT;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import io.harness.CategoryTest;
+import io.harness.category.element.UnitTests;
+import io.harness.eventsframework.api.Consumer;
+import io.harness.eventsframework.consumer.Message;
+import io.harness.rule.Owner;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+public class RedisKeyedParallelConsumerTest extends CategoryTest {
+  private Consumer consumer;
+  private List<String> handled;
+  private Set<String> failing;
+  private RedisKeyedParallelConsumer keyedConsumer;
+
+  @Before
+  public void setUp() {
+    consumer = mock(Consumer.class);
+    handled = Collections.synchronizedList(new ArrayList<>());
+    failing = Collections.synchronizedSet(new HashSet<>());
+    keyedConsumer = new RedisKeyedParallelConsumer(
+        consumer, message -> message.getMessage().getMetadataMap().get("key"), message -> {
+          if (failing.contains(message.getId())) {
+            return false;
+          }
+          handled.add(message.getId());
+          return true;
+        }, 4, "test");
+  }
+
+  @After
+  public void tearDown() throws InterruptedException {
+    keyedConsumer.shutdown();
+  }
+
+  @Test
+  @Owner(developers = ANKIT)
+  @Category(UnitTests.class)
+  public void testMessagesOfAKeyHandledInOrderAndAcknowledged() {
+    doReturn(List.of(message("1-0", "a"), message("2-0", "b"), message("3-0", "a"), message("4-0", "a")))
+        .when(consumer)
+        .read(any());
+
+    assertThat(keyedConsumer.readAndProcess(Duration.ofSeconds(1))).isEqualTo(4);
+
+    assertThat(handled).containsExactlyInAnyOrder("1-0", "2-0", "3-0", "4-0");
+    assertThat(handled.stream().filter(id -> !id.equals("2-0"))).containsExactly("1-0", "3-0", "4-0");
+    assertThat(keyedConsumer.getInFlightMessages()).isZero();
+    verify(consumer).acknowledge("1-0", "3-0", "4-0");
+  }
+
+  @Test
+  @Owner(developers = ANKIT)
+  @Category(UnitTests.class)
+  public void testKeyBlockedUntilFailedMessageIsRedelivered() {
+    failing.add("1-0");
+    doReturn(List.of(message("1-0", "a"), message("2-0", "a"))).when(consumer).read(any());
+    keyedConsumer.readAndProcess(Duration.ofSeconds(1));
+
+    // A later message of the key waits for the failed one
+    doReturn(List.of(message("3-0", "a"))).when(consumer).read(any());
+    keyedConsumer.readAndProcess(Duration.ofSeconds(1));
+    assertThat(handled).isEmpty();
+
+    // The failed message is redelivered with the ones skipped after it
+    failing.clear();
+    doReturn(List.of(message("1-0", "a"), message("2-0", "a"), message("3-0", "a")))
+        .when(consumer)
+        .read(any());
+    keyedConsumer.readAndProcess(Duration.ofSeconds(1));
+    assertThat(handled).containsExactly("1-0", "2-0", "3-0");
+    verify(consumer, times(3)).read(any());
+    verify(consumer).acknowledge("1-0", "2-0", "3-0");
+    verifyNoMoreInteractions(consumer);
+  }
+
+  @Test
+  @Owner(developers = ANKIT)
+  @Category(UnitTests.class)
+  public void testKeyBlockedUntilSkippedMessagesAreRedelivered() {
+    failing.add("1-0");
+    doReturn(List.of(message("1-0", "a"), message("2-0", "a"), message("3-0", "a"))).when(consumer).read(any());
+    keyedConsumer.readAndProcess(Duration.ofSeconds(1));
+
+    // Only the failed message is redelivered, the ones skipped after it are still pending
+    failing.clear();
+    doReturn(List.of(message("1-0", "a"))).when(consumer).read(any());
+    keyedConsumer.readAndProcess(Duration.ofSeconds(1));
+    assertThat(handled).containsExactly("1-0");
+
+    // A new message of the key keeps waiting for the skipped ones
+    doReturn(List.of(message("4-0", "a"))).when(consumer).read(any());
+    keyedConsumer.readAndProcess(Duration.ofSeconds(1));
+    assertThat(handled).containsExactly("1-0");
+
+    doReturn(List.of(message("2-0", "a"), message("3-0", "a"), message("4-0", "a"))).when(consumer).read(any());
+    keyedConsumer.readAndProcess(Duration.ofSeconds(1));
+    assertThat(handled).containsExactly("1-0", "2-0", "3-0", "4-0");
+
+    // The key is released once every skipped message has been processed
+    doReturn(List.of(message("5-0", "a"))).when(consumer).read(any());
+    keyedConsumer.readAndProcess(Duration.ofSeconds(1));
+    assertThat(handled).containsExactly("1-0", "2-0", "3-0", "4-0", "5-0");
+    verify(consumer, times(5)).read(any());
+    verify(consumer).acknowledge("1-0");
+    verify(consumer).acknowledge("2-0", "3-0", "4-0");
+    verify(consumer).acknowledge("5-0");
+    verifyNoMoreInteractions(consumer);
+  }
+
+  private static Message message(String id, String key) {
+    return Message.newBuilder()
+        .setId(id)
+        .setMessage(io.harness.eventsframework.producer.Message.newBuilder().putMetadata("key", key).build())
+        .build();
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Shield 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/06/PolyForm-Shield-1.0.0.txt.
+ */
+
+package io.harness.eventsframework.impl.redis;
+
+import static io.harness.rule.OwnerRule.ANKIT;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.harness.CategoryTest;
+import io.harness.category.element.UnitTests;
+import io.harness.eventsframework.impl.redis.monitoring.publisher.RedisEventMetricPublisher;
+import io.harness.eventsframework.producer.Message;
+import io.harness.rule.Owner;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.mockito.ArgumentCaptor;
+import org.redisson.api.RBatch;
+import org.redisson.api.RFuture;
+import org.redisson.api.RStream;
+import org.redisson.api.RStreamAsync;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.StreamMessageId;
+import org.redisson.client.RedisException;
+
+public class RedisProducerTest extends CategoryTest {
+  private RBatch batch;
+  private RStreamAsync<String, String> batchStream;
+  private RedisEventMetricPublisher redisEventMetricPublisher;
+  private RedisProducer redisProducer;
+
+  @Before
+  @SuppressWarnings("unchecked")
+  public void setUp() {
+    RedissonClient redissonClient = mock(RedissonClient.class);
+    doReturn(mock(RStream.class)).when(redissonClient).getStream(anyString(), any());
+    batch = mock(RBatch.class);
+    batchStream = mock(RStreamAsync.class);
+    doReturn(batch).when(redissonClient).createBatch(any());
+    doReturn(batchStream).when(batch).getStream(any(), any());
+    redisEventMetricPublisher = mock(RedisEventMetricPublisher.class);
+    redisProducer = new RedisProducer("topic", redissonClient, 1000, "producer", "", redisEventMetricPublisher);
+  }
+
+  @Test
+  @Owner(developers = ANKIT)
+  @Category(UnitTests.class)
+  @SuppressWarnings("unchecked")
+  public void testPartiallyFailedBatchRetriesOnlyFailedMessages() {
+    RFuture<StreamMessageId> failed = mock(RFuture.class);
+    when(batchStream.addAllAsync(anyMap(), anyInt(), anyBoolean()))
+        .thenReturn(written(new StreamMessageId(1, 0)), failed, written(new StreamMessageId(2, 0)));
+    when(batch.execute()).thenThrow(new RedisException("OOM")).thenReturn(null);
+
+    List<String> messageIds = redisProducer.sendBatch(List.of(message("first"), message("second")));
+
+    assertThat(messageIds).containsExactly("1-0", "2-0");
+    ArgumentCaptor<Map<String, String>> redisDataCaptor = ArgumentCaptor.forClass(Map.class);
+    verify(batchStream, times(3)).addAllAsync(redisDataCaptor.capture(), eq(1000), eq(false));
+    assertThat(redisDataCaptor.getAllValues())
+        .extracting(redisData -> redisData.get("key"))
+        .containsExactly("first", "second", "second");
+    verify(redisEventMetricPublisher, times(2)).sendMetricWithEventContext(any(), any());
+  }
+
+  @SuppressWarnings("unchecked")
+  private static RFuture<StreamMessageId> written(StreamMessageId messageId) {
+    RFuture<StreamMessageId> future = mock(RFuture.class);
+    doReturn(true).when(future).isSuccess();
+    doReturn(messageId).when(future).getNow();
+    return future;
+  }
+
+  private static Message message(String key) {
+    return Message.newBuilder().putMetadata("key", key).build();
+  }
+}
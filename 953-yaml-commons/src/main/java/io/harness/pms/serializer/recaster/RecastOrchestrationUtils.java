@@ -13,6 +13,7 @@ import io.harness.core.Recast;
 import io.harness.core.Recaster;
 import io.harness.core.RecasterOptions;
 import io.harness.data.structure.EmptyPredicate;
+import io.harness.exception.CastedFieldException;
 import io.harness.exceptions.RecasterException;
 import io.harness.packages.HarnessPackages;
 import io.harness.pms.yaml.ParameterDocumentField;
@@ -76,8 +77,13 @@ public class RecastOrchestrationUtils {
   }
 
   public <T> String toJson(T entity, boolean newRecastFlow) {
-    Map<String, Object> map = recast.toMap(entity, newRecastFlow);
-    return toJson(map);
+    try {
+      return recast.toJson(entity, newRecastFlow);
+    } catch (CastedFieldException | RecasterException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new RecasterException("Cannot serialize to json : " + entity, e);
+    }
   }
 
   public String toJson(Map<String, Object> map) {
@@ -26,6 +26,7 @@ import io.harness.outbox.api.OutboxService;
 import io.harness.outbox.filter.OutboxEventFilter;
 import io.harness.outbox.monitor.OutboxMetricsServiceImpl;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 import com.google.inject.name.Named;
 import io.github.resilience4j.core.IntervalFunction;
@@ -34,9 +35,30 @@ import io.github.resilience4j.retry.RetryConfig;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Polls the outbox and hands the events to the {@link OutboxEventHandler}.
+ *
+ * By default a single lock per service guards the whole outbox and events are handled one by one, retrying a failed
+ * event inline with exponential backoff before parking it.
+ *
+ * With laneCount > 1 the outbox is split into lanes by the partition of the events (see {@link OutboxLanes}). Every
+ * lane has its own lock, so lanes are claimed independently by the pods and processed concurrently, up to laneThreads
+ * lanes at a time per pod. Events of a resource always fall in the same lane and are handled in creation order. A
+ * failed event is parked right away together with the later events of the same resource, also in the later polls
+ * until it is due again, so they are retried in order without holding back the rest of the lane. Handled events are
+ * deleted in bulk per batch.
+ */
 @OwnedBy(PL)
 @Slf4j
 public class OutboxEventPollJob implements Runnable {
@@ -47,9 +69,13 @@ public class OutboxEventPollJob implements Runnable {
   private final OutboxEventFilter outboxEventFilter;
   private final Retry retry;
   private static final String OUTBOX_POLL_JOB_LOCK = "OUTBOX_POLL_JOB_LOCK";
+  private static final long FIRST_UNBLOCK_RETRY_INTERVAL_IN_SECONDS = 60;
+  private static final int MAX_PARKED_EVENTS_LISTED = 1000;
   private final String outboxLockId;
   private final OutboxMetricsServiceImpl outboxMetricsService;
   private final String serviceId;
+  private final int laneCount;
+  private final ExecutorService laneExecutor;
 
   @Inject
   public OutboxEventPollJob(OutboxService outboxService, OutboxEventHandler outboxEventHandler,
@@ -68,13 +94,28 @@ public class OutboxEventPollJob implements Runnable {
                                   .maxAttempts(this.outboxPollConfiguration.getMaximumRetryAttemptsForAnEvent())
                                   .build();
     this.retry = Retry.of("outboxEventHandleRetry", retryConfig);
+    this.laneCount = Math.max(1, this.outboxPollConfiguration.getLaneCount());
+    if (laneCount > 1) {
+      int laneThreads = this.outboxPollConfiguration.getLaneThreads() > 0
+          ? Math.min(this.outboxPollConfiguration.getLaneThreads(), laneCount)
+          : laneCount;
+      String threadName = "outbox-lane-" + outboxPollConfiguration.getLockId() + "-%d";
+      this.laneExecutor =
+          Executors.newFixedThreadPool(laneThreads, new ThreadFactoryBuilder().setNameFormat(threadName).build());
+    } else {
+      this.laneExecutor = null;
+    }
   }
 
   @Override
   public void run() {
     try {
       if (!getMaintenanceFlag()) {
-        pollAndHandleOutboxEvents();
+        if (laneExecutor != null) {
+          pollAndHandleOutboxEventsInLanes();
+        } else {
+          pollAndHandleOutboxEvents();
+        }
       }
     } catch (Exception exception) {
       log.error("Unexpected error occurred during the execution of OutboxPollJob", exception);
@@ -98,17 +139,8 @@ public class OutboxEventPollJob implements Runnable {
       for (int i = 0; i < outboxEvents.size() && !Thread.currentThread().isInterrupted(); i++) {
         OutboxEvent outbox = outboxEvents.get(i);
         long startTime = System.currentTimeMillis();
-        long outboxEventWaitingTime = startTime - outbox.getCreatedAt();
         boolean success = handle(outbox);
-        long outboxEventProcessingTime = System.currentTimeMillis() - startTime;
-        log.info(String.format(
-            "[OutboxEventPollJob] id: %s, eventType: %s, resourceType: %s, waitingTime: %d, processingTime: %d",
-            outbox.getId(), outbox.getEventType(), outbox.getResource().getType(), outboxEventWaitingTime,
-            outboxEventProcessingTime));
-        outboxMetricsService.recordMetricsWithDuration(serviceId, outbox.getEventType(), outbox.getResource().getType(),
-            ofMillis(outboxEventProcessingTime), OUTBOX_EVENT_PROCESSING_TIME_METRIC_NAME);
-        outboxMetricsService.recordMetricsWithDuration(serviceId, outbox.getEventType(), outbox.getResource().getType(),
-            ofMillis(outboxEventWaitingTime), OUTBOX_EVENT_WAITING_TIME_METRIC_NAME);
+        recordMetrics(outbox, startTime);
         try {
           if (success) {
             outboxService.delete(outbox.getId());
@@ -127,15 +159,160 @@ public class OutboxEventPollJob implements Runnable {
     }
   }
 
-  private boolean handle(OutboxEvent outboxEvent) {
-    boolean success = false;
+  private void pollAndHandleOutboxEventsInLanes() {
+    // Start from a random lane so that pods polling at the same time spread over the lanes
+    int offset = ThreadLocalRandom.current().nextInt(laneCount);
+    List<Future<?>> futures = new ArrayList<>(laneCount);
+    for (int i = 0; i < laneCount; i++) {
+      int lane = (offset + i) % laneCount;
+      futures.add(laneExecutor.submit(() -> pollAndHandleLane(lane)));
+    }
     try {
-      success = outboxEventHandler.handle(outboxEvent);
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      futures.forEach(future -> future.cancel(true));
+    } catch (ExecutionException ex) {
+      log.error("Unexpected error occurred while processing an outbox lane", ex.getCause());
+    }
+  }
+
+  private void pollAndHandleLane(int lane) {
+    // The lock is acquired on the lane thread as some lock implementations are owned by the acquiring thread
+    try (AcquiredLock<?> lock =
+             persistentLocker.tryToAcquireLock(outboxLockId + "_LANE_" + lane, Duration.ofMinutes(2))) {
+      if (lock == null) {
+        return;
+      }
+      List<OutboxEvent> outboxEvents;
+      try {
+        outboxEvents = outboxService.list(OutboxEventFilter.builder()
+                                              .maximumEventsPolled(DEFAULT_MAX_EVENTS_POLLED)
+                                              .fromPartition(OutboxLanes.fromPartition(lane, laneCount))
+                                              .toPartition(OutboxLanes.toPartition(lane, laneCount))
+                                              .build());
+      } catch (InstantiationError error) {
+        log.error("InstantiationError occurred while fetching entries from the outbox", error);
+        return;
+      }
+
+      if (outboxEvents.isEmpty()) {
+        return;
+      }
+
+      List<String> handledEventIds = new ArrayList<>(outboxEvents.size());
+      // Unblock time of the parked events per resource, later events of these resources are parked behind them
+      Map<String, Instant> parkedResources = new HashMap<>();
+      // Oldest event per resource among the ones parked in the previous polls which are not due yet
+      Map<String, OutboxEvent> previouslyParked = listParkedEvents(lane);
+      try {
+        for (int i = 0; i < outboxEvents.size() && !Thread.currentThread().isInterrupted(); i++) {
+          OutboxEvent outbox = outboxEvents.get(i);
+          String resourceKey = OutboxLanes.resourceKey(outbox.getResourceScope(), outbox.getResource());
+          Instant parkedUntil = parkedResources.get(resourceKey);
+          OutboxEvent parkedBefore = previouslyParked.get(resourceKey);
+          if (parkedUntil == null && parkedBefore != null && parkedBefore.getCreatedAt() <= outbox.getCreatedAt()) {
+            parkedUntil = parkedBefore.getNextUnblockAttemptAt();
+            parkedResources.put(resourceKey, parkedUntil);
+          }
+          if (parkedUntil != null) {
+            park(outbox, parkedUntil);
+            continue;
+          }
+          long startTime = System.currentTimeMillis();
+          boolean success = handleOnce(outbox);
+          recordMetrics(outbox, startTime);
+          if (success) {
+            handledEventIds.add(outbox.getId());
+          } else {
+            parkedUntil = Boolean.TRUE.equals(outbox.getBlocked())
+                ? Instant.now().plus(DEFAULT_UNBLOCK_RETRY_INTERVAL_IN_MINUTES, ChronoUnit.MINUTES)
+                : Instant.now().plusSeconds(FIRST_UNBLOCK_RETRY_INTERVAL_IN_SECONDS);
+            parkedResources.put(resourceKey, parkedUntil);
+            park(outbox, parkedUntil);
+          }
+        }
+      } finally {
+        deleteHandledEvents(lane, handledEventIds);
+      }
+    }
+  }
+
+  private Map<String, OutboxEvent> listParkedEvents(int lane) {
+    List<OutboxEvent> parkedEvents = outboxService.list(OutboxEventFilter.builder()
+                                                            .maximumEventsPolled(MAX_PARKED_EVENTS_LISTED)
+                                                            .fromPartition(OutboxLanes.fromPartition(lane, laneCount))
+                                                            .toPartition(OutboxLanes.toPartition(lane, laneCount))
+                                                            .parked(true)
+                                                            .build());
+    Map<String, OutboxEvent> parkedByResource = new HashMap<>();
+    // Listed in creation order, the first event of each resource is kept
+    for (OutboxEvent parkedEvent : parkedEvents) {
+      parkedByResource.putIfAbsent(
+          OutboxLanes.resourceKey(parkedEvent.getResourceScope(), parkedEvent.getResource()), parkedEvent);
+    }
+    return parkedByResource;
+  }
+
+  private void park(OutboxEvent outbox, Instant nextUnblockAttemptAt) {
+    try {
+      outbox.setBlocked(true);
+      outbox.setNextUnblockAttemptAt(nextUnblockAttemptAt);
+      outboxService.update(outbox);
+    } catch (Exception exception) {
+      log.error(String.format("Error occurred while parking outbox event with id %s and type %s", outbox.getId(),
+                    outbox.getEventType()),
+          exception);
+    }
+  }
+
+  private void deleteHandledEvents(int lane, List<String> handledEventIds) {
+    if (handledEventIds.isEmpty()) {
+      return;
+    }
+    try {
+      outboxService.deleteAll(handledEventIds);
+    } catch (Exception exception) {
+      log.error(String.format("Error occurred while deleting %d handled outbox events of lane %d",
+                    handledEventIds.size(), lane),
+          exception);
+    }
+  }
+
+  private void recordMetrics(OutboxEvent outbox, long startTime) {
+    long outboxEventWaitingTime = startTime - outbox.getCreatedAt();
+    long outboxEventProcessingTime = System.currentTimeMillis() - startTime;
+    log.info(String.format(
+        "[OutboxEventPollJob] id: %s, eventType: %s, resourceType: %s, waitingTime: %d, processingTime: %d",
+        outbox.getId(), outbox.getEventType(), outbox.getResource().getType(), outboxEventWaitingTime,
+        outboxEventProcessingTime));
+    outboxMetricsService.recordMetricsWithDuration(serviceId, outbox.getEventType(), outbox.getResource().getType(),
+        ofMillis(outboxEventProcessingTime), OUTBOX_EVENT_PROCESSING_TIME_METRIC_NAME);
+    outboxMetricsService.recordMetricsWithDuration(serviceId, outbox.getEventType(), outbox.getResource().getType(),
+        ofMillis(outboxEventWaitingTime), OUTBOX_EVENT_WAITING_TIME_METRIC_NAME);
+  }
+
+  public void shutdown() {
+    if (laneExecutor != null) {
+      laneExecutor.shutdownNow();
+    }
+  }
+
+  private boolean handleOnce(OutboxEvent outboxEvent) {
+    try {
+      return outboxEventHandler.handle(outboxEvent);
     } catch (Exception exception) {
       log.error(String.format("Error occurred while handling outbox event with id %s and type %s", outboxEvent.getId(),
                     outboxEvent.getEventType()),
           exception);
+      return false;
     }
+  }
+
+  private boolean handle(OutboxEvent outboxEvent) {
+    boolean success = handleOnce(outboxEvent);
     if (!success && !Boolean.TRUE.equals(outboxEvent.getBlocked())) {
       log.error("Retrying this outbox event with exponential backoff now...");
       success = handleWithExponentialBackOff(outboxEvent);
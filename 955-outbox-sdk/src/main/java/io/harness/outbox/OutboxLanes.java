@@ -0,0 +1,70 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Shield 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/06/PolyForm-Shield-1.0.0.txt.
+ */
+
+package io.harness.outbox;
+
+import static io.harness.annotations.dev.HarnessTeam.PL;
+
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.beans.Scope;
+import io.harness.ng.core.Resource;
+import io.harness.ng.core.ResourceScope;
+import io.harness.ng.core.mapper.ResourceScopeMapper;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Every outbox event is stored with a partition derived from its resource, so all the events of a resource end up in
+ * the same partition. Partitions are grouped into laneCount contiguous ranges, each lane is claimed and processed
+ * independently by the poll job.
+ *
+ * The number of partitions is fixed, changing the lane count only regroups the partitions into lanes and the stored
+ * events never need to be rewritten.
+ */
+@OwnedBy(PL)
+@UtilityClass
+public class OutboxLanes {
+  public static final int PARTITION_COUNT = 1024;
+
+  public static int partitionOf(ResourceScope resourceScope, Resource resource) {
+    return Math.floorMod(resourceKey(resourceScope, resource).hashCode(), PARTITION_COUNT);
+  }
+
+  public static String resourceKey(ResourceScope resourceScope, Resource resource) {
+    StringBuilder key = new StringBuilder();
+    if (resourceScope != null) {
+      try {
+        Scope scope = ResourceScopeMapper.getScopeFromResourceScope(resourceScope);
+        key.append(scope.getAccountIdentifier())
+            .append('/')
+            .append(scope.getOrgIdentifier())
+            .append('/')
+            .append(scope.getProjectIdentifier());
+      } catch (ClassCastException ex) {
+        key.append(resourceScope.getScope());
+      }
+    }
+    if (resource != null) {
+      key.append('/').append(resource.getType()).append('/').append(resource.getIdentifier());
+    }
+    return key.toString();
+  }
+
+  /**
+   * First partition of the lane, inclusive.
+   */
+  public static int fromPartition(int lane, int laneCount) {
+    return lane * PARTITION_COUNT / laneCount;
+  }
+
+  /**
+   * Last partition of the lane, exclusive.
+   */
+  public static int toPartition(int lane, int laneCount) {
+    return (lane + 1) * PARTITION_COUNT / laneCount;
+  }
+}
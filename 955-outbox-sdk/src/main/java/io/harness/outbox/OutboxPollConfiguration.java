@@ -27,4 +27,8 @@ public class OutboxPollConfiguration {
   int pollingIntervalInSeconds;
   int maximumRetryAttemptsForAnEvent;
   String lockId;
+  // Number of lanes the events are processed in, a single lane guarded by one lock when 0 or 1
+  int laneCount;
+  // Maximum number of lanes processed at the same time by one poller, laneCount when 0
+  int laneThreads;
 }
@@ -28,4 +28,6 @@ public interface OutboxDao {
   Map<String, Long> countPerEventType(OutboxMetricsFilter outboxMetricsFilter);
 
   boolean delete(String outboxEventId);
+
+  long deleteAll(List<String> outboxEventIds);
 }
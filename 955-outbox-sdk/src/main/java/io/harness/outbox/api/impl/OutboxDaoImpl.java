@@ -100,13 +100,31 @@ public class OutboxDaoImpl implements OutboxDao {
 
   private Criteria getCriteria(OutboxEventFilter outboxEventFilter) {
     Criteria criteria = new Criteria();
-    Criteria blockedNotTrueCriteria = Criteria.where(OutboxEventKeys.blocked).ne(Boolean.TRUE);
-    Criteria blockedTrueCriteria = Criteria.where(OutboxEventKeys.blocked)
-                                       .is(Boolean.TRUE)
-                                       .and(OutboxEventKeys.nextUnblockAttemptAt)
-                                       .lt(Instant.now());
-    criteria.orOperator(blockedNotTrueCriteria, blockedTrueCriteria);
-    return criteria;
+    if (outboxEventFilter.isParked()) {
+      criteria = Criteria.where(OutboxEventKeys.blocked)
+                     .is(Boolean.TRUE)
+                     .and(OutboxEventKeys.nextUnblockAttemptAt)
+                     .gte(Instant.now());
+    } else {
+      Criteria blockedNotTrueCriteria = Criteria.where(OutboxEventKeys.blocked).ne(Boolean.TRUE);
+      Criteria blockedTrueCriteria = Criteria.where(OutboxEventKeys.blocked)
+                                         .is(Boolean.TRUE)
+                                         .and(OutboxEventKeys.nextUnblockAttemptAt)
+                                         .lt(Instant.now());
+      criteria.orOperator(blockedNotTrueCriteria, blockedTrueCriteria);
+    }
+    if (outboxEventFilter.getFromPartition() == null || outboxEventFilter.getToPartition() == null) {
+      return criteria;
+    }
+    Criteria partitionCriteria = Criteria.where(OutboxEventKeys.partition)
+                                     .gte(outboxEventFilter.getFromPartition())
+                                     .lt(outboxEventFilter.getToPartition());
+    if (outboxEventFilter.getFromPartition() == 0) {
+      // Events saved before partitions were introduced are handled by the first lane
+      partitionCriteria =
+          new Criteria().orOperator(partitionCriteria, Criteria.where(OutboxEventKeys.partition).is(null));
+    }
+    return new Criteria().andOperator(criteria, partitionCriteria);
   }
 
   @Override
@@ -114,4 +132,9 @@ public class OutboxDaoImpl implements OutboxDao {
     outboxRepository.deleteById(outboxEventId);
     return true;
   }
+
+  @Override
+  public long deleteAll(List<String> outboxEventIds) {
+    return outboxRepository.deleteAllByIds(outboxEventIds);
+  }
 }
@@ -17,6 +17,7 @@ import io.harness.event.Event;
 import io.harness.exception.UnexpectedException;
 import io.harness.manage.GlobalContextManager;
 import io.harness.outbox.OutboxEvent;
+import io.harness.outbox.OutboxLanes;
 import io.harness.outbox.api.OutboxDao;
 import io.harness.outbox.api.OutboxService;
 import io.harness.outbox.filter.OutboxEventFilter;
@@ -55,6 +56,7 @@ public class OutboxServiceImpl implements OutboxService {
                                   .eventData(eventData)
                                   .eventType(event.getEventType())
                                   .globalContext(GlobalContextManager.obtainGlobalContext())
+                                  .partition(OutboxLanes.partitionOf(event.getResourceScope(), event.getResource()))
                                   .build();
     return outboxDao.save(outboxEvent);
   }
@@ -77,4 +79,12 @@ public class OutboxServiceImpl implements OutboxService {
     outboxDao.delete(outboxEventId);
     return true;
   }
+
+  @Override
+  public long deleteAll(List<String> outboxEventIds) {
+    if (outboxEventIds.isEmpty()) {
+      return 0;
+    }
+    return outboxDao.deleteAll(outboxEventIds);
+  }
 }
@@ -22,4 +22,9 @@ import lombok.experimental.FieldDefaults;
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class OutboxEventFilter {
   int maximumEventsPolled;
+  // Partition range [fromPartition, toPartition) of a lane, all the events are listed when not set
+  Integer fromPartition;
+  Integer toPartition;
+  // Lists the parked events which are not due yet instead of the due ones
+  boolean parked;
 }
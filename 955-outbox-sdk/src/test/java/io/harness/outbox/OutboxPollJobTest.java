@@ -10,6 +10,8 @@ package io.harness.outbox;
 import static io.harness.annotations.dev.HarnessTeam.PL;
 import static io.harness.rule.OwnerRule.KARAN;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static junit.framework.TestCase.assertEquals;
 import static junit.framework.TestCase.assertNotNull;
@@ -28,12 +30,16 @@ import io.harness.category.element.UnitTests;
 import io.harness.lock.AcquiredLock;
 import io.harness.lock.PersistentLocker;
 import io.harness.maintenance.MaintenanceController;
+import io.harness.ng.core.AccountScope;
 import io.harness.ng.core.Resource;
 import io.harness.outbox.api.OutboxEventHandler;
 import io.harness.outbox.api.OutboxService;
+import io.harness.outbox.filter.OutboxEventFilter;
 import io.harness.outbox.monitor.OutboxMetricsServiceImpl;
 import io.harness.rule.Owner;
 
+import java.time.Instant;
+import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
@@ -114,4 +120,93 @@ public class OutboxPollJobTest extends CategoryTest {
     assertTrue(updateOutboxEvent.getBlocked());
     assertNotNull(updateOutboxEvent.getNextUnblockAttemptAt());
   }
+
+  @Test
+  @Owner(developers = KARAN)
+  @Category(UnitTests.class)
+  public void testLaneHandling() {
+    OutboxEventPollJob laneJob = new OutboxEventPollJob(outboxService, outboxEventHandler, persistentLocker,
+        OutboxPollConfiguration.builder().maximumRetryAttemptsForAnEvent(2).lockId("LOCK_ID").laneCount(4).build(),
+        outboxMetricsServiceImpl, "service-id");
+    when(persistentLocker.tryToAcquireLock(any(), any())).thenReturn(mock(AcquiredLock.class));
+    OutboxEvent failing = laneEvent("1", "resource1");
+    OutboxEvent sameResource = laneEvent("2", "resource1");
+    OutboxEvent otherResource = laneEvent("3", "resource2");
+    when(outboxService.list(any())).thenAnswer(invocation -> {
+      OutboxEventFilter filter = invocation.getArgument(0);
+      return filter.getFromPartition() == 0 && !filter.isParked() ? asList(failing, sameResource, otherResource)
+                                                                   : emptyList();
+    });
+    when(outboxEventHandler.handle(failing)).thenReturn(false);
+    when(outboxEventHandler.handle(otherResource)).thenReturn(true);
+
+    laneJob.run();
+    laneJob.shutdown();
+
+    verify(persistentLocker, times(4)).tryToAcquireLock(any(), any());
+    verify(outboxEventHandler, times(1)).handle(failing);
+    verify(outboxEventHandler, times(0)).handle(sameResource);
+    verify(outboxService, times(1)).deleteAll(singletonList("3"));
+    verify(outboxService, times(0)).delete(any());
+    final ArgumentCaptor<OutboxEvent> outboxEventArgumentCaptor = ArgumentCaptor.forClass(OutboxEvent.class);
+    verify(outboxService, times(2)).update(outboxEventArgumentCaptor.capture());
+    List<OutboxEvent> parked = outboxEventArgumentCaptor.getAllValues();
+    assertEquals(asList(failing, sameResource), parked);
+    assertTrue(sameResource.getBlocked());
+    assertEquals(failing.getNextUnblockAttemptAt(), sameResource.getNextUnblockAttemptAt());
+  }
+
+  @Test
+  @Owner(developers = KARAN)
+  @Category(UnitTests.class)
+  public void testLaneHandlingBehindPreviouslyParkedEvent() {
+    OutboxEventPollJob laneJob = new OutboxEventPollJob(outboxService, outboxEventHandler, persistentLocker,
+        OutboxPollConfiguration.builder().maximumRetryAttemptsForAnEvent(2).lockId("LOCK_ID").laneCount(4).build(),
+        outboxMetricsServiceImpl, "service-id");
+    when(persistentLocker.tryToAcquireLock(any(), any())).thenReturn(mock(AcquiredLock.class));
+    OutboxEvent parked = laneEvent("1", "resource1");
+    parked.setBlocked(true);
+    parked.setNextUnblockAttemptAt(Instant.now().plusSeconds(60));
+    OutboxEvent sameResource = laneEvent("2", "resource1");
+    OutboxEvent otherResource = laneEvent("3", "resource2");
+    when(outboxService.list(any())).thenAnswer(invocation -> {
+      OutboxEventFilter filter = invocation.getArgument(0);
+      if (filter.getFromPartition() != 0) {
+        return emptyList();
+      }
+      return filter.isParked() ? singletonList(parked) : asList(sameResource, otherResource);
+    });
+    when(outboxEventHandler.handle(any())).thenReturn(true);
+
+    laneJob.run();
+    laneJob.shutdown();
+
+    verify(outboxEventHandler, times(0)).handle(sameResource);
+    verify(outboxService, times(1)).deleteAll(singletonList("3"));
+    verify(outboxService, times(1)).update(sameResource);
+    assertTrue(sameResource.getBlocked());
+    assertEquals(parked.getNextUnblockAttemptAt(), sameResource.getNextUnblockAttemptAt());
+  }
+
+  @Test
+  @Owner(developers = KARAN)
+  @Category(UnitTests.class)
+  public void testLanePartitions() {
+    assertEquals(0, OutboxLanes.fromPartition(0, 3));
+    assertEquals(OutboxLanes.toPartition(0, 3), OutboxLanes.fromPartition(1, 3));
+    assertEquals(OutboxLanes.PARTITION_COUNT, OutboxLanes.toPartition(2, 3));
+    Resource resource = Resource.builder().type("type").identifier("id").build();
+    assertEquals(OutboxLanes.partitionOf(new AccountScope("acc"), resource),
+        OutboxLanes.partitionOf(new AccountScope("acc"), Resource.builder().type("type").identifier("id").build()));
+  }
+
+  private OutboxEvent laneEvent(String id, String resourceIdentifier) {
+    return OutboxEvent.builder()
+        .eventType("emptyEvent")
+        .id(id)
+        .resourceScope(new AccountScope("accountId"))
+        .resource(Resource.builder().type("resource").identifier(resourceIdentifier).build())
+        .createdAt(123456789L)
+        .build();
+  }
 }
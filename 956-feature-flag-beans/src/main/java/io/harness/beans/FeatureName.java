@@ -937,7 +937,9 @@ public enum FeatureName {
   CDS_APPROVAL_AND_STAGE_NOTIFICATIONS_WITH_CD_METADATA(
       "Improves approval and stage notifications with cd metadata", HarnessTeam.CDC),
   GTM_DEVELOPER_LICENSING("Enable new developer licensing changes", GTM),
-  CDS_ASG_SHIFT_TRAFFIC_STEP_NG("Enable Shift Traffic step for Asg Blue-Green deployments", CDC);
+  CDS_ASG_SHIFT_TRAFFIC_STEP_NG("Enable Shift Traffic step for Asg Blue-Green deployments", CDC),
+  PIE_PLAN_CREATION_YAML_DIGEST(
+      "Send the pipeline yaml once per plan creation to each service and refer to it by digest afterwards", PIPELINE);
 
   // keep-sorted end
 
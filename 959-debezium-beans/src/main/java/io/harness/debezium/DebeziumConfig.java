@@ -60,6 +60,11 @@ public class DebeziumConfig {
    * Specifies maximum topic size for redis stream
    */
   @JsonProperty("redisStreamSize") private int redisStreamSize;
+  /**
+   * Publishes every batch of changes with one pipelined call per redis stream instead of one call per change. The
+   * offsets of a batch are committed only after redis acknowledged all of its changes.
+   */
+  @JsonProperty("batchPublishingEnabled") private boolean batchPublishingEnabled;
   /**
    * Specifies the criteria for running a snapshot upon startup of the connector. The value can be one of these: ("all"
    * - both snapshot and streaming, "initial" - only snapshot, "never" - only streaming)
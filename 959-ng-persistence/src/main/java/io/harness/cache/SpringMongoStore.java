@@ -17,6 +17,7 @@ import io.harness.annotations.dev.OwnedBy;
 import io.harness.annotations.dev.ProductModule;
 import io.harness.cache.SpringCacheEntity.SpringCacheEntityKeys;
 import io.harness.data.structure.EmptyPredicate;
+import io.harness.metrics.impl.PersistenceMetricsServiceImpl;
 import io.harness.mongo.helper.SecondaryMongoTemplateHolder;
 import io.harness.serializer.KryoSerializer;
 import io.harness.springdata.HMongoTemplate;
@@ -37,6 +38,7 @@ import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
 import net.jodah.failsafe.Failsafe;
 import net.jodah.failsafe.RetryPolicy;
+import org.redisson.api.RedissonClient;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Query;
@@ -53,6 +55,17 @@ public class SpringMongoStore implements DistributedStore {
   @Inject private SecondaryMongoTemplateHolder secondaryMongoTemplateHolder;
   @Inject private KryoSerializer kryoSerializer;
   @Inject @Named("referenceFalseKryoSerializer") private KryoSerializer referenceFalseKryoSerializer;
+  private DistributedStoreNearCache nearCache;
+
+  @Inject(optional = true)
+  void initNearCache(NearCacheConfig nearCacheConfig,
+      @Named(DistributedStoreNearCache.REDISSON_CLIENT) RedissonClient redissonClient,
+      PersistenceMetricsServiceImpl persistenceMetricsService) {
+    if (nearCacheConfig.isEnabled()) {
+      nearCache =
+          new DistributedStoreNearCache("SpringMongoStore", nearCacheConfig, redissonClient, persistenceMetricsService);
+    }
+  }
 
   @Override
   public <T extends Distributable> T get(long algorithmId, long structureHash, String key, List<String> params) {
@@ -126,15 +139,29 @@ public class SpringMongoStore implements DistributedStore {
   private <T extends Distributable> T get(
       Long contextValue, long algorithmId, long structureHash, String key, List<String> params) {
     try {
-      Query query = new Query(
-          where(SpringCacheEntityKeys.canonicalKey).is(canonicalKey(algorithmId, structureHash, key, params)));
+      final String canonicalKey = canonicalKey(algorithmId, structureHash, key, params);
+      long nearCacheGeneration = 0;
+      if (nearCache != null) {
+        Distributable cached = nearCache.get(canonicalKey, algorithmId, structureHash, contextValue);
+        if (cached != null) {
+          return (T) kryoSerializer.clone(cached);
+        }
+        nearCacheGeneration = nearCache.generation(canonicalKey);
+      }
+
+      Query query = new Query(where(SpringCacheEntityKeys.canonicalKey).is(canonicalKey));
 
       if (contextValue != null) {
         query.addCriteria(where(SpringCacheEntityKeys.contextValue).is(contextValue));
       }
 
       final io.harness.cache.SpringCacheEntity cacheEntity = mongoTemplate.findOne(query, SpringCacheEntity.class);
-      return inflateObject(cacheEntity);
+      T value = inflateObject(cacheEntity);
+      if (nearCache != null && value != null) {
+        nearCache.put(canonicalKey, cacheEntity.getContextValue(), kryoSerializer.clone(value),
+            cacheEntity.getEntity().length, nearCacheGeneration);
+      }
+      return value;
     } catch (RuntimeException ex) {
       log.error("Failed to obtain from cache", ex);
     }
@@ -184,6 +211,9 @@ public class SpringMongoStore implements DistributedStore {
         PersistenceUtils.getRetryPolicy("[Retrying]: Failed deleting SpringCacheEntity; attempt: {}",
             "[Failed]: Failed deleting SpringCacheEntity; attempt: {}");
     Failsafe.with(retryPolicy).get(() -> mongoTemplate.remove(query, SpringCacheEntity.class));
+    if (nearCache != null) {
+      finalEntityKeys.forEach(nearCache::invalidate);
+    }
   }
 
   private <T extends Distributable> void upsertInternal(
@@ -218,6 +248,10 @@ public class SpringMongoStore implements DistributedStore {
       log.error("Failed to update cache for key {}, hash {} ", canonicalKey, contextValue, e);
     } catch (RuntimeException e) {
       log.error("Failed to update cache for key {}, hash {}", canonicalKey, contextValue, e);
+    } finally {
+      if (nearCache != null) {
+        nearCache.invalidate(canonicalKey);
+      }
     }
   }
 }
@@ -11,6 +11,9 @@ import static io.harness.annotations.dev.HarnessTeam.CDC;
 import static io.harness.govern.Switch.unhandled;
 
 import static java.lang.System.currentTimeMillis;
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 
 import io.harness.annotations.dev.OwnedBy;
 import io.harness.iterator.PersistentIterable;
@@ -25,6 +28,7 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import org.bson.types.ObjectId;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Order;
@@ -125,6 +129,87 @@ public class SpringPersistenceRequiredProvider<T extends PersistentIterable>
     return docs.iterator();
   }
 
+  @Override
+  public Iterator<T> obtainNextInstancesInRange(Class<T> clazz, String fieldName, SpringFilterExpander filterExpander,
+      boolean unsorted, int limit, boolean isDelegateTaskMigrationEnabled, String fromId, String toId) {
+    long now = currentTimeMillis();
+    Query query = createQuery(now, fieldName, filterExpander, unsorted);
+    if (fromId != null || toId != null) {
+      Criteria idCriteria = Criteria.where("_id");
+      if (fromId != null) {
+        idCriteria.gte(fromId);
+      }
+      if (toId != null) {
+        if (fromId == null) {
+          // Keeps the documents with non string ids in the first range
+          idCriteria.not().gte(toId);
+        } else {
+          idCriteria.lt(toId);
+        }
+      }
+      query.addCriteria(idCriteria);
+    }
+    query.limit(limit);
+
+    return persistence.find(query, clazz).iterator();
+  }
+
+  @Override
+  public List<T> claimNextInstances(Class<T> clazz, String fieldName, SpringFilterExpander filterExpander,
+      boolean unsorted, int limit, boolean isDelegateTaskMigrationEnabled, long claimedUntil, String claimToken) {
+    long now = currentTimeMillis();
+    Query query = createQuery(now, fieldName, filterExpander, unsorted);
+    query.limit(limit);
+    List<T> candidates = persistence.find(query, clazz);
+    if (candidates.isEmpty()) {
+      return candidates;
+    }
+    // Documents inserted by mongo have ObjectId ids, match either representation like bulkWriteDocumentsMatchingIds
+    List<Object> ids = idValues(candidates);
+
+    // Only the documents still due are claimed, the ones taken by a concurrent fetch meanwhile are left alone
+    Query claimQuery = createQuery(now, fieldName, null, true);
+    claimQuery.addCriteria(Criteria.where("_id").in(ids));
+    String claimTokenFieldName = PersistenceProvider.claimTokenFieldName(fieldName);
+    persistence.updateMulti(
+        claimQuery, new Update().set(fieldName, claimedUntil).set(claimTokenFieldName, claimToken), clazz);
+
+    Query claimedQuery = new Query(Criteria.where("_id").in(ids).and(claimTokenFieldName).is(claimToken));
+    Set<String> claimed = persistence.findDistinct(claimedQuery, "_id", clazz, Object.class)
+                              .stream()
+                              .map(String::valueOf)
+                              .collect(toSet());
+    if (claimed.isEmpty()) {
+      return emptyList();
+    }
+
+    // The token is only needed to read the claim back, it is not left behind in the documents
+    persistence.updateMulti(claimedQuery, new Update().unset(claimTokenFieldName), clazz);
+    return candidates.stream().filter(entity -> claimed.contains(entity.getUuid())).collect(toList());
+  }
+
+  @Override
+  public void releaseInstances(
+      Class<T> clazz, String fieldName, List<T> entities, boolean isDelegateTaskMigrationEnabled) {
+    if (entities.isEmpty()) {
+      return;
+    }
+    Query query = new Query(Criteria.where("_id").in(idValues(entities)));
+    persistence.updateMulti(query, new Update().set(fieldName, currentTimeMillis()), clazz);
+  }
+
+  private List<Object> idValues(List<T> entities) {
+    // Documents inserted by mongo have ObjectId ids, match either representation like bulkWriteDocumentsMatchingIds
+    List<Object> ids = new ArrayList<>();
+    for (T entity : entities) {
+      ids.add(entity.getUuid());
+      if (ObjectId.isValid(entity.getUuid())) {
+        ids.add(new ObjectId(entity.getUuid()));
+      }
+    }
+    return ids;
+  }
+
   @Override
   public BulkWriteOpsResults bulkWriteDocumentsMatchingIds(
       Class<T> clazz, List<String> ids, String fieldName, long base, Duration targetInterval) {
@@ -171,4 +256,9 @@ public class SpringPersistenceRequiredProvider<T extends PersistentIterable>
         .modifiedCount(bulkWriteResult.getModifiedCount())
         .build();
   }
+
+  @Override
+  public ShardLeaseStore getShardLeaseStore(Class<T> clazz) {
+    return new SpringShardLeaseStore(persistence);
+  }
 }
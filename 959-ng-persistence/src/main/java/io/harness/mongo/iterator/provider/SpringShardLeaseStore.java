@@ -0,0 +1,84 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.mongo.iterator.provider;
+
+import static io.harness.annotations.dev.HarnessTeam.PL;
+
+import static com.mongodb.ErrorCategory.DUPLICATE_KEY;
+
+import io.harness.annotations.dev.OwnedBy;
+
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoWriteException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.result.UpdateResult;
+import java.util.Date;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+@OwnedBy(PL)
+public class SpringShardLeaseStore implements ShardLeaseStore {
+  private static final String ID_KEY = "_id";
+
+  private final MongoCollection<Document> collection;
+
+  public SpringShardLeaseStore(MongoTemplate mongoTemplate) {
+    this.collection = mongoTemplate.getCollection(COLLECTION_NAME);
+  }
+
+  @Override
+  public void heartbeat(String iteratorName, String owner, long leaseUntil) {
+    collection.updateOne(Filters.eq(ID_KEY, ShardLeaseStore.memberId(iteratorName, owner)),
+        leaseFields(iteratorName, MEMBER_SHARD, owner, leaseUntil), new UpdateOptions().upsert(true));
+  }
+
+  @Override
+  public long countLiveMembers(String iteratorName, long now) {
+    return collection.countDocuments(Filters.and(Filters.eq(ITERATOR_NAME_KEY, iteratorName),
+        Filters.eq(SHARD_KEY, MEMBER_SHARD), Filters.gt(LEASE_UNTIL_KEY, now)));
+  }
+
+  @Override
+  public void leave(String iteratorName, String owner) {
+    collection.deleteOne(Filters.eq(ID_KEY, ShardLeaseStore.memberId(iteratorName, owner)));
+  }
+
+  @Override
+  public boolean tryAcquire(String iteratorName, int shard, String owner, long now, long leaseUntil) {
+    Bson filter = Filters.and(Filters.eq(ID_KEY, ShardLeaseStore.leaseId(iteratorName, shard)),
+        Filters.or(Filters.lt(LEASE_UNTIL_KEY, now), Filters.eq(OWNER_KEY, owner)));
+    try {
+      UpdateResult result = collection.updateOne(
+          filter, leaseFields(iteratorName, shard, owner, leaseUntil), new UpdateOptions().upsert(true));
+      return result.getMatchedCount() > 0 || result.getUpsertedId() != null;
+    } catch (MongoWriteException ex) {
+      // The lease document exists and is held by another owner, so the upsert collided with it
+      if (ErrorCategory.fromErrorCode(ex.getCode()) == DUPLICATE_KEY) {
+        return false;
+      }
+      throw ex;
+    }
+  }
+
+  @Override
+  public void release(String iteratorName, int shard, String owner) {
+    collection.updateOne(Filters.and(Filters.eq(ID_KEY, ShardLeaseStore.leaseId(iteratorName, shard)),
+                             Filters.eq(OWNER_KEY, owner)),
+        Updates.set(LEASE_UNTIL_KEY, 0L));
+  }
+
+  private static Bson leaseFields(String iteratorName, int shard, String owner, long leaseUntil) {
+    return Updates.combine(Updates.set(ITERATOR_NAME_KEY, iteratorName), Updates.set(SHARD_KEY, shard),
+        Updates.set(OWNER_KEY, owner), Updates.set(LEASE_UNTIL_KEY, leaseUntil),
+        Updates.set(VALID_UNTIL_KEY, new Date(leaseUntil)));
+  }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.timeout;
+
+import static io.harness.annotations.dev.HarnessTeam.CDC;
+
+import io.harness.annotations.dev.OwnedBy;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory hashed timing wheel. Entries are hashed into wheelSize buckets by their deadline tick. Every tick the
+ * bucket of the current tick is swept and entries whose deadline has passed are handed to the expiry handler on the
+ * dispatch executor. Entries with a deadline more than one rotation away simply stay in their bucket until the rotation
+ * in which they are due.
+ *
+ * New entries are handed to the ticker through a pending queue and only placed into their bucket by the ticker, so an
+ * entry is never added to a bucket that was just swept. Scheduling an id which is already scheduled replaces the
+ * previous entry. The wheel is not durable, callers are expected to keep the durable record elsewhere.
+ */
+@OwnedBy(CDC)
+@Slf4j
+public class HashedTimeoutWheel {
+  private final long tickMillis;
+  private final Queue<Entry>[] buckets;
+  private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+  private final Queue<Entry> pending = new ConcurrentLinkedQueue<>();
+  private final BiConsumer<String, Long> expiryHandler;
+  private final ExecutorService dispatchExecutor;
+  private final ScheduledExecutorService tickExecutor;
+  private final long startTime;
+  // Next tick to be swept, only read and advanced by the ticker thread
+  private long processedTicks;
+
+  @SuppressWarnings("unchecked")
+  public HashedTimeoutWheel(
+      long tickMillis, int wheelSize, BiConsumer<String, Long> expiryHandler, ExecutorService dispatchExecutor) {
+    this.tickMillis = tickMillis;
+    this.buckets = new Queue[wheelSize];
+    for (int i = 0; i < wheelSize; i++) {
+      buckets[i] = new ConcurrentLinkedQueue<>();
+    }
+    this.expiryHandler = expiryHandler;
+    this.dispatchExecutor = dispatchExecutor;
+    this.tickExecutor = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder().setNameFormat("timeout-wheel-ticker").setDaemon(true).build());
+    this.startTime = System.currentTimeMillis();
+  }
+
+  public void start() {
+    tickExecutor.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Schedule the id to expire at the given time. The token is passed back to the expiry handler as is.
+   */
+  public void schedule(String id, long deadline, long token) {
+    Entry entry = new Entry(id, deadline, token, false);
+    Entry previous = entries.put(id, entry);
+    if (previous != null) {
+      previous.cancelled = true;
+    }
+    pending.add(entry);
+  }
+
+  public void cancel(String id) {
+    Entry entry = entries.remove(id);
+    if (entry != null) {
+      entry.cancelled = true;
+    }
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  public void stop() {
+    tickExecutor.shutdownNow();
+  }
+
+  private void tick() {
+    try {
+      long now = System.currentTimeMillis();
+      long currentTick = (now - startTime) / tickMillis;
+      transferPending();
+      // Catch up on the ticks missed because of GC pauses or a slow dispatch, sweeping each bucket at most once
+      long fromTick = Math.max(processedTicks, currentTick - buckets.length + 1);
+      for (long t = fromTick; t <= currentTick; t++) {
+        sweep(buckets[(int) (t % buckets.length)], now);
+      }
+      processedTicks = currentTick + 1;
+    } catch (Exception ex) {
+      log.error("Timeout wheel tick failed", ex);
+    }
+  }
+
+  private void transferPending() {
+    for (Entry entry = pending.poll(); entry != null; entry = pending.poll()) {
+      if (entry.cancelled) {
+        continue;
+      }
+      // Round the deadline up to the tick at which it has certainly passed. Overdue entries go to the next bucket to be
+      // swept instead of waiting for a full rotation
+      long deadlineTick = Math.max(processedTicks, (entry.deadline - startTime + tickMillis - 1) / tickMillis);
+      buckets[(int) (deadlineTick % buckets.length)].add(entry);
+    }
+  }
+
+  private void sweep(Queue<Entry> bucket, long now) {
+    for (Iterator<Entry> iterator = bucket.iterator(); iterator.hasNext();) {
+      Entry entry = iterator.next();
+      if (entry.cancelled) {
+        iterator.remove();
+        continue;
+      }
+      if (entry.deadline > now) {
+        continue;
+      }
+      iterator.remove();
+      if (!entries.remove(entry.id, entry)) {
+        continue;
+      }
+      dispatchExecutor.submit(() -> {
+        try {
+          expiryHandler.accept(entry.id, entry.token);
+        } catch (Exception ex) {
+          log.error("Timeout wheel expiry handler failed for {}", entry.id, ex);
+        }
+      });
+    }
+  }
+
+  @AllArgsConstructor
+  private static class Entry {
+    private final String id;
+    private final long deadline;
+    private final long token;
+    private volatile boolean cancelled;
+  }
+}
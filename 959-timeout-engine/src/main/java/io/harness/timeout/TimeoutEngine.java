@@ -50,7 +50,11 @@ import java.util.concurrent.TimeUnit;
 import javax.validation.constraints.NotNull;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 
 @CodePulse(module = ProductModule.CDS, unitCoverageRequired = true, components = {HarnessModuleComponent.CDS_FIRST_GEN})
 @OwnedBy(CDC)
@@ -66,6 +70,10 @@ public class TimeoutEngine extends IteratorLoopModeHandler implements Handler<Ti
   @Inject private Injector injector;
   @Inject private TimeoutRegistry timeoutRegistry;
 
+  private volatile HashedTimeoutWheel timeoutWheel;
+  private long wheelHorizonMillis;
+  private long wheelRecoveryDelayMillis;
+
   public TimeoutInstance registerTimeout(@NotNull Dimension dimension, @NotNull TimeoutParameters timeoutParameters,
       @NotNull TimeoutCallback timeoutCallback) {
     TimeoutTrackerFactory timeoutTrackerFactory = timeoutRegistry.obtain(dimension);
@@ -83,20 +91,95 @@ public class TimeoutEngine extends IteratorLoopModeHandler implements Handler<Ti
     TimeoutInstance timeoutInstance =
         TimeoutInstance.builder().uuid(generateUuid()).tracker(timeoutTracker).callback(timeoutCallback).build();
     timeoutInstance.resetNextIteration();
+    boolean inWheel = deferToWheel(timeoutInstance);
     TimeoutInstance savedTimeoutInstance = timeoutInstanceRepository.save(timeoutInstance);
-    log.info(format("Registered timeout with uuid: %s, currentTime: %d, expiryTime: %d, diff: %d",
+    log.info(format("Registered timeout with uuid: %s, currentTime: %d, expiryTime: %d, diff: %d, inMemory: %s",
         timeoutInstance.getUuid(), System.currentTimeMillis(), timeoutInstance.getNextIteration(),
-        timeoutInstance.getNextIteration() - System.currentTimeMillis()));
-    if (iterator != null) {
+        timeoutInstance.getNextIteration() - System.currentTimeMillis(), inWheel));
+    if (inWheel) {
+      scheduleInWheel(timeoutInstance);
+    } else if (iterator != null) {
       iterator.wakeup();
     }
     return savedTimeoutInstance;
   }
 
+  /**
+   * Hold timeouts expiring within the horizon in an in-memory timing wheel on this node. The Mongo record stays the
+   * durable copy, its nextIteration is pushed back by the recovery delay so that the iterator only picks it up if this
+   * node went down before firing it.
+   */
+  public void startTimeoutWheel(TimeoutWheelConfig config) {
+    if (config == null || !config.isEnabled() || timeoutWheel != null) {
+      return;
+    }
+    ExecutorService dispatchExecutor = ThreadPool.create(config.getThreadPoolCount(), config.getThreadPoolCount(), 30,
+        TimeUnit.SECONDS, new ThreadFactoryBuilder().setNameFormat("TimeoutEngineWheelHandler-%d").build());
+    wheelHorizonMillis = TimeUnit.SECONDS.toMillis(config.getHorizonInSeconds());
+    wheelRecoveryDelayMillis = TimeUnit.SECONDS.toMillis(config.getRecoveryDelayInSeconds());
+    HashedTimeoutWheel wheel =
+        new HashedTimeoutWheel(config.getTickMillis(), config.getWheelSize(), this::onWheelExpiry, dispatchExecutor);
+    wheel.start();
+    timeoutWheel = wheel;
+  }
+
+  public int getInMemoryTimeoutCount() {
+    return timeoutWheel == null ? 0 : timeoutWheel.size();
+  }
+
+  private boolean deferToWheel(TimeoutInstance timeoutInstance) {
+    Long expiryTime = timeoutInstance.getTracker().getExpiryTime();
+    if (timeoutWheel == null || expiryTime == null || expiryTime - System.currentTimeMillis() > wheelHorizonMillis) {
+      return false;
+    }
+    timeoutInstance.setNextIteration(expiryTime + wheelRecoveryDelayMillis);
+    return true;
+  }
+
+  private void scheduleInWheel(TimeoutInstance timeoutInstance) {
+    timeoutWheel.schedule(timeoutInstance.getUuid(), timeoutInstance.getNextIteration() - wheelRecoveryDelayMillis,
+        timeoutInstance.getNextIteration());
+  }
+
+  private void cancelInWheel(String timeoutInstanceId) {
+    if (timeoutWheel != null) {
+      timeoutWheel.cancel(timeoutInstanceId);
+    }
+  }
+
+  @VisibleForTesting
+  void onWheelExpiry(String timeoutInstanceId, long expectedNextIteration) {
+    // Claim the instance, only if nobody changed it since it was scheduled. If the tracker was updated, whoever updated
+    // it scheduled it again. If the iterator already picked it up, it changed nextIteration. The claim pushes
+    // nextIteration back by the recovery delay, so that the iterator fires the timeout only if this node goes down
+    // before the instance is deleted.
+    long claimedNextIteration = System.currentTimeMillis() + wheelRecoveryDelayMillis;
+    Query query = new Query(Criteria.where(TimeoutInstanceKeys.uuid)
+                                .is(timeoutInstanceId)
+                                .and(TimeoutInstanceKeys.nextIteration)
+                                .is(expectedNextIteration));
+    TimeoutInstance timeoutInstance = mongoTemplate.findAndModify(query,
+        new Update().set(TimeoutInstanceKeys.nextIteration, claimedNextIteration),
+        new FindAndModifyOptions().returnNew(true), TimeoutInstance.class);
+    if (timeoutInstance == null) {
+      log.info("TimeoutInstance {} was updated or already handled, skipping in-memory expiry", timeoutInstanceId);
+      return;
+    }
+    invokeCallback(timeoutInstance, expectedNextIteration);
+    // Deleted even if the callback failed, like the iterator does, so that the timeout fires only once. Unless the
+    // tracker was updated in the meantime
+    mongoTemplate.remove(new Query(Criteria.where(TimeoutInstanceKeys.uuid)
+                                       .is(timeoutInstanceId)
+                                       .and(TimeoutInstanceKeys.nextIteration)
+                                       .is(claimedNextIteration)),
+        TimeoutInstance.class);
+  }
+
   public void deleteTimeouts(List<String> timeoutInstanceIds) {
     if (EmptyPredicate.isEmpty(timeoutInstanceIds)) {
       return;
     }
+    timeoutInstanceIds.forEach(this::cancelInWheel);
     List<List<String>> partition = Lists.partition(timeoutInstanceIds, MAX_BATCH_SIZE);
     for (List<String> batchTimeInstanceIds : partition) {
       timeoutInstanceRepository.deleteByUuidIn(batchTimeInstanceIds);
@@ -105,6 +188,7 @@ public class TimeoutEngine extends IteratorLoopModeHandler implements Handler<Ti
 
   public void deleteTimeout(@NonNull String timeoutInstanceId) {
     // equal operator is better than in operator
+    cancelInWheel(timeoutInstanceId);
     timeoutInstanceRepository.deleteById(timeoutInstanceId);
   }
 
@@ -116,9 +200,15 @@ public class TimeoutEngine extends IteratorLoopModeHandler implements Handler<Ti
     for (TimeoutInstance timeoutInstance : timeoutInstanceRepository.findAllById(timeoutInstanceIds)) {
       if (timeoutInstance.tracker.onEvent(event)) {
         timeoutInstance.resetNextIteration();
+        boolean inWheel = deferToWheel(timeoutInstance);
         timeoutInstanceRepository.save(timeoutInstance);
-        if (iterator != null) {
-          iterator.wakeup();
+        if (inWheel) {
+          scheduleInWheel(timeoutInstance);
+        } else {
+          cancelInWheel(timeoutInstance.getUuid());
+          if (iterator != null) {
+            iterator.wakeup();
+          }
         }
       }
     }
@@ -160,6 +250,7 @@ public class TimeoutEngine extends IteratorLoopModeHandler implements Handler<Ti
                 .acceptableExecutionTime(ofSeconds(10))
                 .executorService(executorService)
                 .semaphore(new Semaphore(executorOptions.getPoolSize()))
+                .prefetchSize(executorOptions.getPrefetchSize())
                 .handler(this)
                 .persistenceProvider(new SpringPersistenceRequiredProvider<>(mongoTemplate))
                 .schedulingType(REGULAR));
@@ -179,16 +270,8 @@ public class TimeoutEngine extends IteratorLoopModeHandler implements Handler<Ti
     try (TimeoutInstanceLogContext ignore0 = new TimeoutInstanceLogContext(timeoutInstance.getUuid(), OVERRIDE_ERROR)) {
       final long now = System.currentTimeMillis();
       log.info("TimeoutInstance handle started");
-
-      TimeoutCallback callback = timeoutInstance.getCallback();
-      injector.injectMembers(callback);
-      try {
-        callback.onTimeout(timeoutInstance);
-        log.info("TimeoutInstance callback finished");
-      } catch (Exception ex) {
-        // TODO(gpahal): What to do in case callback throws an exception. Should we retry?
-        log.error("TimeoutInstance callback failed", ex);
-      }
+      cancelInWheel(timeoutInstance.getUuid());
+      runCallback(timeoutInstance);
 
       try {
         timeoutInstanceRepository.deleteById(timeoutInstance.getUuid());
@@ -204,4 +287,24 @@ public class TimeoutEngine extends IteratorLoopModeHandler implements Handler<Ti
       }
     }
   }
+
+  private void invokeCallback(TimeoutInstance timeoutInstance, long scheduledNextIteration) {
+    try (TimeoutInstanceLogContext ignore0 = new TimeoutInstanceLogContext(timeoutInstance.getUuid(), OVERRIDE_ERROR)) {
+      log.info("TimeoutInstance in-memory expiry, delay: {}",
+          System.currentTimeMillis() - (scheduledNextIteration - wheelRecoveryDelayMillis));
+      runCallback(timeoutInstance);
+    }
+  }
+
+  private void runCallback(TimeoutInstance timeoutInstance) {
+    TimeoutCallback callback = timeoutInstance.getCallback();
+    injector.injectMembers(callback);
+    try {
+      callback.onTimeout(timeoutInstance);
+      log.info("TimeoutInstance callback finished");
+    } catch (Exception ex) {
+      // TODO(gpahal): What to do in case callback throws an exception. Should we retry?
+      log.error("TimeoutInstance callback failed", ex);
+    }
+  }
 }
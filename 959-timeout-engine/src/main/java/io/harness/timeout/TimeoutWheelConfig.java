@@ -0,0 +1,34 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.timeout;
+
+import static io.harness.annotations.dev.HarnessTeam.CDC;
+
+import io.harness.annotations.dev.OwnedBy;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Configuration of the in-memory timing wheel of the {@link TimeoutEngine}.
+ *
+ * - horizonInSeconds: timeouts expiring within this window are held in memory, later ones are left to the iterator
+ * - recoveryDelayInSeconds: how long after the expiry the iterator picks up a timeout held in memory, in case the node
+ *   holding it went down
+ */
+@OwnedBy(CDC)
+@Value
+@Builder
+public class TimeoutWheelConfig {
+  boolean enabled;
+  long tickMillis;
+  int wheelSize;
+  long horizonInSeconds;
+  long recoveryDelayInSeconds;
+  int threadPoolCount;
+}
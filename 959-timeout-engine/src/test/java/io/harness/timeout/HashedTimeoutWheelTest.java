@@ -0,0 +1,73 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.timeout;
+
+import static io.harness.rule.OwnerRule.GARVIT;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.harness.CategoryTest;
+import io.harness.category.element.UnitTests;
+import io.harness.rule.Owner;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+public class HashedTimeoutWheelTest extends CategoryTest {
+  private final Map<String, Long> expired = new ConcurrentHashMap<>();
+  private HashedTimeoutWheel wheel;
+
+  @Before
+  public void setUp() {
+    wheel = new HashedTimeoutWheel(10, 8, expired::put, MoreExecutors.newDirectExecutorService());
+    wheel.start();
+  }
+
+  @After
+  public void tearDown() {
+    wheel.stop();
+  }
+
+  @Test
+  @Owner(developers = GARVIT)
+  @Category(UnitTests.class)
+  public void testExpiryAcrossRotations() throws InterruptedException {
+    long now = System.currentTimeMillis();
+    wheel.schedule("near", now + 20, 1L);
+    // 8 buckets of 10ms, this one needs more than one rotation
+    wheel.schedule("far", now + 150, 2L);
+    wheel.schedule("overdue", now - 1000, 3L);
+
+    Thread.sleep(60);
+    assertThat(expired).containsEntry("near", 1L).containsEntry("overdue", 3L).doesNotContainKey("far");
+    assertThat(wheel.size()).isEqualTo(1);
+
+    Thread.sleep(150);
+    assertThat(expired).containsEntry("far", 2L);
+    assertThat(wheel.size()).isEqualTo(0);
+  }
+
+  @Test
+  @Owner(developers = GARVIT)
+  @Category(UnitTests.class)
+  public void testCancelAndReschedule() throws InterruptedException {
+    long now = System.currentTimeMillis();
+    wheel.schedule("cancelled", now + 20, 1L);
+    wheel.cancel("cancelled");
+    wheel.schedule("rescheduled", now + 20, 1L);
+    wheel.schedule("rescheduled", now + 40, 2L);
+
+    Thread.sleep(100);
+    assertThat(expired).doesNotContainKey("cancelled").containsEntry("rescheduled", 2L).hasSize(1);
+  }
+}
@@ -31,6 +31,7 @@ import com.google.inject.Inject;
 import java.time.Duration;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.mockito.Mock;
@@ -86,6 +87,48 @@ public class TimeoutEngineUnitTest extends TimeoutEngineTestBase {
     verify(timeoutInstanceRepository, times(2)).deleteByUuidIn(any());
   }
 
+  @Test
+  @Owner(developers = GARVIT)
+  @Category(UnitTests.class)
+  public void testWheelExpiryDeletesAfterCallback() {
+    on(timeoutEngine).set("wheelRecoveryDelayMillis", 60000L);
+    TimeoutInstance instance =
+        timeoutEngine.registerTimeout(new AbsoluteTimeoutTracker(1000), new TestTimeoutCallback());
+
+    timeoutEngine.onWheelExpiry(instance.getUuid(), instance.getNextIteration());
+    assertThat(hPersistence.get(TimeoutInstance.class, instance.getUuid())).isNull();
+  }
+
+  @Test
+  @Owner(developers = GARVIT)
+  @Category(UnitTests.class)
+  public void testWheelExpiryDeletesWhenCallbackFails() {
+    on(timeoutEngine).set("wheelRecoveryDelayMillis", 60000L);
+    FailingTimeoutCallback.invocations.set(0);
+    TimeoutInstance instance =
+        timeoutEngine.registerTimeout(new AbsoluteTimeoutTracker(1000), new FailingTimeoutCallback());
+
+    timeoutEngine.onWheelExpiry(instance.getUuid(), instance.getNextIteration());
+
+    // Not left for the iterator to fire again
+    assertThat(hPersistence.get(TimeoutInstance.class, instance.getUuid())).isNull();
+
+    // A second expiry of the same schedule is skipped
+    timeoutEngine.onWheelExpiry(instance.getUuid(), instance.getNextIteration());
+    assertThat(FailingTimeoutCallback.invocations.get()).isEqualTo(1);
+  }
+
+  public static class FailingTimeoutCallback implements TimeoutCallback {
+    // Static, the callback fired is the copy read back from Mongo
+    private static final AtomicInteger invocations = new AtomicInteger();
+
+    @Override
+    public void onTimeout(TimeoutInstance timeoutInstance) {
+      invocations.incrementAndGet();
+      throw new IllegalStateException("Callback failed");
+    }
+  }
+
   public static class TestTimeoutCallback implements TimeoutCallback {
     private TimeoutInstance timeoutInstance;
     public TimeoutInstance getTimeoutInstance() {
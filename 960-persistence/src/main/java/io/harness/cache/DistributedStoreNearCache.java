@@ -0,0 +1,144 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Shield 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/06/PolyForm-Shield-1.0.0.txt.
+ */
+
+package io.harness.cache;
+
+import static io.harness.annotations.dev.HarnessTeam.PL;
+import static io.harness.data.structure.EmptyPredicate.isEmpty;
+
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.metrics.impl.PersistenceMetricsServiceImpl;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+
+/**
+ * In-process tier in front of a {@link DistributedStore}, keeping the inflated entities by canonical key so that hot
+ * entries are neither read from mongo nor deserialized again. The entities are shared, the stores hand out copies.
+ *
+ * Every write to the distributed store publishes the canonical key on a redis topic and all the replicas drop their
+ * copy. A read started before an invalidation of its key does not populate the cache, so a replica never keeps a value
+ * older than the last invalidation it has received. The invalidations are tracked per bucket of keys, so that writes to
+ * unrelated keys rarely keep a read from populating the cache. Entries also expire after a while in case an
+ * invalidation is lost.
+ *
+ * A read for an exact context value only hits an entry with that context value, a read for any context value hits any
+ * entry.
+ */
+@OwnedBy(PL)
+@Slf4j
+public class DistributedStoreNearCache {
+  public static final String REDISSON_CLIENT = "nearCacheRedissonClient";
+  public static final String NEAR_CACHE_HIT = "near_cache_hit";
+  public static final String NEAR_CACHE_MISS = "near_cache_miss";
+  private static final String TOPIC_PREFIX = "near_cache_invalidation:";
+  private static final int GENERATION_BUCKETS = 1024;
+
+  private final NearCacheConfig config;
+  private final Cache<String, Entry> entries;
+  private final RTopic invalidationTopic;
+  private final PersistenceMetricsServiceImpl metricsService;
+  // Incremented on every invalidation of a key of the bucket, a read only populates the cache if no key of its bucket
+  // was invalidated since it started
+  private final AtomicLongArray generations = new AtomicLongArray(GENERATION_BUCKETS);
+  // algorithmId/structureHash -> simple class name of the entity, used as namespace of the metrics
+  private final Map<String, String> namespaces = new ConcurrentHashMap<>();
+
+  public DistributedStoreNearCache(String storeName, NearCacheConfig config, RedissonClient redissonClient,
+      PersistenceMetricsServiceImpl metricsService) {
+    this.config = config;
+    this.metricsService = metricsService;
+    this.entries = CacheBuilder.newBuilder()
+                       .maximumWeight(config.getMaximumWeight())
+                       .weigher((String key, Entry entry) -> entry.weight)
+                       .expireAfterWrite(config.getExpireAfterWriteSeconds(), TimeUnit.SECONDS)
+                       .build();
+    this.invalidationTopic = redissonClient.getTopic(TOPIC_PREFIX + storeName, StringCodec.INSTANCE);
+    this.invalidationTopic.addListener(String.class, (channel, canonicalKey) -> invalidateLocally(canonicalKey));
+  }
+
+  /**
+   * Returns the shared entity for the key or null, the caller has to copy it before handing it out.
+   */
+  public Distributable get(String canonicalKey, long algorithmId, long structureHash, Long contextValue) {
+    Entry entry = entries.getIfPresent(canonicalKey);
+    boolean hit = entry != null && (contextValue == null || contextValue == entry.contextValue);
+    recordMetric(namespaces.getOrDefault(typeKey(algorithmId, structureHash), "unknown"), hit);
+    return hit ? entry.value : null;
+  }
+
+  /**
+   * Has to be read before the distributed store is queried, and passed to {@link #put} with the loaded entity.
+   */
+  public long generation(String canonicalKey) {
+    return generations.get(bucket(canonicalKey));
+  }
+
+  /**
+   * Keeps the entity unless an invalidation was received after the read started. The entity must not be handed out.
+   */
+  public void put(String canonicalKey, long contextValue, Distributable value, int weight, long readGeneration) {
+    String namespace = value.getClass().getSimpleName();
+    namespaces.putIfAbsent(typeKey(value.algorithmId(), value.structureHash()), namespace);
+    if (isEmpty(config.getNamespaces()) || config.getNamespaces().contains(namespace)) {
+      synchronized (this) {
+        if (generations.get(bucket(canonicalKey)) == readGeneration) {
+          entries.put(canonicalKey, new Entry(contextValue, value, weight));
+        }
+      }
+    }
+  }
+
+  /**
+   * Drops the entry on every replica, to be called after the entity has been written to the distributed store.
+   */
+  public void invalidate(String canonicalKey) {
+    invalidateLocally(canonicalKey);
+    try {
+      invalidationTopic.publish(canonicalKey);
+    } catch (RuntimeException ex) {
+      log.error("Failed to publish the near cache invalidation of {}", canonicalKey, ex);
+    }
+  }
+
+  @VisibleForTesting
+  synchronized void invalidateLocally(String canonicalKey) {
+    generations.incrementAndGet(bucket(canonicalKey));
+    entries.invalidate(canonicalKey);
+  }
+
+  private void recordMetric(String namespace, boolean hit) {
+    if (metricsService != null) {
+      metricsService.recordNearCacheMetric(namespace, hit ? NEAR_CACHE_HIT : NEAR_CACHE_MISS);
+    }
+  }
+
+  private static int bucket(String canonicalKey) {
+    return Math.floorMod(canonicalKey.hashCode(), GENERATION_BUCKETS);
+  }
+
+  private static String typeKey(long algorithmId, long structureHash) {
+    return algorithmId + "/" + structureHash;
+  }
+
+  @AllArgsConstructor
+  private static class Entry {
+    private final long contextValue;
+    private final Distributable value;
+    private final int weight;
+  }
+}
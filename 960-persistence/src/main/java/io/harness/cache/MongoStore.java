@@ -17,11 +17,13 @@ import static java.lang.String.format;
 import io.harness.annotations.dev.OwnedBy;
 import io.harness.cache.CacheEntity.CacheEntityKeys;
 import io.harness.govern.IgnoreThrowable;
+import io.harness.metrics.impl.PersistenceMetricsServiceImpl;
 import io.harness.persistence.HPersistence;
 import io.harness.serializer.KryoSerializer;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.google.inject.name.Named;
 import com.mongodb.DuplicateKeyException;
 import com.mongodb.ErrorCategory;
 import com.mongodb.MongoCommandException;
@@ -33,6 +35,7 @@ import java.util.Date;
 import java.util.List;
 import java.util.Objects;
 import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RedissonClient;
 
 @OwnedBy(PL)
 @Singleton
@@ -42,6 +45,17 @@ public class MongoStore implements DistributedStore {
 
   @Inject HPersistence hPersistence;
   @Inject private KryoSerializer kryoSerializer;
+  private DistributedStoreNearCache nearCache;
+
+  @Inject(optional = true)
+  void initNearCache(NearCacheConfig nearCacheConfig,
+      @Named(DistributedStoreNearCache.REDISSON_CLIENT) RedissonClient redissonClient,
+      PersistenceMetricsServiceImpl persistenceMetricsService) {
+    if (nearCacheConfig.isEnabled()) {
+      nearCache =
+          new DistributedStoreNearCache("MongoStore", nearCacheConfig, redissonClient, persistenceMetricsService);
+    }
+  }
 
   String canonicalKey(long algorithmId, long structureHash, String key, List<String> params) {
     if (isEmpty(params)) {
@@ -64,9 +78,18 @@ public class MongoStore implements DistributedStore {
   private <T extends Distributable> T get(
       Long contextValue, long algorithmId, long structureHash, String key, List<String> params) {
     try {
+      final String canonicalKey = canonicalKey(algorithmId, structureHash, key, params);
+      long nearCacheGeneration = 0;
+      if (nearCache != null) {
+        Distributable cached = nearCache.get(canonicalKey, algorithmId, structureHash, contextValue);
+        if (cached != null) {
+          return (T) kryoSerializer.clone(cached);
+        }
+        nearCacheGeneration = nearCache.generation(canonicalKey);
+      }
+
       final Query<CacheEntity> entityQuery =
-          hPersistence.createQuery(CacheEntity.class)
-              .filter(CacheEntityKeys.canonicalKey, canonicalKey(algorithmId, structureHash, key, params));
+          hPersistence.createQuery(CacheEntity.class).filter(CacheEntityKeys.canonicalKey, canonicalKey);
 
       if (contextValue != null) {
         entityQuery.filter(CacheEntityKeys.contextValue, contextValue);
@@ -78,7 +101,12 @@ public class MongoStore implements DistributedStore {
         return null;
       }
 
-      return (T) kryoSerializer.asInflatedObject(cacheEntity.getEntity());
+      T value = (T) kryoSerializer.asInflatedObject(cacheEntity.getEntity());
+      if (nearCache != null && value != null) {
+        nearCache.put(canonicalKey, cacheEntity.getContextValue(), kryoSerializer.clone(value),
+            cacheEntity.getEntity().length, nearCacheGeneration);
+      }
+      return value;
     } catch (RuntimeException ex) {
       log.error("Failed to obtain from cache", ex);
     }
@@ -135,6 +163,10 @@ public class MongoStore implements DistributedStore {
       IgnoreThrowable.ignoredOnPurpose(ignore);
     } catch (RuntimeException ex) {
       log.error("Failed to update cache for key {}, hash {}", canonicalKey, contextValue, ex);
+    } finally {
+      if (nearCache != null) {
+        nearCache.invalidate(canonicalKey);
+      }
     }
   }
 }
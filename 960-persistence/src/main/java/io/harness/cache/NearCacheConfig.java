@@ -0,0 +1,33 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Shield 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/06/PolyForm-Shield-1.0.0.txt.
+ */
+
+package io.harness.cache;
+
+import static io.harness.annotations.dev.HarnessTeam.PL;
+
+import io.harness.annotations.dev.OwnedBy;
+
+import java.util.Set;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@OwnedBy(PL)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearCacheConfig {
+  private boolean enabled;
+  // Maximum total size, in deflated bytes, of the entities kept in memory
+  @Builder.Default private long maximumWeight = 64L * 1024 * 1024;
+  // Bounds the staleness of an entry when an invalidation message is lost
+  @Builder.Default private long expireAfterWriteSeconds = 60;
+  // Simple class names of the entities to keep in memory, all of them when empty
+  private Set<String> namespaces;
+}
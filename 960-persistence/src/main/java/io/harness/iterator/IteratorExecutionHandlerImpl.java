@@ -27,6 +27,8 @@ public class IteratorExecutionHandlerImpl implements IteratorExecutionHandler {
   private static final int BATCH_SIZE_MULTIPLY_FACTOR = 2; // The factor by how much the batchSize should be increased
   private static final int REDIS_LOCK_TIMEOUT_SECONDS = 5; // The lockTimeout is the duration a lock is held
   public static final String REDIS_BATCH = "REDIS_BATCH";
+  public static final String LEASE_BATCH = "LEASE_BATCH";
+  private static final int DEFAULT_LEASE_SHARD_COUNT = 16; // The number of uuid shards the documents are split into
 
   /**
    * Enum represents the different states that an iterator can be at -
@@ -173,7 +175,7 @@ public class IteratorExecutionHandlerImpl implements IteratorExecutionHandler {
     if (configOption.isEnabled()) {
       log.info("Iterator {} is enabled - starting it up", configOption.getName());
 
-      if (REDIS_BATCH.equals(configOption.getIteratorMode())) {
+      if (REDIS_BATCH.equals(configOption.getIteratorMode()) || LEASE_BATCH.equals(configOption.getIteratorMode())) {
         createAndStartRedisBatchModeIterator(configOption);
       } else {
         createAndStartPumpLoopModeIterator(configOption);
@@ -221,7 +223,7 @@ public class IteratorExecutionHandlerImpl implements IteratorExecutionHandler {
   }
 
   /**
-   * Helper method to create and start Redis Batch mode iterator.
+   * Helper method to create and start Redis Batch or Lease Batch mode iterator.
    *
    * @param config provides the necessary configuration for the iterator.
    */
@@ -235,6 +237,10 @@ public class IteratorExecutionHandlerImpl implements IteratorExecutionHandler {
     if (redisLockTimeout == 0) {
       redisLockTimeout = REDIS_LOCK_TIMEOUT_SECONDS;
     }
+    int leaseShardCount = 0;
+    if (LEASE_BATCH.equals(config.getIteratorMode())) {
+      leaseShardCount = config.getLeaseShardCount() == 0 ? DEFAULT_LEASE_SHARD_COUNT : config.getLeaseShardCount();
+    }
     iteratorHandlerMap.get(config.getName())
         .createAndStartRedisBatchIterator(PersistenceIteratorFactory.RedisBatchExecutorOptions.builder()
                                               .name(config.getName())
@@ -242,6 +248,7 @@ public class IteratorExecutionHandlerImpl implements IteratorExecutionHandler {
                                               .batchSize(redisBatchSize)
                                               .lockTimeout(redisLockTimeout)
                                               .interval(getIntervalDuration(config.getThreadPoolIntervalInSeconds()))
+                                              .leaseShardCount(leaseShardCount)
                                               .build(),
             getNextIterationInterval(config));
   }
@@ -257,6 +264,7 @@ public class IteratorExecutionHandlerImpl implements IteratorExecutionHandler {
                                     .name(config.getName())
                                     .poolSize(config.getThreadPoolSize())
                                     .interval(getIntervalDuration(config.getThreadPoolIntervalInSeconds()))
+                                    .prefetchSize(config.getPrefetchSize())
                                     .build(),
             getNextIterationInterval(config));
   }
@@ -10,6 +10,7 @@ package io.harness.iterator;
 import static io.harness.annotations.dev.HarnessTeam.PL;
 import static io.harness.iterator.PersistenceIterator.ProcessMode.LOOP;
 import static io.harness.iterator.PersistenceIterator.ProcessMode.PUMP;
+import static io.harness.iterator.PersistenceIterator.ProcessMode.LEASE_BATCH;
 import static io.harness.iterator.PersistenceIterator.ProcessMode.REDIS_BATCH;
 import static io.harness.mongo.iterator.MongoPersistenceIterator.SchedulingType.IRREGULAR;
 import static io.harness.mongo.iterator.MongoPersistenceIterator.SchedulingType.IRREGULAR_SKIP_MISSED;
@@ -57,6 +58,8 @@ public final class PersistenceIteratorFactory {
     private String name;
     private int poolSize;
     private Duration interval;
+    // When above one, regular iterators claim this many entities per query instead of one at a time
+    private int prefetchSize;
   }
 
   @Value
@@ -67,6 +70,8 @@ public final class PersistenceIteratorFactory {
     private int batchSize;
     private int lockTimeout;
     private Duration interval;
+    // When positive the batches are claimed through leases on this many uuid shards instead of the Redis lock
+    private int leaseShardCount;
   }
 
   private String getWorkerDisabledLog(String className) {
@@ -107,6 +112,9 @@ public final class PersistenceIteratorFactory {
     InstrumentedExecutorService instrumentedExecutorService =
         new InstrumentedExecutorService(executor, metricRegistry, iteratorName);
 
+    if (options.prefetchSize > 0) {
+      builder.prefetchSize(options.prefetchSize);
+    }
     MongoPersistenceIterator<T, F> iterator = builder.mode(processMode)
                                                   .executorService(instrumentedExecutorService)
                                                   .semaphore(new Semaphore(options.poolSize))
@@ -145,6 +153,9 @@ public final class PersistenceIteratorFactory {
     InstrumentedExecutorService instrumentedExecutorService =
         new InstrumentedExecutorService(executor, metricRegistry, iteratorName);
 
+    if (options.prefetchSize > 0) {
+      builder.prefetchSize(options.prefetchSize);
+    }
     MongoPersistenceIterator<T, F> iterator = builder.mode(processMode)
                                                   .executorService(instrumentedExecutorService)
                                                   .semaphore(new Semaphore(options.poolSize))
@@ -201,8 +212,9 @@ public final class PersistenceIteratorFactory {
     ExecutorService mainExecutor =
         Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat(iteratorName + "-Main").build());
 
+    boolean leaseBased = options.getLeaseShardCount() > 0;
     MongoPersistenceIterator<T, F> iterator =
-        builder.mode(REDIS_BATCH)
+        builder.mode(leaseBased ? LEASE_BATCH : REDIS_BATCH)
             .executorService(mainExecutor)
             .workerThreadPoolExecutor(executor)
             .semaphore(new Semaphore(options.poolSize))
@@ -211,11 +223,16 @@ public final class PersistenceIteratorFactory {
             .redisModeBatchSize(options.getBatchSize())
             .redisLockTimeout(options.getLockTimeout())
             .persistentLocker(injector.getInstance(Key.get(PersistentLocker.class)))
+            .leaseShardCount(options.getLeaseShardCount())
             .build();
     injector.injectMembers(iterator);
 
     // Start the main executor
-    mainExecutor.submit(() -> iterator.redisBatchProcess());
+    if (leaseBased) {
+      mainExecutor.submit(() -> iterator.leaseBatchProcess());
+    } else {
+      mainExecutor.submit(() -> iterator.redisBatchProcess());
+    }
 
     return iterator;
   }
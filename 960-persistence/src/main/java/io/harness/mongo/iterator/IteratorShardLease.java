@@ -0,0 +1,61 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.mongo.iterator;
+
+import static io.harness.annotations.dev.HarnessTeam.PL;
+
+import io.harness.annotation.HarnessEntity;
+import io.harness.annotations.StoreIn;
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.mongo.index.CompoundMongoIndex;
+import io.harness.mongo.index.FdTtlIndex;
+import io.harness.mongo.index.MongoIndex;
+import io.harness.mongo.iterator.provider.ShardLeaseStore;
+import io.harness.ng.DbAliases;
+import io.harness.persistence.PersistentEntity;
+
+import com.google.common.collect.ImmutableList;
+import dev.morphia.annotations.Entity;
+import dev.morphia.annotations.Id;
+import java.util.Date;
+import java.util.List;
+import lombok.Builder;
+import lombok.Value;
+import lombok.experimental.FieldNameConstants;
+
+/**
+ * Shard lease or member heartbeat of the lease batch iterator mode, see {@link ShardLeaseStore}. The documents are
+ * written by the ShardLeaseStore implementations, this class declares the collection and its indexes.
+ */
+@OwnedBy(PL)
+@Value
+@Builder
+@FieldNameConstants(innerTypeName = "IteratorShardLeaseKeys")
+@StoreIn(DbAliases.ALL)
+@Entity(value = ShardLeaseStore.COLLECTION_NAME, noClassnameStored = true)
+@HarnessEntity(exportable = false)
+public class IteratorShardLease implements PersistentEntity {
+  public static List<MongoIndex> mongoIndexes() {
+    return ImmutableList.<MongoIndex>builder()
+        .add(CompoundMongoIndex.builder()
+                 .name("iteratorName_shard_leaseUntil")
+                 .field(IteratorShardLeaseKeys.iteratorName)
+                 .field(IteratorShardLeaseKeys.shard)
+                 .field(IteratorShardLeaseKeys.leaseUntil)
+                 .build())
+        .build();
+  }
+
+  @Id String uuid;
+  String iteratorName;
+  int shard;
+  String owner;
+  long leaseUntil;
+  // Removes the heartbeats of the members which stopped without leaving
+  @FdTtlIndex Date validUntil;
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.mongo.iterator;
+
+import static io.harness.annotations.dev.HarnessTeam.PL;
+import static io.harness.data.structure.UUIDGenerator.generateUuid;
+
+import static java.lang.System.currentTimeMillis;
+
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.mongo.iterator.provider.ShardLeaseStore;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Splits the documents of an iterator into shards by the first character of their uuid and keeps this process's share
+ * of the shards leased. Every process heartbeats its membership and aims to hold ceil(shards / live members) shards,
+ * giving up the extra ones when new members join and picking up expired leases of members which are gone.
+ *
+ * The uuids are URL safe base64, so the shard ranges are cut along the sorted base64 alphabet. Not thread safe, the
+ * manager is meant to be used by the single main thread of the iterator.
+ */
+@OwnedBy(PL)
+@Slf4j
+public class IteratorShardLeaseManager {
+  static final String UUID_ALPHABET = "-0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ_abcdefghijklmnopqrstuvwxyz";
+
+  private final ShardLeaseStore leaseStore;
+  private final String iteratorName;
+  private final int shardCount;
+  private final Duration leaseDuration;
+  @Getter private final String owner = generateUuid();
+  private final TreeSet<Integer> ownedShards = new TreeSet<>();
+  private long nextRefresh;
+  private long leasedUntil;
+
+  public IteratorShardLeaseManager(
+      ShardLeaseStore leaseStore, String iteratorName, int shardCount, Duration leaseDuration) {
+    if (shardCount < 1 || shardCount > UUID_ALPHABET.length()) {
+      throw new IllegalArgumentException("Shard count should be between 1 and " + UUID_ALPHABET.length());
+    }
+    this.leaseStore = leaseStore;
+    this.iteratorName = iteratorName;
+    this.shardCount = shardCount;
+    this.leaseDuration = leaseDuration;
+  }
+
+  /**
+   * Renews the owned leases and rebalances them against the live members. The store is only consulted every third of
+   * the lease duration, in between the currently owned shards are returned as they are.
+   *
+   * @return the shards this process may iterate over
+   */
+  public List<Integer> obtainShards() {
+    long now = currentTimeMillis();
+    if (now < nextRefresh) {
+      return new ArrayList<>(ownedShards);
+    }
+    long leaseUntil = now + leaseDuration.toMillis();
+    try {
+      leaseStore.heartbeat(iteratorName, owner, leaseUntil);
+      long members = Math.max(1, leaseStore.countLiveMembers(iteratorName, now));
+      int target = (int) ((shardCount + members - 1) / members);
+
+      ownedShards.removeIf(shard -> !leaseStore.tryAcquire(iteratorName, shard, owner, now, leaseUntil));
+      while (ownedShards.size() > target) {
+        Integer shard = ownedShards.pollLast();
+        leaseStore.release(iteratorName, shard, owner);
+      }
+
+      // Start at a random shard so that members which refresh together do not compete for the same free lease
+      int offset = ThreadLocalRandom.current().nextInt(shardCount);
+      for (int i = 0; i < shardCount && ownedShards.size() < target; i++) {
+        int shard = (offset + i) % shardCount;
+        if (!ownedShards.contains(shard) && leaseStore.tryAcquire(iteratorName, shard, owner, now, leaseUntil)) {
+          ownedShards.add(shard);
+        }
+      }
+      leasedUntil = leaseUntil;
+      nextRefresh = now + leaseDuration.toMillis() / 3;
+    } catch (RuntimeException ex) {
+      log.error("Failed to refresh the shard leases of iterator {}", iteratorName, ex);
+      // The shards are kept only as long as the last successful renewal holds
+      if (now >= leasedUntil) {
+        ownedShards.clear();
+      }
+    }
+    return new ArrayList<>(ownedShards);
+  }
+
+  /**
+   * Gives up all the owned leases and the membership so other members can take them over without waiting for them to
+   * expire.
+   */
+  public void releaseAll() {
+    for (Iterator<Integer> iterator = ownedShards.iterator(); iterator.hasNext();) {
+      Integer shard = iterator.next();
+      try {
+        leaseStore.release(iteratorName, shard, owner);
+      } catch (RuntimeException ex) {
+        log.warn("Failed to release shard {} of iterator {}", shard, iteratorName, ex);
+      }
+      iterator.remove();
+    }
+    try {
+      leaseStore.leave(iteratorName, owner);
+    } catch (RuntimeException ex) {
+      log.warn("Failed to leave the shard split of iterator {}", iteratorName, ex);
+    }
+    nextRefresh = 0;
+    leasedUntil = 0;
+  }
+
+  /**
+   * Inclusive lower bound of the uuids in the shard, null for the first shard.
+   */
+  public String fromId(int shard) {
+    return shard == 0 ? null : String.valueOf(UUID_ALPHABET.charAt(boundary(shard)));
+  }
+
+  /**
+   * Exclusive upper bound of the uuids in the shard, null for the last shard.
+   */
+  public String toId(int shard) {
+    return shard == shardCount - 1 ? null : String.valueOf(UUID_ALPHABET.charAt(boundary(shard + 1)));
+  }
+
+  private int boundary(int shard) {
+    return shard * UUID_ALPHABET.length() / shardCount;
+  }
+}
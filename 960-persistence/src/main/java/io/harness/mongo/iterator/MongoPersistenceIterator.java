@@ -8,11 +8,14 @@
 package io.harness.mongo.iterator;
 
 import static io.harness.data.structure.EmptyPredicate.isNotEmpty;
+import static io.harness.data.structure.UUIDGenerator.generateUuid;
 import static io.harness.govern.Switch.unhandled;
 import static io.harness.iterator.PersistenceIterator.ProcessMode.PUMP;
 import static io.harness.logging.AutoLogContext.OverrideBehavior.OVERRIDE_ERROR;
+import static io.harness.metrics.impl.PersistenceMetricsServiceImpl.ITERATOR_CLAIM_LATENCY;
 import static io.harness.metrics.impl.PersistenceMetricsServiceImpl.ITERATOR_DELAY;
 import static io.harness.metrics.impl.PersistenceMetricsServiceImpl.ITERATOR_ERROR;
+import static io.harness.metrics.impl.PersistenceMetricsServiceImpl.ITERATOR_PREFETCH_QUEUE_DEPTH;
 import static io.harness.metrics.impl.PersistenceMetricsServiceImpl.ITERATOR_PROCESSING_TIME;
 import static io.harness.metrics.impl.PersistenceMetricsServiceImpl.ITERATOR_REDIS_LOCK_ACQUIRE_FAIL;
 import static io.harness.metrics.impl.PersistenceMetricsServiceImpl.ITERATOR_WORKING_ON_ENTITY;
@@ -51,6 +54,8 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
@@ -74,6 +79,7 @@ public class MongoPersistenceIterator<T extends PersistentIterable, F extends Fi
       5; // The lockWaitTimeout is the duration to wait to acquire a lock
   private static final int BATCH_SIZE_MULTIPLY_FACTOR = 2; // The factor by how much the batchSize should be increased
   private static final int REDIS_BATCH_PAUSE_DURATION = 5; // The duration by which to pause if worker JobQ is full
+  private static final Duration SHARD_LEASE_DURATION = ofSeconds(30); // The duration a shard lease is held for
 
   @Inject private final QueueController queueController;
   @Inject private PersistenceMetricsServiceImpl iteratorMetricsService;
@@ -105,6 +111,10 @@ public class MongoPersistenceIterator<T extends PersistentIterable, F extends Fi
 
   private boolean isDelegateTaskMigrationEnabled;
   private PersistentLocker persistentLocker;
+  private int leaseShardCount;
+  // When above one, LOOP and PUMP mode regular iterators claim this many entities per query
+  private int prefetchSize;
+  private BlockingQueue<T> prefetchQueue;
 
   public interface Handler<T> {
     void handle(T entity);
@@ -118,6 +128,7 @@ public class MongoPersistenceIterator<T extends PersistentIterable, F extends Fi
         break;
       case LOOP:
       case REDIS_BATCH:
+      case LEASE_BATCH:
         notifyAll();
         break;
       default:
@@ -129,6 +140,10 @@ public class MongoPersistenceIterator<T extends PersistentIterable, F extends Fi
   // The theory is that ERROR type exception are unrecoverable, that is not exactly true.
   @SuppressWarnings({"PMD", "squid:S1181"})
   public void process() {
+    if (prefetchSize > 1 && schedulingType == REGULAR) {
+      prefetchProcess();
+      return;
+    }
     long movingAverage = 0;
     long previous = 0;
     while (true) {
@@ -223,6 +238,112 @@ public class MongoPersistenceIterator<T extends PersistentIterable, F extends Fi
     }
   }
 
+  /**
+   * Process method for LOOP and PUMP mode regular iterators with prefetching enabled.
+   *
+   * Instead of claiming one entity per findAndModify and waiting for a worker to pick it
+   * up, a window of due entities is fetched and claimed with one bulk update. The claimed
+   * entities are handed to the workers through a bounded queue, the window is limited to
+   * the free space in the queue so the workers apply back pressure on the fetching.
+   */
+  // The theory is that ERROR type exception are unrecoverable, that is not exactly true.
+  @SuppressWarnings({"PMD", "squid:S1181"})
+  private void prefetchProcess() {
+    BlockingQueue<T> queue = obtainPrefetchQueue();
+    long movingAverage = 0;
+    long previous = 0;
+    while (true) {
+      if (!shouldProcess()) {
+        if (mode == PUMP) {
+          return;
+        }
+        sleep(ofSeconds(1));
+        continue;
+      }
+      try {
+        int window = queue.remainingCapacity();
+        if (window == 0) {
+          // Everything claimed so far is still waiting for a worker
+          synchronized (this) {
+            wait(QUERY_TIME.toMillis());
+          }
+          continue;
+        }
+
+        long base = currentTimeMillis();
+        if (redistribute && previous != 0) {
+          base = movingAvg(previous + movingAverage, base);
+          movingAverage = movingAvg(movingAverage, base - previous);
+        }
+        previous = base;
+
+        long startTime = currentTimeMillis();
+        List<T> entities = persistenceProvider.claimNextInstances(clazz, fieldName, filterExpander, unsorted, window,
+            isDelegateTaskMigrationEnabled, base + targetInterval.toMillis(), generateUuid());
+        iteratorMetricsService.recordIteratorMetricsWithDuration(
+            iteratorName, ofMillis(currentTimeMillis() - startTime), ITERATOR_CLAIM_LATENCY);
+
+        for (int i = 0; i < entities.size(); i++) {
+          T entity = entities.get(i);
+          if (entityProcessController != null && !entityProcessController.shouldProcessEntity(entity)) {
+            continue;
+          }
+          queue.put(entity);
+          try {
+            executorService.submit(this::processPrefetchedEntity);
+          } catch (RejectedExecutionException e) {
+            log.info("The executor service has been shutdown - received exception {} ", e);
+            // Nobody will process the claimed entities, they are made due again for the other nodes
+            List<T> unprocessed = new ArrayList<>(entities.subList(i + 1, entities.size()));
+            queue.drainTo(unprocessed);
+            persistenceProvider.releaseInstances(clazz, fieldName, unprocessed, isDelegateTaskMigrationEnabled);
+            return;
+          }
+        }
+        iteratorMetricsService.recordIteratorMetricValue(iteratorName, ITERATOR_PREFETCH_QUEUE_DEPTH, queue.size());
+
+        if (!entities.isEmpty()) {
+          continue;
+        }
+        if (mode == PUMP) {
+          break;
+        }
+
+        T next = persistenceProvider.findInstance(
+            clazz, fieldName, filterExpander, unsorted, isDelegateTaskMigrationEnabled);
+        long sleepMillis = calculateSleepDuration(next).toMillis();
+        // Do not sleep with 0, it is actually infinite sleep
+        if (sleepMillis > 0) {
+          previous = 0;
+          synchronized (this) {
+            wait(sleepMillis);
+          }
+        }
+      } catch (InterruptedException exception) {
+        Thread.currentThread().interrupt();
+        break;
+      } catch (Throwable exception) {
+        log.debug("Exception occurred while processing iterator", exception);
+        iteratorMetricsService.recordIteratorMetrics(iteratorName, ITERATOR_ERROR);
+        sleep(ofSeconds(1));
+      }
+    }
+  }
+
+  private synchronized BlockingQueue<T> obtainPrefetchQueue() {
+    if (prefetchQueue == null) {
+      prefetchQueue = new ArrayBlockingQueue<>(prefetchSize);
+    }
+    return prefetchQueue;
+  }
+
+  private void processPrefetchedEntity() {
+    T entity = prefetchQueue.poll();
+    if (entity != null) {
+      processEntityWithoutWaitNotify(entity);
+    }
+  }
+
   public void recoverAfterPause() {
     persistenceProvider.recoverAfterPause(clazz, fieldName);
   }
@@ -394,6 +515,88 @@ public class MongoPersistenceIterator<T extends PersistentIterable, F extends Fi
     }
   }
 
+  /**
+   * Process method for Lease Batch mode iterator.
+   *
+   * Works like the Redis Batch mode but instead of serializing all the processes on one
+   * distributed lock, the documents are split into uuid ranges (shards) and every process
+   * holds a lease on its share of the shards. The processes fetch and update batches from
+   * their own shards concurrently, the leases are rebalanced when processes join or leave.
+   *
+   * A document can be picked up twice while a shard changes hands between the fetch and
+   * the bulk update of its previous owner, the handlers should already tolerate that as
+   * the Redis lock can expire the same way.
+   */
+  public void leaseBatchProcess() {
+    IteratorShardLeaseManager leaseManager = new IteratorShardLeaseManager(
+        persistenceProvider.getShardLeaseStore(clazz), iteratorName, leaseShardCount, SHARD_LEASE_DURATION);
+    long movingAverage = 0;
+    long previous = 0;
+    boolean processing = false;
+
+    try {
+      while (!Thread.currentThread().isInterrupted()) {
+        if (!shouldProcess()) {
+          // Hands the shards over once when the processing stops, not on every check
+          if (processing) {
+            leaseManager.releaseAll();
+            processing = false;
+          }
+          sleep(ofSeconds(1));
+          continue;
+        }
+        processing = true;
+
+        long base = currentTimeMillis();
+        if (previous != 0) {
+          base = movingAvg(previous + movingAverage, base);
+          movingAverage = movingAvg(movingAverage, base - previous);
+        }
+        previous = base;
+
+        int limit = Math.min(redisModeBatchSize, redisModeBatchSize - workerThreadPoolExecutor.getQueue().size());
+        if (limit <= 0) {
+          log.warn("The worker Q for {} iterator is full, pausing for 5 seconds", iteratorName);
+          sleep(ofSeconds(REDIS_BATCH_PAUSE_DURATION));
+          continue;
+        }
+
+        List<String> docIds = new ArrayList<>();
+        try {
+          List<Integer> shards = leaseManager.obtainShards();
+          // Split the batch between the owned shards, a shard with few due docs leaves room for the others next time
+          int shardLimit = shards.isEmpty() ? 0 : Math.max(1, limit / shards.size());
+          for (int shard : shards) {
+            Iterator<T> docItr = persistenceProvider.obtainNextInstancesInRange(clazz, fieldName, filterExpander,
+                unsorted, shardLimit, isDelegateTaskMigrationEnabled, leaseManager.fromId(shard),
+                leaseManager.toId(shard));
+            while (docItr.hasNext()) {
+              T entity = docItr.next();
+              submitEntityForProcessingWithoutWait(entity);
+              docIds.add(entity.getUuid());
+            }
+          }
+
+          updateDocumentNextIteration(docIds, base);
+        } catch (Exception ex) {
+          log.error("Received an exception in leaseBatchProcess {} ", ex);
+        }
+
+        if (docIds.isEmpty()) {
+          synchronized (this) {
+            try {
+              wait(threadPoolIntervalInSeconds.toMillis());
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+          }
+        }
+      }
+    } finally {
+      leaseManager.releaseAll();
+    }
+  }
+
   /**
    * Method to submit an entity to the Worker JobQ.
    * @param entity - Mongo document that worker thread should process
@@ -10,6 +10,9 @@ package io.harness.mongo.iterator.provider;
 import static io.harness.govern.Switch.unhandled;
 
 import static java.lang.System.currentTimeMillis;
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 
 import io.harness.iterator.PersistentIterable;
 import io.harness.mongo.iterator.BulkWriteOpsResults;
@@ -33,11 +36,14 @@ import dev.morphia.query.UpdateOpsImpl;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import org.bson.types.ObjectId;
 
 @Singleton
 public class MorphiaPersistenceRequiredProvider<T extends PersistentIterable>
     implements PersistenceProvider<T, MorphiaFilterExpander<T>> {
+  private static final String ID_KEY = "_id";
+
   @Inject private HPersistence persistence;
 
   private Query<T> createQuery(
@@ -117,6 +123,73 @@ public class MorphiaPersistenceRequiredProvider<T extends PersistentIterable>
     return query.fetch(new FindOptions().limit(limit));
   }
 
+  @Override
+  public MorphiaIterator<T, T> obtainNextInstancesInRange(Class<T> clazz, String fieldName,
+      MorphiaFilterExpander<T> filterExpander, boolean unsorted, int limit, boolean isDelegateTaskMigrationEnabled,
+      String fromId, String toId) {
+    long now = currentTimeMillis();
+    Query<T> query = createQuery(now, clazz, fieldName, filterExpander, unsorted);
+    if (fromId != null) {
+      query.field(ID_KEY).greaterThanOrEq(fromId);
+    }
+    if (toId != null) {
+      if (fromId == null) {
+        // Keeps the documents with non string ids in the first range
+        query.field(ID_KEY).not().greaterThanOrEq(toId);
+      } else {
+        query.field(ID_KEY).lessThan(toId);
+      }
+    }
+
+    return query.fetch(new FindOptions().limit(limit));
+  }
+
+  @Override
+  public List<T> claimNextInstances(Class<T> clazz, String fieldName, MorphiaFilterExpander<T> filterExpander,
+      boolean unsorted, int limit, boolean isDelegateTaskMigrationEnabled, long claimedUntil, String claimToken) {
+    long now = currentTimeMillis();
+    List<T> candidates =
+        createQuery(now, clazz, fieldName, filterExpander, unsorted).asList(new FindOptions().limit(limit));
+    if (candidates.isEmpty()) {
+      return candidates;
+    }
+    List<Object> ids = idValues(candidates);
+
+    // Only the documents still due are claimed, the ones taken by a concurrent fetch meanwhile are left alone
+    Query<T> claimQuery = createQuery(now, clazz, fieldName, null, true);
+    claimQuery.field(ID_KEY).in(ids);
+    String claimTokenFieldName = PersistenceProvider.claimTokenFieldName(fieldName);
+    persistence.update(claimQuery,
+        persistence.createUpdateOperations(clazz)
+            .disableValidation()
+            .set(fieldName, claimedUntil)
+            .set(claimTokenFieldName, claimToken));
+
+    Query<T> claimedQuery = createQuery(clazz, fieldName, null, true);
+    claimedQuery.disableValidation();
+    claimedQuery.field(ID_KEY).in(ids).filter(claimTokenFieldName, claimToken).project(ID_KEY, true);
+    Set<String> claimed = claimedQuery.asList().stream().map(T::getUuid).collect(toSet());
+    if (claimed.isEmpty()) {
+      return emptyList();
+    }
+
+    // The token is only needed to read the claim back, it is not left behind in the documents
+    persistence.update(
+        claimedQuery, persistence.createUpdateOperations(clazz).disableValidation().unset(claimTokenFieldName));
+    return candidates.stream().filter(entity -> claimed.contains(entity.getUuid())).collect(toList());
+  }
+
+  @Override
+  public void releaseInstances(
+      Class<T> clazz, String fieldName, List<T> entities, boolean isDelegateTaskMigrationEnabled) {
+    if (entities.isEmpty()) {
+      return;
+    }
+    Query<T> query = createQuery(clazz, fieldName, null, true);
+    query.field(ID_KEY).in(idValues(entities));
+    persistence.update(query, persistence.createUpdateOperations(clazz).set(fieldName, currentTimeMillis()));
+  }
+
   @Override
   public BulkWriteOpsResults bulkWriteDocumentsMatchingIds(
       Class<T> clazz, List<String> ids, String fieldName, long base, Duration targetInterval) {
@@ -166,4 +239,22 @@ public class MorphiaPersistenceRequiredProvider<T extends PersistentIterable>
         .modifiedCount(bulkWriteResult.getModifiedCount())
         .build();
   }
+
+  @Override
+  public ShardLeaseStore getShardLeaseStore(Class<T> clazz) {
+    return new MorphiaShardLeaseStore(
+        persistence.getCollection(clazz).getDB().getCollection(ShardLeaseStore.COLLECTION_NAME));
+  }
+
+  private List<Object> idValues(List<T> entities) {
+    // Documents inserted by mongo have ObjectId ids, match either representation like bulkWriteDocumentsMatchingIds
+    List<Object> ids = new ArrayList<>();
+    for (T entity : entities) {
+      ids.add(entity.getUuid());
+      if (ObjectId.isValid(entity.getUuid())) {
+        ids.add(new ObjectId(entity.getUuid()));
+      }
+    }
+    return ids;
+  }
 }
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.mongo.iterator.provider;
+
+import static io.harness.annotations.dev.HarnessTeam.PL;
+
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.govern.IgnoreThrowable;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBCollection;
+import com.mongodb.DuplicateKeyException;
+import com.mongodb.WriteResult;
+import java.util.Arrays;
+import java.util.Date;
+
+@OwnedBy(PL)
+public class MorphiaShardLeaseStore implements ShardLeaseStore {
+  private static final String ID_KEY = "_id";
+
+  private final DBCollection collection;
+
+  public MorphiaShardLeaseStore(DBCollection collection) {
+    this.collection = collection;
+  }
+
+  @Override
+  public void heartbeat(String iteratorName, String owner, long leaseUntil) {
+    collection.update(new BasicDBObject(ID_KEY, ShardLeaseStore.memberId(iteratorName, owner)),
+        new BasicDBObject("$set", leaseFields(iteratorName, MEMBER_SHARD, owner, leaseUntil)), true, false);
+  }
+
+  @Override
+  public long countLiveMembers(String iteratorName, long now) {
+    return collection.count(new BasicDBObject(ITERATOR_NAME_KEY, iteratorName)
+                                .append(SHARD_KEY, MEMBER_SHARD)
+                                .append(LEASE_UNTIL_KEY, new BasicDBObject("$gt", now)));
+  }
+
+  @Override
+  public void leave(String iteratorName, String owner) {
+    collection.remove(new BasicDBObject(ID_KEY, ShardLeaseStore.memberId(iteratorName, owner)));
+  }
+
+  @Override
+  public boolean tryAcquire(String iteratorName, int shard, String owner, long now, long leaseUntil) {
+    BasicDBObject query = new BasicDBObject(ID_KEY, ShardLeaseStore.leaseId(iteratorName, shard))
+                              .append("$or",
+                                  Arrays.asList(new BasicDBObject(LEASE_UNTIL_KEY, new BasicDBObject("$lt", now)),
+                                      new BasicDBObject(OWNER_KEY, owner)));
+    try {
+      WriteResult result = collection.update(
+          query, new BasicDBObject("$set", leaseFields(iteratorName, shard, owner, leaseUntil)), true, false);
+      return result.getN() > 0;
+    } catch (DuplicateKeyException ignore) {
+      // The lease document exists and is held by another owner, so the upsert collided with it
+      IgnoreThrowable.ignoredOnPurpose(ignore);
+      return false;
+    }
+  }
+
+  @Override
+  public void release(String iteratorName, int shard, String owner) {
+    collection.update(
+        new BasicDBObject(ID_KEY, ShardLeaseStore.leaseId(iteratorName, shard)).append(OWNER_KEY, owner),
+        new BasicDBObject("$set", new BasicDBObject(LEASE_UNTIL_KEY, 0L)), false, false);
+  }
+
+  private static BasicDBObject leaseFields(String iteratorName, int shard, String owner, long leaseUntil) {
+    return new BasicDBObject(ITERATOR_NAME_KEY, iteratorName)
+        .append(SHARD_KEY, shard)
+        .append(OWNER_KEY, owner)
+        .append(LEASE_UNTIL_KEY, leaseUntil)
+        .append(VALID_UNTIL_KEY, new Date(leaseUntil));
+  }
+}
@@ -31,6 +31,35 @@ public interface PersistenceProvider<T extends PersistentIterable, F extends Fil
   Iterator<T> obtainNextInstances(Class<T> clazz, String fieldName, F filterExpander, boolean unsorted, int limit,
       boolean isDelegateTaskMigrationEnabled);
 
+  /**
+   * Same as obtainNextInstances but restricted to documents with fromId <= _id < toId. A null bound leaves that side
+   * of the range open, the open lower bound also matches documents whose _id is not a string.
+   */
+  Iterator<T> obtainNextInstancesInRange(Class<T> clazz, String fieldName, F filterExpander, boolean unsorted,
+      int limit, boolean isDelegateTaskMigrationEnabled, String fromId, String toId);
+
+  /**
+   * Fetches up to limit due documents and claims them in bulk by setting their next iteration to claimedUntil and
+   * marking them with the claim token. Only the documents marked with the token are returned, so the token must be
+   * unique per call.
+   */
+  List<T> claimNextInstances(Class<T> clazz, String fieldName, F filterExpander, boolean unsorted, int limit,
+      boolean isDelegateTaskMigrationEnabled, long claimedUntil, String claimToken);
+
+  /**
+   * Makes claimed documents which will not be processed due again.
+   */
+  void releaseInstances(Class<T> clazz, String fieldName, List<T> entities, boolean isDelegateTaskMigrationEnabled);
+
+  /**
+   * Field holding the token of the last claim of the documents by the iterator over the given field.
+   */
+  static String claimTokenFieldName(String fieldName) {
+    return fieldName + "ClaimToken";
+  }
+
   BulkWriteOpsResults bulkWriteDocumentsMatchingIds(
       Class<T> clazz, List<String> ids, String fieldName, long base, Duration targetInterval);
+
+  ShardLeaseStore getShardLeaseStore(Class<T> clazz);
 }
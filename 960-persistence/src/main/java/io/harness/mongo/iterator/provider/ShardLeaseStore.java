@@ -0,0 +1,60 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.mongo.iterator.provider;
+
+/**
+ * Storage for the shard leases of the lease batch iterator mode. Every lease is a document keyed by iterator name and
+ * shard, holding the current owner and the time until which the lease is valid. Live members of an iterator keep a
+ * heartbeat document of their own so that the shards can be split evenly between them. Every document also has a
+ * validUntil date matching its lease, so that the ttl index declared by IteratorShardLease removes the heartbeats of
+ * members which stopped without leaving.
+ */
+public interface ShardLeaseStore {
+  String COLLECTION_NAME = "iteratorShardLeases";
+  String ITERATOR_NAME_KEY = "iteratorName";
+  String SHARD_KEY = "shard";
+  String OWNER_KEY = "owner";
+  String LEASE_UNTIL_KEY = "leaseUntil";
+  String VALID_UNTIL_KEY = "validUntil";
+  int MEMBER_SHARD = -1;
+
+  /**
+   * Record that the owner is alive and takes part in the shard split until leaseUntil.
+   */
+  void heartbeat(String iteratorName, String owner, long leaseUntil);
+
+  /**
+   * Number of owners with a heartbeat still valid at now.
+   */
+  long countLiveMembers(String iteratorName, long now);
+
+  /**
+   * Remove the heartbeat of the owner, it no longer takes part in the shard split.
+   */
+  void leave(String iteratorName, String owner);
+
+  /**
+   * Acquire or renew the lease of the shard. Succeeds if the shard is free, expired or already held by the owner.
+   *
+   * @return true if the owner holds the shard until leaseUntil
+   */
+  boolean tryAcquire(String iteratorName, int shard, String owner, long now, long leaseUntil);
+
+  /**
+   * Give up the lease of the shard if it is held by the owner.
+   */
+  void release(String iteratorName, int shard, String owner);
+
+  static String leaseId(String iteratorName, int shard) {
+    return iteratorName + ":" + shard;
+  }
+
+  static String memberId(String iteratorName, String owner) {
+    return iteratorName + ":member:" + owner;
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Shield 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/06/PolyForm-Shield-1.0.0.txt.
+ */
+
+package io.harness.cache;
+
+import static io.harness.rule.OwnerRule.GEORGE;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import io.harness.CategoryTest;
+import io.harness.cache.MongoStoreTestBase.TestOrdinalEntity;
+import io.harness.category.element.UnitTests;
+import io.harness.rule.Owner;
+
+import java.util.Set;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+
+public class DistributedStoreNearCacheTest extends CategoryTest {
+  private static final String KEY = "key/1/0/0";
+
+  private RTopic topic;
+  private DistributedStoreNearCache nearCache;
+
+  @Before
+  public void setUp() {
+    RedissonClient redissonClient = mock(RedissonClient.class);
+    topic = mock(RTopic.class);
+    doReturn(topic).when(redissonClient).getTopic(anyString(), any());
+    nearCache = new DistributedStoreNearCache(
+        "test", NearCacheConfig.builder().enabled(true).build(), redissonClient, null);
+  }
+
+  @Test
+  @Owner(developers = GEORGE)
+  @Category(UnitTests.class)
+  public void testGetByContextValue() {
+    nearCache.put(KEY, 2, entity(2), 10, nearCache.generation(KEY));
+
+    assertThat(get(null)).isNotNull();
+    assertThat(get(2L)).isNotNull();
+    assertThat(get(1L)).isNull();
+  }
+
+  @Test
+  @Owner(developers = GEORGE)
+  @Category(UnitTests.class)
+  public void testInvalidate() {
+    nearCache.put(KEY, 2, entity(2), 10, nearCache.generation(KEY));
+    nearCache.invalidate(KEY);
+
+    assertThat(get(null)).isNull();
+    verify(topic).publish(eq(KEY));
+  }
+
+  @Test
+  @Owner(developers = GEORGE)
+  @Category(UnitTests.class)
+  public void testReadStartedBeforeInvalidationIsNotCached() {
+    long generation = nearCache.generation(KEY);
+    nearCache.invalidateLocally(KEY);
+    nearCache.put(KEY, 2, entity(2), 10, generation);
+
+    assertThat(get(null)).isNull();
+  }
+
+  @Test
+  @Owner(developers = GEORGE)
+  @Category(UnitTests.class)
+  public void testReadNotAffectedByInvalidationOfAnotherBucket() {
+    String otherKey = "key/1/0/1";
+    long generation = nearCache.generation(KEY);
+    nearCache.invalidateLocally(otherKey);
+    nearCache.put(KEY, 2, entity(2), 10, generation);
+
+    assertThat(get(null)).isNotNull();
+  }
+
+  @Test
+  @Owner(developers = GEORGE)
+  @Category(UnitTests.class)
+  public void testNamespaces() {
+    RedissonClient redissonClient = mock(RedissonClient.class);
+    doReturn(topic).when(redissonClient).getTopic(anyString(), any());
+    nearCache = new DistributedStoreNearCache("test",
+        NearCacheConfig.builder().enabled(true).namespaces(Set.of("TestNominalEntity")).build(), redissonClient, null);
+    nearCache.put(KEY, 2, entity(2), 10, nearCache.generation(KEY));
+
+    assertThat(get(null)).isNull();
+  }
+
+  private Distributable get(Long contextValue) {
+    return nearCache.get(KEY, TestOrdinalEntity.algorithmId, TestOrdinalEntity.STRUCTURE_HASH, contextValue);
+  }
+
+  private static TestOrdinalEntity entity(long contextOrder) {
+    return TestOrdinalEntity.builder().contextOrder(contextOrder).key("key").value("value").build();
+  }
+}
@@ -29,6 +29,7 @@ import io.harness.mongo.iterator.MongoPersistenceIterator;
 import io.harness.mongo.iterator.MongoPersistenceIterator.Handler;
 import io.harness.mongo.iterator.filter.MorphiaFilterExpander;
 import io.harness.mongo.iterator.provider.MorphiaPersistenceProvider;
+import io.harness.mongo.iterator.provider.PersistenceProvider;
 import io.harness.persistence.HPersistence;
 import io.harness.queue.QueueController;
 import io.harness.rule.Owner;
@@ -38,6 +39,8 @@ import io.harness.threading.ThreadPool;
 
 import com.google.inject.Inject;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.Semaphore;
@@ -65,6 +68,11 @@ public class PersistenceRegularIteratorTest extends PersistenceTestBase {
 
   public MongoPersistenceIterator<TestRegularIterableEntity, MorphiaFilterExpander<TestRegularIterableEntity>> iterator(
       PersistenceIterator.ProcessMode mode) {
+    return iterator(mode, 0);
+  }
+
+  public MongoPersistenceIterator<TestRegularIterableEntity, MorphiaFilterExpander<TestRegularIterableEntity>> iterator(
+      PersistenceIterator.ProcessMode mode, int prefetchSize) {
     MongoPersistenceIterator<TestRegularIterableEntity, MorphiaFilterExpander<TestRegularIterableEntity>> iterator =
         MongoPersistenceIterator.<TestRegularIterableEntity, MorphiaFilterExpander<TestRegularIterableEntity>>builder()
             .mode(mode)
@@ -80,6 +88,7 @@ public class PersistenceRegularIteratorTest extends PersistenceTestBase {
             .handler(new TestHandler())
             .schedulingType(REGULAR)
             .redistribute(true)
+            .prefetchSize(prefetchSize)
             .persistenceProvider(persistenceProvider)
             .build();
     on(iterator).set("queueController", queueController);
@@ -170,4 +179,62 @@ public class PersistenceRegularIteratorTest extends PersistenceTestBase {
       assertThat(updatedEntity.getNextIteration()).isGreaterThan(entity.getNextIteration());
     }
   }
+
+  @Test
+  @Owner(developers = GEORGE)
+  @Category(UnitTests.class)
+  public void testPumpWithPrefetch() {
+    MongoPersistenceIterator<TestRegularIterableEntity, MorphiaFilterExpander<TestRegularIterableEntity>> iterator =
+        iterator(PUMP, 3);
+
+    try (MaintenanceGuard guard = new MaintenanceGuard(false)) {
+      long now = currentTimeMillis();
+      List<TestRegularIterableEntity> entities = new ArrayList<>();
+      for (int i = 0; i < 5; i++) {
+        entities.add(TestRegularIterableEntity.builder().uuid(generateUuid()).nextIteration(now - i).build());
+      }
+      persistence.save(entities);
+
+      iterator.process();
+
+      for (TestRegularIterableEntity entity : entities) {
+        TestRegularIterableEntity updatedEntity = persistence.get(TestRegularIterableEntity.class, entity.getUuid());
+        assertThat(updatedEntity.getNextIteration()).isGreaterThanOrEqualTo(now + ofSeconds(10).toMillis());
+      }
+    }
+  }
+
+  @Test
+  @Owner(developers = GEORGE)
+  @Category(UnitTests.class)
+  public void testClaimAndReleaseInstances() {
+    long now = currentTimeMillis();
+    List<TestRegularIterableEntity> entities = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      entities.add(TestRegularIterableEntity.builder().uuid(generateUuid()).nextIteration(now - i).build());
+    }
+    persistence.save(entities);
+    long claimedUntil = now + ofSeconds(10).toMillis();
+
+    List<TestRegularIterableEntity> claimed = persistenceProvider.claimNextInstances(TestRegularIterableEntity.class,
+        RegularIterableEntityKeys.nextIteration, null, false, 10, false, claimedUntil, generateUuid());
+    assertThat(claimed).hasSize(3);
+    assertThat(persistence.createQuery(TestRegularIterableEntity.class)
+                   .disableValidation()
+                   .field(PersistenceProvider.claimTokenFieldName(RegularIterableEntityKeys.nextIteration))
+                   .exists()
+                   .count())
+        .isZero();
+    // Another fetch with the same next iteration does not get the claimed entities
+    assertThat(persistenceProvider.claimNextInstances(TestRegularIterableEntity.class,
+                   RegularIterableEntityKeys.nextIteration, null, false, 10, false, claimedUntil, generateUuid()))
+        .isEmpty();
+
+    persistenceProvider.releaseInstances(
+        TestRegularIterableEntity.class, RegularIterableEntityKeys.nextIteration, claimed, false);
+    Morpheus.sleep(ofMillis(2));
+    assertThat(persistenceProvider.claimNextInstances(TestRegularIterableEntity.class,
+                   RegularIterableEntityKeys.nextIteration, null, false, 10, false, claimedUntil, generateUuid()))
+        .hasSize(3);
+  }
 }
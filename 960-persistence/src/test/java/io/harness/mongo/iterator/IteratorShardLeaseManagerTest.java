@@ -0,0 +1,117 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.mongo.iterator;
+
+import static io.harness.data.structure.UUIDGenerator.generateUuid;
+import static io.harness.rule.OwnerRule.GEORGE;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.harness.CategoryTest;
+import io.harness.category.element.UnitTests;
+import io.harness.mongo.iterator.provider.ShardLeaseStore;
+import io.harness.rule.Owner;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+public class IteratorShardLeaseManagerTest extends CategoryTest {
+  private static final String ITERATOR = "test";
+
+  @Test
+  @Owner(developers = GEORGE)
+  @Category(UnitTests.class)
+  public void testShardsAreRebalancedWhenMemberJoins() throws InterruptedException {
+    InMemoryShardLeaseStore store = new InMemoryShardLeaseStore();
+    IteratorShardLeaseManager first = new IteratorShardLeaseManager(store, ITERATOR, 16, Duration.ofMillis(300));
+    IteratorShardLeaseManager second = new IteratorShardLeaseManager(store, ITERATOR, 16, Duration.ofMillis(300));
+
+    assertThat(first.obtainShards()).hasSize(16);
+    assertThat(second.obtainShards()).isEmpty();
+
+    // Wait for the next refresh, which happens every third of the lease duration
+    Thread.sleep(120);
+    List<Integer> firstShards = first.obtainShards();
+    List<Integer> secondShards = second.obtainShards();
+    assertThat(firstShards).hasSize(8);
+    assertThat(secondShards).hasSize(8).doesNotContainAnyElementsOf(firstShards);
+
+    // Once the first member leaves, the second one takes over every shard on its next refresh
+    first.releaseAll();
+    Thread.sleep(120);
+    assertThat(second.obtainShards()).hasSize(16);
+  }
+
+  @Test
+  @Owner(developers = GEORGE)
+  @Category(UnitTests.class)
+  public void testShardRangesCoverAllUuids() {
+    IteratorShardLeaseManager manager =
+        new IteratorShardLeaseManager(new InMemoryShardLeaseStore(), ITERATOR, 7, Duration.ofSeconds(30));
+    assertThat(manager.fromId(0)).isNull();
+    assertThat(manager.toId(6)).isNull();
+    for (int shard = 0; shard < 6; shard++) {
+      assertThat(manager.toId(shard)).isEqualTo(manager.fromId(shard + 1));
+    }
+
+    for (int i = 0; i < 1000; i++) {
+      String uuid = generateUuid();
+      int matches = 0;
+      for (int shard = 0; shard < 7; shard++) {
+        String from = manager.fromId(shard);
+        String to = manager.toId(shard);
+        if ((from == null || uuid.compareTo(from) >= 0) && (to == null || uuid.compareTo(to) < 0)) {
+          matches++;
+        }
+      }
+      assertThat(matches).isEqualTo(1);
+    }
+  }
+
+  private static class InMemoryShardLeaseStore implements ShardLeaseStore {
+    private final Map<Integer, String> owners = new HashMap<>();
+    private final Map<Integer, Long> leases = new HashMap<>();
+    private final Map<String, Long> members = new HashMap<>();
+
+    @Override
+    public void heartbeat(String iteratorName, String owner, long leaseUntil) {
+      members.put(owner, leaseUntil);
+    }
+
+    @Override
+    public long countLiveMembers(String iteratorName, long now) {
+      return members.values().stream().filter(until -> until > now).count();
+    }
+
+    @Override
+    public void leave(String iteratorName, String owner) {
+      members.remove(owner);
+    }
+
+    @Override
+    public boolean tryAcquire(String iteratorName, int shard, String owner, long now, long leaseUntil) {
+      if (leases.getOrDefault(shard, 0L) < now || owner.equals(owners.get(shard))) {
+        owners.put(shard, owner);
+        leases.put(shard, leaseUntil);
+        return true;
+      }
+      return false;
+    }
+
+    @Override
+    public void release(String iteratorName, int shard, String owner) {
+      if (owner.equals(owners.get(shard))) {
+        leases.put(shard, 0L);
+      }
+    }
+  }
+}
@@ -13,7 +13,9 @@ import io.harness.utils.RecastReflectionUtils;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import lombok.Getter;
 
 @Getter
@@ -22,6 +24,8 @@ public class CastedClass {
   private CastedClass superClass;
   private final List<CastedClass> interfaces = new ArrayList<>();
   private final List<CastedField> persistenceFields = new ArrayList<>();
+  // False when two fields are stored under the same name, or one under the identifier key
+  private boolean uniqueFieldNames;
 
   public CastedClass(Class<?> entityClass, Recaster recaster) {
     this.clazz = entityClass;
@@ -44,6 +48,10 @@ public class CastedClass {
         persistenceFields.add(new CastedField(field, clazz, recaster));
       }
     }
+
+    Set<String> names = new HashSet<>();
+    names.add(Recaster.RECAST_CLASS_KEY);
+    uniqueFieldNames = persistenceFields.stream().allMatch(cf -> names.add(cf.getNameToStore()));
   }
 
   private boolean isIgnorable(final Field field, final int fieldModifiers) {
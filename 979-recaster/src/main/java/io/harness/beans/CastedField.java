@@ -16,6 +16,9 @@ import io.harness.exceptions.RecasterException;
 import io.harness.utils.RecastReflectionUtils;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
@@ -31,6 +34,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
@@ -53,10 +57,14 @@ public class CastedField {
   private boolean isArray; // indicated if it is an Array
   private boolean isCollection; // indicated if the collection is a list)
   private Type genericType;
+  // Accessors unreflected once per field, invoking them skips the access checks Field.get/set do on every call
+  @Getter(AccessLevel.NONE) private MethodHandle getter;
+  @Getter(AccessLevel.NONE) private MethodHandle setter;
 
   CastedField(final Field f, final Class<?> clazz, final Recaster recaster) {
     f.setAccessible(true);
     field = f;
+    discoverAccessors();
     recasterFieldName = getRecasterFieldNameFromField(f);
     persistedClass = clazz;
     realType = field.getType();
@@ -66,10 +74,29 @@ public class CastedField {
 
   CastedField(final Field field, final Type type, final Recaster recaster) {
     this.field = field;
+    discoverAccessors();
     genericType = type;
     discoverType(recaster);
   }
 
+  private void discoverAccessors() {
+    if (field == null) {
+      return;
+    }
+    // Both fall back to reflective access when the field cannot be unreflected
+    MethodHandles.Lookup lookup = MethodHandles.lookup();
+    try {
+      getter = lookup.unreflectGetter(field).asType(MethodType.methodType(Object.class, Object.class));
+    } catch (IllegalAccessException | RuntimeException e) {
+      getter = null;
+    }
+    try {
+      setter = lookup.unreflectSetter(field).asType(MethodType.methodType(void.class, Object.class, Object.class));
+    } catch (IllegalAccessException | RuntimeException e) {
+      setter = null;
+    }
+  }
+
   String getRecasterFieldNameFromField(Field f) {
     // If RecasterFieldName annotation is declared on a field and value provided is non-empty, then set the
     // recasterFieldName with the value provided in annotation else null.
@@ -360,16 +387,35 @@ public class CastedField {
 
   public Object getFieldValue(final Object instance) {
     try {
+      if (getter != null) {
+        try {
+          return (Object) getter.invokeExact(instance);
+        } catch (ClassCastException | NullPointerException e) {
+          // Let reflection raise the exception it always has for a wrong or missing instance
+        }
+      }
       return field.get(instance);
-    } catch (IllegalAccessException e) {
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable e) {
       throw new RuntimeException(e);
     }
   }
 
   public void setFieldValue(final Object instance, final Object value) {
     try {
+      if (setter != null) {
+        try {
+          setter.invokeExact(instance, value);
+          return;
+        } catch (ClassCastException | NullPointerException e) {
+          // Let reflection raise the IllegalArgumentException callers expect for a value of the wrong type
+        }
+      }
       field.set(instance, value);
-    } catch (IllegalAccessException e) {
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable e) {
       throw new RuntimeException(e);
     }
   }
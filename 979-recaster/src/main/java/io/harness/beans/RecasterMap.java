@@ -41,15 +41,21 @@ public class RecasterMap extends LinkedHashMap<String, Object> implements Map<St
   }
 
   public <T> void setIdentifier(Class<T> clazz) {
+    this.put(RECAST_CLASS_KEY, identifierOf(clazz));
+  }
+
+  /**
+   * The value stored under {@link #RECAST_CLASS_KEY} for the class, its alias when it has one.
+   */
+  public static String identifierOf(Class<?> clazz) {
     String recasterAliasValue = RecastReflectionUtils.obtainRecasterAliasValueOrNull(clazz);
     if (recasterAliasValue != null) {
-      this.put(RECAST_CLASS_KEY, recasterAliasValue);
-    } else {
-      if (AliasRegistry.getInstance().shouldContainAlias(clazz)) {
-        log.warn("[RECAST_ALIAS]: Consider adding @RecasterAlias annotation to this class {}", clazz.getName());
-      }
-      this.put(RECAST_CLASS_KEY, clazz.getName());
+      return recasterAliasValue;
+    }
+    if (AliasRegistry.getInstance().shouldContainAlias(clazz)) {
+      log.warn("[RECAST_ALIAS]: Consider adding @RecasterAlias annotation to this class {}", clazz.getName());
     }
+    return clazz.getName();
   }
 
   public Object removeIdentifier() {
@@ -10,6 +10,9 @@ package io.harness.core;
 import io.harness.annotation.RecasterAlias;
 import io.harness.annotations.dev.HarnessTeam;
 import io.harness.annotations.dev.OwnedBy;
+import io.harness.exception.CastedFieldException;
+import io.harness.exceptions.RecasterException;
+import io.harness.serializer.JsonUtils;
 import io.harness.transformers.RecastTransformer;
 
 import java.util.HashSet;
@@ -90,4 +93,24 @@ public class Recast {
     Map<String, Object> map = recaster.toMap(entity, newRecastFlow);
     return map == null ? null : new LinkedHashMap<>(map);
   }
+
+  /**
+   * Same json as serializing {@link #toMap} with {@link JsonUtils#asJson}, without building the map.
+   */
+  public String toJson(final Object entity, boolean newRecastFlow) {
+    if (entity == null) {
+      return null;
+    }
+    try {
+      return JsonUtils.asJson(new RecastJsonDocument(recaster, entity, newRecastFlow));
+    } catch (RuntimeException e) {
+      // Surface the mapping errors toMap would have thrown rather than the serialization wrappers around them
+      for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+        if (cause instanceof CastedFieldException || cause instanceof RecasterException) {
+          throw(RuntimeException) cause;
+        }
+      }
+      throw e;
+    }
+  }
 }
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Shield 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/06/PolyForm-Shield-1.0.0.txt.
+ */
+
+package io.harness.core;
+
+import static io.harness.core.Recaster.ENCODED_VALUE;
+import static io.harness.core.Recaster.RECAST_CLASS_KEY;
+
+import static java.lang.String.format;
+
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.beans.CastedClass;
+import io.harness.beans.CastedField;
+import io.harness.beans.RecasterMap;
+import io.harness.exception.CastedFieldException;
+import io.harness.serializer.JsonUtils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Json view of an entity which writes the document {@link Recaster#toMap} would produce straight to the generator,
+ * walking the {@link CastedClass} metadata instead of building the intermediate map tree.
+ *
+ * Values produced by transformers are written with the serializers the provider picks for map values, so the output
+ * is the same as serializing the map with {@link JsonUtils#asJson}. Maps, collections, arrays and classes with clashing
+ * field names are not streamed, their map is built and serialized as before.
+ */
+@OwnedBy(HarnessTeam.PIPELINE)
+@Slf4j
+public class RecastJsonDocument implements JsonSerializable {
+  // Whether map entries with null values are written by JsonUtils
+  private static final boolean WRITE_NULL_VALUES =
+      !"{}".equals(JsonUtils.asJson(Collections.singletonMap(ENCODED_VALUE, null)));
+
+  private final Recaster recaster;
+  private final Object entity;
+  private final boolean newRecastFlow;
+
+  public RecastJsonDocument(Recaster recaster, Object entity, boolean newRecastFlow) {
+    this.recaster = recaster;
+    this.entity = entity;
+    this.newRecastFlow = newRecastFlow;
+  }
+
+  @Override
+  public void serialize(JsonGenerator gen, SerializerProvider provider) throws IOException {
+    writeEntity(entity, newRecastFlow, gen, provider);
+  }
+
+  @Override
+  public void serializeWithType(JsonGenerator gen, SerializerProvider provider, TypeSerializer typeSer)
+      throws IOException {
+    serialize(gen, provider);
+  }
+
+  private void writeEntity(Object entity, boolean newRecastFlow, JsonGenerator gen, SerializerProvider provider)
+      throws IOException {
+    if (entity == null) {
+      provider.defaultSerializeNull(gen);
+      return;
+    }
+
+    Transformer transformer = recaster.getTransformer();
+    Class<?> type = entity.getClass();
+    CastedClass castedClass = recaster.getCastedClass(entity);
+    boolean customTransformer = transformer.hasCustomTransformer(type);
+    if (!customTransformer
+        && (entity instanceof Map || entity instanceof Collection || type.isArray()
+            || !castedClass.isUniqueFieldNames())) {
+      writeValue(recaster.toMap(entity, newRecastFlow), gen, provider);
+      return;
+    }
+
+    String identifier = RecasterMap.identifierOf(type);
+    gen.writeStartObject();
+    gen.writeStringField(RECAST_CLASS_KEY, identifier);
+    if (customTransformer) {
+      writeField(ENCODED_VALUE, transformer.encode(entity), gen, provider);
+      gen.writeEndObject();
+      return;
+    }
+
+    if (transformer.hasSimpleValueTransformer(type)) {
+      if (!newRecastFlow) {
+        log.warn("[RECAST_NEW_FLOW]: Inside Simple Transformer for entity class: " + type);
+      } else {
+        writeField(ENCODED_VALUE, transformer.encode(entity), gen, provider);
+        gen.writeEndObject();
+        return;
+      }
+    }
+
+    for (CastedField cf : castedClass.getPersistenceFields()) {
+      try {
+        writeCastedField(entity, cf, gen, provider);
+      } catch (Exception e) {
+        throw new CastedFieldException(
+            format("Cannot map [%s] to [%s] class for field [%s]", identifier, type, cf.getField().getName()), e);
+      }
+    }
+    gen.writeEndObject();
+  }
+
+  /**
+   * Mirrors {@link io.harness.fieldrecaster.SimpleValueFieldRecaster} and
+   * {@link io.harness.fieldrecaster.ComplexFieldRecaster}.
+   */
+  private void writeCastedField(Object entity, CastedField cf, JsonGenerator gen, SerializerProvider provider)
+      throws IOException {
+    Transformer transformer = recaster.getTransformer();
+    String name = cf.getNameToStore();
+    Object fieldValue = cf.getFieldValue(entity);
+    if (transformer.hasSimpleValueTransformer(cf.getType()) || transformer.hasSimpleValueTransformer(fieldValue)) {
+      writeField(name, transformer.encodeFieldValue(entity, cf, fieldValue), gen, provider);
+      return;
+    }
+
+    if (transformer.hasCustomTransformer(cf.getType())) {
+      gen.writeFieldName(name);
+      gen.writeStartObject();
+      gen.writeStringField(RECAST_CLASS_KEY, RecasterMap.identifierOf(cf.getType()));
+      writeField(ENCODED_VALUE, transformer.encode(cf.getType(), fieldValue, cf), gen, provider);
+      gen.writeEndObject();
+      return;
+    }
+
+    if (fieldValue != null) {
+      gen.writeFieldName(name);
+      // Nested entities are always recast with the old flow
+      writeEntity(fieldValue, false, gen, provider);
+    }
+  }
+
+  private void writeField(String name, Object value, JsonGenerator gen, SerializerProvider provider)
+      throws IOException {
+    if (value == null && !WRITE_NULL_VALUES) {
+      return;
+    }
+    gen.writeFieldName(name);
+    writeValue(value, gen, provider);
+  }
+
+  private void writeValue(Object value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+    if (value == null) {
+      provider.defaultSerializeNull(gen);
+      return;
+    }
+    // The same lookup the map serializer does for untyped values
+    provider.findContentValueSerializer(value.getClass(), null).serialize(value, gen, provider);
+  }
+}
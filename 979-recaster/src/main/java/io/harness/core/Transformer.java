@@ -95,6 +95,13 @@ public abstract class Transformer {
 
   public void putToMap(final Object containingObject, final CastedField cf, final RecasterMap recasterMap) {
     final Object fieldValue = cf.getFieldValue(containingObject);
+    recasterMap.put(cf.getNameToStore(), encodeFieldValue(containingObject, cf, fieldValue));
+  }
+
+  /**
+   * Encoded form of a field value, as stored by {@link #putToMap}.
+   */
+  public Object encodeFieldValue(final Object containingObject, final CastedField cf, final Object fieldValue) {
     RecastTransformer enc = getTransformer(fieldValue, cf);
     if (!(enc instanceof SimpleValueTransformer)) {
       enc = getTransformer(fieldValue != null ? fieldValue.getClass() : containingObject.getClass());
@@ -104,8 +111,7 @@ public abstract class Transformer {
       log.warn("Default transformer is used for {} with value {}", cf.getField(), fieldValue);
     }
 
-    final Object encoded = enc.encode(fieldValue, cf);
-    recasterMap.put(cf.getNameToStore(), encoded);
+    return enc.encode(fieldValue, cf);
   }
 
   public Object encode(final Class<?> c, final Object o) {
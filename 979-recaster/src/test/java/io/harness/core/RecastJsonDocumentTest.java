@@ -0,0 +1,113 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.core;
+
+import static io.harness.rule.OwnerRule.ALEXEI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.harness.RecasterTestBase;
+import io.harness.annotation.RecasterFieldName;
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.category.element.UnitTests;
+import io.harness.rule.Owner;
+import io.harness.serializer.JsonUtils;
+
+import com.google.common.collect.ImmutableSet;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@OwnedBy(HarnessTeam.PIPELINE)
+public class RecastJsonDocumentTest extends RecasterTestBase {
+  private Recast recast;
+
+  @Before
+  public void setup() {
+    recast = new Recast(new Recaster(RecasterOptions.builder().workWithMaps(true).build()), ImmutableSet.of());
+  }
+
+  @Test
+  @Owner(developers = ALEXEI)
+  @Category(UnitTests.class)
+  public void shouldWriteSameJsonAsMap() {
+    Map<String, Object> values = new LinkedHashMap<>();
+    values.put("a", 1);
+    values.put("b", Arrays.asList("x", "y"));
+    values.put("c", new DummyChild("nested", null));
+    DummyParent parent = DummyParent.builder()
+                             .name("parent")
+                             .count(3)
+                             .enabled(true)
+                             .type(DummyType.SECOND)
+                             .date(new Date(1000))
+                             .child(new DummyChild("child", 5L))
+                             .children(Arrays.asList(new DummyChild("first", 1L), null, new DummyChild("second", 2L)))
+                             .values(values)
+                             .tags(new String[] {"t1", "t2"})
+                             .build();
+
+    assertSameJson(parent);
+    assertSameJson(DummyParent.builder().build());
+    assertSameJson(values);
+    assertSameJson(Arrays.asList(parent, "value"));
+    assertSameJson(new DummyClash("first", "second"));
+  }
+
+  @Test
+  @Owner(developers = ALEXEI)
+  @Category(UnitTests.class)
+  public void shouldWriteNull() {
+    assertThat(recast.toJson(null, false)).isNull();
+  }
+
+  private void assertSameJson(Object entity) {
+    assertThat(recast.toJson(entity, false)).isEqualTo(JsonUtils.asJson(recast.toMap(entity, false)));
+    assertThat(recast.toJson(entity, true)).isEqualTo(JsonUtils.asJson(recast.toMap(entity, true)));
+  }
+
+  private enum DummyType { FIRST, SECOND }
+
+  @Builder
+  @NoArgsConstructor
+  @AllArgsConstructor
+  private static class DummyParent {
+    private String name;
+    private int count;
+    private Boolean enabled;
+    private DummyType type;
+    private Date date;
+    @RecasterFieldName(name = "renamedChild") private DummyChild child;
+    private List<DummyChild> children;
+    private Map<String, Object> values;
+    private String[] tags;
+  }
+
+  @NoArgsConstructor
+  @AllArgsConstructor
+  private static class DummyChild {
+    private String value;
+    private Long number;
+  }
+
+  @NoArgsConstructor
+  @AllArgsConstructor
+  private static class DummyClash {
+    private String first;
+    @RecasterFieldName(name = "first") private String second;
+  }
+}
@@ -28,6 +28,7 @@ import io.harness.expression.common.ExpressionMode;
 import io.harness.expression.functors.DateTimeFunctor;
 import io.harness.serializer.JsonUtils;
 import io.harness.text.resolver.ExpressionResolver;
+import io.harness.text.resolver.ExpressionTemplate;
 import io.harness.text.resolver.StringReplacer;
 import io.harness.text.resolver.StringReplacerResponse;
 import io.harness.text.resolver.TrackingExpressionResolver;
@@ -48,12 +49,10 @@ import javax.validation.constraints.NotNull;
 import lombok.Getter;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.jexl3.JexlBuilder;
 import org.apache.commons.jexl3.JexlEngine;
 import org.apache.commons.jexl3.JexlException;
 import org.apache.commons.jexl3.JexlExpression;
 import org.apache.commons.lang3.RandomStringUtils;
-import org.apache.commons.logging.impl.NoOpLog;
 import org.hibernate.validator.constraints.NotEmpty;
 
 @CodePulse(module = ProductModule.CDS, unitCoverageRequired = true,
@@ -85,7 +84,7 @@ public class EngineExpressionEvaluator {
   private boolean initialized;
 
   public EngineExpressionEvaluator(VariableResolverTracker variableResolverTracker) {
-    this.engine = new JexlBuilder().logger(new NoOpLog()).create();
+    this.engine = JexlCompiledExpressionCache.getEngine();
     this.variableResolverTracker =
         variableResolverTracker == null ? new VariableResolverTracker() : variableResolverTracker;
     this.contextMap = new LateBindingMap();
@@ -219,18 +218,29 @@ public class EngineExpressionEvaluator {
   }
 
   public String renderExpression(String expression, Map<String, Object> ctx, ExpressionMode expressionMode) {
-    if (!hasExpressions(expression)) {
+    ExpressionTemplate template = ExpressionTemplateCache.get(expression);
+    if (!template.hasExpressions()) {
       return expression;
     }
-    return renderExpressionInternal(expression, prepareContext(ctx), MAX_DEPTH, expressionMode);
+    return renderExpressionInternal(template, prepareContext(ctx), MAX_DEPTH, expressionMode);
   }
 
   public String renderExpressionInternal(
       @NotNull String expression, @NotNull EngineJexlContext ctx, int depth, ExpressionMode expressionMode) {
+    return renderExpressionInternal(ExpressionTemplateCache.get(expression), ctx, depth, expressionMode);
+  }
+
+  /**
+   * Render a pre-tokenized template. The template is walked segment by segment instead of scanning the source string
+   * for expression delimiters again.
+   */
+  public String renderExpressionInternal(@NotNull ExpressionTemplate template, @NotNull EngineJexlContext ctx,
+      int depth, ExpressionMode expressionMode) {
+    String expression = template.getSource();
     checkDepth(depth, expression);
     RenderExpressionResolver resolver = new RenderExpressionResolver(this, ctx, depth, expressionMode);
     try {
-      String finalExpression = runStringReplacer(expression, resolver);
+      String finalExpression = template.render(resolver);
       if (expressionMode == ExpressionMode.THROW_EXCEPTION_IF_UNRESOLVED
           && EmptyPredicate.isNotEmpty(resolver.getUnresolvedExpressions())) {
         throw new UnresolvedExpressionsException(new ArrayList<>(resolver.getUnresolvedExpressions()));
@@ -241,7 +251,7 @@ public class EngineExpressionEvaluator {
       if (ctx.isFeatureFlagEnabled(PIE_EXPRESSION_CONCATENATION)) {
         ctx.removeFeatureFlag(PIE_EXPRESSION_CONCATENATION);
         resolver = new RenderExpressionResolver(this, ctx, depth, expressionMode);
-        String finalExpression = runStringReplacer(expression, resolver);
+        String finalExpression = template.render(resolver);
         if (expressionMode == ExpressionMode.THROW_EXCEPTION_IF_UNRESOLVED
             && EmptyPredicate.isNotEmpty(resolver.getUnresolvedExpressions())) {
           throw new UnresolvedExpressionsException(new ArrayList<>(resolver.getUnresolvedExpressions()));
@@ -382,19 +392,21 @@ public class EngineExpressionEvaluator {
 
   public PartialEvaluateResult partialRenderExpression(
       String expression, Map<String, Object> ctx, ExpressionMode expressionMode) {
-    if (!hasExpressions(expression)) {
+    ExpressionTemplate template = ExpressionTemplateCache.get(expression);
+    if (!template.hasExpressions()) {
       return PartialEvaluateResult.createCompleteResult(expression);
     }
-    return partialRenderExpressionInternal(expression, prepareContext(ctx), new HashMap<>(), MAX_DEPTH, expressionMode);
+    return partialRenderExpressionInternal(template, prepareContext(ctx), new HashMap<>(), MAX_DEPTH, expressionMode);
   }
 
-  private PartialEvaluateResult partialRenderExpressionInternal(@NotNull String expression,
+  private PartialEvaluateResult partialRenderExpressionInternal(@NotNull ExpressionTemplate template,
       @NotNull EngineJexlContext ctx, @NotNull Map<String, Object> partialCtx, int depth,
       ExpressionMode expressionMode) {
+    String expression = template.getSource();
     checkDepth(depth, expression);
     PartialEvaluateExpressionResolver resolver =
         new PartialEvaluateExpressionResolver(this, ctx, partialCtx, depth, expressionMode);
-    String finalExpression = runStringReplacer(expression, resolver);
+    String finalExpression = template.render(resolver);
     ctx.addToContext(partialCtx);
     if (!hasExpressions(finalExpression)) {
       return PartialEvaluateResult.createCompleteResult(evaluateInternal(expression, ctx));
@@ -410,7 +422,7 @@ public class EngineExpressionEvaluator {
       return PartialEvaluateResult.createPartialResult(finalExpression, partialCtx);
     } else {
       return PartialEvaluateResult.createCompleteResult(
-          renderExpressionInternal(expression, ctx, depth, expressionMode));
+          renderExpressionInternal(template, ctx, depth, expressionMode));
     }
   }
 
@@ -656,9 +668,9 @@ public class EngineExpressionEvaluator {
 
   protected Object evaluateByCreatingExpression(@NotNull String expression, @NotNull EngineJexlContext ctx) {
     if (ctx.isFeatureFlagEnabled(PIE_EXECUTION_JSON_SUPPORT)) {
-      return engine.createScript(expression).execute(ctx);
+      return JexlCompiledExpressionCache.getScript(expression).execute(ctx);
     }
-    JexlExpression jexlExpression = engine.createExpression(expression);
+    JexlExpression jexlExpression = JexlCompiledExpressionCache.getExpression(expression);
     return jexlExpression.evaluate(ctx);
   }
 
@@ -678,7 +690,7 @@ public class EngineExpressionEvaluator {
 
     if (ctx.isFeatureFlagEnabled(PIE_EXECUTION_JSON_SUPPORT)) {
       try {
-        return engine.createScript(expression).execute(ctx);
+        return JexlCompiledExpressionCache.getScript(expression).execute(ctx);
       } catch (Exception e) {
         if (response.isOnlyRenderedExpressions()) {
           return null;
@@ -687,7 +699,7 @@ public class EngineExpressionEvaluator {
       }
     }
     try {
-      JexlExpression jexlExpression = engine.createExpression(expression);
+      JexlExpression jexlExpression = JexlCompiledExpressionCache.getExpression(expression);
       return jexlExpression.evaluate(ctx);
     } catch (Exception e) {
       if (response.isOnlyRenderedExpressions()) {
@@ -698,7 +710,7 @@ public class EngineExpressionEvaluator {
   }
 
   protected Object evaluateByCreatingScript(@NotNull String expression, @NotNull EngineJexlContext ctx) {
-    return engine.createScript(expression).execute(ctx);
+    return JexlCompiledExpressionCache.getScript(expression).execute(ctx);
   }
 
   private EngineJexlContext prepareContext(Map<String, Object> ctx) {
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.expression;
+
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.expression.common.ExpressionConstants;
+import io.harness.text.resolver.ExpressionTemplate;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Process wide cache of {@link ExpressionTemplate}s for the <+...> syntax. Plan nodes of the same plan carry the same
+ * YAML field values for every execution, so each field is tokenized once and subsequent renders only walk the
+ * pre-parsed segments. The cache is bounded by the total number of characters of the cached sources.
+ */
+@OwnedBy(HarnessTeam.PIPELINE)
+@UtilityClass
+public class ExpressionTemplateCache {
+  static final String MAX_WEIGHT_PROPERTY = "harness.expression.templateCacheMaxChars";
+  private static final long DEFAULT_MAX_WEIGHT = 16L * 1024 * 1024;
+
+  private static final Cache<String, ExpressionTemplate> CACHE =
+      CacheBuilder.newBuilder()
+          .maximumWeight(Long.getLong(MAX_WEIGHT_PROPERTY, DEFAULT_MAX_WEIGHT))
+          .weigher((String source, ExpressionTemplate template) -> source.length())
+          .recordStats()
+          .build();
+
+  /**
+   * Returns the template for the given source. Strings without an expression prefix are never cached since building
+   * their template doesn't require a scan.
+   */
+  public ExpressionTemplate get(String source) {
+    if (source == null || !source.contains(ExpressionConstants.EXPR_START)) {
+      return compile(source);
+    }
+
+    ExpressionTemplate template = CACHE.getIfPresent(source);
+    if (template == null) {
+      template = compile(source);
+      CACHE.put(source, template);
+    }
+    return template;
+  }
+
+  /**
+   * Hit, miss and eviction counters of the cache since startup.
+   */
+  public CacheStats getStats() {
+    return CACHE.stats();
+  }
+
+  private ExpressionTemplate compile(String source) {
+    return ExpressionTemplate.compile(source, ExpressionConstants.EXPR_START, ExpressionConstants.EXPR_END);
+  }
+
+  @VisibleForTesting
+  void invalidateAll() {
+    CACHE.invalidateAll();
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.expression;
+
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import javax.validation.constraints.NotNull;
+import lombok.Value;
+import lombok.experimental.UtilityClass;
+import org.apache.commons.jexl3.JexlBuilder;
+import org.apache.commons.jexl3.JexlEngine;
+import org.apache.commons.jexl3.JexlExpression;
+import org.apache.commons.jexl3.JexlScript;
+import org.apache.commons.logging.impl.NoOpLog;
+
+/**
+ * Process wide cache of compiled JEXL expressions and scripts. Compiled JEXL objects are immutable and thread safe, so
+ * the same expression text evaluated by different {@link EngineExpressionEvaluator} instances (and threads) is parsed
+ * only once. All entries are compiled by a single shared {@link JexlEngine}, which is also the engine handed out to
+ * evaluators so that functors and cached expressions share the same introspection caches.
+ */
+@OwnedBy(HarnessTeam.PIPELINE)
+@UtilityClass
+public class JexlCompiledExpressionCache {
+  static final String MAX_SIZE_PROPERTY = "harness.expression.jexlCacheMaxSize";
+  private static final long DEFAULT_MAX_SIZE = 10000;
+
+  private static final JexlEngine ENGINE = new JexlBuilder().logger(new NoOpLog()).create();
+  private static final Cache<CompiledKey, Object> CACHE =
+      CacheBuilder.newBuilder().maximumSize(Long.getLong(MAX_SIZE_PROPERTY, DEFAULT_MAX_SIZE)).recordStats().build();
+
+  public JexlEngine getEngine() {
+    return ENGINE;
+  }
+
+  /**
+   * Returns the compiled form of the given expression as created by {@link JexlEngine#createExpression(String)}.
+   * Parse errors are thrown as {@link org.apache.commons.jexl3.JexlException} exactly like the uncached call.
+   */
+  public JexlExpression getExpression(@NotNull String expression) {
+    CompiledKey key = new CompiledKey(expression, false);
+    JexlExpression jexlExpression = (JexlExpression) CACHE.getIfPresent(key);
+    if (jexlExpression == null) {
+      jexlExpression = ENGINE.createExpression(expression);
+      CACHE.put(key, jexlExpression);
+    }
+    return jexlExpression;
+  }
+
+  /**
+   * Returns the compiled form of the given script as created by {@link JexlEngine#createScript(String)}. Parse errors
+   * are thrown as {@link org.apache.commons.jexl3.JexlException} exactly like the uncached call.
+   */
+  public JexlScript getScript(@NotNull String script) {
+    CompiledKey key = new CompiledKey(script, true);
+    JexlScript jexlScript = (JexlScript) CACHE.getIfPresent(key);
+    if (jexlScript == null) {
+      jexlScript = ENGINE.createScript(script);
+      CACHE.put(key, jexlScript);
+    }
+    return jexlScript;
+  }
+
+  /**
+   * Hit, miss and eviction counters of the cache since startup.
+   */
+  public CacheStats getStats() {
+    return CACHE.stats();
+  }
+
+  public long size() {
+    return CACHE.size();
+  }
+
+  @VisibleForTesting
+  void invalidateAll() {
+    CACHE.invalidateAll();
+  }
+
+  @Value
+  private static class CompiledKey {
+    String text;
+    boolean script;
+  }
+}
@@ -24,7 +24,18 @@ public class LogSanitizerHelper {
   public static final Pattern github = Pattern.compile(GITHUB_TOKENS);
   public static final Pattern pattern = Pattern.compile(JWT_REGEX);
 
+  /**
+   * Masks the secrets of the masker and then the tokens in the message.
+   */
+  public static String sanitize(String message, SecretMasker secretMasker) {
+    return sanitizeTokens(secretMasker.mask(message));
+  }
+
   public static String sanitizeTokens(String message) {
+    // Both a JWT and a github token need a char which most log lines do not have
+    if (message.indexOf('.') < 0 && !message.contains("ghp_")) {
+      return message;
+    }
     String finalMessage = message;
     List<String> regexMatches = pattern.matcher(message)
                                     .results()
@@ -33,7 +44,7 @@ public class LogSanitizerHelper {
     for (String regexMatch : regexMatches) {
       try {
         JWT.decode(regexMatch);
-        message = message.replaceAll(regexMatch, SECRET_MASK);
+        message = message.replace(regexMatch, SECRET_MASK);
       } catch (JWTDecodeException ignored) {
       } catch (Exception ex) {
         log.error("Error while trying to decode JWT", ex);
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.logging;
+
+import static io.harness.expression.SecretString.SECRET_MASK;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+
+/**
+ * Masks every occurrence of a fixed set of secrets in a single pass over the message, whatever the number of secrets.
+ * The secrets are compiled once into an Aho-Corasick automaton, so a masker should be built once per secret set and
+ * reused for all the log lines.
+ *
+ * Overlapping occurrences are masked together with a single mask, so no part of any secret is left visible.
+ * Instances are immutable and can be shared between threads.
+ */
+public final class SecretMasker {
+  public static final SecretMasker EMPTY = new SecretMasker(new ArrayList<>());
+
+  // Node 0 is the root. The children of a node are kept sorted by char for a binary search.
+  private final char[][] childChars;
+  private final int[][] childNodes;
+  private final int[] failure;
+  // Length of the longest secret which is a suffix of the text read when in this node, 0 if none
+  private final int[] longestMatch;
+
+  public static SecretMasker of(Collection<String> secrets) {
+    List<String> nonEmptySecrets = new ArrayList<>();
+    if (secrets != null) {
+      for (String secret : secrets) {
+        if (secret != null && !secret.isEmpty()) {
+          nonEmptySecrets.add(secret);
+        }
+      }
+    }
+    return nonEmptySecrets.isEmpty() ? EMPTY : new SecretMasker(nonEmptySecrets);
+  }
+
+  private SecretMasker(List<String> secrets) {
+    List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+    List<Integer> secretLengths = new ArrayList<>();
+    trie.add(new TreeMap<>());
+    secretLengths.add(0);
+    for (String secret : secrets) {
+      int node = 0;
+      for (int i = 0; i < secret.length(); i++) {
+        Integer child = trie.get(node).get(secret.charAt(i));
+        if (child == null) {
+          child = trie.size();
+          trie.add(new TreeMap<>());
+          secretLengths.add(0);
+          trie.get(node).put(secret.charAt(i), child);
+        }
+        node = child;
+      }
+      secretLengths.set(node, secret.length());
+    }
+
+    int size = trie.size();
+    childChars = new char[size][];
+    childNodes = new int[size][];
+    for (int node = 0; node < size; node++) {
+      TreeMap<Character, Integer> children = trie.get(node);
+      childChars[node] = new char[children.size()];
+      childNodes[node] = new int[children.size()];
+      int index = 0;
+      for (Map.Entry<Character, Integer> child : children.entrySet()) {
+        childChars[node][index] = child.getKey();
+        childNodes[node][index] = child.getValue();
+        index++;
+      }
+    }
+
+    // Breadth first, so the failure node of a node is always complete before the node itself
+    failure = new int[size];
+    longestMatch = new int[size];
+    Queue<Integer> queue = new ArrayDeque<>();
+    queue.add(0);
+    while (!queue.isEmpty()) {
+      int node = queue.poll();
+      longestMatch[node] = Math.max(secretLengths.get(node), longestMatch[failure[node]]);
+      for (int index = 0; index < childChars[node].length; index++) {
+        int child = childNodes[node][index];
+        failure[child] = node == 0 ? 0 : next(failure[node], childChars[node][index]);
+        queue.add(child);
+      }
+    }
+  }
+
+  public boolean isEmpty() {
+    return this == EMPTY;
+  }
+
+  /**
+   * Returns the message with every secret replaced by {@link io.harness.expression.SecretString#SECRET_MASK}, the
+   * message itself when it contains no secret.
+   */
+  public String mask(String message) {
+    if (message == null || isEmpty()) {
+      return message;
+    }
+    // Masked ranges as start0, end0, start1, end1... with exclusive ends, sorted and not overlapping
+    int[] ranges = null;
+    int rangeCount = 0;
+    int node = 0;
+    for (int i = 0; i < message.length(); i++) {
+      node = next(node, message.charAt(i));
+      if (longestMatch[node] == 0) {
+        continue;
+      }
+      int start = i + 1 - longestMatch[node];
+      int end = i + 1;
+      // Ends only grow, so a new match can only overlap the last ranges
+      while (rangeCount > 0 && start < ranges[2 * rangeCount - 1]) {
+        start = Math.min(start, ranges[2 * rangeCount - 2]);
+        rangeCount--;
+      }
+      if (ranges == null) {
+        ranges = new int[8];
+      } else if (2 * rangeCount + 2 > ranges.length) {
+        ranges = Arrays.copyOf(ranges, ranges.length * 2);
+      }
+      ranges[2 * rangeCount] = start;
+      ranges[2 * rangeCount + 1] = end;
+      rangeCount++;
+    }
+    if (rangeCount == 0) {
+      return message;
+    }
+
+    StringBuilder masked = new StringBuilder(message.length());
+    int position = 0;
+    for (int range = 0; range < rangeCount; range++) {
+      masked.append(message, position, ranges[2 * range]).append(SECRET_MASK);
+      position = ranges[2 * range + 1];
+    }
+    return masked.append(message, position, message.length()).toString();
+  }
+
+  private int next(int node, char c) {
+    while (true) {
+      int index = Arrays.binarySearch(childChars[node], c);
+      if (index >= 0) {
+        return childNodes[node][index];
+      }
+      if (node == 0) {
+        return 0;
+      }
+      node = failure[node];
+    }
+  }
+}
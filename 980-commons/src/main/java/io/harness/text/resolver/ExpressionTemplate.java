@@ -0,0 +1,159 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Shield 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/06/PolyForm-Shield-1.0.0.txt.
+ */
+
+package io.harness.text.resolver;
+
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import lombok.Getter;
+
+/**
+ * ExpressionTemplate is the pre-tokenized form of a source string: the literal segments and the top level expressions
+ * found between them. Parsing follows exactly the same rules as {@link StringReplacer} (nested expressions, escaped
+ * suffixes and unterminated expressions), so {@link #render(ExpressionResolver)} returns the same value as
+ * {@link StringReplacer#replace(String)} for the same resolver, without scanning the source again.
+ *
+ * Templates are immutable and can be shared between threads.
+ */
+@OwnedBy(HarnessTeam.PIPELINE)
+public class ExpressionTemplate {
+  private static final char ESCAPE_CHAR = '\\';
+
+  @Getter private final String source;
+  private final String expressionPrefix;
+  private final String expressionSuffix;
+  // literals.length == expressions.length + 1, literals[i] precedes expressions[i].
+  private final String[] literals;
+  private final String[] expressions;
+
+  private ExpressionTemplate(String source, String expressionPrefix, String expressionSuffix, String[] literals,
+      String[] expressions) {
+    this.source = source;
+    this.expressionPrefix = expressionPrefix;
+    this.expressionSuffix = expressionSuffix;
+    this.literals = literals;
+    this.expressions = expressions;
+  }
+
+  public static ExpressionTemplate compile(String source, String expressionPrefix, String expressionSuffix) {
+    if (source == null || !source.contains(expressionPrefix)) {
+      return new ExpressionTemplate(source, expressionPrefix, expressionSuffix, new String[] {source}, new String[0]);
+    }
+
+    char[] prefix = expressionPrefix.toCharArray();
+    char[] suffix = expressionSuffix.toCharArray();
+    List<String> literals = new ArrayList<>();
+    List<String> expressions = new ArrayList<>();
+    StringBuilder buf = new StringBuilder(source);
+    int literalStartPos = 0;
+    int bufEnd = buf.length();
+    int pos = 0;
+    while (pos < bufEnd) {
+      if (!isMatch(prefix, buf, pos, bufEnd)) {
+        pos++;
+        continue;
+      }
+
+      // Found expression prefix
+      int expressionStartPos = pos;
+      pos += prefix.length;
+      int nestedExpressionCount = 0;
+      while (pos < bufEnd) {
+        if (isMatch(prefix, buf, pos, bufEnd)) {
+          nestedExpressionCount++;
+          pos += prefix.length;
+          continue;
+        }
+
+        if (!isMatch(suffix, buf, pos, bufEnd)) {
+          if (isMatch(ESCAPE_CHAR, buf, pos, bufEnd) && isMatch(suffix, buf, pos + 1, bufEnd)) {
+            // Escaped suffix, StringReplacer drops the escape char and skips over the suffix
+            buf.deleteCharAt(pos);
+            bufEnd = buf.length();
+            pos += suffix.length;
+          } else {
+            pos++;
+          }
+          continue;
+        }
+
+        // Found expression suffix
+        pos += suffix.length;
+        if (nestedExpressionCount > 0) {
+          nestedExpressionCount--;
+          continue;
+        }
+
+        literals.add(buf.substring(literalStartPos, expressionStartPos));
+        expressions.add(buf.substring(expressionStartPos + prefix.length, pos - suffix.length));
+        literalStartPos = pos;
+        break;
+      }
+    }
+    literals.add(buf.substring(literalStartPos));
+    return new ExpressionTemplate(source, expressionPrefix, expressionSuffix, literals.toArray(new String[0]),
+        expressions.toArray(new String[0]));
+  }
+
+  public boolean hasExpressions() {
+    return expressions.length > 0;
+  }
+
+  /**
+   * @return the top level expressions without delimiters, in the order in which they appear in the source
+   */
+  public List<String> getExpressions() {
+    return Collections.unmodifiableList(Arrays.asList(expressions));
+  }
+
+  /**
+   * Resolve every expression with the given resolver and stitch the values between the literal segments. Expressions
+   * are resolved in order, exactly once each. If none of the values differs from its expression the original source is
+   * returned.
+   */
+  public String render(ExpressionResolver expressionResolver) {
+    if (expressions.length == 0) {
+      return source;
+    }
+
+    boolean altered = false;
+    StringBuilder sb = new StringBuilder(source.length());
+    for (int i = 0; i < expressions.length; i++) {
+      sb.append(literals[i]);
+      String expressionValue = expressionResolver.resolve(expressions[i]);
+      sb.append(expressionValue);
+      altered = altered || !isUnchanged(expressions[i], expressionValue);
+    }
+    sb.append(literals[expressions.length]);
+    return altered ? sb.toString() : source;
+  }
+
+  private boolean isUnchanged(String expression, String expressionValue) {
+    return (expressionPrefix + expression + expressionSuffix).equals(expressionValue);
+  }
+
+  private static boolean isMatch(char ch, StringBuilder buf, int bufStart, int bufEnd) {
+    return bufStart < bufEnd && buf.charAt(bufStart) == ch;
+  }
+
+  private static boolean isMatch(char[] str, StringBuilder buf, int bufStart, int bufEnd) {
+    if (bufStart + str.length > bufEnd) {
+      return false;
+    }
+    for (int i = 0, j = bufStart; i < str.length; i++, j++) {
+      if (str[i] != buf.charAt(j)) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
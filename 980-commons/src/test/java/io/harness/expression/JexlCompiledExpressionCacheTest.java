@@ -0,0 +1,84 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.expression;
+
+import static io.harness.rule.OwnerRule.ARCHIT;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.harness.CategoryTest;
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.category.element.UnitTests;
+import io.harness.rule.Owner;
+
+import com.google.common.cache.CacheStats;
+import org.apache.commons.jexl3.JexlException;
+import org.apache.commons.jexl3.JexlExpression;
+import org.apache.commons.jexl3.JexlScript;
+import org.apache.commons.jexl3.MapContext;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@OwnedBy(HarnessTeam.PIPELINE)
+public class JexlCompiledExpressionCacheTest extends CategoryTest {
+  @Before
+  public void setUp() {
+    JexlCompiledExpressionCache.invalidateAll();
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testCompiledExpressionIsReused() {
+    CacheStats before = JexlCompiledExpressionCache.getStats();
+    JexlExpression first = JexlCompiledExpressionCache.getExpression("1 + 2");
+    JexlExpression second = JexlCompiledExpressionCache.getExpression("1 + 2");
+    CacheStats diff = JexlCompiledExpressionCache.getStats().minus(before);
+
+    assertThat(second).isSameAs(first);
+    assertThat(second.evaluate(new MapContext())).isEqualTo(3);
+    assertThat(diff.missCount()).isEqualTo(1);
+    assertThat(diff.hitCount()).isEqualTo(1);
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testScriptsAndExpressionsAreCachedSeparately() {
+    JexlExpression expression = JexlCompiledExpressionCache.getExpression("'a'");
+    JexlScript script = JexlCompiledExpressionCache.getScript("'a'");
+
+    assertThat((Object) script).isNotSameAs(expression);
+    assertThat(JexlCompiledExpressionCache.getScript("'a'")).isSameAs(script);
+    assertThat(JexlCompiledExpressionCache.size()).isEqualTo(2);
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testParseFailuresAreNotCached() {
+    assertThatThrownBy(() -> JexlCompiledExpressionCache.getExpression("1 +")).isInstanceOf(JexlException.class);
+    assertThat(JexlCompiledExpressionCache.size()).isEqualTo(0);
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testEvaluatorsShareEngine() {
+    EngineExpressionEvaluator first = new EngineExpressionEvaluator(null);
+    EngineExpressionEvaluator second = new EngineExpressionEvaluator(null);
+
+    assertThat(first.getEngine()).isSameAs(second.getEngine());
+    assertThat(first.evaluateExpression("2 * 3")).isEqualTo(6);
+    assertThat(second.evaluateExpression("2 * 3")).isEqualTo(6);
+    assertThat(JexlCompiledExpressionCache.size()).isEqualTo(1);
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.logging;
+
+import static io.harness.expression.SecretString.SECRET_MASK;
+import static io.harness.rule.OwnerRule.GEORGE;
+
+import static org.apache.commons.lang3.StringUtils.replaceEach;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.harness.CategoryTest;
+import io.harness.category.element.UnitTests;
+import io.harness.rule.Owner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+public class SecretMaskerTest extends CategoryTest {
+  @Test
+  @Owner(developers = GEORGE)
+  @Category(UnitTests.class)
+  public void testMask() {
+    SecretMasker masker = SecretMasker.of(Arrays.asList("secret", "password", "word1"));
+
+    assertThat(masker.mask("nothing to hide here")).isEqualTo("nothing to hide here");
+    assertThat(masker.mask("secret")).isEqualTo(SECRET_MASK);
+    assertThat(masker.mask("a secret and a password")).isEqualTo("a " + SECRET_MASK + " and a " + SECRET_MASK);
+    assertThat(masker.mask("secretsecret")).isEqualTo(SECRET_MASK + SECRET_MASK);
+    assertThat(masker.mask("sesecret!")).isEqualTo("se" + SECRET_MASK + "!");
+  }
+
+  @Test
+  @Owner(developers = GEORGE)
+  @Category(UnitTests.class)
+  public void testOverlappingSecretsAreMaskedTogether() {
+    SecretMasker masker = SecretMasker.of(Arrays.asList("abc", "bcd", "b"));
+
+    assertThat(masker.mask("xabcdx")).isEqualTo("x" + SECRET_MASK + "x");
+    assertThat(masker.mask("xbx")).isEqualTo("x" + SECRET_MASK + "x");
+    assertThat(mask("password1", "password", "word1")).isEqualTo(SECRET_MASK);
+  }
+
+  @Test
+  @Owner(developers = GEORGE)
+  @Category(UnitTests.class)
+  public void testEmpty() {
+    assertThat(SecretMasker.of(null).isEmpty()).isTrue();
+    assertThat(SecretMasker.of(Collections.singleton("")).isEmpty()).isTrue();
+    assertThat(SecretMasker.EMPTY.mask("message")).isEqualTo("message");
+    assertThat(SecretMasker.of(Collections.singleton("secret")).mask(null)).isNull();
+  }
+
+  @Test
+  @Owner(developers = GEORGE)
+  @Category(UnitTests.class)
+  public void testSameAsReplaceEachForSecretsWhichDoNotOverlap() {
+    Random random = new Random(7);
+    List<String> secrets = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      secrets.add("s" + i + "_" + Long.toHexString(random.nextLong()) + "#");
+    }
+    String[] masks = Collections.nCopies(secrets.size(), SECRET_MASK).toArray(new String[0]);
+    SecretMasker masker = SecretMasker.of(secrets);
+
+    for (int line = 0; line < 100; line++) {
+      StringBuilder message = new StringBuilder();
+      for (int word = 0; word < 20; word++) {
+        message.append(random.nextInt(4) == 0 ? secrets.get(random.nextInt(secrets.size())) : "word" + word)
+            .append(' ');
+      }
+      assertThat(masker.mask(message.toString()))
+          .isEqualTo(replaceEach(message.toString(), secrets.toArray(new String[0]), masks));
+    }
+  }
+
+  private static String mask(String message, String... secrets) {
+    return SecretMasker.of(Arrays.asList(secrets)).mask(message);
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.text.resolver;
+
+import static io.harness.rule.OwnerRule.GARVIT;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.harness.CategoryTest;
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.category.element.UnitTests;
+import io.harness.rule.Owner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@OwnedBy(HarnessTeam.PIPELINE)
+public class ExpressionTemplateTest extends CategoryTest {
+  private static final List<String> SOURCES = Arrays.asList(null, "", "abc", "<+abc>", "x <+abc> y <+def> z",
+      "<+<+abc>.contains(<+def>)>", "abc <+def \\> ghi> jkl", "abc <+def", "abc \\> <+def> <+ghi \\> jkl",
+      "<+a><+b>", "<+>", "a <+b <+c> d");
+
+  @Test
+  @Owner(developers = GARVIT)
+  @Category(UnitTests.class)
+  public void testRenderMatchesStringReplacer() {
+    for (String source : SOURCES) {
+      ExpressionTemplate template = ExpressionTemplate.compile(source, "<+", ">");
+      assertThat(template.render(new UpperCaseResolver())).isEqualTo(replace(source, new UpperCaseResolver()));
+      assertThat(template.render(new IdentityResolver())).isEqualTo(replace(source, new IdentityResolver()));
+      assertThat(template.hasExpressions())
+          .isEqualTo(!TrackingExpressionResolver.findExpressions("<+", ">", false, false, source).isEmpty());
+    }
+  }
+
+  @Test
+  @Owner(developers = GARVIT)
+  @Category(UnitTests.class)
+  public void testExpressionsAreResolvedInOrder() {
+    ExpressionTemplate template = ExpressionTemplate.compile("a <+<+b>.c> d <+e \\> f> g", "<+", ">");
+    assertThat(template.getExpressions()).containsExactly("<+b>.c", "e > f");
+
+    UpperCaseResolver resolver = new UpperCaseResolver();
+    assertThat(template.render(resolver)).isEqualTo("a <+B>.C d E > F g");
+    assertThat(resolver.resolved).containsExactly("<+b>.c", "e > f");
+  }
+
+  @Test
+  @Owner(developers = GARVIT)
+  @Category(UnitTests.class)
+  public void testSourceReturnedWhenUnaltered() {
+    String source = "a <+b \\> c> d";
+    assertThat(ExpressionTemplate.compile(source, "<+", ">").render(new IdentityResolver())).isSameAs(source);
+    assertThat(ExpressionTemplate.compile("abc", "<+", ">").hasExpressions()).isFalse();
+  }
+
+  private static String replace(String source, ExpressionResolver resolver) {
+    return new StringReplacer(resolver, "<+", ">").replace(source);
+  }
+
+  private static class UpperCaseResolver implements ExpressionResolver {
+    private final List<String> resolved = new ArrayList<>();
+
+    @Override
+    public String resolveInternal(String expression) {
+      resolved.add(expression);
+      return expression.toUpperCase();
+    }
+  }
+
+  private static class IdentityResolver implements ExpressionResolver {
+    @Override
+    public String resolveInternal(String expression) {
+      return "<+" + expression + ">";
+    }
+  }
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.accesscontrol.acl;
+
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@OwnedBy(HarnessTeam.PL)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ACLIndexConfig {
+  @Builder.Default private boolean enabled = false;
+  // Upper bound on the number of ACLs held in memory across all the principals
+  @Builder.Default private long maximumACLs = 2000000;
+  @Builder.Default private long expireAfterAccessMinutes = 30;
+}
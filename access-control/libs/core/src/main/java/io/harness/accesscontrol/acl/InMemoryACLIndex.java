@@ -0,0 +1,338 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.accesscontrol.acl;
+
+import static io.harness.annotations.dev.HarnessTeam.PL;
+
+import io.harness.accesscontrol.acl.persistence.ACL;
+import io.harness.accesscontrol.acl.persistence.ACL.ACLKeys;
+import io.harness.accesscontrol.acl.persistence.repositories.ACLRepository;
+import io.harness.annotations.dev.OwnedBy;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalNotification;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+/**
+ * In-memory index of the enabled ACLs, grouped by principal and account. The ACLs of a principal in an account are
+ * loaded with one query the first time they are needed and afterwards permission checks are answered from memory.
+ *
+ * The index follows the change stream of the ACL collection which the aggregator writes to. Every change to an ACL
+ * evicts the principal it belongs to, so the next check reloads it. While the change stream is not open the index is
+ * bypassed and all lookups go to Mongo, so a stale entry is never served. Total memory is bounded by the number of
+ * ACLs held, the least recently used principals are evicted first.
+ */
+@OwnedBy(PL)
+@Singleton
+@Slf4j
+public class InMemoryACLIndex {
+  private static final String DELIMITER = "$";
+  private static final String PATH_DELIMITER = "/";
+  private static final String ID_KEY = "_id";
+  private static final long RECONNECT_DELAY_MILLIS = 5000;
+
+  private final ACLRepository aclRepository;
+  private final MongoTemplate mongoTemplate;
+  @Inject(optional = true) private ACLIndexConfig config = ACLIndexConfig.builder().build();
+
+  private final Map<String, String> principalKeyByAclId = new ConcurrentHashMap<>();
+  // Loads in progress per principal key, flagged when a change for the principal arrives during the load
+  private final Map<String, Set<AtomicBoolean>> loading = new ConcurrentHashMap<>();
+  private volatile Cache<String, PrincipalACLs> cache;
+  private volatile boolean streaming;
+
+  @Inject
+  public InMemoryACLIndex(@Named(ACL.PRIMARY_COLLECTION) ACLRepository aclRepository, MongoTemplate mongoTemplate) {
+    this.aclRepository = aclRepository;
+    this.mongoTemplate = mongoTemplate;
+  }
+
+  /**
+   * Index which does not follow the change stream, changes are fed through {@link #onChange}.
+   */
+  @VisibleForTesting
+  InMemoryACLIndex(ACLRepository aclRepository, ACLIndexConfig config) {
+    this(aclRepository, (MongoTemplate) null);
+    this.config = config;
+  }
+
+  public boolean isEnabled() {
+    return config != null && config.isEnabled();
+  }
+
+  /**
+   * Enabled ACLs with one of the given query strings. Query strings which do not belong to a principal in an account
+   * are looked up in Mongo.
+   */
+  public List<ACL> getByAclQueryStrings(Set<String> aclQueryStrings) {
+    if (cache == null) {
+      start();
+    }
+    if (!streaming) {
+      return aclRepository.getByAclQueryStringInAndEnabled(aclQueryStrings, true);
+    }
+
+    Map<String, List<String>> queryStringsByPrincipalKey = new HashMap<>();
+    Set<String> unindexed = new HashSet<>();
+    for (String aclQueryString : aclQueryStrings) {
+      String principalKey = principalKeyOfQueryString(aclQueryString);
+      if (principalKey == null) {
+        unindexed.add(aclQueryString);
+      } else {
+        queryStringsByPrincipalKey.computeIfAbsent(principalKey, key -> new ArrayList<>()).add(aclQueryString);
+      }
+    }
+
+    List<ACL> acls = new ArrayList<>();
+    queryStringsByPrincipalKey.forEach((principalKey, queryStrings) -> {
+      PrincipalACLs principalACLs = getOrLoad(principalKey);
+      queryStrings.forEach(queryString
+          -> acls.addAll(principalACLs.aclsByQueryString.getOrDefault(queryString, Collections.emptyList())));
+    });
+    if (!unindexed.isEmpty()) {
+      acls.addAll(aclRepository.getByAclQueryStringInAndEnabled(unindexed, true));
+    }
+    return acls;
+  }
+
+  private PrincipalACLs getOrLoad(String principalKey) {
+    PrincipalACLs principalACLs = cache.getIfPresent(principalKey);
+    if (principalACLs != null) {
+      return principalACLs;
+    }
+
+    AtomicBoolean stale = new AtomicBoolean();
+    loading.compute(principalKey, (key, loads) -> {
+      Set<AtomicBoolean> updated = loads == null ? ConcurrentHashMap.newKeySet() : loads;
+      updated.add(stale);
+      return updated;
+    });
+    try {
+      String[] parts = principalKey.split("\\" + DELIMITER, 3);
+      List<ACL> acls = aclRepository.getByPrincipalInAccountAndEnabled(parts[1], parts[2], parts[0], true);
+      Map<String, List<ACL>> aclsByQueryString = new HashMap<>();
+      List<String> aclIds = new ArrayList<>(acls.size());
+      for (ACL acl : acls) {
+        String scope = acl.getAclQueryString().substring(0, acl.getAclQueryString().indexOf(DELIMITER));
+        // The range query on the scope can match an account whose identifier extends this one
+        if (!principalKey.equals(principalKey(accountScopeOf(scope), parts[1], parts[2]))) {
+          continue;
+        }
+        aclsByQueryString.computeIfAbsent(acl.getAclQueryString(), key -> new ArrayList<>()).add(acl);
+        aclIds.add(acl.getId());
+      }
+      principalACLs = new PrincipalACLs(aclsByQueryString, aclIds);
+
+      // Registered before the stale check, so that a delete arriving from here on finds the principal
+      aclIds.forEach(aclId -> principalKeyByAclId.put(aclId, principalKey));
+      if (streaming && !stale.get()) {
+        cache.put(principalKey, principalACLs);
+        if (stale.get()) {
+          // A change arrived between the check and the put
+          cache.invalidate(principalKey);
+        }
+      } else {
+        aclIds.forEach(aclId -> principalKeyByAclId.remove(aclId, principalKey));
+      }
+      return principalACLs;
+    } finally {
+      loading.computeIfPresent(principalKey, (key, loads) -> {
+        loads.remove(stale);
+        return loads.isEmpty() ? null : loads;
+      });
+    }
+  }
+
+  private synchronized void start() {
+    if (cache != null) {
+      return;
+    }
+    cache = CacheBuilder.newBuilder()
+                .maximumWeight(config.getMaximumACLs())
+                .weigher((String key, PrincipalACLs value) -> value.aclIds.size() + 1)
+                .expireAfterAccess(config.getExpireAfterAccessMinutes(), TimeUnit.MINUTES)
+                .removalListener(this::onRemoval)
+                .build();
+    if (mongoTemplate == null) {
+      return;
+    }
+    Thread changeStreamThread = new Thread(this::followChangeStream, "acl-index-change-stream");
+    changeStreamThread.setDaemon(true);
+    changeStreamThread.start();
+  }
+
+  private void onRemoval(RemovalNotification<String, PrincipalACLs> notification) {
+    // A replacing load of the same principal has registered its own ACL ids, which are still valid
+    if (notification.getCause() != RemovalCause.REPLACED && notification.getValue() != null) {
+      notification.getValue().aclIds.forEach(aclId -> principalKeyByAclId.remove(aclId, notification.getKey()));
+    }
+  }
+
+  private void followChangeStream() {
+    while (!Thread.currentThread().isInterrupted()) {
+      try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor =
+               mongoTemplate.getCollection(ACL.PRIMARY_COLLECTION)
+                   .watch()
+                   .fullDocument(FullDocument.UPDATE_LOOKUP)
+                   .cursor()) {
+        // Anything cached before the stream was opened may have missed changes
+        invalidateAll();
+        streaming = true;
+        log.info("ACL index is following the change stream of the ACL collection");
+        while (true) {
+          ChangeStreamDocument<Document> event = cursor.next();
+          onChange(event.getOperationType(), event.getDocumentKey() == null ? null : event.getDocumentKey().get(ID_KEY),
+              event.getFullDocument());
+        }
+      } catch (Exception ex) {
+        streaming = false;
+        invalidateAll();
+        log.warn("ACL index change stream failed, the index is bypassed until it is reopened", ex);
+        try {
+          Thread.sleep(RECONNECT_DELAY_MILLIS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    }
+  }
+
+  @VisibleForTesting
+  void onChange(OperationType operationType, BsonValue documentId, Document fullDocument) {
+    String aclId = aclIdOf(documentId);
+    switch (operationType) {
+      case INSERT:
+      case UPDATE:
+      case REPLACE:
+      case DELETE:
+        String principalKey = null;
+        if (fullDocument != null) {
+          principalKey = principalKey(accountScopeOf(fullDocument.getString(ACLKeys.scopeIdentifier)),
+              fullDocument.getString(ACLKeys.principalType), fullDocument.getString(ACLKeys.principalIdentifier));
+        }
+        String previousPrincipalKey = aclId == null ? null : principalKeyByAclId.get(aclId);
+        if (principalKey == null && previousPrincipalKey == null) {
+          // The ACL ids of every cached principal are registered, so only the loads in progress may have read it
+          markAllLoadsStale();
+          return;
+        }
+        invalidate(principalKey);
+        invalidate(previousPrincipalKey);
+        break;
+      default:
+        // Drop, rename and invalidate events, the collection is replaced when the ACLs are rebuilt
+        invalidateAll();
+    }
+  }
+
+  @VisibleForTesting
+  void setStreaming(boolean streaming) {
+    start();
+    this.streaming = streaming;
+  }
+
+  /**
+   * The ACL ids are generated by Mongo, they are held as the hex string of the object id.
+   */
+  private static String aclIdOf(BsonValue documentId) {
+    if (documentId == null) {
+      return null;
+    }
+    if (documentId.isObjectId()) {
+      return documentId.asObjectId().getValue().toHexString();
+    }
+    return documentId.isString() ? documentId.asString().getValue() : null;
+  }
+
+  private void invalidate(String principalKey) {
+    if (principalKey == null || cache == null) {
+      return;
+    }
+    cache.invalidate(principalKey);
+    Set<AtomicBoolean> loads = loading.get(principalKey);
+    if (loads != null) {
+      loads.forEach(stale -> stale.set(true));
+    }
+  }
+
+  private void markAllLoadsStale() {
+    loading.values().forEach(loads -> loads.forEach(stale -> stale.set(true)));
+  }
+
+  private void invalidateAll() {
+    markAllLoadsStale();
+    if (cache != null) {
+      cache.invalidateAll();
+    }
+  }
+
+  /**
+   * The query string is scope$permission$resourceSelector$principalType$principalIdentifier, the principal key is
+   * accountScope$principalType$principalIdentifier.
+   */
+  private static String principalKeyOfQueryString(String aclQueryString) {
+    String[] parts = aclQueryString.split("\\" + DELIMITER, -1);
+    if (parts.length != 5) {
+      return null;
+    }
+    return principalKey(accountScopeOf(parts[0]), parts[3], parts[4]);
+  }
+
+  private static String principalKey(String accountScope, String principalType, String principalIdentifier) {
+    if (accountScope == null || principalType == null || principalIdentifier == null) {
+      return null;
+    }
+    return accountScope + DELIMITER + principalType + DELIMITER + principalIdentifier;
+  }
+
+  /**
+   * First level of the scope, e.g. /ACCOUNT/abc for /ACCOUNT/abc/ORGANIZATION/def.
+   */
+  private static String accountScopeOf(String scopeIdentifier) {
+    if (scopeIdentifier == null || !scopeIdentifier.startsWith(PATH_DELIMITER)) {
+      return null;
+    }
+    int levelEnd = scopeIdentifier.indexOf(PATH_DELIMITER, 1);
+    if (levelEnd < 0) {
+      return null;
+    }
+    int instanceEnd = scopeIdentifier.indexOf(PATH_DELIMITER, levelEnd + 1);
+    return instanceEnd < 0 ? scopeIdentifier : scopeIdentifier.substring(0, instanceEnd);
+  }
+
+  @AllArgsConstructor
+  private static class PrincipalACLs {
+    private final Map<String, List<ACL>> aclsByQueryString;
+    private final Collection<String> aclIds;
+  }
+}
@@ -43,6 +43,9 @@ public interface ACLRepository {
 
   List<ACL> getByAclQueryStringIn(Collection<String> aclQueryStrings);
 
+  List<ACL> getByPrincipalInAccountAndEnabled(
+      String principalType, String principalIdentifier, String accountScopeIdentifier, boolean enabled);
+
   void cleanCollection();
 
   void renameCollection(String newCollectionName);
@@ -227,6 +227,25 @@ public abstract class BaseACLRepositoryImpl implements ACLRepository {
     return mongoTemplate.find(query, ACL.class);
   }
 
+  @Override
+  public List<ACL> getByPrincipalInAccountAndEnabled(
+      String principalType, String principalIdentifier, String accountScopeIdentifier, boolean enabled) {
+    // The account scope itself and every scope under it, '0' is the character right after the path delimiter
+    Criteria criteria = Criteria.where(ACLKeys.principalIdentifier)
+                            .is(principalIdentifier)
+                            .and(ACLKeys.principalType)
+                            .is(principalType)
+                            .and(ACLKeys.enabled)
+                            .is(enabled)
+                            .orOperator(Criteria.where(ACLKeys.scopeIdentifier).is(accountScopeIdentifier),
+                                Criteria.where(ACLKeys.scopeIdentifier)
+                                    .gte(accountScopeIdentifier + "/")
+                                    .lt(accountScopeIdentifier + "0"));
+    Query query = new Query(criteria);
+    query.fields().include(ACLKeys.aclQueryString).include(ACLKeys.condition).include(ACLKeys.conditional);
+    return mongoTemplate.find(query, ACL.class);
+  }
+
   @Override
   public void cleanCollection() {
     mongoTemplate.dropCollection(getCollectionName());
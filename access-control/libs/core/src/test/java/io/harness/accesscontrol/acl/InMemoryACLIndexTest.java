@@ -0,0 +1,168 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.accesscontrol.acl;
+
+import static io.harness.annotations.dev.HarnessTeam.PL;
+import static io.harness.rule.OwnerRule.KARAN;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.harness.accesscontrol.AccessControlCoreTestBase;
+import io.harness.accesscontrol.acl.persistence.ACL;
+import io.harness.accesscontrol.acl.persistence.ACL.ACLKeys;
+import io.harness.accesscontrol.acl.persistence.repositories.ACLRepository;
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.category.element.UnitTests;
+import io.harness.rule.Owner;
+
+import com.mongodb.client.model.changestream.OperationType;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import org.bson.BsonObjectId;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@OwnedBy(PL)
+public class InMemoryACLIndexTest extends AccessControlCoreTestBase {
+  private static final String ACCOUNT_SCOPE = "/ACCOUNT/acc";
+  private static final String PROJECT_SCOPE = "/ACCOUNT/acc/ORGANIZATION/org/PROJECT/proj";
+  private static final String USER = "USER";
+  private static final String PRINCIPAL = "user1";
+
+  private ACLRepository aclRepository;
+  private InMemoryACLIndex aclIndex;
+  private ACL accountACL;
+  private ACL projectACL;
+
+  @Before
+  public void setup() {
+    aclRepository = mock(ACLRepository.class);
+    aclIndex = new InMemoryACLIndex(aclRepository, ACLIndexConfig.builder().enabled(true).build());
+    aclIndex.setStreaming(true);
+    accountACL = acl("id1", ACCOUNT_SCOPE, "core_project_view");
+    projectACL = acl("id2", PROJECT_SCOPE, "core_pipeline_view");
+    // The other account shares the prefix of the account identifier
+    ACL otherAccountACL = acl("id3", "/ACCOUNT/acc0", "core_project_view");
+    when(aclRepository.getByPrincipalInAccountAndEnabled(USER, PRINCIPAL, ACCOUNT_SCOPE, true))
+        .thenReturn(Arrays.asList(accountACL, projectACL, otherAccountACL));
+  }
+
+  @Test
+  @Owner(developers = KARAN)
+  @Category(UnitTests.class)
+  public void testLookupsAreServedFromMemory() {
+    Set<String> queryStrings = Set.of(accountACL.getAclQueryString(), projectACL.getAclQueryString(),
+        queryString(PROJECT_SCOPE, "core_secret_view"));
+
+    assertThat(aclIndex.getByAclQueryStrings(queryStrings)).containsExactlyInAnyOrder(accountACL, projectACL);
+    assertThat(aclIndex.getByAclQueryStrings(Set.of(projectACL.getAclQueryString()))).containsExactly(projectACL);
+    assertThat(aclIndex.getByAclQueryStrings(Set.of(queryString("/ACCOUNT/acc0", "core_project_view")))).isEmpty();
+
+    verify(aclRepository, times(1)).getByPrincipalInAccountAndEnabled(USER, PRINCIPAL, ACCOUNT_SCOPE, true);
+    verify(aclRepository, never()).getByAclQueryStringInAndEnabled(any(), anyBoolean());
+  }
+
+  @Test
+  @Owner(developers = KARAN)
+  @Category(UnitTests.class)
+  public void testChangesEvictThePrincipal() {
+    Set<String> queryStrings = Set.of(projectACL.getAclQueryString());
+    aclIndex.getByAclQueryStrings(queryStrings);
+
+    aclIndex.onChange(OperationType.INSERT, new BsonString("id4"),
+        new Document(ACLKeys.scopeIdentifier, PROJECT_SCOPE)
+            .append(ACLKeys.principalType, USER)
+            .append(ACLKeys.principalIdentifier, PRINCIPAL));
+    aclIndex.getByAclQueryStrings(queryStrings);
+    verify(aclRepository, times(2)).getByPrincipalInAccountAndEnabled(USER, PRINCIPAL, ACCOUNT_SCOPE, true);
+
+    // Deletes carry no document, the principal is found through the ACL id
+    aclIndex.onChange(OperationType.DELETE, new BsonString("id2"), null);
+    aclIndex.getByAclQueryStrings(queryStrings);
+    verify(aclRepository, times(3)).getByPrincipalInAccountAndEnabled(USER, PRINCIPAL, ACCOUNT_SCOPE, true);
+
+    // An update of an ACL of another principal
+    aclIndex.onChange(OperationType.UPDATE, new BsonString("id5"),
+        new Document(ACLKeys.scopeIdentifier, PROJECT_SCOPE)
+            .append(ACLKeys.principalType, USER)
+            .append(ACLKeys.principalIdentifier, "user2"));
+    aclIndex.getByAclQueryStrings(queryStrings);
+    verify(aclRepository, times(3)).getByPrincipalInAccountAndEnabled(USER, PRINCIPAL, ACCOUNT_SCOPE, true);
+
+    // A delete of an ACL of a principal which is not cached
+    aclIndex.onChange(OperationType.DELETE, new BsonString("unknown"), null);
+    aclIndex.getByAclQueryStrings(queryStrings);
+    verify(aclRepository, times(3)).getByPrincipalInAccountAndEnabled(USER, PRINCIPAL, ACCOUNT_SCOPE, true);
+
+    aclIndex.onChange(OperationType.DROP, null, null);
+    aclIndex.getByAclQueryStrings(queryStrings);
+    verify(aclRepository, times(4)).getByPrincipalInAccountAndEnabled(USER, PRINCIPAL, ACCOUNT_SCOPE, true);
+  }
+
+  @Test
+  @Owner(developers = KARAN)
+  @Category(UnitTests.class)
+  public void testDeleteByObjectIdEvictsThePrincipal() {
+    ObjectId aclId = new ObjectId();
+    ACL acl = acl(aclId.toHexString(), PROJECT_SCOPE, "core_service_view");
+    when(aclRepository.getByPrincipalInAccountAndEnabled(USER, PRINCIPAL, ACCOUNT_SCOPE, true))
+        .thenReturn(Collections.singletonList(acl));
+    Set<String> queryStrings = Set.of(acl.getAclQueryString());
+    assertThat(aclIndex.getByAclQueryStrings(queryStrings)).containsExactly(acl);
+
+    when(aclRepository.getByPrincipalInAccountAndEnabled(USER, PRINCIPAL, ACCOUNT_SCOPE, true))
+        .thenReturn(Collections.emptyList());
+    aclIndex.onChange(OperationType.DELETE, new BsonObjectId(aclId), null);
+
+    assertThat(aclIndex.getByAclQueryStrings(queryStrings)).isEmpty();
+    verify(aclRepository, times(2)).getByPrincipalInAccountAndEnabled(USER, PRINCIPAL, ACCOUNT_SCOPE, true);
+  }
+
+  @Test
+  @Owner(developers = KARAN)
+  @Category(UnitTests.class)
+  public void testMongoIsUsedWhenNotStreaming() {
+    List<ACL> acls = Collections.singletonList(projectACL);
+    when(aclRepository.getByAclQueryStringInAndEnabled(any(), anyBoolean())).thenReturn(acls);
+    aclIndex.setStreaming(false);
+
+    assertThat(aclIndex.getByAclQueryStrings(Set.of(projectACL.getAclQueryString()))).isEqualTo(acls);
+    verify(aclRepository, never())
+        .getByPrincipalInAccountAndEnabled(anyString(), anyString(), anyString(), anyBoolean());
+  }
+
+  private static ACL acl(String id, String scope, String permission) {
+    return ACL.builder()
+        .id(id)
+        .scopeIdentifier(scope)
+        .permissionIdentifier(permission)
+        .principalType(USER)
+        .principalIdentifier(PRINCIPAL)
+        .aclQueryString(queryString(scope, permission))
+        .enabled(true)
+        .build();
+  }
+
+  private static String queryString(String scope, String permission) {
+    return ACL.getAclQueryString(scope, "/*/*", USER, PRINCIPAL, permission);
+  }
+}
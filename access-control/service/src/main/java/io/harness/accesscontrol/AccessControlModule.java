@@ -27,6 +27,7 @@ import static io.harness.eventsframework.EventsFrameworkConstants.USERMEMBERSHIP
 import static io.harness.lock.DistributedLockImplementation.REDIS;
 
 import io.harness.AccessControlClientModule;
+import io.harness.accesscontrol.acl.ACLIndexConfig;
 import io.harness.accesscontrol.acl.ResourceAttributeProvider;
 import io.harness.accesscontrol.acl.api.ACLResource;
 import io.harness.accesscontrol.acl.api.ACLResourceImpl;
@@ -431,5 +432,8 @@ public class AccessControlModule extends AbstractModule {
     bind(Integer.class)
         .annotatedWith(Names.named("batchSizeForACLCreation"))
         .toInstance(config.getBatchSizeForACLCreation());
+    if (config.getAclIndexConfig() != null) {
+      bind(ACLIndexConfig.class).toInstance(config.getAclIndexConfig());
+    }
   }
 }
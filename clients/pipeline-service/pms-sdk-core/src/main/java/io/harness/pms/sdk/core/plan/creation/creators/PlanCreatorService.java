@@ -34,11 +34,13 @@ import io.harness.pms.contracts.plan.FilterCreationBlobRequest;
 import io.harness.pms.contracts.plan.FilterCreationBlobResponse;
 import io.harness.pms.contracts.plan.FilterCreationResponse;
 import io.harness.pms.contracts.plan.PlanCreationBlobRequest;
+import io.harness.pms.contracts.plan.PlanCreationBlobResponse;
 import io.harness.pms.contracts.plan.PlanCreationContextValue;
 import io.harness.pms.contracts.plan.PlanCreationServiceGrpc.PlanCreationServiceImplBase;
 import io.harness.pms.contracts.plan.VariablesCreationBlobRequest;
 import io.harness.pms.contracts.plan.VariablesCreationBlobResponse;
 import io.harness.pms.contracts.plan.VariablesCreationResponse;
+import io.harness.pms.contracts.plan.YamlDigestMiss;
 import io.harness.pms.gitsync.PmsGitSyncBranchContextGuard;
 import io.harness.pms.gitsync.PmsGitSyncHelper;
 import io.harness.pms.plan.creation.PlanCreatorUtils;
@@ -54,6 +56,8 @@ import io.harness.pms.yaml.HarnessYamlVersion;
 import io.harness.pms.yaml.YamlField;
 import io.harness.pms.yaml.YamlUtils;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.google.inject.name.Named;
@@ -75,6 +79,8 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 @Singleton
 public class PlanCreatorService extends PlanCreationServiceImplBase {
+  private static final long YAML_CACHE_MAX_CHARS = 64L * 1024 * 1024;
+
   @Inject @Named(PLAN_CREATOR_SERVICE_EXECUTOR) private Executor executor;
   @Inject ExceptionManager exceptionManager;
   @Inject @Named(PmsSdkModuleUtils.SDK_SERVICE_NAME) String serviceName;
@@ -84,6 +90,12 @@ public class PlanCreatorService extends PlanCreationServiceImplBase {
   private final List<PartialPlanCreator<?>> planCreators;
   private final PlanCreationResponseBlobHelper planCreationResponseBlobHelper;
   private final PmsGitSyncHelper pmsGitSyncHelper;
+  // Pipeline yaml by digest, the pipeline service only sends the yaml once per plan creation when it uses digests
+  private final Cache<String, String> yamlByDigest = CacheBuilder.newBuilder()
+                                                         .maximumWeight(YAML_CACHE_MAX_CHARS)
+                                                         .weigher((String digest, String yaml) -> yaml.length())
+                                                         .expireAfterAccess(10, TimeUnit.MINUTES)
+                                                         .build();
   @Inject
   public PlanCreatorService(@NotNull PipelineServiceInfoDecorator serviceInfoDecorator,
       @NotNull FilterCreatorService filterCreatorService, VariableCreatorService variableCreatorService,
@@ -108,14 +120,27 @@ public class PlanCreatorService extends PlanCreationServiceImplBase {
     }
     try (AutoLogContext autoLogContext =
              PlanCreatorServiceHelper.autoLogContextFromPlanCreationContextValue(planCreationContextValue)) {
+      Dependencies dependencies = resolveYaml(request.getDeps());
+      if (dependencies == null) {
+        log.info("Yaml for digest {} is not cached, requesting the full yaml", request.getDeps().getYamlDigest());
+        responseObserver.onNext(
+            io.harness.pms.contracts.plan.PlanCreationResponse.newBuilder()
+                .setYamlDigestMiss(YamlDigestMiss.newBuilder().setYamlDigest(request.getDeps().getYamlDigest()).build())
+                .build());
+        responseObserver.onCompleted();
+        return;
+      }
       io.harness.pms.contracts.plan.PlanCreationResponse planCreationResponse;
       long start = System.currentTimeMillis();
       PlanCreationContext ctx = PlanCreationContext.builder().globalContext(request.getContextMap()).build();
       try (AutoLogContext ignore = PlanCreatorServiceHelper.autoLogContextWithRandomRequestId(ctx)) {
         try {
           MergePlanCreationResponse finalResponse =
-              createPlanForDependenciesRecursive(request.getDeps(), ctx, request.getServiceAffinityMap());
+              createPlanForDependenciesRecursive(dependencies, ctx, request.getServiceAffinityMap());
           planCreationResponse = getPlanCreationResponseFromFinalResponse(finalResponse);
+          if (EmptyPredicate.isNotEmpty(request.getDeps().getYamlDigest())) {
+            planCreationResponse = withoutYaml(planCreationResponse);
+          }
         } catch (Exception ex) {
           log.error(ExceptionUtils.getMessage(ex), ex);
           WingsException processedException = exceptionManager.processException(ex);
@@ -136,6 +161,39 @@ public class PlanCreatorService extends PlanCreationServiceImplBase {
     }
   }
 
+  /**
+   * Returns the dependencies with the yaml filled in from the cache when the request only carries the yaml digest, or
+   * null when the yaml for the digest is not cached.
+   */
+  private Dependencies resolveYaml(Dependencies dependencies) {
+    String digest = dependencies.getYamlDigest();
+    if (EmptyPredicate.isEmpty(digest)) {
+      return dependencies;
+    }
+    if (EmptyPredicate.isNotEmpty(dependencies.getYaml())) {
+      yamlByDigest.put(digest, dependencies.getYaml());
+      return dependencies.toBuilder().clearYamlDigest().build();
+    }
+    String yaml = yamlByDigest.getIfPresent(digest);
+    if (yaml == null) {
+      return null;
+    }
+    return dependencies.toBuilder().setYaml(yaml).clearYamlDigest().build();
+  }
+
+  // The pipeline service keeps its own copy of the yaml and applies the yaml updates to it, so the yaml does not need
+  // to be sent back when it is exchanged by digest
+  private io.harness.pms.contracts.plan.PlanCreationResponse withoutYaml(
+      io.harness.pms.contracts.plan.PlanCreationResponse planCreationResponse) {
+    if (!planCreationResponse.hasBlobResponse() || !planCreationResponse.getBlobResponse().hasDeps()) {
+      return planCreationResponse;
+    }
+    PlanCreationBlobResponse blobResponse = planCreationResponse.getBlobResponse();
+    return planCreationResponse.toBuilder()
+        .setBlobResponse(blobResponse.toBuilder().setDeps(blobResponse.getDeps().toBuilder().clearYaml()))
+        .build();
+  }
+
   private MergePlanCreationResponse createPlanForDependenciesRecursive(
       Dependencies initialDependencies, PlanCreationContext ctx, Map<String, String> serviceAffinityMap) {
     // TODO: Add patch version before sending the response back
@@ -171,12 +171,14 @@ public class DebeziumServiceApplication extends Application<DebeziumServiceConfi
         if (eventsFrameworkConfiguration == null) {
           eventsFrameworkConfiguration = appConfig.getEventsFrameworkConfiguration();
         }
-        ChangeConsumerConfig changeConsumerConfig = ChangeConsumerConfig.builder()
-                                                        .consumerMode(consumerMode)
-                                                        .consumerType(ConsumerType.EVENTS_FRAMEWORK)
-                                                        .eventsFrameworkConfiguration(eventsFrameworkConfiguration)
-                                                        .redisStreamSize(debeziumConfig.getRedisStreamSize())
-                                                        .build();
+        ChangeConsumerConfig changeConsumerConfig =
+            ChangeConsumerConfig.builder()
+                .consumerMode(consumerMode)
+                .consumerType(ConsumerType.EVENTS_FRAMEWORK)
+                .eventsFrameworkConfiguration(eventsFrameworkConfiguration)
+                .redisStreamSize(debeziumConfig.getRedisStreamSize())
+                .batchPublishingEnabled(debeziumConfig.isBatchPublishingEnabled())
+                .build();
 
         starter.startDebeziumController(debeziumConfig, changeConsumerConfig, locker, appConfig.getRedisLockConfig(),
             appConfig.getListOfErrorCodesForOffsetReset());
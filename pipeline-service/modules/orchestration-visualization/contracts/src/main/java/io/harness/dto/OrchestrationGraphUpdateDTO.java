@@ -0,0 +1,46 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Shield 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/06/PolyForm-Shield-1.0.0.txt.
+ */
+
+package io.harness.dto;
+
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.beans.EdgeList;
+import io.harness.pms.contracts.execution.Status;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Update of an execution graph streamed to the viewers. A full update carries the whole adjacency list, the others
+ * the vertices changed since the graph of previousSequence and all the edges.
+ */
+@OwnedBy(HarnessTeam.PIPELINE)
+@Value
+@Builder
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrchestrationGraphUpdateDTO {
+  String planExecutionId;
+  long sequence;
+  Long previousSequence;
+  Long startTs;
+  Long endTs;
+  Status status;
+  List<String> rootNodeIds;
+
+  OrchestrationAdjacencyListDTO adjacencyList;
+
+  Map<String, GraphVertexDTO> updatedVertices;
+  Map<String, EdgeList> updatedEdges;
+  Set<String> removedVertexIds;
+}
@@ -20,7 +20,9 @@ import io.harness.eventsframework.impl.redis.RedisConsumer;
 import io.harness.redis.RedisConfig;
 import io.harness.redis.RedissonClientFactory;
 import io.harness.service.GraphGenerationService;
+import io.harness.service.GraphStreamService;
 import io.harness.service.impl.GraphGenerationServiceImpl;
+import io.harness.service.impl.GraphStreamServiceImpl;
 import io.harness.skip.service.VertexSkipperService;
 import io.harness.skip.service.impl.VertexSkipperServiceImpl;
 import io.harness.threading.ThreadPool;
@@ -42,6 +44,7 @@ public class OrchestrationVisualizationModule extends AbstractModule {
   private final ThreadPoolConfig visualizationThreadPoolConfig;
   private final MetricRegistry threadPoolMetricRegistry;
   private final Integer graphConsumerSleepMs;
+  private final boolean graphDeltaPersistenceEnabled;
 
   public static OrchestrationVisualizationModule getInstance(EventsFrameworkConfiguration eventsFrameworkConfiguration,
       ThreadPoolConfig visualizationThreadPoolConfig, Integer graphConsumerSleepMs) {
@@ -54,10 +57,10 @@ public class OrchestrationVisualizationModule extends AbstractModule {
 
   public static OrchestrationVisualizationModule getInstance(EventsFrameworkConfiguration eventsFrameworkConfiguration,
       ThreadPoolConfig visualizationThreadPoolConfig, Integer graphConsumerSleepMs,
-      MetricRegistry threadPoolMetricRegistry) {
+      MetricRegistry threadPoolMetricRegistry, Boolean graphDeltaPersistenceEnabled) {
     if (instance == null) {
-      instance = new OrchestrationVisualizationModule(
-          eventsFrameworkConfiguration, visualizationThreadPoolConfig, graphConsumerSleepMs, threadPoolMetricRegistry);
+      instance = new OrchestrationVisualizationModule(eventsFrameworkConfiguration, visualizationThreadPoolConfig,
+          graphConsumerSleepMs, threadPoolMetricRegistry, graphDeltaPersistenceEnabled);
     }
     return instance;
   }
@@ -68,21 +71,24 @@ public class OrchestrationVisualizationModule extends AbstractModule {
     this.visualizationThreadPoolConfig = visualizationThreadPoolConfig;
     this.graphConsumerSleepMs = graphConsumerSleepMs == null ? 0 : graphConsumerSleepMs;
     this.threadPoolMetricRegistry = new MetricRegistry();
+    this.graphDeltaPersistenceEnabled = false;
   }
 
   OrchestrationVisualizationModule(EventsFrameworkConfiguration eventsFrameworkConfiguration,
       ThreadPoolConfig visualizationThreadPoolConfig, Integer graphConsumerSleepMs,
-      MetricRegistry threadPoolMetricRegistry) {
+      MetricRegistry threadPoolMetricRegistry, Boolean graphDeltaPersistenceEnabled) {
     this.eventsFrameworkConfiguration = eventsFrameworkConfiguration;
     this.visualizationThreadPoolConfig = visualizationThreadPoolConfig;
     this.graphConsumerSleepMs = graphConsumerSleepMs == null ? 0 : graphConsumerSleepMs;
     this.threadPoolMetricRegistry = threadPoolMetricRegistry;
+    this.graphDeltaPersistenceEnabled = Boolean.TRUE.equals(graphDeltaPersistenceEnabled);
   }
 
   @Override
   protected void configure() {
     bind(GraphGenerationService.class).to(GraphGenerationServiceImpl.class);
     bind(VertexSkipperService.class).to(VertexSkipperServiceImpl.class);
+    bind(GraphStreamService.class).to(GraphStreamServiceImpl.class);
     RedisConfig redisConfig = this.eventsFrameworkConfiguration.getRedisConfig();
     if (redisConfig.getRedisUrl().equals("dummyRedisUrl")) {
       bind(Consumer.class)
@@ -91,6 +97,9 @@ public class OrchestrationVisualizationModule extends AbstractModule {
               NoOpConsumer.of(EventsFrameworkConstants.DUMMY_TOPIC_NAME, EventsFrameworkConstants.DUMMY_GROUP_NAME));
     } else {
       RedissonClient redissonClient = RedissonClientFactory.getClient(redisConfig);
+      bind(RedissonClient.class)
+          .annotatedWith(Names.named(GraphStreamServiceImpl.REDISSON_CLIENT))
+          .toInstance(redissonClient);
       bind(Consumer.class)
           .annotatedWith(Names.named(ORCHESTRATION_LOG))
           .toInstance(RedisConsumer.of(ORCHESTRATION_LOG, PIPELINE_SERVICE.getServiceId(), redissonClient,
@@ -113,4 +122,11 @@ public class OrchestrationVisualizationModule extends AbstractModule {
   public int graphConsumerSleepMs() {
     return graphConsumerSleepMs;
   }
+
+  @Provides
+  @Singleton
+  @Named("GraphDeltaPersistenceEnabled")
+  public boolean graphDeltaPersistenceEnabled() {
+    return graphDeltaPersistenceEnabled;
+  }
 }
@@ -13,17 +13,23 @@ import io.harness.annotations.dev.HarnessTeam;
 import io.harness.annotations.dev.OwnedBy;
 import io.harness.annotations.dev.ProductModule;
 import io.harness.beans.OrchestrationGraph;
+import io.harness.beans.stepDetail.NodeExecutionDetailsInfo;
+import io.harness.beans.stepDetail.NodeExecutionsInfo;
 import io.harness.graph.stepDetail.service.NodeExecutionInfoService;
 import io.harness.pms.contracts.ambiance.Level;
 import io.harness.pms.contracts.steps.StepCategory;
 import io.harness.pms.data.stepdetails.PmsStepDetails;
 import io.harness.pms.data.stepparameters.PmsStepParameters;
 import io.harness.pms.plan.execution.beans.PipelineExecutionSummaryEntity;
+import io.harness.pms.serializer.recaster.RecastOrchestrationUtils;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.mongodb.core.query.Update;
 
@@ -36,10 +42,27 @@ public class StepDetailsUpdateEventHandler {
 
   public OrchestrationGraph handleEvent(String planExecutionId, String nodeExecutionId,
       OrchestrationGraph orchestrationGraph, Update summaryEntityUpdate) {
+    return handleEvent(nodeExecutionId,
+        () -> pmsGraphStepDetailsService.getStepDetails(planExecutionId, nodeExecutionId), orchestrationGraph,
+        summaryEntityUpdate);
+  }
+
+  /**
+   * Same as {@link #handleEvent(String, String, OrchestrationGraph, Update)} with the nodeExecutionsInfo already
+   * fetched, null if there is none
+   */
+  public OrchestrationGraph handleEvent(String nodeExecutionId, NodeExecutionsInfo nodeExecutionsInfo,
+      OrchestrationGraph orchestrationGraph, Update summaryEntityUpdate) {
+    return handleEvent(
+        nodeExecutionId, () -> toStepDetails(nodeExecutionsInfo), orchestrationGraph, summaryEntityUpdate);
+  }
+
+  private OrchestrationGraph handleEvent(String nodeExecutionId,
+      Supplier<Map<String, PmsStepDetails>> stepDetailsSupplier, OrchestrationGraph orchestrationGraph,
+      Update summaryEntityUpdate) {
     try {
       if (orchestrationGraph.getAdjacencyList().getGraphVertexMap().get(nodeExecutionId) != null) {
-        Map<String, PmsStepDetails> stepDetails =
-            pmsGraphStepDetailsService.getStepDetails(planExecutionId, nodeExecutionId);
+        Map<String, PmsStepDetails> stepDetails = stepDetailsSupplier.get();
         orchestrationGraph.getAdjacencyList().getGraphVertexMap().get(nodeExecutionId).setStepDetails(stepDetails);
         Level currentLevel =
             orchestrationGraph.getAdjacencyList().getGraphVertexMap().get(nodeExecutionId).getCurrentLevel();
@@ -62,10 +85,26 @@ public class StepDetailsUpdateEventHandler {
 
   public OrchestrationGraph handleStepInputEvent(
       String planExecutionId, String nodeExecutionId, OrchestrationGraph orchestrationGraph) {
+    return handleStepInputEvent(nodeExecutionId,
+        () -> pmsGraphStepDetailsService.getStepInputsRecasterPruned(planExecutionId, nodeExecutionId),
+        orchestrationGraph);
+  }
+
+  /**
+   * Same as {@link #handleStepInputEvent(String, String, OrchestrationGraph)} with the nodeExecutionsInfo already
+   * fetched, null if there is none
+   */
+  public OrchestrationGraph handleStepInputEvent(
+      String nodeExecutionId, NodeExecutionsInfo nodeExecutionsInfo, OrchestrationGraph orchestrationGraph) {
+    return handleStepInputEvent(
+        nodeExecutionId, () -> toStepInputsRecasterPruned(nodeExecutionsInfo), orchestrationGraph);
+  }
+
+  private OrchestrationGraph handleStepInputEvent(
+      String nodeExecutionId, Supplier<PmsStepParameters> stepInputsSupplier, OrchestrationGraph orchestrationGraph) {
     try {
       if (orchestrationGraph.getAdjacencyList().getGraphVertexMap().containsKey(nodeExecutionId)) {
-        PmsStepParameters stepDetails =
-            pmsGraphStepDetailsService.getStepInputsRecasterPruned(planExecutionId, nodeExecutionId);
+        PmsStepParameters stepDetails = stepInputsSupplier.get();
         orchestrationGraph.getAdjacencyList().getGraphVertexMap().get(nodeExecutionId).setStepParameters(stepDetails);
       }
     } catch (Exception e) {
@@ -75,4 +114,18 @@ public class StepDetailsUpdateEventHandler {
     }
     return orchestrationGraph;
   }
+
+  private static Map<String, PmsStepDetails> toStepDetails(NodeExecutionsInfo nodeExecutionsInfo) {
+    if (nodeExecutionsInfo == null) {
+      return new HashMap<>();
+    }
+    return nodeExecutionsInfo.getNodeExecutionDetailsInfoList().stream().collect(
+        Collectors.toMap(NodeExecutionDetailsInfo::getName, NodeExecutionDetailsInfo::getStepDetails));
+  }
+
+  private static PmsStepParameters toStepInputsRecasterPruned(NodeExecutionsInfo nodeExecutionsInfo) {
+    PmsStepParameters stepInputs =
+        nodeExecutionsInfo == null ? new PmsStepParameters(new HashMap<>()) : nodeExecutionsInfo.getResolvedInputs();
+    return PmsStepParameters.parse(RecastOrchestrationUtils.pruneRecasterAdditions(stepInputs));
+  }
 }
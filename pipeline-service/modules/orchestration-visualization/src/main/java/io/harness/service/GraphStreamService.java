@@ -0,0 +1,47 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Shield 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/06/PolyForm-Shield-1.0.0.txt.
+ */
+
+package io.harness.service;
+
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.beans.OrchestrationGraph;
+
+import java.io.IOException;
+import java.util.Set;
+
+@OwnedBy(HarnessTeam.PIPELINE)
+public interface GraphStreamService {
+  boolean isEnabled();
+
+  /**
+   * Whether the plan execution has viewers on any replica, ie whether its graph updates have to be published.
+   */
+  boolean hasViewers(String planExecutionId);
+
+  /**
+   * Sends a graph update to the viewers of the plan execution. The update applies to the graph of previousSequence,
+   * changedVertexIds are the vertices changed since then, or null to send the full graph. The graph is converted in
+   * place and must not be used afterwards.
+   */
+  void publishGraphUpdate(OrchestrationGraph orchestrationGraph, long previousSequence, Set<String> changedVertexIds);
+
+  /**
+   * Writes the graph of the plan execution to the sink as server-sent events and returns. Its updates are then written
+   * by the thread receiving them, until the execution ends or the stream has been open for a while, and the sink is
+   * closed. The stream resumes after lastEventId when possible, from a full graph otherwise.
+   */
+  void streamGraph(String planExecutionId, Long lastEventId, GraphEventSink sink);
+
+  interface GraphEventSink {
+    boolean isClosed();
+
+    void write(String event) throws IOException;
+
+    void close() throws IOException;
+  }
+}
@@ -19,7 +19,9 @@ import io.harness.beans.GraphVertex;
 import io.harness.beans.OrchestrationEventLog;
 import io.harness.beans.OrchestrationGraph;
 import io.harness.beans.converter.EphemeralOrchestrationGraphConverter;
+import io.harness.beans.internal.EdgeListInternal;
 import io.harness.beans.internal.OrchestrationAdjacencyListInternal;
+import io.harness.beans.stepDetail.NodeExecutionsInfo;
 import io.harness.cache.SpringCacheEntity;
 import io.harness.cache.SpringMongoStore;
 import io.harness.data.structure.EmptyPredicate;
@@ -38,6 +40,7 @@ import io.harness.exception.NestedExceptionUtils;
 import io.harness.execution.NodeExecution;
 import io.harness.execution.PlanExecution;
 import io.harness.generator.OrchestrationAdjacencyListGenerator;
+import io.harness.graph.stepDetail.service.NodeExecutionInfoService;
 import io.harness.lock.AcquiredLock;
 import io.harness.lock.PersistentLocker;
 import io.harness.pms.contracts.execution.Status;
@@ -48,6 +51,7 @@ import io.harness.pms.plan.execution.beans.PipelineExecutionSummaryEntity.PlanEx
 import io.harness.pms.plan.execution.service.PmsExecutionSummaryService;
 import io.harness.repositories.orchestrationEventLog.OrchestrationEventLogRepository;
 import io.harness.service.GraphGenerationService;
+import io.harness.service.GraphStreamService;
 import io.harness.skip.service.VertexSkipperService;
 import io.harness.utils.PmsFeatureFlagService;
 
@@ -55,14 +59,19 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Lists;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.google.inject.name.Named;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.mongodb.core.query.Update;
@@ -77,6 +86,15 @@ public class GraphGenerationServiceImpl implements GraphGenerationService {
 
   private static final String GRAPH_LOCK = "GRAPH_LOCK_";
   private static final int MAX_EXPECTED_GRAPH_UPDATE_TIME = 1000;
+  // Events applied without reading their node execution, see updateGraphUnderLock
+  private static final Set<OrchestrationEventType> EVENTS_WITHOUT_NODE_EXECUTION =
+      EnumSet.of(OrchestrationEventType.PLAN_EXECUTION_STATUS_UPDATE, OrchestrationEventType.STEP_DETAILS_UPDATE,
+          OrchestrationEventType.STEP_INPUTS_UPDATE, OrchestrationEventType.PIPELINE_INFO_UPDATE,
+          OrchestrationEventType.STAGE_INFO_UPDATE);
+  private static final Set<OrchestrationEventType> STEP_DETAILS_EVENTS =
+      EnumSet.of(OrchestrationEventType.STEP_DETAILS_UPDATE, OrchestrationEventType.STEP_INPUTS_UPDATE);
+  // A full snapshot is written once more vertex deltas than this, or than vertices in the graph, have been written
+  private static final int MIN_VERTEX_DELTAS_BEFORE_SNAPSHOT = 500;
 
   @Inject private PlanExecutionService planExecutionService;
   @Inject private NodeExecutionService nodeExecutionService;
@@ -92,6 +110,10 @@ public class GraphGenerationServiceImpl implements GraphGenerationService {
   @Inject private OrchestrationLogPublisher orchestrationLogPublisher;
   @Inject private PmsFeatureFlagService pmsFeatureFlagService;
   @Inject private PlanExecutionModuleInfoUpdateEventHandler planExecutionModuleInfoUpdateEventHandler;
+  @Inject private NodeExecutionInfoService nodeExecutionInfoService;
+  @Inject private OrchestrationGraphDeltaStore orchestrationGraphDeltaStore;
+  @Inject @Named("GraphDeltaPersistenceEnabled") private boolean graphDeltaPersistenceEnabled;
+  @Inject private GraphStreamService graphStreamService;
 
   @Override
   public boolean updateGraph(String planExecutionId) {
@@ -155,6 +177,7 @@ public class GraphGenerationServiceImpl implements GraphGenerationService {
     String planExecutionId = orchestrationGraph.getPlanExecutionId();
     long startTs = System.currentTimeMillis();
     long lastUpdatedAt = orchestrationGraph.getLastUpdatedAt();
+    long previousLastUpdatedAt = lastUpdatedAt;
 
     List<OrchestrationEventLog> unprocessedEventLogs =
         orchestrationEventLogRepository.findUnprocessedEvents(planExecutionId, lastUpdatedAt, THRESHOLD_LOG);
@@ -167,6 +190,14 @@ public class GraphGenerationServiceImpl implements GraphGenerationService {
       // Re-emit if there are too many logs
       shouldAck = false;
     }
+    // The node executions and step details of all the events are read upfront, with one query each
+    Map<String, NodeExecution> nodeExecutions = fetchNodeExecutions(unprocessedEventLogs);
+    Map<String, NodeExecutionsInfo> nodeExecutionsInfos = nodeExecutionInfoService.getNodeExecutionsInfos(
+        getNodeExecutionIds(unprocessedEventLogs, STEP_DETAILS_EVENTS::contains));
+    boolean streamed = graphStreamService.hasViewers(planExecutionId);
+    GraphChangeTracker changeTracker = graphDeltaPersistenceEnabled || streamed
+        ? new GraphChangeTracker(orchestrationGraph.getAdjacencyList())
+        : null;
     boolean updateRequired = false;
     Update executionSummaryUpdate = new Update();
     Set<String> nodeExecutionIds = new HashSet<>();
@@ -191,12 +222,14 @@ public class GraphGenerationServiceImpl implements GraphGenerationService {
           break;
         case STEP_DETAILS_UPDATE:
           orchestrationGraph = stepDetailsUpdateEventHandler.handleEvent(
-              planExecutionId, nodeExecutionId, orchestrationGraph, executionSummaryUpdate);
+              nodeExecutionId, nodeExecutionsInfos.get(nodeExecutionId), orchestrationGraph, executionSummaryUpdate);
+          markVertexUpdated(changeTracker, nodeExecutionId);
           updateRequired = true;
           break;
         case STEP_INPUTS_UPDATE:
-          orchestrationGraph =
-              stepDetailsUpdateEventHandler.handleStepInputEvent(planExecutionId, nodeExecutionId, orchestrationGraph);
+          orchestrationGraph = stepDetailsUpdateEventHandler.handleStepInputEvent(
+              nodeExecutionId, nodeExecutionsInfos.get(nodeExecutionId), orchestrationGraph);
+          markVertexUpdated(changeTracker, nodeExecutionId);
           updateRequired = true;
           break;
         case PIPELINE_INFO_UPDATE:
@@ -213,7 +246,10 @@ public class GraphGenerationServiceImpl implements GraphGenerationService {
             continue;
           }
           nodeExecutionIds.add(nodeExecutionId);
-          NodeExecution nodeExecution = nodeExecutionService.get(nodeExecutionId);
+          NodeExecution nodeExecution = nodeExecutions.get(nodeExecutionId);
+          if (nodeExecution == null) {
+            nodeExecution = nodeExecutionService.get(nodeExecutionId);
+          }
 
           updateRequired = pmsExecutionSummaryService.handleNodeExecutionUpdateFromGraphUpdate(
                                planExecutionId, nodeExecution, executionSummaryUpdate)
@@ -223,11 +259,26 @@ public class GraphGenerationServiceImpl implements GraphGenerationService {
       }
     }
 
-    cachePartialOrchestrationGraph(orchestrationGraph.withLastUpdatedAt(lastUpdatedAt), lastUpdatedAt);
+    orchestrationGraph = orchestrationGraph.withLastUpdatedAt(lastUpdatedAt);
+    // The graph is built again from the node executions on an ERRORED plan execution, it is then written in full
+    Set<String> changedVertexIds =
+        changeTracker == null || !changeTracker.isTracking(orchestrationGraph.getAdjacencyList())
+        ? null
+        : changeTracker.getChangedVertexIds();
+    if (!graphDeltaPersistenceEnabled || changedVertexIds == null) {
+      cachePartialOrchestrationGraph(orchestrationGraph, lastUpdatedAt);
+    } else {
+      saveOrchestrationGraphDeltas(orchestrationGraph, changedVertexIds, lastUpdatedAt);
+    }
     if (updateRequired) {
       executionSummaryUpdate.set(PlanExecutionSummaryKeys.lastUpdatedAt, lastUpdatedAt);
       pmsExecutionSummaryService.update(planExecutionId, executionSummaryUpdate);
     }
+    if (streamed) {
+      // Last, as the graph is converted in place. The update is derived from the graph read here, so that every replica
+      // publishes the same chain of updates.
+      graphStreamService.publishGraphUpdate(orchestrationGraph, previousLastUpdatedAt, changedVertexIds);
+    }
     long diff = System.currentTimeMillis() - startTs;
     if (diff > MAX_EXPECTED_GRAPH_UPDATE_TIME) {
       log.warn("[PMS_GRAPH] Processing of [{}] orchestration event logs completed in [{}ms]",
@@ -236,20 +287,58 @@ public class GraphGenerationServiceImpl implements GraphGenerationService {
     return shouldAck;
   }
 
+  private static void markVertexUpdated(GraphChangeTracker changeTracker, String vertexId) {
+    if (changeTracker != null) {
+      changeTracker.markUpdated(vertexId);
+    }
+  }
+
+  private void saveOrchestrationGraphDeltas(
+      OrchestrationGraph orchestrationGraph, Set<String> changedVertexIds, long lastUpdatedAt) {
+    int vertexDeltaCount = orchestrationGraphDeltaStore.saveDeltas(orchestrationGraph, changedVertexIds);
+    int vertexCount = orchestrationGraph.getAdjacencyList().getGraphVertexMap().size();
+    if (vertexDeltaCount > Math.max(MIN_VERTEX_DELTAS_BEFORE_SNAPSHOT, vertexCount)) {
+      // The snapshot is written before the deltas are deleted, a concurrent read sees either of them
+      cachePartialOrchestrationGraph(orchestrationGraph, lastUpdatedAt);
+      orchestrationGraphDeltaStore.deleteDeltas(List.of(orchestrationGraph.getPlanExecutionId()));
+    }
+  }
+
+  private Map<String, NodeExecution> fetchNodeExecutions(List<OrchestrationEventLog> eventLogs) {
+    Set<String> nodeExecutionIds =
+        getNodeExecutionIds(eventLogs, eventType -> !EVENTS_WITHOUT_NODE_EXECUTION.contains(eventType));
+    return nodeExecutionService.getAll(nodeExecutionIds)
+        .stream()
+        .collect(Collectors.toMap(NodeExecution::getUuid, Function.identity()));
+  }
+
+  private static Set<String> getNodeExecutionIds(
+      List<OrchestrationEventLog> eventLogs, Predicate<OrchestrationEventType> eventTypeFilter) {
+    return eventLogs.stream()
+        .filter(eventLog -> eventTypeFilter.test(eventLog.getOrchestrationEventType()))
+        .map(OrchestrationEventLog::getNodeExecutionId)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toSet());
+  }
+
   @Override
   public OrchestrationGraph getCachedOrchestrationGraph(String planExecutionId) {
-    return mongoStore.get(OrchestrationGraph.ALGORITHM_ID, OrchestrationGraph.STRUCTURE_HASH, planExecutionId, null);
+    // The deltas are applied even when they are not written anymore, for the ones written before
+    return orchestrationGraphDeltaStore.applyDeltas(mongoStore.get(
+        OrchestrationGraph.ALGORITHM_ID, OrchestrationGraph.STRUCTURE_HASH, planExecutionId, null));
   }
 
   @Override
   public OrchestrationGraph getCachedOrchestrationGraphFromSecondary(String planExecutionId) {
-    return mongoStore.getFromSecondary(
-        OrchestrationGraph.ALGORITHM_ID, OrchestrationGraph.STRUCTURE_HASH, planExecutionId, null);
+    return orchestrationGraphDeltaStore.applyDeltasFromSecondary(mongoStore.getFromSecondary(
+        OrchestrationGraph.ALGORITHM_ID, OrchestrationGraph.STRUCTURE_HASH, planExecutionId, null));
   }
 
   @Override
   public void cacheOrchestrationGraph(OrchestrationGraph orchestrationGraph) {
     mongoStore.upsert(orchestrationGraph, SpringCacheEntity.TTL);
+    // Deltas left over from before the delta persistence was turned off would be applied over this graph
+    orchestrationGraphDeltaStore.deleteDeltas(List.of(orchestrationGraph.getPlanExecutionId()));
   }
 
   private void cachePartialOrchestrationGraph(OrchestrationGraph orchestrationGraph, long entityUpdatedAt) {
@@ -308,6 +397,7 @@ public class GraphGenerationServiceImpl implements GraphGenerationService {
         cacheEntities.add(graph);
       }
       mongoStore.delete(cacheEntities);
+      orchestrationGraphDeltaStore.deleteDeltas(planExecutionIds);
     }
   }
 
@@ -439,4 +529,60 @@ public class GraphGenerationServiceImpl implements GraphGenerationService {
         .orElseThrow(() -> new InvalidRequestException("Starting node is not found"))
         .getUuid();
   }
+
+  /**
+   * Finds the vertices changed while applying the events to a graph. The vertices updated by GraphStatusUpdateHelper
+   * are replaced in the map, the ones updated in place have to be marked. The edge lists are updated in place, so they
+   * are copied upfront and compared.
+   */
+  private static class GraphChangeTracker {
+    private final OrchestrationAdjacencyListInternal adjacencyList;
+    private final Map<String, GraphVertex> initialVertices;
+    private final Map<String, EdgeListInternal> initialEdgeLists = new HashMap<>();
+    private final Set<String> updatedVertexIds = new HashSet<>();
+
+    GraphChangeTracker(OrchestrationAdjacencyListInternal adjacencyList) {
+      this.adjacencyList = adjacencyList;
+      this.initialVertices = new HashMap<>(adjacencyList.getGraphVertexMap());
+      adjacencyList.getAdjacencyMap().forEach((id, edgeList) -> initialEdgeLists.put(id, copy(edgeList)));
+    }
+
+    boolean isTracking(OrchestrationAdjacencyListInternal adjacencyList) {
+      return this.adjacencyList == adjacencyList;
+    }
+
+    void markUpdated(String vertexId) {
+      if (vertexId != null) {
+        updatedVertexIds.add(vertexId);
+      }
+    }
+
+    Set<String> getChangedVertexIds() {
+      Set<String> changedVertexIds = new HashSet<>(updatedVertexIds);
+      Map<String, GraphVertex> vertices = adjacencyList.getGraphVertexMap();
+      vertices.forEach((id, vertex) -> {
+        if (initialVertices.get(id) != vertex) {
+          changedVertexIds.add(id);
+        }
+      });
+      initialVertices.keySet().stream().filter(id -> !vertices.containsKey(id)).forEach(changedVertexIds::add);
+      Map<String, EdgeListInternal> edgeLists = adjacencyList.getAdjacencyMap();
+      edgeLists.forEach((id, edgeList) -> {
+        if (!edgeList.equals(initialEdgeLists.get(id))) {
+          changedVertexIds.add(id);
+        }
+      });
+      initialEdgeLists.keySet().stream().filter(id -> !edgeLists.containsKey(id)).forEach(changedVertexIds::add);
+      return changedVertexIds;
+    }
+
+    private static EdgeListInternal copy(EdgeListInternal edgeList) {
+      return EdgeListInternal.builder()
+          .parentId(edgeList.getParentId())
+          .prevIds(edgeList.getPrevIds() == null ? null : new ArrayList<>(edgeList.getPrevIds()))
+          .nextIds(edgeList.getNextIds() == null ? null : new ArrayList<>(edgeList.getNextIds()))
+          .edges(edgeList.getEdges() == null ? null : new ArrayList<>(edgeList.getEdges()))
+          .build();
+    }
+  }
 }
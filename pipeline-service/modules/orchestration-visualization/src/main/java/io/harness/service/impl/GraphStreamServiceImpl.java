@@ -0,0 +1,473 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Shield 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/06/PolyForm-Shield-1.0.0.txt.
+ */
+
+package io.harness.service.impl;
+
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.beans.EphemeralOrchestrationGraph;
+import io.harness.beans.OrchestrationGraph;
+import io.harness.beans.converter.EphemeralOrchestrationGraphConverter;
+import io.harness.dto.GraphVertexDTO;
+import io.harness.dto.OrchestrationGraphDTO;
+import io.harness.dto.OrchestrationGraphUpdateDTO;
+import io.harness.dto.converter.OrchestrationGraphDTOConverter;
+import io.harness.exception.InvalidRequestException;
+import io.harness.pms.execution.utils.StatusUtils;
+import io.harness.service.GraphGenerationService;
+import io.harness.service.GraphStreamService;
+import io.harness.skip.service.VertexSkipperService;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+
+/**
+ * Streams the execution graphs to their viewers as server-sent events, so that the UI does not read and convert the
+ * whole graph on every poll.
+ *
+ * The replica updating a graph converts it once and publishes the vertices changed by the update on a redis topic per
+ * plan execution, only when someone subscribed to it. Every replica with viewers of the plan execution subscribes once,
+ * keeps the last events for the viewers which reconnect and writes the events to the viewers from the thread receiving
+ * them, so that no request thread is held by an open stream.
+ *
+ * The sequence of an event is the lastUpdatedAt of its graph and its previousSequence the lastUpdatedAt of the graph it
+ * was applied to, whichever replica applied it. An update is only written to a viewer having the graph of its
+ * previousSequence, a full graph is sent otherwise.
+ */
+@OwnedBy(HarnessTeam.PIPELINE)
+@Singleton
+@Slf4j
+public class GraphStreamServiceImpl implements GraphStreamService {
+  public static final String REDISSON_CLIENT = "graphStreamRedissonClient";
+  public static final String OBJECT_MAPPER = "graphStreamObjectMapper";
+  private static final String TOPIC_PREFIX = "graph_stream:";
+  private static final String HEARTBEAT = ": heartbeat\n\n";
+  private static final int RECENT_EVENTS = 50;
+  private static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(15);
+  // The viewers reconnect after that, with the id of the last event they got
+  private static final Duration MAX_STREAM_DURATION = Duration.ofMinutes(10);
+
+  @Inject private GraphGenerationService graphGenerationService;
+  @Inject private VertexSkipperService vertexSkipperService;
+  private RedissonClient redissonClient;
+  private ObjectMapper objectMapper;
+
+  // Plan executions watched from this replica, guarded by this. A WatchedExecution is locked after this, never before.
+  private final Map<String, WatchedExecution> watchedExecutions = new HashMap<>();
+
+  @Inject(optional = true)
+  void init(@Named(REDISSON_CLIENT) RedissonClient redissonClient, @Named(OBJECT_MAPPER) ObjectMapper objectMapper) {
+    this.redissonClient = redissonClient;
+    this.objectMapper = objectMapper;
+    ScheduledExecutorService heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder().setNameFormat("graph-stream-heartbeat").setDaemon(true).build());
+    heartbeatExecutor.scheduleWithFixedDelay(this::sendHeartbeatsSafely, HEARTBEAT_INTERVAL.toMillis(),
+        HEARTBEAT_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return redissonClient != null;
+  }
+
+  @Override
+  public boolean hasViewers(String planExecutionId) {
+    if (!isEnabled()) {
+      return false;
+    }
+    try {
+      return topic(planExecutionId).countSubscribers() > 0;
+    } catch (Exception ex) {
+      log.error("[PMS_GRAPH] Failed to count the graph viewers of {}", planExecutionId, ex);
+      return false;
+    }
+  }
+
+  @Override
+  public void publishGraphUpdate(
+      OrchestrationGraph orchestrationGraph, long previousSequence, Set<String> changedVertexIds) {
+    if (!isEnabled()) {
+      return;
+    }
+    String planExecutionId = orchestrationGraph.getPlanExecutionId();
+    try {
+      long sequence = orchestrationGraph.getLastUpdatedAt();
+      OrchestrationGraphDTO graph = toOrchestrationGraphDTO(orchestrationGraph);
+      OrchestrationGraphUpdateDTO update = changedVertexIds == null
+          ? toFullUpdate(graph, sequence)
+          : toUpdate(graph, changedVertexIds, previousSequence, sequence);
+      topic(planExecutionId).publish(encode(toEvent(update)));
+    } catch (Exception ex) {
+      log.error("[PMS_GRAPH] Failed to publish the graph update of {}", planExecutionId, ex);
+    }
+  }
+
+  @Override
+  public void streamGraph(String planExecutionId, Long lastEventId, GraphEventSink sink) {
+    if (!isEnabled()) {
+      throw new InvalidRequestException("Streaming of the execution graph is not enabled");
+    }
+    Viewer viewer = new Viewer(sink, System.currentTimeMillis() + MAX_STREAM_DURATION.toMillis());
+    WatchedExecution watchedExecution = watch(planExecutionId, viewer);
+    try {
+      synchronized (watchedExecution) {
+        // The events received since the viewer was registered are either in the recent events or in the snapshot
+        if (!replayRecentEvents(watchedExecution, viewer, lastEventId)) {
+          write(viewer, getSnapshot(planExecutionId));
+        }
+        viewer.ready = true;
+      }
+    } catch (RuntimeException ex) {
+      viewer.close();
+      throw ex;
+    } finally {
+      if (viewer.closed) {
+        unwatch(planExecutionId, viewer);
+      }
+    }
+  }
+
+  private GraphStreamEvent getSnapshot(String planExecutionId) {
+    try {
+      OrchestrationGraph orchestrationGraph =
+          graphGenerationService.getCachedOrchestrationGraphFromSecondary(planExecutionId);
+      if (orchestrationGraph == null) {
+        // Builds the graph, the updates following it are then sent from the next full graph on
+        return toEvent(toFullUpdate(graphGenerationService.generateOrchestrationGraphV2(planExecutionId), 0));
+      }
+      return toEvent(toFullUpdate(toOrchestrationGraphDTO(orchestrationGraph), orchestrationGraph.getLastUpdatedAt()));
+    } catch (JsonProcessingException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  /**
+   * Registers the viewer, it gets the events once ready.
+   */
+  @VisibleForTesting
+  synchronized WatchedExecution watch(String planExecutionId, Viewer viewer) {
+    WatchedExecution watchedExecution = watchedExecutions.get(planExecutionId);
+    if (watchedExecution == null) {
+      int listenerId = topic(planExecutionId)
+                           .addListener(String.class, (channel, message) -> onMessage(planExecutionId, message));
+      watchedExecution = new WatchedExecution(listenerId);
+      watchedExecutions.put(planExecutionId, watchedExecution);
+    }
+    synchronized (watchedExecution) {
+      watchedExecution.viewers.add(viewer);
+    }
+    return watchedExecution;
+  }
+
+  private synchronized void unwatch(String planExecutionId, Viewer viewer) {
+    WatchedExecution watchedExecution = watchedExecutions.get(planExecutionId);
+    if (watchedExecution == null) {
+      return;
+    }
+    synchronized (watchedExecution) {
+      if (viewer != null) {
+        watchedExecution.viewers.remove(viewer);
+      }
+      if (!watchedExecution.viewers.isEmpty()) {
+        return;
+      }
+    }
+    watchedExecutions.remove(planExecutionId);
+    topic(planExecutionId).removeListener(watchedExecution.listenerId);
+  }
+
+  // Writes the events after lastEventId and returns whether they were all kept
+  private static boolean replayRecentEvents(WatchedExecution watchedExecution, Viewer viewer, Long lastEventId) {
+    if (lastEventId == null) {
+      return false;
+    }
+    boolean found = false;
+    for (GraphStreamEvent event : watchedExecution.recentEvents) {
+      if (found) {
+        write(viewer, event);
+      }
+      if (event.getSequence() == lastEventId) {
+        found = true;
+        viewer.sequence = lastEventId;
+      }
+    }
+    return found;
+  }
+
+  @VisibleForTesting
+  void onMessage(String planExecutionId, String message) {
+    WatchedExecution watchedExecution;
+    synchronized (this) {
+      watchedExecution = watchedExecutions.get(planExecutionId);
+    }
+    if (watchedExecution == null) {
+      return;
+    }
+    GraphStreamEvent event = decode(message);
+    // Read at most once, for all the viewers which missed events
+    Supplier<GraphStreamEvent> snapshot = Suppliers.memoize(() -> getSnapshot(planExecutionId));
+    boolean idle;
+    synchronized (watchedExecution) {
+      if (watchedExecution.recentEvents.size() == RECENT_EVENTS) {
+        watchedExecution.recentEvents.removeFirst();
+      }
+      watchedExecution.recentEvents.addLast(event);
+      for (Viewer viewer : watchedExecution.viewers) {
+        if (viewer.ready) {
+          send(viewer, event, snapshot);
+        }
+      }
+      watchedExecution.viewers.removeIf(viewer -> viewer.closed);
+      idle = watchedExecution.viewers.isEmpty();
+    }
+    if (idle) {
+      unwatch(planExecutionId, null);
+    }
+  }
+
+  private static void send(Viewer viewer, GraphStreamEvent event, Supplier<GraphStreamEvent> snapshot) {
+    if (event.getSequence() <= viewer.sequence) {
+      return;
+    }
+    if (event.getPreviousSequence() != null && event.getPreviousSequence() != viewer.sequence) {
+      // Events were missed, ie published before the viewer's graph was read
+      try {
+        write(viewer, snapshot.get());
+      } catch (RuntimeException ex) {
+        log.error("[PMS_GRAPH] Failed to read the graph of a viewer", ex);
+        viewer.close();
+      }
+      if (event.getSequence() <= viewer.sequence || event.getPreviousSequence() != viewer.sequence) {
+        return;
+      }
+    }
+    write(viewer, event);
+  }
+
+  private void sendHeartbeatsSafely() {
+    try {
+      sendHeartbeats();
+    } catch (Exception ex) {
+      log.error("[PMS_GRAPH] Failed to send the graph stream heartbeats", ex);
+    }
+  }
+
+  // Also ends the streams open for too long
+  @VisibleForTesting
+  void sendHeartbeats() {
+    Map<String, WatchedExecution> executions;
+    synchronized (this) {
+      executions = new HashMap<>(watchedExecutions);
+    }
+    long now = System.currentTimeMillis();
+    List<String> idleExecutionIds = new ArrayList<>();
+    executions.forEach((planExecutionId, watchedExecution) -> {
+      synchronized (watchedExecution) {
+        for (Viewer viewer : watchedExecution.viewers) {
+          if (!viewer.ready) {
+            continue;
+          }
+          if (now >= viewer.deadline) {
+            viewer.close();
+          } else {
+            viewer.write(HEARTBEAT);
+          }
+        }
+        watchedExecution.viewers.removeIf(viewer -> viewer.closed);
+        if (watchedExecution.viewers.isEmpty()) {
+          idleExecutionIds.add(planExecutionId);
+        }
+      }
+    });
+    idleExecutionIds.forEach(planExecutionId -> unwatch(planExecutionId, null));
+  }
+
+  private OrchestrationGraphDTO toOrchestrationGraphDTO(OrchestrationGraph orchestrationGraph) {
+    EphemeralOrchestrationGraph ephemeralOrchestrationGraph =
+        EphemeralOrchestrationGraphConverter.convertFrom(orchestrationGraph);
+    vertexSkipperService.removeSkippedVertices(ephemeralOrchestrationGraph);
+    return OrchestrationGraphDTOConverter.convertFrom(ephemeralOrchestrationGraph);
+  }
+
+  @VisibleForTesting
+  static OrchestrationGraphUpdateDTO toFullUpdate(OrchestrationGraphDTO graph, long sequence) {
+    return OrchestrationGraphUpdateDTO.builder()
+        .planExecutionId(graph.getPlanExecutionId())
+        .sequence(sequence)
+        .startTs(graph.getStartTs())
+        .endTs(graph.getEndTs())
+        .status(graph.getStatus())
+        .rootNodeIds(graph.getRootNodeIds())
+        .adjacencyList(graph.getAdjacencyList())
+        .build();
+  }
+
+  /**
+   * All the edges are sent, as skipping a changed vertex also rewires the edges of its neighbours.
+   */
+  @VisibleForTesting
+  static OrchestrationGraphUpdateDTO toUpdate(
+      OrchestrationGraphDTO graph, Set<String> changedVertexIds, long previousSequence, long sequence) {
+    Map<String, GraphVertexDTO> vertices = graph.getAdjacencyList().getGraphVertexMap();
+    Map<String, GraphVertexDTO> updatedVertices = new HashMap<>();
+    Set<String> removedVertexIds = new HashSet<>();
+    for (String id : changedVertexIds) {
+      GraphVertexDTO vertex = vertices.get(id);
+      if (vertex != null) {
+        updatedVertices.put(id, vertex);
+      } else {
+        removedVertexIds.add(id);
+      }
+    }
+
+    return OrchestrationGraphUpdateDTO.builder()
+        .planExecutionId(graph.getPlanExecutionId())
+        .sequence(sequence)
+        .previousSequence(previousSequence)
+        .startTs(graph.getStartTs())
+        .endTs(graph.getEndTs())
+        .status(graph.getStatus())
+        .rootNodeIds(graph.getRootNodeIds())
+        .updatedVertices(updatedVertices)
+        .updatedEdges(graph.getAdjacencyList().getAdjacencyMap())
+        .removedVertexIds(removedVertexIds)
+        .build();
+  }
+
+  private GraphStreamEvent toEvent(OrchestrationGraphUpdateDTO update) throws JsonProcessingException {
+    return new GraphStreamEvent(update.getSequence(), update.getPreviousSequence(),
+        StatusUtils.isFinalStatus(update.getStatus()), objectMapper.writeValueAsString(update));
+  }
+
+  private static void write(Viewer viewer, GraphStreamEvent event) {
+    if (viewer.write(format(event))) {
+      viewer.sequence = event.getSequence();
+      if (event.isLast()) {
+        viewer.close();
+      }
+    }
+  }
+
+  @VisibleForTesting
+  static String format(GraphStreamEvent event) {
+    StringBuilder builder = new StringBuilder(event.getData().length() + 64);
+    builder.append("id: ").append(event.getSequence()).append('\n');
+    builder.append(event.getPreviousSequence() == null ? "event: graph\n" : "event: update\n");
+    for (String line : event.getData().split("\n", -1)) {
+      builder.append("data: ").append(line).append('\n');
+    }
+    return builder.append('\n').toString();
+  }
+
+  // The messages are the sequence, the previous sequence, the last flag and the json of the update, on their own lines
+  @VisibleForTesting
+  static String encode(GraphStreamEvent event) {
+    return event.getSequence() + "\n" + (event.getPreviousSequence() == null ? "" : event.getPreviousSequence()) + "\n"
+        + event.isLast() + "\n" + event.getData();
+  }
+
+  @VisibleForTesting
+  static GraphStreamEvent decode(String message) {
+    String[] parts = message.split("\n", 4);
+    return new GraphStreamEvent(Long.parseLong(parts[0]), parts[1].isEmpty() ? null : Long.valueOf(parts[1]),
+        Boolean.parseBoolean(parts[2]), parts[3]);
+  }
+
+  private RTopic topic(String planExecutionId) {
+    return redissonClient.getTopic(TOPIC_PREFIX + planExecutionId, StringCodec.INSTANCE);
+  }
+
+  @Value
+  static class GraphStreamEvent {
+    long sequence;
+    Long previousSequence;
+    boolean last;
+    String data;
+  }
+
+  /**
+   * A stream of a plan execution, guarded by its WatchedExecution.
+   */
+  @VisibleForTesting
+  static class Viewer {
+    private final GraphEventSink sink;
+    private final long deadline;
+    // Sequence of the graph the viewer has, -1 until the first one is written
+    private long sequence = -1;
+    // Whether the viewer has been given the graph or the recent events, it gets the next events from then on
+    private boolean ready;
+    private boolean closed;
+
+    Viewer(GraphEventSink sink, long deadline) {
+      this.sink = sink;
+      this.deadline = deadline;
+    }
+
+    private boolean write(String event) {
+      if (closed || sink.isClosed()) {
+        close();
+        return false;
+      }
+      try {
+        sink.write(event);
+        return true;
+      } catch (IOException ex) {
+        // The viewer went away
+        close();
+        return false;
+      }
+    }
+
+    private void close() {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      try {
+        sink.close();
+      } catch (IOException ex) {
+        log.debug("[PMS_GRAPH] Failed to close a graph stream", ex);
+      }
+    }
+  }
+
+  static class WatchedExecution {
+    private final int listenerId;
+    private final Deque<GraphStreamEvent> recentEvents = new ArrayDeque<>();
+    private final Set<Viewer> viewers = new HashSet<>();
+
+    WatchedExecution(int listenerId) {
+      this.listenerId = listenerId;
+    }
+  }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Shield 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/06/PolyForm-Shield-1.0.0.txt.
+ */
+
+package io.harness.service.impl;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.beans.GraphVertex;
+import io.harness.beans.OrchestrationGraph;
+import io.harness.beans.OrchestrationGraphDelta;
+import io.harness.beans.OrchestrationGraphDelta.OrchestrationGraphDeltaKeys;
+import io.harness.beans.internal.EdgeListInternal;
+import io.harness.beans.internal.OrchestrationAdjacencyListInternal;
+import io.harness.cache.SpringCacheEntity;
+import io.harness.mongo.helper.SecondaryMongoTemplateHolder;
+import io.harness.serializer.KryoSerializer;
+import io.harness.springdata.HMongoTemplate;
+import io.harness.springdata.PersistenceUtils;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import net.jodah.failsafe.Failsafe;
+import net.jodah.failsafe.RetryPolicy;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * Persists the changes of an {@link OrchestrationGraph} as one {@link OrchestrationGraphDelta} per changed vertex, so
+ * that a graph update writes what it changed instead of the whole graph. The deltas are applied over the snapshot kept
+ * in the {@link io.harness.cache.SpringMongoStore} when the graph is read, and deleted once a new snapshot is written.
+ *
+ * A delta older than the snapshot is ignored, so a snapshot written without going through the deltas, ie when the graph
+ * is built again from the node executions, is never overridden by the deltas left from before.
+ */
+@OwnedBy(HarnessTeam.PIPELINE)
+@Singleton
+public class OrchestrationGraphDeltaStore {
+  @Inject private MongoTemplate mongoTemplate;
+  @Inject private SecondaryMongoTemplateHolder secondaryMongoTemplateHolder;
+  @Inject @Named("referenceFalseKryoSerializer") private KryoSerializer referenceFalseKryoSerializer;
+
+  /**
+   * Writes the header of the graph and the vertices and edge lists of the given ids, and returns the number of vertex
+   * deltas written since the last snapshot.
+   */
+  public int saveDeltas(OrchestrationGraph orchestrationGraph, Collection<String> changedVertexIds) {
+    String planExecutionId = orchestrationGraph.getPlanExecutionId();
+    long lastUpdatedAt = orchestrationGraph.getLastUpdatedAt();
+    Date validUntil = Date.from(OffsetDateTime.now().plus(SpringCacheEntity.TTL).toInstant());
+    OrchestrationAdjacencyListInternal adjacencyList = orchestrationGraph.getAdjacencyList();
+
+    if (!changedVertexIds.isEmpty()) {
+      BulkOperations operations =
+          mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, OrchestrationGraphDelta.class);
+      for (String vertexId : changedVertexIds) {
+        GraphVertex vertex = adjacencyList.getGraphVertexMap().get(vertexId);
+        EdgeListInternal edgeList = adjacencyList.getAdjacencyMap().get(vertexId);
+        operations.upsert(new Query(where(OrchestrationGraphDeltaKeys.uuid).is(planExecutionId + "/" + vertexId)),
+            new Update()
+                .set(OrchestrationGraphDeltaKeys.planExecutionId, planExecutionId)
+                .set(OrchestrationGraphDeltaKeys.vertexId, vertexId)
+                .set(OrchestrationGraphDeltaKeys.vertex,
+                    vertex == null ? null : referenceFalseKryoSerializer.asDeflatedBytes(vertex))
+                .set(OrchestrationGraphDeltaKeys.edgeList,
+                    edgeList == null ? null : referenceFalseKryoSerializer.asDeflatedBytes(edgeList))
+                .set(OrchestrationGraphDeltaKeys.lastUpdatedAt, lastUpdatedAt)
+                .set(OrchestrationGraphDeltaKeys.validUntil, validUntil));
+      }
+      operations.execute();
+    }
+
+    OrchestrationGraph header = withAdjacencyList(orchestrationGraph, null);
+    OrchestrationGraphDelta headerDelta = mongoTemplate.findAndModify(
+        new Query(where(OrchestrationGraphDeltaKeys.uuid).is(planExecutionId)),
+        new Update()
+            .set(OrchestrationGraphDeltaKeys.planExecutionId, planExecutionId)
+            .set(OrchestrationGraphDeltaKeys.graph, referenceFalseKryoSerializer.asDeflatedBytes(header))
+            .set(OrchestrationGraphDeltaKeys.lastUpdatedAt, lastUpdatedAt)
+            .set(OrchestrationGraphDeltaKeys.validUntil, validUntil)
+            .inc(OrchestrationGraphDeltaKeys.vertexDeltaCount, changedVertexIds.size()),
+        HMongoTemplate.upsertReturnNewOptions, OrchestrationGraphDelta.class);
+    return headerDelta == null ? changedVertexIds.size() : headerDelta.getVertexDeltaCount();
+  }
+
+  public OrchestrationGraph applyDeltas(OrchestrationGraph snapshot) {
+    return applyDeltas(snapshot, mongoTemplate);
+  }
+
+  public OrchestrationGraph applyDeltasFromSecondary(OrchestrationGraph snapshot) {
+    return applyDeltas(snapshot, secondaryMongoTemplateHolder.getSecondaryMongoTemplate());
+  }
+
+  public void deleteDeltas(Collection<String> planExecutionIds) {
+    Query query = new Query(where(OrchestrationGraphDeltaKeys.planExecutionId).in(planExecutionIds));
+    RetryPolicy<Object> retryPolicy =
+        PersistenceUtils.getRetryPolicy("[Retrying]: Failed deleting OrchestrationGraphDelta; attempt: {}",
+            "[Failed]: Failed deleting OrchestrationGraphDelta; attempt: {}");
+    Failsafe.with(retryPolicy).get(() -> mongoTemplate.remove(query, OrchestrationGraphDelta.class));
+  }
+
+  private OrchestrationGraph applyDeltas(OrchestrationGraph snapshot, MongoTemplate template) {
+    if (snapshot == null) {
+      return null;
+    }
+    List<OrchestrationGraphDelta> deltas = template.find(
+        new Query(where(OrchestrationGraphDeltaKeys.planExecutionId).is(snapshot.getPlanExecutionId())
+                      .and(OrchestrationGraphDeltaKeys.lastUpdatedAt)
+                      .gte(snapshot.getLastUpdatedAt())),
+        OrchestrationGraphDelta.class);
+    OrchestrationGraph orchestrationGraph = snapshot;
+    OrchestrationAdjacencyListInternal adjacencyList = snapshot.getAdjacencyList();
+    for (OrchestrationGraphDelta delta : deltas) {
+      if (delta.getVertexId() == null) {
+        orchestrationGraph = withAdjacencyList(
+            (OrchestrationGraph) referenceFalseKryoSerializer.asInflatedObject(delta.getGraph()), adjacencyList);
+        continue;
+      }
+      if (delta.getVertex() == null) {
+        adjacencyList.getGraphVertexMap().remove(delta.getVertexId());
+      } else {
+        adjacencyList.getGraphVertexMap().put(
+            delta.getVertexId(), (GraphVertex) referenceFalseKryoSerializer.asInflatedObject(delta.getVertex()));
+      }
+      if (delta.getEdgeList() == null) {
+        adjacencyList.getAdjacencyMap().remove(delta.getVertexId());
+      } else {
+        adjacencyList.getAdjacencyMap().put(
+            delta.getVertexId(), (EdgeListInternal) referenceFalseKryoSerializer.asInflatedObject(delta.getEdgeList()));
+      }
+    }
+    return orchestrationGraph;
+  }
+
+  private static OrchestrationGraph withAdjacencyList(
+      OrchestrationGraph orchestrationGraph, OrchestrationAdjacencyListInternal adjacencyList) {
+    return OrchestrationGraph.builder()
+        .cacheContextOrder(orchestrationGraph.getCacheContextOrder())
+        .cacheKey(orchestrationGraph.getCacheKey())
+        .cacheParams(orchestrationGraph.getCacheParams())
+        .lastUpdatedAt(orchestrationGraph.getLastUpdatedAt())
+        .planExecutionId(orchestrationGraph.getPlanExecutionId())
+        .startTs(orchestrationGraph.getStartTs())
+        .endTs(orchestrationGraph.getEndTs())
+        .status(orchestrationGraph.getStatus())
+        .rootNodeIds(orchestrationGraph.getRootNodeIds())
+        .adjacencyList(adjacencyList)
+        .build();
+  }
+}
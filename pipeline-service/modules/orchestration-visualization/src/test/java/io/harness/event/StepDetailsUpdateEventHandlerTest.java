@@ -7,19 +7,30 @@
 
 package io.harness.event;
 
+import static io.harness.rule.OwnerRule.GEORGE;
 import static io.harness.rule.OwnerRule.VIVEK_DIXIT;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 
 import io.harness.OrchestrationVisualizationTestBase;
 import io.harness.annotations.dev.HarnessTeam;
 import io.harness.annotations.dev.OwnedBy;
+import io.harness.beans.GraphVertex;
 import io.harness.beans.OrchestrationGraph;
 import io.harness.beans.internal.OrchestrationAdjacencyListInternal;
+import io.harness.beans.stepDetail.NodeExecutionDetailsInfo;
+import io.harness.beans.stepDetail.NodeExecutionsInfo;
 import io.harness.category.element.UnitTests;
+import io.harness.pms.contracts.ambiance.Level;
+import io.harness.pms.contracts.steps.StepCategory;
+import io.harness.pms.contracts.steps.StepType;
+import io.harness.pms.data.stepdetails.PmsStepDetails;
 import io.harness.rule.Owner;
 
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
@@ -47,4 +58,33 @@ public class StepDetailsUpdateEventHandlerTest extends OrchestrationVisualizatio
                            "planExecutionId", "nodeExecutionId", orchestrationGraph, new Update()))
         .doesNotThrowAnyException();
   }
+
+  @Test
+  @Owner(developers = GEORGE)
+  @Category(UnitTests.class)
+  public void testHandleEventWithFetchedNodeExecutionsInfo() {
+    Map<String, GraphVertex> graphVertexMap = new HashMap<>();
+    graphVertexMap.put("nodeExecutionId",
+        GraphVertex.builder()
+            .currentLevel(Level.newBuilder()
+                              .setStepType(StepType.newBuilder().setStepCategory(StepCategory.STEP).build())
+                              .build())
+            .build());
+    OrchestrationGraph orchestrationGraph =
+        OrchestrationGraph.builder()
+            .adjacencyList(OrchestrationAdjacencyListInternal.builder().graphVertexMap(graphVertexMap).build())
+            .build();
+    PmsStepDetails stepDetails = new PmsStepDetails(Collections.singletonMap("key", "value"));
+    NodeExecutionsInfo nodeExecutionsInfo =
+        NodeExecutionsInfo.builder()
+            .nodeExecutionId("nodeExecutionId")
+            .stepDetails(NodeExecutionDetailsInfo.builder().name("name").stepDetails(stepDetails).build())
+            .build();
+
+    stepDetailsUpdateEventHandler.handleEvent("nodeExecutionId", nodeExecutionsInfo, orchestrationGraph, new Update());
+    assertThat(graphVertexMap.get("nodeExecutionId").getStepDetails()).containsExactly(Map.entry("name", stepDetails));
+
+    stepDetailsUpdateEventHandler.handleEvent("nodeExecutionId", null, orchestrationGraph, new Update());
+    assertThat(graphVertexMap.get("nodeExecutionId").getStepDetails()).isEmpty();
+  }
 }
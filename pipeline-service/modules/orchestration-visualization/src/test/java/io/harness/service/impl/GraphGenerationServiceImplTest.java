@@ -10,6 +10,7 @@ package io.harness.service.impl;
 import static io.harness.data.structure.UUIDGenerator.generateUuid;
 import static io.harness.rule.OwnerRule.ALEXEI;
 import static io.harness.rule.OwnerRule.ARCHIT;
+import static io.harness.rule.OwnerRule.GEORGE;
 import static io.harness.rule.OwnerRule.SHALINI;
 import static io.harness.rule.OwnerRule.SHIVAM;
 import static io.harness.rule.OwnerRule.YUVRAJ;
@@ -17,6 +18,7 @@ import static io.harness.steps.StepUtils.PIE_SIMPLIFY_LOG_BASE_KEY;
 
 import static junit.framework.TestCase.assertTrue;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.joor.Reflect.on;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.times;
@@ -89,6 +91,7 @@ public class GraphGenerationServiceImplTest extends OrchestrationVisualizationTe
   @Mock private PlanExecutionModuleInfoUpdateEventHandler planExecutionModuleInfoUpdateEventHandler;
   @Mock private PmsExecutionSummaryService pmsExecutionSummaryService;
   @Inject @InjectMocks GraphGenerationServiceImpl graphGenerationServiceImpl;
+  @Inject private OrchestrationGraphDeltaStore orchestrationGraphDeltaStore;
 
   @Before
   public void setup() {
@@ -436,4 +439,35 @@ public class GraphGenerationServiceImplTest extends OrchestrationVisualizationTe
     verify(planExecutionModuleInfoUpdateEventHandler, times(1)).handleStageInfoUpdate(any(), any(), any());
     verify(pmsExecutionSummaryService, times(1)).update(any(), any());
   }
+
+  @Test
+  @Owner(developers = GEORGE)
+  @Category(UnitTests.class)
+  public void testCacheOrchestrationGraphDeletesLeftoverDeltas() {
+    String planExecutionId = generateUuid();
+    Map<String, GraphVertex> vertices = new HashMap<>();
+    vertices.put("root", GraphVertex.builder().uuid("root").status(Status.RUNNING).build());
+    Map<String, EdgeListInternal> edgeLists = new HashMap<>();
+    edgeLists.put("root", EdgeListInternal.builder().prevIds(new ArrayList<>()).nextIds(new ArrayList<>()).build());
+    OrchestrationGraph running = OrchestrationGraph.builder()
+                                     .cacheKey(planExecutionId)
+                                     .planExecutionId(planExecutionId)
+                                     .lastUpdatedAt(20L)
+                                     .status(Status.RUNNING)
+                                     .rootNodeIds(List.of("root"))
+                                     .adjacencyList(OrchestrationAdjacencyListInternal.builder()
+                                                        .graphVertexMap(vertices)
+                                                        .adjacencyMap(edgeLists)
+                                                        .build())
+                                     .build();
+    orchestrationGraphDeltaStore.saveDeltas(running, Set.of("root"));
+
+    // The end handler caches the final graph without moving lastUpdatedAt
+    on(graphGenerationServiceImpl).set("graphDeltaPersistenceEnabled", false);
+    graphGenerationServiceImpl.cacheOrchestrationGraph(running.withStatus(Status.SUCCEEDED).withEndTs(30L));
+
+    OrchestrationGraph graph = graphGenerationServiceImpl.getCachedOrchestrationGraph(planExecutionId);
+    assertThat(graph.getStatus()).isEqualTo(Status.SUCCEEDED);
+    assertThat(graph.getEndTs()).isEqualTo(30L);
+  }
 }
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Shield 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/06/PolyForm-Shield-1.0.0.txt.
+ */
+
+package io.harness.service.impl;
+
+import static io.harness.rule.OwnerRule.GEORGE;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.joor.Reflect.on;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import io.harness.CategoryTest;
+import io.harness.beans.EdgeList;
+import io.harness.beans.OrchestrationGraph;
+import io.harness.beans.internal.OrchestrationAdjacencyListInternal;
+import io.harness.category.element.UnitTests;
+import io.harness.dto.GraphVertexDTO;
+import io.harness.dto.OrchestrationAdjacencyListDTO;
+import io.harness.dto.OrchestrationGraphDTO;
+import io.harness.dto.OrchestrationGraphUpdateDTO;
+import io.harness.pms.contracts.execution.Status;
+import io.harness.rule.Owner;
+import io.harness.service.GraphGenerationService;
+import io.harness.service.GraphStreamService.GraphEventSink;
+import io.harness.service.impl.GraphStreamServiceImpl.GraphStreamEvent;
+import io.harness.service.impl.GraphStreamServiceImpl.Viewer;
+import io.harness.skip.service.VertexSkipperService;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+
+public class GraphStreamServiceImplTest extends CategoryTest {
+  private static final String PLAN_EXECUTION_ID = "planExecutionId";
+
+  private GraphStreamServiceImpl graphStreamService;
+  private GraphGenerationService graphGenerationService;
+  private RTopic topic;
+
+  @Before
+  public void setUp() {
+    graphStreamService = new GraphStreamServiceImpl();
+    graphGenerationService = mock(GraphGenerationService.class);
+    RedissonClient redissonClient = mock(RedissonClient.class);
+    topic = mock(RTopic.class);
+    doReturn(topic).when(redissonClient).getTopic(anyString(), any());
+    on(graphStreamService).set("graphGenerationService", graphGenerationService);
+    on(graphStreamService).set("vertexSkipperService", mock(VertexSkipperService.class));
+    graphStreamService.init(redissonClient, new ObjectMapper());
+  }
+
+  @Test
+  @Owner(developers = GEORGE)
+  @Category(UnitTests.class)
+  public void testToUpdate() {
+    OrchestrationGraphDTO graph = graph(Status.RUNNING, "root", "child", "added");
+    graph.getAdjacencyList().getGraphVertexMap().put(
+        "child", GraphVertexDTO.builder().uuid("child").status(Status.SUCCEEDED).build());
+    graph.getAdjacencyList().getAdjacencyMap().put(
+        "root", EdgeList.builder().edges(List.of("child")).nextIds(new ArrayList<>()).build());
+
+    OrchestrationGraphUpdateDTO update =
+        GraphStreamServiceImpl.toUpdate(graph, Set.of("root", "child", "added", "removed"), 10, 20);
+
+    assertThat(update.getSequence()).isEqualTo(20);
+    assertThat(update.getPreviousSequence()).isEqualTo(10);
+    assertThat(update.getAdjacencyList()).isNull();
+    assertThat(update.getUpdatedVertices()).containsOnlyKeys("root", "child", "added");
+    assertThat(update.getUpdatedEdges()).containsOnlyKeys("root", "child", "added");
+    assertThat(update.getRemovedVertexIds()).containsExactly("removed");
+  }
+
+  @Test
+  @Owner(developers = GEORGE)
+  @Category(UnitTests.class)
+  public void testEncodeDecode() {
+    GraphStreamEvent event = new GraphStreamEvent(20, 10L, true, "{\"a\":\n1}");
+    GraphStreamEvent fullGraph = new GraphStreamEvent(20, null, false, "{}");
+
+    assertThat(GraphStreamServiceImpl.decode(GraphStreamServiceImpl.encode(event))).isEqualTo(event);
+    assertThat(GraphStreamServiceImpl.decode(GraphStreamServiceImpl.encode(fullGraph))).isEqualTo(fullGraph);
+  }
+
+  @Test
+  @Owner(developers = GEORGE)
+  @Category(UnitTests.class)
+  public void testStreamGraphThenUpdates() {
+    doReturn(orchestrationGraph(10)).when(graphGenerationService).getCachedOrchestrationGraphFromSecondary(
+        PLAN_EXECUTION_ID);
+    RecordingSink sink = new RecordingSink();
+
+    graphStreamService.streamGraph(PLAN_EXECUTION_ID, null, sink);
+    verify(topic).addListener(eq(String.class), any());
+    // Already in the graph, then the next update, written from the thread receiving it
+    graphStreamService.onMessage(PLAN_EXECUTION_ID, encode(10, 5L, false, "{\"old\":true}"));
+    graphStreamService.onMessage(PLAN_EXECUTION_ID, encode(30, 10L, true, "{\"next\":true}"));
+
+    String events = sink.events.toString();
+    assertThat(events).startsWith("id: 10\nevent: graph\ndata: {");
+    assertThat(events).doesNotContain("old");
+    assertThat(events).endsWith("id: 30\nevent: update\ndata: {\"next\":true}\n\n");
+    assertThat(sink.isClosed()).isTrue();
+    verify(topic).removeListener(0);
+  }
+
+  @Test
+  @Owner(developers = GEORGE)
+  @Category(UnitTests.class)
+  public void testViewerResyncedAfterMissedUpdate() {
+    doReturn(orchestrationGraph(10), orchestrationGraph(20))
+        .when(graphGenerationService)
+        .getCachedOrchestrationGraphFromSecondary(PLAN_EXECUTION_ID);
+    RecordingSink sink = new RecordingSink();
+
+    graphStreamService.streamGraph(PLAN_EXECUTION_ID, null, sink);
+    graphStreamService.onMessage(PLAN_EXECUTION_ID, encode(30, 20L, false, "{\"next\":true}"));
+
+    String events = sink.events.toString();
+    assertThat(events).contains("id: 20\nevent: graph\n");
+    assertThat(events).endsWith("id: 30\nevent: update\ndata: {\"next\":true}\n\n");
+    assertThat(sink.isClosed()).isFalse();
+  }
+
+  @Test
+  @Owner(developers = GEORGE)
+  @Category(UnitTests.class)
+  public void testStreamResumesAfterLastEventId() {
+    graphStreamService.watch(PLAN_EXECUTION_ID, new Viewer(new RecordingSink(), Long.MAX_VALUE));
+    graphStreamService.onMessage(PLAN_EXECUTION_ID, encode(20, 10L, false, "{\"first\":true}"));
+    graphStreamService.onMessage(PLAN_EXECUTION_ID, encode(30, 20L, true, "{\"second\":true}"));
+    RecordingSink sink = new RecordingSink();
+
+    graphStreamService.streamGraph(PLAN_EXECUTION_ID, 20L, sink);
+
+    assertThat(sink.events.toString()).isEqualTo("id: 30\nevent: update\ndata: {\"second\":true}\n\n");
+    assertThat(sink.isClosed()).isTrue();
+    verifyNoInteractions(graphGenerationService);
+  }
+
+  @Test
+  @Owner(developers = GEORGE)
+  @Category(UnitTests.class)
+  public void testHeartbeatsEndExpiredStreams() {
+    doReturn(orchestrationGraph(10)).when(graphGenerationService).getCachedOrchestrationGraphFromSecondary(
+        PLAN_EXECUTION_ID);
+    RecordingSink sink = new RecordingSink();
+    graphStreamService.streamGraph(PLAN_EXECUTION_ID, null, sink);
+    RecordingSink expiredSink = new RecordingSink();
+    Viewer expiredViewer = new Viewer(expiredSink, 0);
+    on(expiredViewer).set("ready", true);
+    graphStreamService.watch(PLAN_EXECUTION_ID, expiredViewer);
+
+    graphStreamService.sendHeartbeats();
+
+    assertThat(sink.events.toString()).endsWith(": heartbeat\n\n");
+    assertThat(sink.isClosed()).isFalse();
+    assertThat(expiredSink.events.toString()).isEmpty();
+    assertThat(expiredSink.isClosed()).isTrue();
+  }
+
+  private static OrchestrationGraph orchestrationGraph(long lastUpdatedAt) {
+    return OrchestrationGraph.builder()
+        .planExecutionId(PLAN_EXECUTION_ID)
+        .lastUpdatedAt(lastUpdatedAt)
+        .status(Status.RUNNING)
+        .rootNodeIds(new ArrayList<>())
+        .adjacencyList(OrchestrationAdjacencyListInternal.builder()
+                           .graphVertexMap(new HashMap<>())
+                           .adjacencyMap(new HashMap<>())
+                           .build())
+        .build();
+  }
+
+  private static String encode(long sequence, Long previousSequence, boolean last, String data) {
+    return GraphStreamServiceImpl.encode(new GraphStreamEvent(sequence, previousSequence, last, data));
+  }
+
+  private static OrchestrationGraphDTO graph(Status status, String... ids) {
+    Map<String, GraphVertexDTO> vertices = new HashMap<>();
+    Map<String, EdgeList> edges = new HashMap<>();
+    for (String id : ids) {
+      vertices.put(id, GraphVertexDTO.builder().uuid(id).status(Status.RUNNING).build());
+      edges.put(id, EdgeList.builder().edges(new ArrayList<>()).nextIds(new ArrayList<>()).build());
+    }
+    return OrchestrationGraphDTO.builder()
+        .planExecutionId(PLAN_EXECUTION_ID)
+        .status(status)
+        .rootNodeIds(List.of(ids[0]))
+        .adjacencyList(OrchestrationAdjacencyListDTO.builder().graphVertexMap(vertices).adjacencyMap(edges).build())
+        .build();
+  }
+
+  private static class RecordingSink implements GraphEventSink {
+    private final StringBuilder events = new StringBuilder();
+    private boolean closed;
+
+    @Override
+    public boolean isClosed() {
+      return closed;
+    }
+
+    @Override
+    public void write(String event) {
+      events.append(event);
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Shield 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/06/PolyForm-Shield-1.0.0.txt.
+ */
+
+package io.harness.service.impl;
+
+import static io.harness.data.structure.UUIDGenerator.generateUuid;
+import static io.harness.rule.OwnerRule.GEORGE;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.harness.OrchestrationVisualizationTestBase;
+import io.harness.beans.GraphVertex;
+import io.harness.beans.OrchestrationGraph;
+import io.harness.beans.internal.EdgeListInternal;
+import io.harness.beans.internal.OrchestrationAdjacencyListInternal;
+import io.harness.category.element.UnitTests;
+import io.harness.pms.contracts.execution.Status;
+import io.harness.rule.Owner;
+
+import com.google.inject.Inject;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+public class OrchestrationGraphDeltaStoreTest extends OrchestrationVisualizationTestBase {
+  @Inject private OrchestrationGraphDeltaStore orchestrationGraphDeltaStore;
+
+  @Test
+  @Owner(developers = GEORGE)
+  @Category(UnitTests.class)
+  public void testApplyDeltas() {
+    String planExecutionId = generateUuid();
+    OrchestrationGraph updated = graph(planExecutionId, 20L, Status.SUCCEEDED, "root", "child");
+    updated.getAdjacencyList().getGraphVertexMap().get("child").setStatus(Status.SUCCEEDED);
+    updated.getAdjacencyList().getAdjacencyMap().get("root").getEdges().add("child");
+    orchestrationGraphDeltaStore.saveDeltas(updated, Set.of("root", "child", "removed"));
+
+    OrchestrationGraph graph =
+        orchestrationGraphDeltaStore.applyDeltas(graph(planExecutionId, 10L, Status.RUNNING, "root", "removed"));
+
+    assertThat(graph.getLastUpdatedAt()).isEqualTo(20L);
+    assertThat(graph.getStatus()).isEqualTo(Status.SUCCEEDED);
+    assertThat(graph.getAdjacencyList().getGraphVertexMap().keySet()).containsExactlyInAnyOrder("root", "child");
+    assertThat(graph.getAdjacencyList().getGraphVertexMap().get("child").getStatus()).isEqualTo(Status.SUCCEEDED);
+    assertThat(graph.getAdjacencyList().getAdjacencyMap().keySet()).containsExactlyInAnyOrder("root", "child");
+    assertThat(graph.getAdjacencyList().getAdjacencyMap().get("root").getEdges()).containsExactly("child");
+  }
+
+  @Test
+  @Owner(developers = GEORGE)
+  @Category(UnitTests.class)
+  public void testDeltasOlderThanSnapshotAreIgnored() {
+    String planExecutionId = generateUuid();
+    orchestrationGraphDeltaStore.saveDeltas(graph(planExecutionId, 20L, Status.RUNNING, "root"), Set.of("root"));
+
+    OrchestrationGraph graph =
+        orchestrationGraphDeltaStore.applyDeltas(graph(planExecutionId, 30L, Status.FAILED, "root", "child"));
+
+    assertThat(graph.getStatus()).isEqualTo(Status.FAILED);
+    assertThat(graph.getAdjacencyList().getGraphVertexMap().keySet()).containsExactlyInAnyOrder("root", "child");
+  }
+
+  @Test
+  @Owner(developers = GEORGE)
+  @Category(UnitTests.class)
+  public void testSaveDeltasCountsVertexDeltasUntilDeleted() {
+    String planExecutionId = generateUuid();
+    OrchestrationGraph graph = graph(planExecutionId, 20L, Status.RUNNING, "root", "child");
+
+    assertThat(orchestrationGraphDeltaStore.saveDeltas(graph, Set.of("root", "child"))).isEqualTo(2);
+    assertThat(orchestrationGraphDeltaStore.saveDeltas(graph, Set.of("child"))).isEqualTo(3);
+
+    orchestrationGraphDeltaStore.deleteDeltas(List.of(planExecutionId));
+    assertThat(orchestrationGraphDeltaStore.saveDeltas(graph, Set.of())).isEqualTo(0);
+    OrchestrationGraph snapshot = graph(planExecutionId, 10L, Status.RUNNING, "root");
+    assertThat(orchestrationGraphDeltaStore.applyDeltas(snapshot).getAdjacencyList().getGraphVertexMap())
+        .containsOnlyKeys("root");
+  }
+
+  private static OrchestrationGraph graph(String planExecutionId, long lastUpdatedAt, Status status, String... ids) {
+    Map<String, GraphVertex> vertices = new HashMap<>();
+    Map<String, EdgeListInternal> edgeLists = new HashMap<>();
+    for (String id : ids) {
+      vertices.put(id, GraphVertex.builder().uuid(id).status(Status.RUNNING).build());
+      edgeLists.put(id, EdgeListInternal.builder().prevIds(new ArrayList<>()).nextIds(new ArrayList<>()).build());
+    }
+    return OrchestrationGraph.builder()
+        .cacheKey(planExecutionId)
+        .planExecutionId(planExecutionId)
+        .lastUpdatedAt(lastUpdatedAt)
+        .status(status)
+        .rootNodeIds(List.of(ids[0]))
+        .adjacencyList(
+            OrchestrationAdjacencyListInternal.builder().graphVertexMap(vertices).adjacencyMap(edgeLists).build())
+        .build();
+  }
+}
@@ -98,6 +98,7 @@ public class AmbianceExpressionEvaluator extends EngineExpressionEvaluator {
   @Inject private PlanService planService;
   @Inject private InputSetValidatorFactory inputSetValidatorFactory;
   @Inject private NodeExecutionInfoService nodeExecutionInfoService;
+  @Inject private SharedNodeExecutionsCache sharedNodeExecutionsCache;
 
   @Inject private PlanExpansionService planExpansionService;
 
@@ -179,7 +180,8 @@ public class AmbianceExpressionEvaluator extends EngineExpressionEvaluator {
       return;
     }
 
-    nodeExecutionsCache = new NodeExecutionsCache(nodeExecutionService, planService, ambiance);
+    nodeExecutionsCache =
+        new NodeExecutionsCache(nodeExecutionService, planService, sharedNodeExecutionsCache, ambiance);
     // Access StepParameters and Outcomes of self and children.
     addToContext("child",
         NodeExecutionChildFunctor.builder()
@@ -41,16 +41,23 @@ public class NodeExecutionsCache {
 
   NodeExecutionService nodeExecutionService;
   PlanService planService;
+  SharedNodeExecutionsCache sharedCache;
   Ambiance ambiance;
   Map<String, NodeExecution> map;
   Map<String, List<String>> childrenMap;
   Map<String, Node> nodeMap;
   Map<String, Ambiance> ambianceMap;
 
-  @Builder
   public NodeExecutionsCache(NodeExecutionService nodeExecutionService, PlanService planService, Ambiance ambiance) {
+    this(nodeExecutionService, planService, null, ambiance);
+  }
+
+  @Builder
+  public NodeExecutionsCache(NodeExecutionService nodeExecutionService, PlanService planService,
+      SharedNodeExecutionsCache sharedCache, Ambiance ambiance) {
     this.nodeExecutionService = nodeExecutionService;
     this.planService = planService;
+    this.sharedCache = sharedCache;
     this.ambiance = ambiance;
     this.nodeMap = new HashMap<>();
     this.map = new HashMap<>();
@@ -66,13 +73,21 @@ public class NodeExecutionsCache {
       return map.get(nodeExecutionId);
     }
 
-    NodeExecution nodeExecution;
-    if (AmbianceUtils.checkIfFeatureFlagEnabled(ambiance, FeatureName.CDS_USE_AMBIANCE_IN_EXPRESSION_ENGINE.name())) {
-      nodeExecution = nodeExecutionService.getWithFieldsIncluded(
-          nodeExecutionId, NodeProjectionUtils.fieldsForExpressionEngineWithAmbiance);
-    } else {
-      nodeExecution =
-          nodeExecutionService.getWithFieldsIncluded(nodeExecutionId, NodeProjectionUtils.fieldsForExpressionEngine);
+    boolean withAmbiance = isAmbianceInExpressionEngineEnabled();
+    NodeExecution nodeExecution = sharedCache == null
+        ? null
+        : sharedCache.getNodeExecution(ambiance.getPlanExecutionId(), withAmbiance, nodeExecutionId);
+    if (nodeExecution == null) {
+      if (withAmbiance) {
+        nodeExecution = nodeExecutionService.getWithFieldsIncluded(
+            nodeExecutionId, NodeProjectionUtils.fieldsForExpressionEngineWithAmbiance);
+      } else {
+        nodeExecution =
+            nodeExecutionService.getWithFieldsIncluded(nodeExecutionId, NodeProjectionUtils.fieldsForExpressionEngine);
+      }
+      if (sharedCache != null) {
+        sharedCache.putNodeExecution(ambiance.getPlanExecutionId(), withAmbiance, nodeExecution);
+      }
     }
     map.put(nodeExecutionId, nodeExecution);
     return nodeExecution;
@@ -87,6 +102,8 @@ public class NodeExecutionsCache {
    * Adds all the children to the {@link NodeExecutionsCache#map} and populates
    * {@link NodeExecutionsCache#childrenMap} with parentId => List#childIds
    *
+   * The children which cannot change anymore are read from and kept in the {@link SharedNodeExecutionsCache}, so the
+   * returned node executions must not be modified
    */
   public synchronized List<NodeExecution> fetchChildren(String parentId) {
     String childrenMapKey = parentId == null ? NULL_PARENT_ID : parentId;
@@ -99,17 +116,22 @@ public class NodeExecutionsCache {
       return ids.stream().map(map::get).filter(Objects::nonNull).collect(Collectors.toList());
     }
 
-    List<NodeExecution> childExecutions = new LinkedList<>();
-    Set<String> fieldsForExpressionEngine;
-    if (AmbianceUtils.checkIfFeatureFlagEnabled(ambiance, FeatureName.CDS_USE_AMBIANCE_IN_EXPRESSION_ENGINE.name())) {
-      fieldsForExpressionEngine = NodeProjectionUtils.fieldsForExpressionEngineWithAmbiance;
-    } else {
-      fieldsForExpressionEngine = NodeProjectionUtils.fieldsForExpressionEngine;
-    }
-    try (CloseableIterator<NodeExecution> iterator = nodeExecutionService.fetchChildrenNodeExecutionsIterator(
-             ambiance.getPlanExecutionId(), parentId, fieldsForExpressionEngine)) {
-      while (iterator.hasNext()) {
-        childExecutions.add(iterator.next());
+    boolean withAmbiance = isAmbianceInExpressionEngineEnabled();
+    List<NodeExecution> childExecutions = sharedCache == null || parentId == null
+        ? null
+        : sharedCache.getChildren(ambiance.getPlanExecutionId(), withAmbiance, parentId);
+    if (childExecutions == null) {
+      childExecutions = new LinkedList<>();
+      Set<String> fieldsForExpressionEngine = withAmbiance ? NodeProjectionUtils.fieldsForExpressionEngineWithAmbiance
+                                                           : NodeProjectionUtils.fieldsForExpressionEngine;
+      try (CloseableIterator<NodeExecution> iterator = nodeExecutionService.fetchChildrenNodeExecutionsIterator(
+               ambiance.getPlanExecutionId(), parentId, fieldsForExpressionEngine)) {
+        while (iterator.hasNext()) {
+          childExecutions.add(iterator.next());
+        }
+      }
+      if (sharedCache != null && parentId != null) {
+        sharedCache.putChildren(ambiance.getPlanExecutionId(), withAmbiance, map.get(parentId), childExecutions);
       }
     }
     if (EmptyPredicate.isEmpty(childExecutions)) {
@@ -141,7 +163,13 @@ public class NodeExecutionsCache {
       return nodeMap.get(nodeId);
     }
 
-    Node node = planService.fetchNode(ambiance.getPlanId(), nodeId);
+    Node node = sharedCache == null ? null : sharedCache.getNode(ambiance.getPlanId(), nodeId);
+    if (node == null) {
+      node = planService.fetchNode(ambiance.getPlanId(), nodeId);
+      if (sharedCache != null) {
+        sharedCache.putNode(ambiance.getPlanId(), nodeId, node);
+      }
+    }
     nodeMap.put(nodeId, node);
     return node;
   }
@@ -153,9 +181,19 @@ public class NodeExecutionsCache {
     if (ambianceMap.containsKey(nodeExecutionId)) {
       return ambianceMap.get(nodeExecutionId);
     }
-    Ambiance ambiance =
-        nodeExecutionService.getWithFieldsIncluded(nodeExecutionId, NodeProjectionUtils.withAmbiance).getAmbiance();
+    Ambiance ambiance = sharedCache == null ? null : sharedCache.getAmbiance(nodeExecutionId);
+    if (ambiance == null) {
+      ambiance =
+          nodeExecutionService.getWithFieldsIncluded(nodeExecutionId, NodeProjectionUtils.withAmbiance).getAmbiance();
+      if (sharedCache != null) {
+        sharedCache.putAmbiance(nodeExecutionId, ambiance);
+      }
+    }
     ambianceMap.put(nodeExecutionId, ambiance);
     return ambiance;
   }
+
+  private boolean isAmbianceInExpressionEngineEnabled() {
+    return AmbianceUtils.checkIfFeatureFlagEnabled(ambiance, FeatureName.CDS_USE_AMBIANCE_IN_EXPRESSION_ENGINE.name());
+  }
 }
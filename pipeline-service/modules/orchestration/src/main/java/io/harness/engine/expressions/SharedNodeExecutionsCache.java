@@ -0,0 +1,121 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.engine.expressions;
+
+import static io.harness.annotations.dev.HarnessTeam.PIPELINE;
+
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.engine.observers.NodeStatusUpdateObserver;
+import io.harness.engine.observers.NodeUpdateInfo;
+import io.harness.execution.NodeExecution;
+import io.harness.plan.Node;
+import io.harness.pms.contracts.ambiance.Ambiance;
+import io.harness.pms.contracts.execution.Status;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.inject.Singleton;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shares, between all the {@link NodeExecutionsCache}s of this replica, what does not change anymore during a plan
+ * execution: the plan nodes, the ambiances, the node executions whose status cannot change anymore and the children of
+ * those. Other node executions are always read from mongo, as they may be updated by any replica. Final statuses like
+ * FAILED or EXPIRED are not kept either, the failure strategies can still move them to IGNORE_FAILED or
+ * INTERVENTION_WAITING.
+ *
+ * The entries are invalidated on the status updates done by this replica and expire after a minute for the ones done
+ * by the others. The node executions are shared between the threads and must not be modified by the callers.
+ */
+@OwnedBy(PIPELINE)
+@Singleton
+public class SharedNodeExecutionsCache implements NodeStatusUpdateObserver {
+  // No status transition starts from these, see StatusUtils.nodeAllowedStartSet
+  @VisibleForTesting
+  static final EnumSet<Status> UNCHANGEABLE_STATUSES =
+      EnumSet.of(Status.SUCCEEDED, Status.SKIPPED, Status.IGNORE_FAILED, Status.ABORTED);
+
+  private final Cache<String, NodeExecution> nodeExecutions =
+      CacheBuilder.newBuilder().maximumSize(50000).expireAfterWrite(1, TimeUnit.MINUTES).build();
+  private final Cache<String, List<NodeExecution>> children =
+      CacheBuilder.newBuilder().maximumSize(10000).expireAfterWrite(1, TimeUnit.MINUTES).build();
+  private final Cache<String, Node> nodes =
+      CacheBuilder.newBuilder().maximumSize(20000).expireAfterAccess(10, TimeUnit.MINUTES).build();
+  private final Cache<String, Ambiance> ambiances =
+      CacheBuilder.newBuilder().maximumSize(20000).expireAfterAccess(10, TimeUnit.MINUTES).build();
+
+  /**
+   * Returns the shared node execution or null, it must not be modified.
+   */
+  public NodeExecution getNodeExecution(String planExecutionId, boolean withAmbiance, String nodeExecutionId) {
+    return nodeExecutions.getIfPresent(key(planExecutionId, withAmbiance, nodeExecutionId));
+  }
+
+  public void putNodeExecution(String planExecutionId, boolean withAmbiance, NodeExecution nodeExecution) {
+    if (nodeExecution != null && UNCHANGEABLE_STATUSES.contains(nodeExecution.getStatus())) {
+      nodeExecutions.put(key(planExecutionId, withAmbiance, nodeExecution.getUuid()), nodeExecution);
+    }
+  }
+
+  /**
+   * Returns the shared children or null, they must not be modified.
+   */
+  public List<NodeExecution> getChildren(String planExecutionId, boolean withAmbiance, String parentId) {
+    return children.getIfPresent(key(planExecutionId, withAmbiance, parentId));
+  }
+
+  /**
+   * No child is added to a node execution once it reached a final status, so the children are kept when neither the
+   * parent nor any of them can change anymore.
+   */
+  public void putChildren(
+      String planExecutionId, boolean withAmbiance, NodeExecution parent, List<NodeExecution> childExecutions) {
+    if (parent != null && UNCHANGEABLE_STATUSES.contains(parent.getStatus())
+        && childExecutions.stream().allMatch(child -> UNCHANGEABLE_STATUSES.contains(child.getStatus()))) {
+      children.put(key(planExecutionId, withAmbiance, parent.getUuid()), List.copyOf(childExecutions));
+    }
+  }
+
+  public Node getNode(String planId, String nodeId) {
+    return nodes.getIfPresent(planId + "/" + nodeId);
+  }
+
+  public void putNode(String planId, String nodeId, Node node) {
+    if (node != null) {
+      nodes.put(planId + "/" + nodeId, node);
+    }
+  }
+
+  public Ambiance getAmbiance(String nodeExecutionId) {
+    return ambiances.getIfPresent(nodeExecutionId);
+  }
+
+  public void putAmbiance(String nodeExecutionId, Ambiance ambiance) {
+    if (ambiance != null) {
+      ambiances.put(nodeExecutionId, ambiance);
+    }
+  }
+
+  @Override
+  public void onNodeStatusUpdate(NodeUpdateInfo nodeUpdateInfo) {
+    String planExecutionId = nodeUpdateInfo.getPlanExecutionId();
+    for (boolean withAmbiance : new boolean[] {false, true}) {
+      nodeExecutions.invalidate(key(planExecutionId, withAmbiance, nodeUpdateInfo.getNodeExecutionId()));
+      children.invalidate(key(planExecutionId, withAmbiance, nodeUpdateInfo.getNodeExecutionId()));
+      // The children lists also hold the status of the children
+      children.invalidate(key(planExecutionId, withAmbiance, nodeUpdateInfo.getNodeExecution().getParentId()));
+    }
+  }
+
+  private static String key(String planExecutionId, boolean withAmbiance, String nodeExecutionId) {
+    return planExecutionId + (withAmbiance ? "/a/" : "/") + nodeExecutionId;
+  }
+}
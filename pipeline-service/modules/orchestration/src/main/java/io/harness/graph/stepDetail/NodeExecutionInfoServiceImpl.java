@@ -56,6 +56,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
@@ -134,6 +135,21 @@ public class NodeExecutionInfoServiceImpl implements NodeExecutionInfoService {
     return nodeExecutionsInfoRepository.findByNodeExecutionId(nodeExecutionId).orElse(null);
   }
 
+  @Override
+  public Map<String, NodeExecutionsInfo> getNodeExecutionsInfos(Set<String> nodeExecutionIds) {
+    if (EmptyPredicate.isEmpty(nodeExecutionIds)) {
+      return new HashMap<>();
+    }
+    Query query = new Query(Criteria.where(NodeExecutionsInfoKeys.nodeExecutionId).in(nodeExecutionIds));
+    query.fields()
+        .include(NodeExecutionsInfoKeys.nodeExecutionId)
+        .include(NodeExecutionsInfoKeys.nodeExecutionDetailsInfoList)
+        .include(NodeExecutionsInfoKeys.resolvedInputs);
+    return mongoTemplate.find(query, NodeExecutionsInfo.class)
+        .stream()
+        .collect(Collectors.toMap(NodeExecutionsInfo::getNodeExecutionId, Function.identity()));
+  }
+
   @Override
   public Map<String, PmsStepDetails> getStepDetails(String planExecutionId, String nodeExecutionId) {
     Optional<NodeExecutionsInfo> nodeExecutionsInfo =
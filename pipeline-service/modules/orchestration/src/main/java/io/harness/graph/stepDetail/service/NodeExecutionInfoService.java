@@ -41,6 +41,14 @@ public interface NodeExecutionInfoService {
 
   NodeExecutionsInfo getNodeExecutionsInfo(String nodeExecutionId);
 
+  /**
+   * Fetches the step details and the step inputs of the given node executions with a single query
+   * Uses - nodeExecutionId_unique_idx index
+   * @param nodeExecutionIds
+   * @return the nodeExecutionsInfo by nodeExecutionId, without the ones not found
+   */
+  Map<String, NodeExecutionsInfo> getNodeExecutionsInfos(Set<String> nodeExecutionIds);
+
   Map<String, PmsStepDetails> getStepDetails(String planExecutionId, String nodeExecutionId);
 
   void copyStepDetailsForRetry(String planExecutionId, String originalNodeExecutionId, String newNodeExecutionId);
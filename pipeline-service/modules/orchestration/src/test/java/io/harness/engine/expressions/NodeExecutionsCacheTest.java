@@ -8,9 +8,14 @@
 package io.harness.engine.expressions;
 
 import static io.harness.rule.OwnerRule.ARCHIT;
+import static io.harness.rule.OwnerRule.GEORGE;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import io.harness.CategoryTest;
 import io.harness.annotations.dev.HarnessTeam;
@@ -18,12 +23,15 @@ import io.harness.annotations.dev.OwnedBy;
 import io.harness.category.element.UnitTests;
 import io.harness.engine.executions.node.NodeExecutionService;
 import io.harness.engine.executions.plan.PlanService;
+import io.harness.engine.observers.NodeUpdateInfo;
 import io.harness.execution.NodeExecution;
 import io.harness.pms.contracts.ambiance.Ambiance;
 import io.harness.pms.contracts.execution.Status;
+import io.harness.pms.execution.utils.StatusUtils;
 import io.harness.rule.Owner;
 
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
@@ -36,11 +44,11 @@ public class NodeExecutionsCacheTest extends CategoryTest {
   NodeExecutionsCache nodeExecutionsCache;
   @Mock NodeExecutionService nodeExecutionService;
   @Mock PlanService planService;
+  Ambiance ambiance = Ambiance.newBuilder().setPlanExecutionId("PLAN_EXECUTION_ID").build();
 
   @Before
   public void setup() {
     MockitoAnnotations.initMocks(this);
-    Ambiance ambiance = Ambiance.newBuilder().setPlanExecutionId("PLAN_EXECUTION_ID").build();
     nodeExecutionsCache = new NodeExecutionsCache(nodeExecutionService, planService, ambiance);
   }
 
@@ -57,4 +65,56 @@ public class NodeExecutionsCacheTest extends CategoryTest {
     List<Status> allChildren = nodeExecutionsCache.findAllTerminalChildrenStatusOnly("PARENT_ID", false);
     assertThat(allChildren.size()).isEqualTo(1);
   }
+
+  @Test
+  @Owner(developers = GEORGE)
+  @Category(UnitTests.class)
+  public void testFinalNodeExecutionsAreShared() {
+    SharedNodeExecutionsCache sharedCache = new SharedNodeExecutionsCache();
+    NodeExecution succeeded = NodeExecution.builder().uuid("SUCCEEDED").status(Status.SUCCEEDED).build();
+    NodeExecution running = NodeExecution.builder().uuid("RUNNING").status(Status.RUNNING).build();
+    doReturn(succeeded).when(nodeExecutionService).getWithFieldsIncluded(eq("SUCCEEDED"), any());
+    doReturn(running).when(nodeExecutionService).getWithFieldsIncluded(eq("RUNNING"), any());
+
+    for (int i = 0; i < 2; i++) {
+      NodeExecutionsCache cache = new NodeExecutionsCache(nodeExecutionService, planService, sharedCache, ambiance);
+      assertThat(cache.fetch("SUCCEEDED")).isEqualTo(succeeded);
+      assertThat(cache.fetch("RUNNING")).isEqualTo(running);
+    }
+
+    verify(nodeExecutionService, times(1)).getWithFieldsIncluded(eq("SUCCEEDED"), any());
+    verify(nodeExecutionService, times(2)).getWithFieldsIncluded(eq("RUNNING"), any());
+  }
+
+  @Test
+  @Owner(developers = GEORGE)
+  @Category(UnitTests.class)
+  public void testStatusUpdateInvalidatesSharedNodeExecution() {
+    SharedNodeExecutionsCache sharedCache = new SharedNodeExecutionsCache();
+    NodeExecution aborted =
+        NodeExecution.builder().uuid("ABORTED").ambiance(ambiance).parentId("PARENT_ID").status(Status.ABORTED).build();
+    sharedCache.putNodeExecution("PLAN_EXECUTION_ID", false, aborted);
+    assertThat(sharedCache.getNodeExecution("PLAN_EXECUTION_ID", false, "ABORTED")).isEqualTo(aborted);
+
+    sharedCache.onNodeStatusUpdate(NodeUpdateInfo.builder().nodeExecution(aborted).build());
+
+    assertThat(sharedCache.getNodeExecution("PLAN_EXECUTION_ID", false, "ABORTED")).isNull();
+  }
+
+  @Test
+  @Owner(developers = GEORGE)
+  @Category(UnitTests.class)
+  public void testOnlyUnchangeableStatusesAreShared() {
+    SharedNodeExecutionsCache sharedCache = new SharedNodeExecutionsCache();
+    NodeExecution failed = NodeExecution.builder().uuid("FAILED").status(Status.FAILED).build();
+    sharedCache.putNodeExecution("PLAN_EXECUTION_ID", false, failed);
+
+    assertThat(sharedCache.getNodeExecution("PLAN_EXECUTION_ID", false, "FAILED")).isNull();
+    // No node can move out of the shared statuses
+    for (Status status : EnumSet.complementOf(
+             EnumSet.of(Status.NO_OP, Status.UNRECOGNIZED, Status.QUEUED_EXECUTION_CONCURRENCY_REACHED))) {
+      assertThat(StatusUtils.nodeAllowedStartSet(status))
+          .doesNotContainAnyElementsOf(SharedNodeExecutionsCache.UNCHANGEABLE_STATUSES);
+    }
+  }
 }
@@ -26,7 +26,9 @@ import io.harness.annotations.dev.ProductModule;
 import io.harness.app.PrimaryVersionManagerModule;
 import io.harness.audit.ResourceTypeConstants;
 import io.harness.audit.client.remote.AuditClientModule;
+import io.harness.cache.DistributedStoreNearCache;
 import io.harness.cache.HarnessCacheManager;
+import io.harness.cache.NearCacheConfig;
 import io.harness.callback.DelegateCallback;
 import io.harness.callback.DelegateCallbackToken;
 import io.harness.callback.MongoDatabase;
@@ -202,6 +204,7 @@ import io.harness.serializer.NGTriggerRegistrars;
 import io.harness.serializer.OrchestrationStepsModuleRegistrars;
 import io.harness.serializer.PipelineServiceModuleRegistrars;
 import io.harness.service.DelegateServiceDriverModule;
+import io.harness.service.impl.GraphStreamServiceImpl;
 import io.harness.spec.server.pipeline.v1.ApprovalsApi;
 import io.harness.spec.server.pipeline.v1.InputSetsApi;
 import io.harness.spec.server.pipeline.v1.InputsApi;
@@ -349,7 +352,7 @@ public class PipelineServiceModule extends AbstractModule {
     install(FeatureFlagModule.getInstance());
     install(OrchestrationVisualizationModule.getInstance(configuration.getEventsFrameworkConfiguration(),
         configuration.getOrchestrationVisualizationThreadPoolConfig(), configuration.getGraphConsumerSleepIntervalMs(),
-        threadPoolMetricRegistry));
+        threadPoolMetricRegistry, configuration.getGraphDeltaPersistenceEnabled()));
     install(PodCleanUpModule.getInstance(configuration.getPodCleanUpThreadPoolConfig(), threadPoolMetricRegistry));
     install(PrimaryVersionManagerModule.getInstance());
     install(new DelegateServiceDriverGrpcClientModule(configuration.getManagerServiceSecret(),
@@ -538,6 +541,15 @@ public class PipelineServiceModule extends AbstractModule {
           .annotatedWith(Names.named("TimeScaleDBConfig"))
           .toInstance(TimeScaleDBConfig.builder().build());
     }
+
+    // The cache stores only keep an in-memory tier when both of these are bound
+    NearCacheConfig nearCacheConfig = configuration.getNearCacheConfig();
+    if (nearCacheConfig != null && nearCacheConfig.isEnabled()) {
+      bind(NearCacheConfig.class).toInstance(nearCacheConfig);
+      bind(RedissonClient.class)
+          .annotatedWith(Names.named(DistributedStoreNearCache.REDISSON_CLIENT))
+          .toInstance(RedissonClientFactory.getClient(configuration.getRedisLockConfig()));
+    }
     install(EnforcementClientModule.getInstance(configuration.getNgManagerServiceHttpClientConfig(),
         configuration.getNgManagerServiceSecret(), PIPELINE_SERVICE.getServiceId(),
         configuration.getEnforcementClientConfiguration()));
@@ -721,6 +733,15 @@ public class PipelineServiceModule extends AbstractModule {
     return objectMapper;
   }
 
+  @Provides
+  @Named(GraphStreamServiceImpl.OBJECT_MAPPER)
+  @Singleton
+  public ObjectMapper getGraphStreamObjectMapper() {
+    ObjectMapper objectMapper = Jackson.newObjectMapper();
+    PipelineServiceApplication.configureObjectMapper(objectMapper);
+    return objectMapper;
+  }
+
   @Provides
   @Named("yaml-schema-subtypes")
   @Singleton
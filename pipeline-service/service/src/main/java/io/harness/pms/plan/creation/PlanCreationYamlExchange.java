@@ -0,0 +1,86 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.pms.plan.creation;
+
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.data.structure.EmptyPredicate;
+import io.harness.pms.contracts.plan.Dependencies;
+import io.harness.pms.contracts.plan.Dependency;
+
+import com.google.common.hash.Hashing;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps track of the yaml sent to each sdk service during a single plan creation. The yaml is sent in full the first
+ * time a service needs it, later batches for the same yaml only carry its digest, the dependency paths and the metadata
+ * of those dependencies. The sdk caches the yaml by digest and answers with a YamlDigestMiss when it does not have it
+ * (another replica, eviction), in which case the batch is sent again with the full yaml.
+ *
+ * A new yaml (after yaml updates from the sdk) has a new digest and is therefore sent in full again.
+ */
+@OwnedBy(HarnessTeam.PIPELINE)
+class PlanCreationYamlExchange {
+  private final boolean enabled;
+  // serviceName + digest for which the full yaml has already been sent
+  private final Set<String> sentDigests = ConcurrentHashMap.newKeySet();
+  private String lastYaml;
+  private String lastDigest;
+
+  PlanCreationYamlExchange(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /**
+   * Returns the dependencies to send to the service for the given batch, which always carries the full yaml.
+   */
+  Dependencies prepare(String serviceName, Dependencies batchDependency) {
+    if (!enabled || EmptyPredicate.isEmpty(batchDependency.getYaml())) {
+      return batchDependency;
+    }
+    String digest = digestOf(batchDependency.getYaml());
+    Map<String, Dependency> batchMetadata = new HashMap<>();
+    batchDependency.getDependencyMetadataMap().forEach((key, value) -> {
+      if (batchDependency.containsDependencies(key)) {
+        batchMetadata.put(key, value);
+      }
+    });
+    Dependencies.Builder builder = batchDependency.toBuilder()
+                                       .clearDependencyMetadata()
+                                       .putAllDependencyMetadata(batchMetadata)
+                                       .setYamlDigest(digest);
+    if (!sentDigests.add(serviceName + "/" + digest)) {
+      builder.clearYaml();
+    }
+    return builder.build();
+  }
+
+  /**
+   * Returns the dependencies to send again after the service reported a YamlDigestMiss for the prepared ones.
+   */
+  static Dependencies withYaml(Dependencies prepared, Dependencies batchDependency) {
+    return prepared.toBuilder().setYaml(batchDependency.getYaml()).build();
+  }
+
+  static boolean hasYaml(Dependencies prepared) {
+    return EmptyPredicate.isNotEmpty(prepared.getYaml());
+  }
+
+  private synchronized String digestOf(String yaml) {
+    // The yaml only changes between depths, so the digest is computed once per yaml
+    if (!yaml.equals(lastYaml)) {
+      lastDigest = Hashing.sha256().hashString(yaml, StandardCharsets.UTF_8).toString();
+      lastYaml = yaml;
+    }
+    return lastDigest;
+  }
+}
@@ -266,13 +266,22 @@ public class PlanCreatorMergeService {
     finalResponseBuilder.putAllContext(
         createInitialPlanCreationContext(accountId, orgIdentifier, projectIdentifier, metadata, planExecutionMetadata));
 
+    PlanCreationYamlExchange yamlExchange = new PlanCreationYamlExchange(
+        pmsFeatureFlagHelper.isEnabled(accountId, FeatureName.PIE_PLAN_CREATION_YAML_DIGEST.toString()));
+    String parsedYaml = null;
+    YamlField fullYamlField = null;
     try {
       for (int i = 0; i < MAX_DEPTH && EmptyPredicate.isNotEmpty(finalResponseBuilder.getDeps().getDependenciesMap());
            i++) {
         String version = metadata.getHarnessVersion();
-        YamlField fullYamlField = YamlUtils.readTree(finalResponseBuilder.getDeps().getYaml());
+        // The yaml only changes when a depth returns yaml updates, reuse the parsed tree otherwise
+        String yaml = finalResponseBuilder.getDeps().getYaml();
+        if (fullYamlField == null || !yaml.equals(parsedYaml)) {
+          fullYamlField = YamlUtils.readTree(yaml);
+          parsedYaml = yaml;
+        }
         PlanCreationBlobResponse currIterationResponse =
-            createPlanForDependencies(services, finalResponseBuilder, fullYamlField, version);
+            createPlanForDependencies(services, finalResponseBuilder, fullYamlField, version, yamlExchange);
         PlanCreationBlobResponseUtils.addNodes(finalResponseBuilder, currIterationResponse.getNodesMap());
         PlanCreationBlobResponseUtils.mergeStartingNodeId(
             finalResponseBuilder, currIterationResponse.getStartingNodeId());
@@ -294,7 +303,8 @@ public class PlanCreatorMergeService {
   }
 
   private PlanCreationBlobResponse createPlanForDependencies(Map<String, PlanCreatorServiceInfo> services,
-      PlanCreationBlobResponse.Builder responseBuilder, YamlField fullYamlField, String harnessVersion) {
+      PlanCreationBlobResponse.Builder responseBuilder, YamlField fullYamlField, String harnessVersion,
+      PlanCreationYamlExchange yamlExchange) {
     PlanCreationBlobResponse.Builder currIterationResponseBuilder = PlanCreationBlobResponse.newBuilder();
     CompletableFutures<PlanCreationResponse> completableFutures = new CompletableFutures<>(executor);
 
@@ -306,7 +316,7 @@ public class PlanCreatorMergeService {
       getServiceToDependenciesMap(services, responseBuilder, fullYamlField, serviceToDependencyMap, harnessVersion);
 
       // Sending batch dependency requests for a single service in a async fashion.
-      executeCreatePlanInBatchDependency(responseBuilder, completableFutures, serviceToDependencyMap);
+      executeCreatePlanInBatchDependency(responseBuilder, completableFutures, serviceToDependencyMap, yamlExchange);
 
       // Collecting results for all completable futures at one go, thus it will wait till all dependencies are resolved.
       List<ErrorResponse> errorResponses;
@@ -334,7 +344,8 @@ public class PlanCreatorMergeService {
   // Sending all dependencies in batch manner in async fashion
   private void executeCreatePlanInBatchDependency(PlanCreationBlobResponse.Builder responseBuilder,
       CompletableFutures<PlanCreationResponse> completableFutures,
-      Map<Map.Entry<String, PlanCreatorServiceInfo>, List<Map.Entry<String, String>>> serviceToDependencyMap) {
+      Map<Map.Entry<String, PlanCreatorServiceInfo>, List<Map.Entry<String, String>>> serviceToDependencyMap,
+      PlanCreationYamlExchange yamlExchange) {
     for (Map.Entry<Map.Entry<String, PlanCreatorServiceInfo>, List<Map.Entry<String, String>>> serviceDependencyEntry :
         serviceToDependencyMap.entrySet()) {
       Map.Entry<String, PlanCreatorServiceInfo> serviceInfo = serviceDependencyEntry.getKey();
@@ -347,7 +358,7 @@ public class PlanCreatorMergeService {
           Map<String, String> batchServiceAffinityMap = PmsSdkHelper.createBatchServiceAffinityMap(
               dependencyBatch.keySet(), responseBuilder.getServiceAffinityMap());
           executeDependenciesAsync(completableFutures, serviceInfo, batchDependency, batchServiceAffinityMap,
-              responseBuilder.getContextMap());
+              responseBuilder.getContextMap(), yamlExchange);
           dependencyBatch = new HashMap<>();
         }
       }
@@ -357,8 +368,8 @@ public class PlanCreatorMergeService {
         Dependencies batchDependency = PmsSdkHelper.createBatchDependency(responseBuilder.getDeps(), dependencyBatch);
         Map<String, String> batchServiceAffinityMap = PmsSdkHelper.createBatchServiceAffinityMap(
             dependencyBatch.keySet(), responseBuilder.getServiceAffinityMap());
-        executeDependenciesAsync(
-            completableFutures, serviceInfo, batchDependency, batchServiceAffinityMap, responseBuilder.getContextMap());
+        executeDependenciesAsync(completableFutures, serviceInfo, batchDependency, batchServiceAffinityMap,
+            responseBuilder.getContextMap(), yamlExchange);
       }
     }
   }
@@ -426,17 +437,31 @@ public class PlanCreatorMergeService {
   // Sending batch dependency requests for a single service in a async fashion.
   private void executeDependenciesAsync(CompletableFutures<PlanCreationResponse> completableFutures,
       Map.Entry<String, PlanCreatorServiceInfo> serviceInfo, Dependencies batchDependency,
-      Map<String, String> batchServiceAffinityMap, Map<String, PlanCreationContextValue> contextMap) {
+      Map<String, String> batchServiceAffinityMap, Map<String, PlanCreationContextValue> contextMap,
+      PlanCreationYamlExchange yamlExchange) {
     PlanCreationContext ctx = PlanCreationContext.builder().globalContext(contextMap).build();
+    Dependencies preparedDependency = yamlExchange.prepare(serviceInfo.getKey(), batchDependency);
     completableFutures.supplyAsync(() -> {
       try (AutoLogContext ignore = PlanCreatorServiceHelper.autoLogContext(ctx)) {
         try {
-          return PmsGrpcClientUtils.retryAndProcessException(serviceInfo.getValue().getPlanCreationClient()::createPlan,
-              PlanCreationBlobRequest.newBuilder()
-                  .setDeps(batchDependency)
-                  .putAllContext(contextMap)
-                  .putAllServiceAffinity(batchServiceAffinityMap)
-                  .build());
+          PlanCreationResponse response =
+              createPlan(serviceInfo, preparedDependency, batchServiceAffinityMap, contextMap);
+          if (response.getResponseCase() == PlanCreationResponse.ResponseCase.YAMLDIGESTMISS
+              && !PlanCreationYamlExchange.hasYaml(preparedDependency)) {
+            log.info("Service [{}] does not have the yaml for digest {}, sending the full yaml", serviceInfo.getKey(),
+                response.getYamlDigestMiss().getYamlDigest());
+            response = createPlan(serviceInfo, PlanCreationYamlExchange.withYaml(preparedDependency, batchDependency),
+                batchServiceAffinityMap, contextMap);
+          }
+          if (response.getResponseCase() == PlanCreationResponse.ResponseCase.YAMLDIGESTMISS) {
+            return PlanCreationResponse.newBuilder()
+                .setErrorResponse(ErrorResponse.newBuilder()
+                                      .addMessages(String.format(
+                                          "Service [%s] could not resolve the pipeline yaml", serviceInfo.getKey()))
+                                      .build())
+                .build();
+          }
+          return response;
         } catch (StatusRuntimeException ex) {
           log.error(
               String.format("Error connecting with service: [%s]. Is this service Running?", serviceInfo.getKey()), ex);
@@ -451,6 +476,17 @@ public class PlanCreatorMergeService {
     });
   }
 
+  private PlanCreationResponse createPlan(Map.Entry<String, PlanCreatorServiceInfo> serviceInfo,
+      Dependencies dependencies, Map<String, String> batchServiceAffinityMap,
+      Map<String, PlanCreationContextValue> contextMap) {
+    return PmsGrpcClientUtils.retryAndProcessException(serviceInfo.getValue().getPlanCreationClient()::createPlan,
+        PlanCreationBlobRequest.newBuilder()
+            .setDeps(dependencies)
+            .putAllContext(contextMap)
+            .putAllServiceAffinity(batchServiceAffinityMap)
+            .build());
+  }
+
   private String getYamlVersionForDependencyEntry(String harnessVersion, Map.Entry<String, String> dependencyEntry,
       PlanCreationBlobResponse.Builder responseBuilder) {
     if (responseBuilder.getDeps().getDependencyMetadataMap().get(dependencyEntry.getKey()) != null
@@ -60,6 +60,8 @@ import io.harness.pms.plan.execution.service.ExpressionEvaluatorService;
 import io.harness.pms.plan.execution.service.PMSExecutionService;
 import io.harness.pms.plan.execution.service.PmsExecutionSummaryService;
 import io.harness.pms.rbac.PipelineRbacPermissions;
+import io.harness.service.GraphStreamService;
+import io.harness.service.GraphStreamService.GraphEventSink;
 import io.harness.utils.PageUtils;
 
 import com.codahale.metrics.annotation.ResponseMetered;
@@ -78,6 +80,7 @@ import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.parameters.RequestBody;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
 import javax.validation.constraints.NotNull;
@@ -86,15 +89,18 @@ import javax.ws.rs.BeanParam;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Response;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.glassfish.jersey.server.ChunkedOutput;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -140,6 +146,7 @@ public class ExecutionDetailsResource {
   @Inject private final ExpressionEvaluatorService expressionEvaluatorService;
   @Inject private final PlanExecutionMetadataService planExecutionMetadataService;
   @Inject private final PmsExecutionSummaryService pmsExecutionSummaryService;
+  @Inject private final GraphStreamService graphStreamService;
 
   private final String INVALID_PAGE_REQUEST_EXCEPTION_MESSAGE =
       "Please Verify Executions list parameters for page and size, page should be >= 0 and size should be > 0 and <=1000";
@@ -379,6 +386,46 @@ public class ExecutionDetailsResource {
     return ResponseDTO.newResponse(executionDetailDTO);
   }
 
+  @GET
+  @Path("/{planExecutionId}/graph/stream")
+  @Produces("text/event-stream")
+  @ApiOperation(value = "Streams the Execution Graph updates", nickname = "streamExecutionGraph")
+  @Operation(operationId = "streamExecutionGraph",
+      description = "Streams the Execution Graph of a given PlanExecution ID as server-sent events, "
+          + "the full graph first and then the vertices changed by each update",
+      summary = "Stream Execution Graph",
+      responses =
+      {
+        @io.swagger.v3.oas.annotations.responses.
+        ApiResponse(responseCode = "default", description = "Stream of the Execution Graph updates")
+      })
+  @Hidden
+  public Response
+  streamExecutionGraph(
+      @NotNull @Parameter(description = PipelineResourceConstants.ACCOUNT_PARAM_MESSAGE, required = true) @QueryParam(
+          NGCommonEntityConstants.ACCOUNT_KEY) @AccountIdentifier String accountId,
+      @Parameter(description = PipelineResourceConstants.ORG_PARAM_MESSAGE, required = true) @NotNull @QueryParam(
+          NGCommonEntityConstants.ORG_KEY) @OrgIdentifier String orgId,
+      @NotNull @Parameter(description = PipelineResourceConstants.PROJECT_PARAM_MESSAGE, required = true) @QueryParam(
+          NGCommonEntityConstants.PROJECT_KEY) @ProjectIdentifier String projectId,
+      @Parameter(description = "Plan Execution Id for which we want to stream the Execution Graph",
+          required = true) @PathParam(NGCommonEntityConstants.PLAN_KEY) String planExecutionId,
+      @Parameter(description = "Id of the last event received, to resume the stream after it") @HeaderParam(
+          "Last-Event-ID") Long lastEventId) {
+    PipelineExecutionSummaryEntity executionSummaryEntity =
+        pmsExecutionService.getPipelineExecutionSummaryEntity(accountId, orgId, projectId, planExecutionId, false);
+    accessControlClient.checkForAccessOrThrow(ResourceScope.of(accountId, orgId, projectId),
+        Resource.of(PIPELINE_RESOURCE_TYPE, executionSummaryEntity.getPipelineIdentifier()),
+        PipelineRbacPermissions.PIPELINE_VIEW);
+    if (!graphStreamService.isEnabled()) {
+      throw new InvalidRequestException("Streaming of the execution graph is not enabled");
+    }
+    // The request thread is released once the graph is written, the updates are written by the graph stream service
+    ChunkedOutput<String> output = new ChunkedOutput<>(String.class);
+    graphStreamService.streamGraph(planExecutionId, lastEventId, new ChunkedGraphEventSink(output));
+    return Response.ok(output).header("Cache-Control", "no-cache").header("X-Accel-Buffering", "no").build();
+  }
+
   @GET
   @Path("/subGraph/{planExecutionId}/{nodeExecutionId}")
   @ApiOperation(
@@ -704,4 +751,24 @@ public class ExecutionDetailsResource {
     }
     return ResponseDTO.newResponse(PipelineExecutionNotesDTO.builder().notes(pipelineExecutionNotes).build());
   }
+
+  @AllArgsConstructor
+  private static class ChunkedGraphEventSink implements GraphEventSink {
+    private final ChunkedOutput<String> output;
+
+    @Override
+    public boolean isClosed() {
+      return output.isClosed();
+    }
+
+    @Override
+    public void write(String event) throws IOException {
+      output.write(event);
+    }
+
+    @Override
+    public void close() throws IOException {
+      output.close();
+    }
+  }
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.pms.plan.creation;
+
+import static io.harness.annotations.dev.HarnessTeam.PIPELINE;
+import static io.harness.rule.OwnerRule.NAMAN;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.harness.CategoryTest;
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.category.element.UnitTests;
+import io.harness.pms.contracts.plan.Dependencies;
+import io.harness.pms.contracts.plan.Dependency;
+import io.harness.rule.Owner;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@OwnedBy(PIPELINE)
+public class PlanCreationYamlExchangeTest extends CategoryTest {
+  private static final String YAML = "pipeline:\n  identifier: p1\n";
+
+  private Dependencies batch(String yaml) {
+    return Dependencies.newBuilder()
+        .setYaml(yaml)
+        .putDependencies("stage1", "pipeline/stages/[0]/stage")
+        .putDependencyMetadata("stage1", Dependency.newBuilder().build())
+        .putDependencyMetadata("stage2", Dependency.newBuilder().build())
+        .build();
+  }
+
+  @Test
+  @Owner(developers = NAMAN)
+  @Category(UnitTests.class)
+  public void testYamlSentOncePerServiceAndDigest() {
+    PlanCreationYamlExchange exchange = new PlanCreationYamlExchange(true);
+
+    Dependencies first = exchange.prepare("cd", batch(YAML));
+    assertThat(first.getYaml()).isEqualTo(YAML);
+    assertThat(first.getYamlDigest()).isNotEmpty();
+    assertThat(first.getDependencyMetadataMap()).containsOnlyKeys("stage1");
+
+    Dependencies second = exchange.prepare("cd", batch(YAML));
+    assertThat(second.getYaml()).isEmpty();
+    assertThat(second.getYamlDigest()).isEqualTo(first.getYamlDigest());
+    assertThat(PlanCreationYamlExchange.withYaml(second, batch(YAML)).getYaml()).isEqualTo(YAML);
+
+    assertThat(exchange.prepare("ci", batch(YAML)).getYaml()).isEqualTo(YAML);
+
+    Dependencies updated = exchange.prepare("cd", batch(YAML + "  name: p1\n"));
+    assertThat(updated.getYaml()).isNotEmpty();
+    assertThat(updated.getYamlDigest()).isNotEqualTo(first.getYamlDigest());
+  }
+
+  @Test
+  @Owner(developers = NAMAN)
+  @Category(UnitTests.class)
+  public void testDisabled() {
+    PlanCreationYamlExchange exchange = new PlanCreationYamlExchange(false);
+    Dependencies batch = batch(YAML);
+    assertThat(exchange.prepare("cd", batch)).isSameAs(batch);
+    assertThat(exchange.prepare("cd", batch)).isSameAs(batch);
+  }
+}
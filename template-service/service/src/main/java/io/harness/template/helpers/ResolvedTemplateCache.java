@@ -0,0 +1,126 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.template.helpers;
+
+import static io.harness.template.utils.TemplateUtils.validateAndGetYamlNode;
+
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.ng.core.template.TemplateMergeResponseDTO;
+import io.harness.pms.yaml.YamlNode;
+import io.harness.template.entity.TemplateEntity;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.Weigher;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.inject.Singleton;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service wide cache of the templates resolved while applying templates to a yaml, so that a template heavy yaml is
+ * not parsed and merged again on every run, validation or open.
+ *
+ * The entries are keyed by the content of the templates, the yaml of a remote template changing with its commit. A
+ * created, updated or deleted template is thus picked up by the next request of every replica, without invalidation.
+ */
+@OwnedBy(HarnessTeam.CDC)
+@Singleton
+public class ResolvedTemplateCache {
+  private static final long MAX_TEMPLATE_YAML_CHARS = 20_000_000L;
+  private static final long MAX_MERGED_YAML_CHARS = 50_000_000L;
+
+  // Parsed templates by their yaml. The parsed trees are shared, they must only be read.
+  private final Cache<String, YamlNode> templateYamlNodes =
+      CacheBuilder.newBuilder()
+          .maximumWeight(MAX_TEMPLATE_YAML_CHARS)
+          .weigher((Weigher<String, YamlNode>) (yaml, yamlNode) -> yaml.length())
+          .expireAfterAccess(1, TimeUnit.HOURS)
+          .build();
+  private final Cache<String, TemplateMergeResponseDTO> mergeResponses =
+      CacheBuilder.newBuilder()
+          .maximumWeight(MAX_MERGED_YAML_CHARS)
+          .weigher((Weigher<String, TemplateMergeResponseDTO>) (mergeKey, response) -> getWeight(response))
+          .expireAfterAccess(30, TimeUnit.MINUTES)
+          .build();
+
+  public YamlNode getTemplateYamlNode(String templateIdentifier, String yaml) {
+    YamlNode yamlNode = templateYamlNodes.getIfPresent(yaml);
+    if (yamlNode == null) {
+      yamlNode = validateAndGetYamlNode(yaml, templateIdentifier);
+      templateYamlNodes.put(yaml, yamlNode);
+    }
+    return yamlNode;
+  }
+
+  /**
+   * Returns the key of the merge of the yaml with the given templates, which must include all the templates the yaml
+   * references, nested ones included.
+   */
+  public String getMergeKey(String accountId, String orgId, String projectId, JsonNode entityJsonNode,
+      Map<String, TemplateEntity> templateCacheMap, boolean getMergedYamlWithTemplateField,
+      boolean appendInputSetValidator, String yamlVersion) {
+    Hasher hasher = Hashing.sha256().newHasher();
+    putString(hasher, accountId);
+    putString(hasher, orgId);
+    putString(hasher, projectId);
+    putString(hasher, yamlVersion);
+    hasher.putBoolean(getMergedYamlWithTemplateField).putBoolean(appendInputSetValidator);
+    putString(hasher, entityJsonNode.toString());
+    new TreeMap<>(templateCacheMap).forEach((templateUniqueIdentifier, template) -> {
+      putString(hasher, templateUniqueIdentifier);
+      putString(hasher, template.getIdentifier());
+      putString(hasher, template.getVersionLabel());
+      putString(hasher, String.valueOf(template.getTemplateScope()));
+      putString(hasher, String.valueOf(template.getTemplateEntityType()));
+      putString(hasher, template.getHarnessVersion());
+      putString(hasher, template.getModules() == null ? null : new TreeSet<>(template.getModules()).toString());
+      putString(hasher, template.getYaml());
+    });
+    return hasher.hash().toString();
+  }
+
+  public TemplateMergeResponseDTO getMergeResponse(String mergeKey) {
+    return mergeResponses.getIfPresent(mergeKey);
+  }
+
+  // The cache response metadata belongs to the request and is not kept
+  public void putMergeResponse(String mergeKey, TemplateMergeResponseDTO response) {
+    mergeResponses.put(mergeKey,
+        TemplateMergeResponseDTO.builder()
+            .mergedPipelineYaml(response.getMergedPipelineYaml())
+            .templateReferenceSummaries(response.getTemplateReferenceSummaries() == null
+                    ? null
+                    : Collections.unmodifiableList(response.getTemplateReferenceSummaries()))
+            .mergedPipelineYamlWithTemplateRef(response.getMergedPipelineYamlWithTemplateRef())
+            .processedYamlVersion(response.getProcessedYamlVersion())
+            .build());
+  }
+
+  private static void putString(Hasher hasher, String value) {
+    if (value == null) {
+      hasher.putInt(-1);
+      return;
+    }
+    hasher.putInt(value.length()).putUnencodedChars(value);
+  }
+
+  private static int getWeight(TemplateMergeResponseDTO response) {
+    return length(response.getMergedPipelineYaml()) + length(response.getMergedPipelineYamlWithTemplateRef());
+  }
+
+  private static int length(String value) {
+    return value == null ? 0 : value.length();
+  }
+}
@@ -19,7 +19,6 @@ import static io.harness.template.resources.beans.NGTemplateConstants.TEMPLATE;
 import static io.harness.template.resources.beans.NGTemplateConstants.TEMPLATE_INPUTS;
 import static io.harness.template.resources.beans.NGTemplateConstants.TEMPLATE_REF;
 import static io.harness.template.resources.beans.NGTemplateConstants.TEMPLATE_VERSION_LABEL;
-import static io.harness.template.utils.TemplateUtils.validateAndGetYamlNode;
 
 import io.harness.EntityType;
 import io.harness.NgAutoLogContextForMethod;
@@ -103,6 +102,7 @@ public class TemplateMergeServiceHelper {
   private GitAwareEntityHelper gitAwareEntityHelper;
   private TemplateGitXService templateGitXService;
   private TemplatePreProcessorHelper templatePreprocessorHelper;
+  private ResolvedTemplateCache resolvedTemplateCache;
 
   // Gets the Template Entity linked to a YAML
   public TemplateEntityGetResponse getLinkedTemplateEntity(String accountId, String orgId, String projectId,
@@ -476,7 +476,7 @@ public class TemplateMergeServiceHelper {
 
   private void validateAndAddToQueue(Map<String, TemplateEntity> remoteTemplates, Queue<YamlField> yamlNodeQueue) {
     remoteTemplates.forEach((templateIdentifier, templateEntity) -> {
-      YamlNode yamlNode = validateAndGetYamlNode(remoteTemplates.get(templateIdentifier).getYaml(), templateIdentifier);
+      YamlNode yamlNode = resolvedTemplateCache.getTemplateYamlNode(templateIdentifier, templateEntity.getYaml());
       yamlNodeQueue.addAll(yamlNode.fields());
     });
   }
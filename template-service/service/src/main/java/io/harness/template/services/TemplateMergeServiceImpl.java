@@ -37,6 +37,7 @@ import io.harness.pms.yaml.preprocess.YamlPreprocessorResponseDTO;
 import io.harness.pms.yaml.preprocess.YamlV1PreProcessor;
 import io.harness.template.entity.TemplateEntity;
 import io.harness.template.helpers.MergeTemplateInputsInObject;
+import io.harness.template.helpers.ResolvedTemplateCache;
 import io.harness.template.helpers.TemplateInputsValidator;
 import io.harness.template.helpers.TemplateMergeServiceHelper;
 import io.harness.template.mappers.NGTemplateDtoMapper;
@@ -65,6 +66,7 @@ public class TemplateMergeServiceImpl implements TemplateMergeService {
   @Inject private NGTemplateServiceHelper templateServiceHelper;
   @Inject private TemplateInputsValidator templateInputsValidator;
   @Inject private TemplateMergeServiceHelper templateMergeServiceHelper;
+  @Inject private ResolvedTemplateCache resolvedTemplateCache;
   @Inject private YamlPreProcessorFactory yamlPreProcessorFactory;
 
   @Inject private NGTemplateFeatureFlagHelperService ngTemplateFeatureFlagHelperService;
@@ -143,10 +145,21 @@ public class TemplateMergeServiceImpl implements TemplateMergeService {
       boolean getMergedYamlWithTemplateField, YamlNode entityYamlNode, Map<String, TemplateEntity> templateCacheMap,
       boolean loadFromCache, boolean appendInputSetValidator, String yamlVersion) {
     Map<String, Object> resMap;
+    String mergeKey = null;
     if (ngTemplateFeatureFlagHelperService.isFeatureFlagEnabled(accountId, FeatureName.PIE_NG_BATCH_GET_TEMPLATES)) {
       templateCacheMap.putAll(templateMergeServiceHelper.getAllTemplatesFromYaml(
           accountId, orgId, projectId, entityYamlNode, loadFromCache));
+      // Only v0 templates are fetched upfront, the merge of a v1 yaml can use others
+      if (!HarnessYamlVersion.isV1(yamlVersion)) {
+        mergeKey = resolvedTemplateCache.getMergeKey(accountId, orgId, projectId, entityYamlNode.getCurrJsonNode(),
+            templateCacheMap, getMergedYamlWithTemplateField, appendInputSetValidator, yamlVersion);
+        TemplateMergeResponseDTO mergeResponse = resolvedTemplateCache.getMergeResponse(mergeKey);
+        if (mergeResponse != null) {
+          return withCacheResponseMetadata(mergeResponse);
+        }
+      }
     }
+    Set<String> fetchedTemplates = new HashSet<>(templateCacheMap.keySet());
     MergeTemplateInputsInObject mergeTemplateInputsInObject = null;
     String processedYamlVersion;
     Set<String> idsValuesSet = new HashSet<>();
@@ -172,14 +185,30 @@ public class TemplateMergeServiceImpl implements TemplateMergeService {
     processedYamlVersion = mergeTemplateInputsInObject.getProcessedYamlVersion();
     List<TemplateReferenceSummary> templateReferenceSummaries =
         getTemplateReferenceSummaries(accountId, orgId, projectId, entityYamlNode.getCurrJsonNode(), templateCacheMap);
+    TemplateMergeResponseDTO mergeResponse =
+        TemplateMergeResponseDTO.builder()
+            .mergedPipelineYaml(YamlUtils.writeYamlString(resMap))
+            .templateReferenceSummaries(templateReferenceSummaries)
+            .mergedPipelineYamlWithTemplateRef(mergeTemplateInputsInObject == null
+                    ? null
+                    : YamlUtils.writeYamlString(mergeTemplateInputsInObject.getResMapWithOpaResponse()))
+            .cacheResponseMetadata(NGTemplateDtoMapper.getCacheResponse())
+            .processedYamlVersion(processedYamlVersion)
+            .build();
+    // The merge is only kept when it did not use a template missing from its key
+    if (mergeKey != null && fetchedTemplates.equals(templateCacheMap.keySet())) {
+      resolvedTemplateCache.putMergeResponse(mergeKey, mergeResponse);
+    }
+    return mergeResponse;
+  }
+
+  private TemplateMergeResponseDTO withCacheResponseMetadata(TemplateMergeResponseDTO mergeResponse) {
     return TemplateMergeResponseDTO.builder()
-        .mergedPipelineYaml(YamlUtils.writeYamlString(resMap))
-        .templateReferenceSummaries(templateReferenceSummaries)
-        .mergedPipelineYamlWithTemplateRef(mergeTemplateInputsInObject == null
-                ? null
-                : YamlUtils.writeYamlString(mergeTemplateInputsInObject.getResMapWithOpaResponse()))
+        .mergedPipelineYaml(mergeResponse.getMergedPipelineYaml())
+        .templateReferenceSummaries(mergeResponse.getTemplateReferenceSummaries())
+        .mergedPipelineYamlWithTemplateRef(mergeResponse.getMergedPipelineYamlWithTemplateRef())
         .cacheResponseMetadata(NGTemplateDtoMapper.getCacheResponse())
-        .processedYamlVersion(processedYamlVersion)
+        .processedYamlVersion(mergeResponse.getProcessedYamlVersion())
         .build();
   }
 
@@ -100,6 +100,7 @@ public class TemplateMergeServiceHelperTest extends TemplateServiceTestBase {
   public void setup() throws IOException {
     on(templateMergeServiceHelper).set("templateServiceHelper", templateServiceHelper);
     on(templateMergeServiceHelper).set("gitAwareEntityHelper", gitAwareEntityHelper);
+    on(templateMergeServiceHelper).set("resolvedTemplateCache", new ResolvedTemplateCache());
 
     yamlNode = TemplateUtils.validateAndGetYamlNode(SAMPLE_YAML);
 
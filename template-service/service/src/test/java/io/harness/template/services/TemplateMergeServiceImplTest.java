@@ -17,8 +17,15 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.joor.Reflect.on;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import io.harness.TemplateServiceTestBase;
@@ -35,6 +42,7 @@ import io.harness.ng.core.template.exception.NGTemplateResolveException;
 import io.harness.pms.yaml.HarnessYamlVersion;
 import io.harness.rule.Owner;
 import io.harness.template.entity.TemplateEntity;
+import io.harness.template.helpers.ResolvedTemplateCache;
 import io.harness.template.helpers.TemplateMergeServiceHelper;
 import io.harness.template.helpers.TemplatePreProcessorHelper;
 import io.harness.template.utils.NGTemplateFeatureFlagHelperService;
@@ -80,6 +88,9 @@ public class TemplateMergeServiceImplTest extends TemplateServiceTestBase {
     on(templateMergeServiceHelper).set("templateServiceHelper", templateServiceHelper);
     on(templateMergeService).set("templateMergeServiceHelper", templateMergeServiceHelper);
     on(templateMergeService).set("ngTemplateFeatureFlagHelperService", ngTemplateFeatureFlagHelperService);
+    ResolvedTemplateCache resolvedTemplateCache = new ResolvedTemplateCache();
+    on(templateMergeServiceHelper).set("resolvedTemplateCache", resolvedTemplateCache);
+    on(templateMergeService).set("resolvedTemplateCache", resolvedTemplateCache);
 
     when(ngTemplateFeatureFlagHelperService.isFeatureFlagEnabled(any(), any())).thenReturn(false);
   }
@@ -372,6 +383,58 @@ public class TemplateMergeServiceImplTest extends TemplateServiceTestBase {
     assertThat(finalPipelineYaml).isEqualTo(resPipeline);
   }
 
+  @Test
+  @Owner(developers = INDER)
+  @Category(UnitTests.class)
+  public void testApplyTemplatesReusesMergeOfSameTemplates() {
+    when(ngTemplateFeatureFlagHelperService.isFeatureFlagEnabled(any(), any())).thenReturn(true);
+    TemplateMergeServiceHelper mergeServiceHelper = spy(templateMergeServiceHelper);
+    on(templateMergeService).set("templateMergeServiceHelper", mergeServiceHelper);
+    String stageTemplateYaml = readFile("stage-template.yaml");
+    mockTemplateMetadata("stageTemplate", stageTemplateYaml);
+    mockTemplateMetadata("httpTemplate", readFile("http-step-template.yaml"));
+    mockTemplateMetadata("approvalTemplate", readFile("approval-step-template.yaml"));
+    String pipelineYaml = readFile("pipeline-with-stage-template.yaml");
+
+    TemplateMergeResponseDTO mergeResponse = templateMergeService.applyTemplatesToYaml(
+        ACCOUNT_ID, ORG_ID, PROJECT_ID, pipelineYaml, false, false, false, HarnessYamlVersion.V0);
+    clearInvocations(mergeServiceHelper);
+    TemplateMergeResponseDTO cachedMergeResponse = templateMergeService.applyTemplatesToYaml(
+        ACCOUNT_ID, ORG_ID, PROJECT_ID, pipelineYaml, false, false, false, HarnessYamlVersion.V0);
+
+    verify(mergeServiceHelper, never())
+        .mergeTemplateInputsInObjectWithVersion(
+            any(), any(), any(), any(), any(), anyInt(), anyBoolean(), anyBoolean(), any(), any());
+    assertThat(cachedMergeResponse.getMergedPipelineYaml())
+        .isEqualTo(readFile("pipeline-with-stage-template-replaced.yaml"));
+    assertThat(cachedMergeResponse.getTemplateReferenceSummaries())
+        .isEqualTo(mergeResponse.getTemplateReferenceSummaries());
+
+    // An updated template is merged again
+    mockTemplateMetadata("stageTemplate", stageTemplateYaml + "\n# updated");
+    templateMergeService.applyTemplatesToYaml(
+        ACCOUNT_ID, ORG_ID, PROJECT_ID, pipelineYaml, false, false, false, HarnessYamlVersion.V0);
+    verify(mergeServiceHelper, atLeastOnce())
+        .mergeTemplateInputsInObjectWithVersion(
+            any(), any(), any(), any(), any(), anyInt(), anyBoolean(), anyBoolean(), any(), any());
+  }
+
+  private void mockTemplateMetadata(String identifier, String yaml) {
+    TemplateEntity templateEntity = TemplateEntity.builder()
+                                        .accountId(ACCOUNT_ID)
+                                        .orgIdentifier(ORG_ID)
+                                        .projectIdentifier(PROJECT_ID)
+                                        .yaml(yaml)
+                                        .identifier(identifier)
+                                        .versionLabel("1")
+                                        .templateScope(Scope.PROJECT)
+                                        .deleted(false)
+                                        .build();
+    when(templateServiceHelper.getMetadataOrThrowExceptionIfInvalid(
+             ACCOUNT_ID, ORG_ID, PROJECT_ID, identifier, "1", false))
+        .thenReturn(Optional.of(templateEntity));
+  }
+
   @Test
   @Owner(developers = UTKARSH_CHOUBEY)
   @Category(UnitTests.class)